@@ -3,6 +3,8 @@ package iudx.catalogue.server.apiserver;
 import static iudx.catalogue.server.apiserver.util.Constants.*;
 import static iudx.catalogue.server.util.Constants.*;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
@@ -14,8 +16,10 @@ import io.vertx.ext.web.Router;
 import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.CorsHandler;
 import io.vertx.ext.web.handler.StaticHandler;
+import io.vertx.micrometer.backends.BackendRegistries;
 import iudx.catalogue.server.apiserver.crud.CrudController;
 import iudx.catalogue.server.apiserver.crud.CrudService;
+import iudx.catalogue.server.apiserver.item.service.ItemCache;
 import iudx.catalogue.server.apiserver.item.service.ItemService;
 import iudx.catalogue.server.apiserver.item.service.ItemServiceImpl;
 import iudx.catalogue.server.apiserver.stack.controller.StacController;
@@ -24,6 +28,7 @@ import iudx.catalogue.server.auditing.service.AuditingService;
 import iudx.catalogue.server.authenticator.handler.AuthenticationHandler;
 import iudx.catalogue.server.authenticator.handler.AuthorizationHandler;
 import iudx.catalogue.server.authenticator.service.AuthenticationService;
+import iudx.catalogue.server.common.CatalogueVersion;
 import iudx.catalogue.server.database.elastic.service.ElasticsearchService;
 import iudx.catalogue.server.exceptions.FailureHandler;
 import iudx.catalogue.server.geocoding.controller.GeocodingController;
@@ -38,6 +43,7 @@ import iudx.catalogue.server.relationship.service.RelationshipService;
 import iudx.catalogue.server.relationship.service.RelationshipServiceImpl;
 import iudx.catalogue.server.util.Api;
 import iudx.catalogue.server.validator.service.ValidatorService;
+import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -114,6 +120,24 @@ public class ApiServerVerticle extends AbstractVerticle {
               routingContext.next();
             });
 
+    /* Reads answered with 304 Not Modified while the catalogue version is unchanged; the routes
+    depending on anything else than the documents of the catalogue are left out */
+    CatalogueVersion catalogueVersion = CatalogueVersion.shared(vertx);
+    EtagHandler etagHandler = new EtagHandler(catalogueVersion);
+    for (String route :
+        List.of(
+            ROUTE_SEARCH,
+            ROUTE_COUNT,
+            ROUTE_LIST_ITEMS,
+            ROUTE_ITEMS,
+            ROUTE_RELATIONSHIP,
+            ROUTE_REL_SEARCH,
+            ROUTE_MLAYER_INSTANCE,
+            ROUTE_MLAYER_DOMAIN,
+            ROUTE_MLAYER_PROVIDER)) {
+      router.get(route).handler(etagHandler);
+    }
+
     dxApiBasePath = config().getString("dxApiBasePath");
     docIndex = config().getString("docIndex");
     api = Api.getInstance(dxApiBasePath);
@@ -148,14 +172,29 @@ public class ApiServerVerticle extends AbstractVerticle {
     NLPSearchService nlpsearchService = NLPSearchService.createProxy(vertx, NLP_SERVICE_ADDRESS);
     ElasticsearchService elasticsearchService =
         ElasticsearchService.createProxy(vertx, ELASTIC_SERVICE_ADDRESS);
+    // the registry is null when metrics are disabled, as in DeployerDev
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    ItemCache itemCache =
+        new ItemCache(
+            vertx,
+            config().getLong(ITEM_CACHE_MAX_SIZE, DEFAULT_ITEM_CACHE_MAX_SIZE),
+            config().getLong(ITEM_CACHE_TTL_SECONDS, DEFAULT_ITEM_CACHE_TTL_SECONDS),
+            registry != null ? registry : Metrics.globalRegistry);
     ItemService itemService;
     optionalModules = config().getJsonArray(OPTIONAL_MODULES);
     if (optionalModules.contains(NLPSEARCH_PACKAGE_NAME)
         && optionalModules.contains(GEOCODING_PACKAGE_NAME)) {
       itemService =
-          new ItemServiceImpl(elasticsearchService, geoService, nlpsearchService, config());
+          new ItemServiceImpl(
+              elasticsearchService,
+              geoService,
+              nlpsearchService,
+              config(),
+              itemCache,
+              catalogueVersion);
     } else {
-      itemService = new ItemServiceImpl(elasticsearchService, config());
+      itemService =
+          new ItemServiceImpl(elasticsearchService, config(), itemCache, catalogueVersion);
     }
 
     AuditingService auditingService = AuditingService.createProxy(vertx, AUDITING_SERVICE_ADDRESS);
@@ -178,6 +217,7 @@ public class ApiServerVerticle extends AbstractVerticle {
             router,
             isUac,
             config().getString(HOST),
+            config().getInteger(BULK_CHUNK_SIZE, DEFAULT_BULK_CHUNK_SIZE),
             crudService,
             validationService,
             authenticationHandler,
@@ -196,7 +236,13 @@ public class ApiServerVerticle extends AbstractVerticle {
             authorizationHandler,
             auditHandler,
             failureHandler);
-    listController = new ListController(router, elasticsearchService, docIndex);
+    ListingCache listingCache =
+        new ListingCache(
+            catalogueVersion,
+            config().getLong(LISTING_CACHE_MAX_SIZE, DEFAULT_LISTING_CACHE_MAX_SIZE),
+            config().getLong(LISTING_CACHE_TTL_SECONDS, DEFAULT_LISTING_CACHE_TTL_SECONDS),
+            registry != null ? registry : Metrics.globalRegistry);
+    listController = new ListController(router, elasticsearchService, docIndex, listingCache);
     searchController =
         new SearchController(
             router,
@@ -205,7 +251,9 @@ public class ApiServerVerticle extends AbstractVerticle {
             nlpsearchService,
             failureHandler,
             dxApiBasePath,
-            docIndex);
+            docIndex,
+            config().getInteger(NLP_SEARCH_K, DEFAULT_NLP_SEARCH_K),
+            config().getInteger(NLP_SEARCH_NUM_CANDIDATES, DEFAULT_NLP_SEARCH_NUM_CANDIDATES));
     MlayerService mlayerService = MlayerService.createProxy(vertx, MLAYER_SERVICE_ADDRESS);
     mlayerController =
         new MlayerController(
@@ -214,7 +262,8 @@ public class ApiServerVerticle extends AbstractVerticle {
             validationService,
             mlayerService,
             failureHandler,
-            authenticationHandler);
+            authenticationHandler,
+            authorizationHandler);
 
     RelationshipService relService = new RelationshipServiceImpl(elasticsearchService, docIndex);
     relationshipController = new RelationshipController(router, relService);
@@ -0,0 +1,83 @@
+package iudx.catalogue.server.apiserver;
+
+import static iudx.catalogue.server.apiserver.util.Constants.HEADER_INSTANCE;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import iudx.catalogue.server.common.CatalogueVersion;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Answers the reads of the catalogue with {@code 304 Not Modified} when the client already has
+ * the response of the current {@link CatalogueVersion}. Every successful response is tagged with a
+ * weak ETag of the version the request was received at, so a write finishing while the response
+ * is built only makes the client fetch it again.
+ *
+ * <p>The searches, counts and listings are restricted to the instance of the {@code instance}
+ * header, so the tag also carries that header, and the responses vary on it.
+ *
+ * <p>The responses may be stored by clients, but are revalidated before each use.
+ */
+public class EtagHandler implements Handler<RoutingContext> {
+  static final String CACHE_CONTROL = "no-cache";
+
+  private final CatalogueVersion version;
+
+  public EtagHandler(CatalogueVersion version) {
+    this.version = version;
+  }
+
+  /* The version, and the instance header encoded so that it is a valid tag of its own */
+  static String etag(long version, String instance) {
+    if (instance == null) {
+      return "W/\"" + version + "\"";
+    }
+    String encoded =
+        Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(instance.getBytes(StandardCharsets.UTF_8));
+    return "W/\"" + version + "-" + encoded + "\"";
+  }
+
+  /* Weak comparison against each tag listed; * is not matched, the response may be an error */
+  static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    String opaque = etag.substring(2);
+    for (String tag : ifNoneMatch.split(",")) {
+      String trimmed = tag.trim();
+      if (trimmed.equals(etag) || trimmed.equals(opaque)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void handle(RoutingContext routingContext) {
+    long current = version.current();
+    if (current < 0) {
+      routingContext.next();
+      return;
+    }
+    String etag = etag(current, routingContext.request().getHeader(HEADER_INSTANCE));
+    HttpServerResponse response = routingContext.response();
+    response.putHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+    response.putHeader(HttpHeaders.VARY, HEADER_INSTANCE);
+    if (matches(routingContext.request().getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+      response.putHeader(HttpHeaders.ETAG, etag).setStatusCode(304).end();
+      return;
+    }
+    routingContext.addHeadersEndHandler(
+        v -> {
+          if (response.getStatusCode() == 200) {
+            response.putHeader(HttpHeaders.ETAG, etag);
+          }
+        });
+    routingContext.next();
+  }
+}
@@ -30,10 +30,12 @@ import iudx.catalogue.server.apiserver.util.RespBuilder;
 import iudx.catalogue.server.common.util.DbResponseMessageBuilder;
 import iudx.catalogue.server.database.elastic.model.ElasticsearchResponse;
 import iudx.catalogue.server.database.elastic.model.QueryModel;
+import iudx.catalogue.server.database.elastic.model.SearchResult;
 import iudx.catalogue.server.database.elastic.service.ElasticsearchService;
 import iudx.catalogue.server.database.elastic.util.QueryDecoder;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -43,12 +45,15 @@ public final class ListController {
   private final Router router;
   private final ElasticsearchService esService;
   private final String docIndex;
+  private final ListingCache listingCache;
   private final QueryDecoder queryDecoder = new QueryDecoder();
 
-  public ListController(Router router, ElasticsearchService esService, String docIndex) {
+  public ListController(
+      Router router, ElasticsearchService esService, String docIndex, ListingCache listingCache) {
     this.router = router;
     this.esService = esService;
     this.docIndex = docIndex;
+    this.listingCache = listingCache;
 
     setupRoutes();
   }
@@ -137,7 +142,7 @@ public final class ListController {
         requestBody.put(TYPE, type);
 
         if (type.equalsIgnoreCase(ITEM_TYPE_OWNER) || type.equalsIgnoreCase(ITEM_TYPE_COS)) {
-          listOwnerOrCos(requestBody)
+          cached(requestBody, () -> listOwnerOrCos(requestBody))
               .onComplete(
                   dbHandler -> {
                     if (dbHandler.succeeded()) {
@@ -147,7 +152,7 @@ public final class ListController {
         } else {
 
           /* Request database service with requestBody for listing items */
-          listItems(requestBody)
+          cached(requestBody, () -> listItems(requestBody))
               .onComplete(
                   dbhandler -> {
                     handleResponseFromDatabase(response, itemType, dbhandler);
@@ -177,6 +182,21 @@ public final class ListController {
     }
   }
 
+  /* Pages read by cursor are not cached, the listing is keyed by its type, instance and page */
+  private Future<JsonObject> cached(JsonObject request, Supplier<Future<JsonObject>> loader) {
+    if (request.containsKey(CURSOR)) {
+      return loader.get();
+    }
+    String key =
+        String.join(
+            "|",
+            request.getString(TYPE),
+            Objects.toString(request.getString(HEADER_INSTANCE), ""),
+            String.valueOf(request.getValue(LIMIT)),
+            String.valueOf(request.getValue(OFFSET)));
+    return listingCache.get(key, loader);
+  }
+
   public Future<JsonObject> listOwnerOrCos(JsonObject request) {
     Promise<JsonObject> promise = Promise.promise();
     QueryModel elasticQuery = queryDecoder.listItemQueryModel(request);
@@ -189,10 +209,11 @@ public final class ListController {
             dbHandler -> {
               if (dbHandler.succeeded()) {
                 LOGGER.debug("Success: Successful DB request");
-                List<ElasticsearchResponse> responseList = dbHandler.result();
+                List<ElasticsearchResponse> responseList = dbHandler.result().getHits();
                 DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
                 responseMsg.statusSuccess();
                 responseMsg.setTotalHits(responseList.size());
+                responseMsg.setNextCursor(dbHandler.result().getNextCursor());
                 responseList.stream()
                     .map(ElasticsearchResponse::getSource)
                     .peek(
@@ -222,14 +243,29 @@ public final class ListController {
         .search(docIndex, elasticQuery)
         .onComplete(
             dbHandler -> {
-              if (dbHandler.succeeded()) {
+              if (dbHandler.succeeded() && elasticQuery.getCursor() != null) {
+                LOGGER.debug("Success: Successful DB request");
+                SearchResult result = dbHandler.result();
+                DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
+                responseMsg
+                    .statusSuccess()
+                    .setTotalHits(Math.toIntExact(result.getTotalHits()))
+                    .setNextCursor(result.getNextCursor())
+                    .addResult();
+                result.getHits().stream()
+                    .map(hit -> hit.getSource().getString(ID))
+                    .forEach(responseMsg::addResult);
+                promise.complete(responseMsg.getResponse());
+              } else if (dbHandler.succeeded()) {
                 LOGGER.debug("Success: Successful DB request");
                 DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
                 try {
                   // Process the aggregation results
                   JsonArray results = new JsonArray();
                   JsonArray aggregations =
-                      ElasticsearchResponse.getAggregations()
+                      dbHandler
+                          .result()
+                          .getAggregations()
                           .getJsonObject(RESULTS)
                           .getJsonArray(BUCKETS);
 
@@ -0,0 +1,104 @@
+package iudx.catalogue.server.apiserver;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.common.CatalogueVersion;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the listings of tags and of the ids of each item type, keyed by the item type, the
+ * instance and the page asked for. Each listing is kept with the {@link CatalogueVersion} it was
+ * read at, and is read again once the version has changed, so any write of the catalogue
+ * invalidates the listings on every node. The cache holds at most the configured number of
+ * listings, and every listing expires after the configured time to live in case the catalogue is
+ * written around the services.
+ *
+ * <p>Nothing is cached while the catalogue version is not known.
+ *
+ * <p>Hits and misses are counted in the {@value #GETS_METRIC} meter, tagged with {@code
+ * cache=listings}.
+ */
+public class ListingCache {
+  public static final String GETS_METRIC = "cache.gets";
+  private static final String CACHE_TAG = "cache";
+  private static final String CACHE_NAME = "listings";
+
+  private final CatalogueVersion version;
+  private final Cache<String, Listing> cache;
+  private final Counter hits;
+  private final Counter misses;
+
+  /**
+   * Creates a cache.
+   *
+   * @param version the version of the catalogue the listings are read at
+   * @param maxSize the number of listings kept; 0 disables the cache
+   * @param ttlSeconds the longest a listing is kept
+   * @param registry the registry of the cache metrics
+   */
+  public ListingCache(
+      CatalogueVersion version, long maxSize, long ttlSeconds, MeterRegistry registry) {
+    this.version = version;
+    this.hits = counter(registry, "hit");
+    this.misses = counter(registry, "miss");
+    this.cache =
+        maxSize <= 0
+            ? null
+            : CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+  }
+
+  private static Counter counter(MeterRegistry registry, String result) {
+    return Counter.builder(GETS_METRIC)
+        .tag(CACHE_TAG, CACHE_NAME)
+        .tag("result", result)
+        .register(registry);
+  }
+
+  /**
+   * Returns the listing if it was read at the current catalogue version, or reads and caches it.
+   *
+   * @param key the item type, instance and page of the listing
+   * @param loader reads the listing
+   * @return the listing
+   */
+  public Future<JsonObject> get(String key, Supplier<Future<JsonObject>> loader) {
+    long current = version.current();
+    if (cache == null || current < 0) {
+      return loader.get();
+    }
+    Listing cached = cache.getIfPresent(key);
+    if (cached != null && cached.version == current) {
+      hits.increment();
+      return Future.succeededFuture(cached.response.copy());
+    }
+    misses.increment();
+    return loader
+        .get()
+        .onSuccess(
+            response -> {
+              // a write during the read leaves the listing tagged with the version before it
+              Listing stored = cache.getIfPresent(key);
+              if (stored == null || stored.version <= current) {
+                cache.put(key, new Listing(current, response.copy()));
+              }
+            });
+  }
+
+  private static final class Listing {
+    private final long version;
+    private final JsonObject response;
+
+    private Listing(long version, JsonObject response) {
+      this.version = version;
+      this.response = response;
+    }
+  }
+}
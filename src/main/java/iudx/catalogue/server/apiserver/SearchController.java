@@ -17,10 +17,10 @@ import static iudx.catalogue.server.geocoding.util.Constants.TYPE;
 import static iudx.catalogue.server.util.Constants.*;
 import static iudx.catalogue.server.util.Constants.RESULTS;
 
-import io.vertx.core.CompositeFuture;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonArray;
@@ -35,11 +35,13 @@ import iudx.catalogue.server.database.elastic.model.QueryModel;
 import iudx.catalogue.server.database.elastic.service.ElasticsearchService;
 import iudx.catalogue.server.database.elastic.util.QueryDecoder;
 import iudx.catalogue.server.database.elastic.util.QueryType;
+import iudx.catalogue.server.database.elastic.util.RawHitsReader;
+import iudx.catalogue.server.database.elastic.util.SearchCursor;
 import iudx.catalogue.server.exceptions.FailureHandler;
 import iudx.catalogue.server.geocoding.service.GeocodingService;
 import iudx.catalogue.server.nlpsearch.service.NLPSearchService;
+import java.io.IOException;
 import java.util.*;
-import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -53,6 +55,8 @@ public final class SearchController {
   private final FailureHandler failureHandler;
   private final String dxApiBasePath;
   private final String docIndex;
+  private final int nlpSearchK;
+  private final int nlpSearchNumCandidates;
 
   public SearchController(
       Router router,
@@ -61,7 +65,9 @@ public final class SearchController {
       NLPSearchService nlpService,
       FailureHandler failureHandler,
       String dxApiBasePath,
-      String docIndex) {
+      String docIndex,
+      int nlpSearchK,
+      int nlpSearchNumCandidates) {
     this.router = router;
     this.esService = esService;
     this.geoService = geoService;
@@ -69,6 +75,8 @@ public final class SearchController {
     this.failureHandler = failureHandler;
     this.dxApiBasePath = dxApiBasePath;
     this.docIndex = docIndex;
+    this.nlpSearchK = nlpSearchK;
+    this.nlpSearchNumCandidates = nlpSearchNumCandidates;
 
     setupRoutes();
   }
@@ -83,6 +91,12 @@ public final class SearchController {
         .failureHandler(failureHandler)
         .handler(this::searchHandler);
 
+    /* Export all items of a search as newline delimited JSON */
+    router
+        .get(ROUTE_SEARCH_EXPORT)
+        .failureHandler(failureHandler)
+        .handler(this::searchHandler);
+
     /* NLP Search */
     router
         .get(ROUTE_NLP_SEARCH)
@@ -122,7 +136,7 @@ public final class SearchController {
 
     MultiMap queryParameters = routingContext.queryParams();
 
-    LOGGER.debug("Info: routed to search/count");
+    LOGGER.debug("Info: routed to search/count/export");
     LOGGER.debug("Info: instance;" + instanceId);
 
     /* validating proper actual query parameters from request */
@@ -183,42 +197,27 @@ public final class SearchController {
               .onComplete(
                   handler -> {
                     if (handler.succeeded()) {
-                      JsonObject resultJson = handler.result();
-                      String status = resultJson.getString(STATUS);
-                      if (status.equalsIgnoreCase(SUCCESS)) {
-                        LOGGER.info("Success: search query");
-                        response.setStatusCode(200);
-                      } else if (status.equalsIgnoreCase(PARTIAL_CONTENT)) {
-                        LOGGER.info("Success: search query");
-                        response.setStatusCode(206);
-                      } else {
-                        LOGGER.error("Fail: search query");
-                        response.setStatusCode(400);
-                      }
-                      response.end(resultJson.toString());
+                      DbResponseMessageBuilder responseMsg =
+                          new DbResponseMessageBuilder().statusSuccess();
+                      response
+                          .setStatusCode(statusCode(responseMsg.getResponse(), "search query"))
+                          .end(responseMsg.getResponse(handler.result()));
                     } else if (handler.failed()) {
                       LOGGER.error("Fail: Search;" + handler.cause().getMessage());
                       response.setStatusCode(400).end(handler.cause().getMessage());
                     }
                   });
+        } else if (path.equals(dxApiBasePath + ROUTE_SEARCH_EXPORT)) {
+          exportQuery(requestBody, response);
         } else {
           countQuery(requestBody)
               .onComplete(
                   handler -> {
                     if (handler.succeeded()) {
                       JsonObject resultJson = handler.result();
-                      String status = resultJson.getString(STATUS);
-                      if (status.equalsIgnoreCase(SUCCESS)) {
-                        LOGGER.info("Success: count query");
-                        response.setStatusCode(200);
-                      } else if (status.equalsIgnoreCase(PARTIAL_CONTENT)) {
-                        LOGGER.info("Success: count query");
-                        response.setStatusCode(206);
-                      } else {
-                        LOGGER.error("Fail: count query");
-                        response.setStatusCode(400);
-                      }
-                      response.end(resultJson.toString());
+                      response
+                          .setStatusCode(statusCode(resultJson, "count query"))
+                          .end(resultJson.toString());
                     } else if (handler.failed()) {
                       LOGGER.error("Fail: Count;" + handler.cause().getMessage());
                       response.setStatusCode(400).end(handler.cause().getMessage());
@@ -243,11 +242,32 @@ public final class SearchController {
     }
   }
 
-  public Future<JsonObject> searchQuery(JsonObject request) {
+  /* Maps the title of a search or count response to the status it is answered with */
+  private static int statusCode(JsonObject result, String query) {
+    String status = result.getString(STATUS);
+    if (status.equalsIgnoreCase(SUCCESS)) {
+      LOGGER.info("Success: " + query);
+      return 200;
+    } else if (status.equalsIgnoreCase(PARTIAL_CONTENT)) {
+      LOGGER.info("Success: " + query);
+      return 206;
+    }
+    LOGGER.error("Fail: " + query);
+    return 400;
+  }
+
+  /**
+   * Runs a search and returns its page as encoded JSON members, results and totalHits, copied from
+   * the database response without decoding it. The caller adds the type and title.
+   *
+   * @param request the search request
+   * @return the encoded page
+   */
+  public Future<Buffer> searchQuery(JsonObject request) {
 
     LOGGER.debug("Info: searchQuery");
 
-    Promise<JsonObject> promise = Promise.promise();
+    Promise<Buffer> promise = Promise.promise();
     request.put(SEARCH, true);
 
     /* Validate the Request */
@@ -267,25 +287,14 @@ public final class SearchController {
     QueryModel queryModel = (QueryModel) query.getValue(QUERY_KEY);
     LOGGER.debug("Info: Query constructed;" + queryModel.getQueries().getQueryType());
 
+    // results are sent as they are, so the sources are copied from the database response bytes
     esService
-        .search(docIndex, queryModel)
+        .searchRaw(docIndex, queryModel)
         .onComplete(
             searchRes -> {
               if (searchRes.succeeded()) {
                 LOGGER.debug("Success: Successful DB request");
-                List<ElasticsearchResponse> response = searchRes.result();
-                DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
-                responseMsg.statusSuccess().setTotalHits(response.size());
-                response.stream()
-                    .map(ElasticsearchResponse::getSource)
-                    .peek(
-                        source -> {
-                          source.remove(SUMMARY_KEY);
-                          source.remove(WORD_VECTOR_KEY);
-                        })
-                    .forEach(responseMsg::addResult);
-
-                promise.complete(responseMsg.getResponse());
+                promise.complete(searchRes.result());
               } else {
                 LOGGER.error("Fail: DB Request;" + searchRes.cause().getMessage());
                 promise.fail(internalErrorResp());
@@ -294,6 +303,111 @@ public final class SearchController {
     return promise.future();
   }
 
+  /**
+   * Streams every item matching the search to the client, one item per line. The items are read a
+   * page at a time from a point in time, and the next page is only requested once the connection
+   * has taken the previous one, so memory use does not grow with the size of the catalogue.
+   *
+   * @param request the search request, as for {@link #searchQuery}
+   * @param response the response the items are written to
+   */
+  public void exportQuery(JsonObject request, HttpServerResponse response) {
+
+    LOGGER.debug("Info: exportQuery");
+    request.put(SEARCH, true);
+
+    /* Validate the Request */
+    if (!request.containsKey(SEARCH_TYPE)) {
+      response.setStatusCode(400).end(invalidSyntaxResponse(NO_SEARCH_TYPE_FOUND));
+      return;
+    }
+    /* Construct the query to be made */
+    JsonObject query = queryDecoder.searchQuery(request);
+    if (query.containsKey(ERROR)) {
+      LOGGER.error("Fail: Query returned with an error");
+      response.setStatusCode(400).end(query.getJsonObject(ERROR).toString());
+      return;
+    }
+
+    // the whole result set is exported, limit and offset of the request do not apply
+    QueryModel queryModel = (QueryModel) query.getValue(QUERY_KEY);
+    queryModel.setLimit(String.valueOf(EXPORT_PAGE_SIZE));
+    queryModel.setOffset(null);
+    queryModel.setCursor(SearchCursor.START);
+    // a client gone before the last page would leave the point in time open until it expires
+    response.closeHandler(v -> closeExport(queryModel));
+    exportPage(queryModel, response);
+  }
+
+  /* Releases the point in time of the page last read, once */
+  private void closeExport(QueryModel queryModel) {
+    String cursor = queryModel.getCursor();
+    queryModel.setCursor(null);
+    if (cursor != null) {
+      esService.closeCursor(cursor);
+    }
+  }
+
+  private void exportPage(QueryModel queryModel, HttpServerResponse response) {
+    esService
+        .searchRaw(docIndex, queryModel)
+        .onComplete(
+            searchRes -> {
+              Buffer lines = null;
+              String nextCursor = null;
+              if (searchRes.succeeded()) {
+                lines = Buffer.buffer(searchRes.result().length());
+                try {
+                  nextCursor = RawHitsReader.writeLines(searchRes.result(), lines);
+                } catch (IOException e) {
+                  LOGGER.error("Fail: export page;" + e.getMessage());
+                  lines = null;
+                }
+              } else {
+                LOGGER.error("Fail: DB Request;" + searchRes.cause().getMessage());
+              }
+              if (response.closed()) {
+                LOGGER.debug("Info: export; connection closed by client");
+                queryModel.setCursor(nextCursor);
+                closeExport(queryModel);
+                return;
+              }
+              if (lines == null) {
+                closeExport(queryModel);
+                if (response.headWritten()) {
+                  // part of the export was sent, an incomplete chunked body tells the client
+                  response.reset();
+                } else {
+                  response.setStatusCode(500).end(internalErrorResp());
+                }
+                return;
+              }
+
+              if (!response.headWritten()) {
+                response
+                    .setStatusCode(200)
+                    .setChunked(true)
+                    .putHeader(HEADER_CONTENT_TYPE, MIME_APPLICATION_NDJSON);
+              }
+              queryModel.setCursor(nextCursor);
+              if (nextCursor == null) {
+                LOGGER.info("Success: export query");
+                response.end(lines);
+                return;
+              }
+              response.write(lines);
+              if (response.writeQueueFull()) {
+                response.drainHandler(
+                    v -> {
+                      response.drainHandler(null);
+                      exportPage(queryModel, response);
+                    });
+              } else {
+                exportPage(queryModel, response);
+              }
+            });
+  }
+
   public Future<JsonObject> countQuery(JsonObject request) {
     Promise<JsonObject> promise = Promise.promise();
     request.put(SEARCH, false);
@@ -360,6 +474,12 @@ public final class SearchController {
       routingContext.response().setStatusCode(400).end(respBuilder.getResponse());
       return;
     }
+    int offset = pageParam(routingContext.queryParams().get(OFFSET), 0);
+    int limit = pageParam(routingContext.queryParams().get(LIMIT), nlpSearchK);
+    if (offset < 0 || limit < 0) {
+      response.setStatusCode(400).end(invalidSyntaxResponse("Invalid offset or limit"));
+      return;
+    }
 
     nlpService
         .search(query)
@@ -370,7 +490,7 @@ public final class SearchController {
                 embeddings.add(result);
                 String location = res.result().getString("location");
                 if (location.equals("EMPTY")) {
-                  nlpSearchQuery(embeddings)
+                  nlpSearchQuery(embeddings, offset, limit)
                       .onComplete(
                           handler -> {
                             if (handler.succeeded()) {
@@ -400,7 +520,7 @@ public final class SearchController {
                             if (ar.succeeded()) {
                               JsonObject results = new JsonObject(ar.result());
                               LOGGER.debug("Info: geocoding result - " + results);
-                              nlpSearchLocationQuery(embeddings, results)
+                              nlpSearchLocationQuery(embeddings, results, offset, limit)
                                   .onComplete(
                                       handler -> {
                                         if (handler.succeeded()) {
@@ -441,31 +561,52 @@ public final class SearchController {
             });
   }
 
+  /* A non negative offset or limit parameter, the default if absent, -1 if invalid */
+  private static int pageParam(String value, int defaultValue) {
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Math.max(Integer.parseInt(value), -1);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /* Pages over the nlpSearchK nearest items, which are all a kNN search ranks */
+  private void setPage(QueryModel queryModel, int offset, int limit) {
+    int from = Math.min(offset, nlpSearchK);
+    queryModel.setOffset(String.valueOf(from));
+    queryModel.setLimit(String.valueOf(Math.min(limit, nlpSearchK - from)));
+  }
+
   /**
    * Executes an NLP search query by passing in the request embeddings and invoking the appropriate
    * search method on the ElasticSearch client.
    *
    * @param request the request embeddings
+   * @param offset the number of nearest items skipped
+   * @param limit the number of items returned at most
    * @return Future<{@link io.vertx.core.json.JsonObject}>
    *     that completes with the search results when the Elasticsearch client successfully
    *     processes the query, or fails with an error response if the request fails.
    */
-  public Future<JsonObject> nlpSearchQuery(JsonArray request) {
+  public Future<JsonObject> nlpSearchQuery(JsonArray request, int offset, int limit) {
     Promise<JsonObject> promise = Promise.promise();
     JsonArray embeddings = request.getJsonArray(0);
     QueryModel queryModel = new QueryModel();
-    queryModel.setQueries(
-        new QueryModel(QueryType.SCRIPT_SCORE, Map.of("query_vector", embeddings)));
+    queryModel.setQueries(knnQueryModel(embeddings, null));
     queryModel.setExcludeFields(List.of("_word_vector"));
+    setPage(queryModel, offset, limit);
     esService
         .search(docIndex, queryModel)
         .onComplete(
             searchRes -> {
               if (searchRes.succeeded()) {
                 LOGGER.debug("Success:Successful DB request");
-                List<ElasticsearchResponse> response = searchRes.result();
+                List<ElasticsearchResponse> response = searchRes.result().getHits();
                 DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
-                responseMsg.statusSuccess().setTotalHits(response.size());
+                responseMsg.statusSuccess().setTotalHits((int) searchRes.result().getTotalHits());
                 response.stream()
                     .map(ElasticsearchResponse::getSource)
                     .peek(
@@ -484,85 +625,79 @@ public final class SearchController {
     return promise.future();
   }
 
-  public Future<JsonObject> nlpSearchLocationQuery(JsonArray request, JsonObject queryParams) {
+  /**
+   * Executes an NLP search restricted to the places a location was geocoded to. A single kNN search
+   * is made, filtered to the items of any of the places, so every item is returned once and the
+   * results are ranked together. The results are paged over the {@code nlpSearchK} nearest items.
+   *
+   * @param request the request embeddings
+   * @param queryParams the geocoding result, one entry of {@code results} per candidate place
+   * @param offset the number of nearest items skipped
+   * @param limit the number of items returned at most
+   * @return Future<{@link io.vertx.core.json.JsonObject}> that completes with the search results
+   */
+  public Future<JsonObject> nlpSearchLocationQuery(
+      JsonArray request, JsonObject queryParams, int offset, int limit) {
     Promise<JsonObject> promise = Promise.promise();
     JsonArray embeddings = request.getJsonArray(0);
     JsonArray params = queryParams.getJsonArray(RESULTS);
 
-    List<Future> futures =
-        params.stream()
-            .map(
-                param -> {
-                  try {
-                    return scriptLocationSearch(embeddings, (JsonObject) param);
-                  } catch (Exception e) {
-                    LOGGER.error("Error during scriptLocationSearch for param: " + param, e);
-                    return Future.failedFuture(
-                        e); // returns a Future<JsonObject> in case of an error
-                  }
-                })
-            .collect(Collectors.toList());
-
-    // When all futures return, respond back with the result object in the response
-    CompositeFuture.all(futures)
-        .onComplete(
-            ar -> {
-              if (ar.succeeded()) {
-                JsonArray results = new JsonArray();
-                ar.result()
-                    .list()
-                    .forEach(
-                        h -> {
-                          JsonArray hr = ((JsonObject) h).getJsonArray(RESULTS);
-                          if (hr != null && !hr.isEmpty()) {
-                            hr.stream().forEach(results::add);
-                          }
-                        });
-                if (results.isEmpty()) {
-                  promise.complete(itemNotFoundJsonResp("NLP Search Failed"));
-                } else {
-                  promise.complete(successResponse(results));
-                }
-              } else {
-                LOGGER.error("Failed to process NLP search", ar.cause());
-                promise.fail(ar.cause());
-              }
-            });
-
-    return promise.future();
-  }
-
-  private Future<JsonObject> scriptLocationSearch(JsonArray embeddings, JsonObject param) {
-    Promise<JsonObject> promise = Promise.promise();
     QueryModel queryModel = new QueryModel();
-    queryModel.setQueries(generateGeoScriptScoreQuery(param, embeddings));
+    queryModel.setQueries(generateGeoKnnQuery(params, embeddings));
     queryModel.setExcludeFields(List.of("_word_vector"));
+    setPage(queryModel, offset, limit);
     esService
         .search(docIndex, queryModel)
         .onSuccess(
             searchRes -> {
               LOGGER.debug("Success: Successful DB request");
-              DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
-              responseMsg.statusSuccess().setTotalHits(searchRes.size());
-              searchRes.stream()
+              JsonArray results = new JsonArray();
+              searchRes.getHits().stream()
                   .map(ElasticsearchResponse::getSource)
                   .peek(
                       source -> {
                         source.remove(SUMMARY_KEY);
                         source.remove(WORD_VECTOR_KEY);
                       })
-                  .forEach(responseMsg::addResult);
-              promise.complete(responseMsg.getResponse());
+                  .forEach(results::add);
+              if (results.isEmpty()) {
+                promise.complete(itemNotFoundJsonResp("NLP Search Failed"));
+              } else {
+                promise.complete(
+                    successResponse(results).put(TOTAL_HITS, searchRes.getTotalHits()));
+              }
             })
         .onFailure(
             throwable -> {
-              LOGGER.debug("Fail: {}", throwable.getLocalizedMessage());
+              LOGGER.error("Failed to process NLP search", throwable);
               promise.fail(internalErrorResp());
             });
+
     return promise.future();
   }
 
-  public QueryModel generateGeoScriptScoreQuery(JsonObject queryParams, JsonArray queryVector) {
+  /**
+   * Creates the kNN query of an NLP location search. An item matches if it lies in any of the
+   * candidate places.
+   *
+   * @param places the geocoded candidate places
+   * @param queryVector the embeddings of the search text
+   * @return the kNN query, filtered to the candidate places
+   */
+  public QueryModel generateGeoKnnQuery(JsonArray places, JsonArray queryVector) {
+    QueryModel anyPlace = new QueryModel(QueryType.BOOL);
+    places.stream()
+        .map(JsonObject.class::cast)
+        .map(this::placeQueryModel)
+        .forEach(anyPlace::addShouldQuery);
+    anyPlace.setMinimumShouldMatch("1");
+
+    // Nearest neighbours among the items of the places only
+    return knnQueryModel(queryVector, anyPlace);
+  }
+
+  /* Items in a single candidate place */
+  private QueryModel placeQueryModel(JsonObject queryParams) {
 
     QueryModel boolQueryModel = new QueryModel(QueryType.BOOL);
 
@@ -648,9 +783,19 @@ public final class SearchController {
                   INTERSECTS)));
     }
 
-    // Script score for cosine similarity
-    return new QueryModel(
-        QueryType.SCRIPT_SCORE,
-        Map.of("query_vector", queryVector, "custom_query", boolQueryModel.toJson()));
+    return boolQueryModel;
+  }
+
+  /* kNN on the word vectors, so the cost does not grow with the number of items */
+  private QueryModel knnQueryModel(JsonArray queryVector, QueryModel filter) {
+    Map<String, Object> knnParams = new HashMap<>();
+    knnParams.put(FIELD, WORD_VECTOR_KEY);
+    knnParams.put(QUERY_VECTOR, queryVector);
+    knnParams.put(KNN_K, nlpSearchK);
+    knnParams.put(KNN_NUM_CANDIDATES, nlpSearchNumCandidates);
+    if (filter != null) {
+      knnParams.put(KNN_FILTER, filter.toJson());
+    }
+    return new QueryModel(QueryType.KNN, knnParams);
   }
 }
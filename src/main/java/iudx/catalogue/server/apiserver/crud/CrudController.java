@@ -4,6 +4,7 @@ import static iudx.catalogue.server.apiserver.util.Constants.*;
 import static iudx.catalogue.server.common.util.ResponseBuilderUtil.*;
 import static iudx.catalogue.server.util.Constants.*;
 
+import io.vertx.core.Future;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonArray;
@@ -17,10 +18,14 @@ import iudx.catalogue.server.authenticator.handler.AuthenticationHandler;
 import iudx.catalogue.server.authenticator.handler.AuthorizationHandler;
 import iudx.catalogue.server.authenticator.model.DxRole;
 import iudx.catalogue.server.authenticator.model.JwtAuthenticationInfo;
+import iudx.catalogue.server.common.RespBuilder;
 import iudx.catalogue.server.common.RoutingContextHelper;
 import iudx.catalogue.server.exceptions.FailureHandler;
 import iudx.catalogue.server.validator.service.ValidatorService;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -40,20 +45,24 @@ public class CrudController {
   private final AuthorizationHandler authorizationHandler;
   private final ItemSchemaHandler itemSchemaHandler;
   private final ItemLinkValidationHandler itemLinkValidationHandler;
+  private final ValidatorService validatorService;
   private final AuditHandler auditHandler;
   private final FailureHandler failureHandler;
   private final String host;
+  private final int bulkChunkSize;
 
   /**
    * CrudController constructor.
    *
    * @param isUac flag indicating if UAC is enabled
+   * @param bulkChunkSize number of items of a batch request validated and written together
    * @param crudService service for CRUD operations
    */
   public CrudController(
       Router router,
       boolean isUac,
       String host,
+      int bulkChunkSize,
       CrudService crudService,
       ValidatorService validatorService,
       AuthenticationHandler authenticationHandler,
@@ -63,11 +72,13 @@ public class CrudController {
     this.router = router;
     this.isUac = isUac;
     this.host = host;
+    this.bulkChunkSize = bulkChunkSize;
     this.crudService = crudService;
     this.authenticationHandler = authenticationHandler;
     this.authorizationHandler = authorizationHandler;
     this.itemSchemaHandler = new ItemSchemaHandler();
     this.itemLinkValidationHandler = new ItemLinkValidationHandler(crudService, validatorService);
+    this.validatorService = validatorService;
     this.auditHandler = auditHandler;
     this.failureHandler = failureHandler;
 
@@ -143,6 +154,28 @@ public class CrudController {
             })
         .failureHandler(failureHandler);
 
+    /* Create Items in batch - Body contains an array of items of one type and provider */
+    router
+        .post(ROUTE_ITEMS_BATCH)
+        .consumes(MIME_APPLICATION_JSON)
+        .produces(MIME_APPLICATION_JSON)
+        .handler(itemSchemaHandler::verifyAuthHeader)
+        .handler(itemSchemaHandler::validateBatchSchema)
+        .handler(
+            routingContext -> {
+              if (!isUac) {
+                itemLinkValidationHandler.handleBatchItemTypeCases(routingContext);
+              } else {
+                routingContext.next();
+              }
+            })
+        .handler(authenticationHandler)
+        .handler(
+            authorizationHandler.forRoleAndEntityAccess(
+                DxRole.COS_ADMIN, DxRole.ADMIN, DxRole.PROVIDER, DxRole.DELEGATE))
+        .handler(this::createItemsBatchHandler)
+        .failureHandler(failureHandler);
+
     /* Get Item */
     router
         .get(ROUTE_ITEMS)
@@ -266,6 +299,104 @@ public class CrudController {
     }
   }
 
+  /**
+   * Create Items in batch. The items are validated and written in chunks: the items of a chunk are
+   * validated in parallel, and the valid ones are written with a single bulk request. Every item
+   * gets its own result, so one invalid item does not fail the batch.
+   *
+   * @param routingContext {@link RoutingContext}
+   */
+  void createItemsBatchHandler(RoutingContext routingContext) {
+    HttpServerResponse response = routingContext.response();
+    JsonArray items = RoutingContextHelper.getValidatedRequest(routingContext).getJsonArray(ITEMS);
+
+    createItemsInChunks(items, 0, new JsonArray())
+        .onComplete(
+            batchHandler -> {
+              if (batchHandler.failed()) {
+                LOGGER.error("Failed to create items: " + batchHandler.cause().getMessage());
+                response.setStatusCode(500).end(internalErrorResp());
+                return;
+              }
+              JsonArray results = batchHandler.result();
+              List<String> createdIds =
+                  results.stream()
+                      .map(JsonObject.class::cast)
+                      .filter(result -> TYPE_SUCCESS.equals(result.getString(STATUS)))
+                      .map(result -> result.getString(ID))
+                      .collect(Collectors.toList());
+              LOGGER.info("Success: {} of {} items created", createdIds.size(), items.size());
+
+              int statusCode;
+              if (createdIds.size() == items.size()) {
+                statusCode = 201;
+              } else if (createdIds.isEmpty()) {
+                statusCode = 400;
+              } else {
+                statusCode = 207;
+              }
+              response
+                  .setStatusCode(statusCode)
+                  .end(
+                      new RespBuilder()
+                          .withType(createdIds.isEmpty() ? TYPE_FAIL : TYPE_SUCCESS)
+                          .withTitle(createdIds.isEmpty() ? FAILED : TITLE_SUCCESS)
+                          .withDetail(createdIds.size() + " of " + items.size() + " items created")
+                          .withResult(results)
+                          .getResponse());
+              if (!isUac) {
+                createdIds.forEach(
+                    id -> auditHandler.handle(routingContext, routingContext.normalizedPath(), id));
+              }
+            });
+  }
+
+  private Future<JsonArray> createItemsInChunks(JsonArray items, int from, JsonArray results) {
+    if (from >= items.size()) {
+      return Future.succeededFuture(results);
+    }
+    int to = Math.min(from + bulkChunkSize, items.size());
+    List<Future<JsonObject>> validations = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      validations.add(validateBatchItem(items.getJsonObject(i)));
+    }
+
+    return Future.join(validations)
+        .transform(
+            joined -> {
+              List<JsonObject> validItems = new ArrayList<>();
+              for (int i = 0; i < validations.size(); i++) {
+                Future<JsonObject> validation = validations.get(i);
+                if (validation.succeeded()) {
+                  validItems.add(validation.result());
+                } else {
+                  results.add(
+                      new JsonObject()
+                          .put(ID, items.getJsonObject(from + i).getString(ID))
+                          .put(METHOD, INSERT)
+                          .put(STATUS, FAILED)
+                          .put(DETAIL, validation.cause().getMessage()));
+                }
+              }
+              return crudService.createItems(validItems);
+            })
+        .compose(
+            created -> {
+              results.addAll(created);
+              return createItemsInChunks(items, to, results);
+            });
+  }
+
+  private Future<JsonObject> validateBatchItem(JsonObject item) {
+    try {
+      itemSchemaHandler.validateSchema(item);
+    } catch (RuntimeException e) {
+      return Future.failedFuture(invalidSchemaResponse(e.getMessage()));
+    }
+    item.put(HTTP_METHOD, REQUEST_POST);
+    return validatorService.validateItem(item);
+  }
+
   /**
    * Get Item.
    *
@@ -4,10 +4,13 @@ import static iudx.catalogue.server.util.Constants.*;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import iudx.catalogue.server.apiserver.item.model.*;
 import iudx.catalogue.server.apiserver.item.service.ItemService;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -43,6 +46,24 @@ public class CrudService {
     return promise.future();
   }
 
+  /**
+   * Creates a batch of validated items with a single bulk write.
+   *
+   * @param requestBodies the validated items
+   * @return one result per item
+   */
+  public Future<JsonArray> createItems(List<JsonObject> requestBodies) {
+    if (requestBodies.isEmpty()) {
+      return Future.succeededFuture(new JsonArray());
+    }
+    List<Item> items =
+        requestBodies.stream()
+            .map(body -> createItemFromType(body.getJsonArray(TYPE).getString(0), body))
+            .collect(Collectors.toList());
+    LOGGER.debug("Info: Inserting batch of {} items", items.size());
+    return itemService.createItems(items);
+  }
+
   public Future<JsonObject> updateItem(JsonObject requestBody) {
     Promise<JsonObject> promise = Promise.promise();
 
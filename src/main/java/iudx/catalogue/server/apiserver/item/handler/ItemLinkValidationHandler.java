@@ -1,6 +1,7 @@
 package iudx.catalogue.server.apiserver.item.handler;
 
 import static iudx.catalogue.server.apiserver.util.Constants.HEADER_TOKEN;
+import static iudx.catalogue.server.apiserver.util.Constants.ITEMS;
 import static iudx.catalogue.server.common.util.ResponseBuilderUtil.invalidUuidResponse;
 import static iudx.catalogue.server.common.util.ResponseBuilderUtil.itemNotFoundResponse;
 import static iudx.catalogue.server.common.util.ResponseBuilderUtil.linkValidationFailureResponse;
@@ -11,6 +12,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
 import iudx.catalogue.server.apiserver.crud.CrudService;
@@ -109,6 +111,47 @@ public class ItemLinkValidationHandler implements Handler<RoutingContext> {
     }
   }
 
+  /**
+   * Adds the provider details to every item of a batch. All items of a batch belong to the same
+   * provider, so it is looked up once.
+   *
+   * @param routingContext {@link RoutingContext}
+   */
+  public void handleBatchItemTypeCases(RoutingContext routingContext) {
+    JsonObject batch = RoutingContextHelper.getValidatedRequest(routingContext);
+    JsonArray items = batch.getJsonArray(ITEMS);
+    JwtAuthenticationInfo jwtAuthenticationInfo =
+        RoutingContextHelper.getJwtAuthInfo(routingContext);
+
+    getParentObjectInfo(items.getJsonObject(0).getString(PROVIDER))
+        .onComplete(
+            ownerUserId -> {
+              if (ownerUserId.failed()) {
+                routingContext
+                    .response()
+                    .setStatusCode(400)
+                    .end(linkValidationFailureResponse("Provider not found"));
+                return;
+              }
+              String kcId = ownerUserId.result().getString(PROVIDER_USER_ID);
+              String rsUrl = ownerUserId.result().getString(RESOURCE_SERVER_URL);
+              // cosId is used for relationship apis
+              String cosId = ownerUserId.result().getString(COS_ITEM);
+              items.stream()
+                  .map(JsonObject.class::cast)
+                  .forEach(item -> item.put(PROVIDER_USER_ID, kcId).put(COS_ITEM, cosId));
+
+              RoutingContextHelper.setJwtAuthInfo(
+                  routingContext,
+                  new JwtAuthenticationInfo.Builder(jwtAuthenticationInfo)
+                      .setProviderUserId(kcId)
+                      .setResourceServerUrl(rsUrl)
+                      .build());
+              RoutingContextHelper.setValidatedRequest(routingContext, batch);
+              routingContext.next();
+            });
+  }
+
   Future<JsonObject> getParentObjectInfo(String itemId) {
     Promise<JsonObject> promise = Promise.promise();
     List<String> includeFields =
@@ -2,6 +2,8 @@ package iudx.catalogue.server.apiserver.item.handler;
 
 import static iudx.catalogue.server.apiserver.util.Constants.HEADER_CONTENT_TYPE;
 import static iudx.catalogue.server.apiserver.util.Constants.HEADER_TOKEN;
+import static iudx.catalogue.server.apiserver.util.Constants.ITEMS;
+import static iudx.catalogue.server.apiserver.util.Constants.MAX_BATCH_ITEMS;
 import static iudx.catalogue.server.apiserver.util.Constants.MIME_APPLICATION_JSON;
 import static iudx.catalogue.server.common.util.ResponseBuilderUtil.invalidSchemaResponse;
 import static iudx.catalogue.server.common.util.ResponseBuilderUtil.invalidSyntaxResponse;
@@ -14,6 +16,7 @@ import static iudx.catalogue.server.util.Constants.ITEM_TYPE_PROVIDER;
 import static iudx.catalogue.server.util.Constants.ITEM_TYPE_RESOURCE;
 import static iudx.catalogue.server.util.Constants.ITEM_TYPE_RESOURCE_GROUP;
 import static iudx.catalogue.server.util.Constants.ITEM_TYPE_RESOURCE_SERVER;
+import static iudx.catalogue.server.util.Constants.PROVIDER;
 import static iudx.catalogue.server.util.Constants.REQUEST_GET;
 import static iudx.catalogue.server.util.Constants.REQUEST_POST;
 import static iudx.catalogue.server.util.Constants.REQUEST_PUT;
@@ -22,6 +25,7 @@ import static iudx.catalogue.server.util.Constants.TYPE;
 import io.vertx.core.Handler;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.RoutingContext;
@@ -104,6 +108,95 @@ public class ItemSchemaHandler implements Handler<RoutingContext> {
     routingContext.next();
   }
 
+  /**
+   * Create Items in batch. Checks that the request is an array of resource groups or resources of
+   * a single type and provider, so that one authorization covers every item of the batch. The
+   * schema of each item is validated when the batch is written, and reported per item.
+   *
+   * @param routingContext {@link RoutingContext}
+   */
+  public void validateBatchSchema(RoutingContext routingContext) {
+    HttpServerResponse response = routingContext.response();
+    response.putHeader(HEADER_CONTENT_TYPE, MIME_APPLICATION_JSON);
+
+    JsonArray items;
+    try {
+      items = routingContext.body().asJsonArray();
+    } catch (DecodeException | ClassCastException e) {
+      items = null;
+    }
+    if (items == null || items.isEmpty()) {
+      LOGGER.error("Fail: Invalid batch request");
+      response
+          .setStatusCode(400)
+          .end(invalidSyntaxResponse("Fail: The body must be a non-empty array of items"));
+      return;
+    }
+    if (items.size() > MAX_BATCH_ITEMS) {
+      response
+          .setStatusCode(400)
+          .end(invalidSyntaxResponse("Fail: The max number of items is " + MAX_BATCH_ITEMS));
+      return;
+    }
+
+    Set<String> itemTypes = new HashSet<>();
+    Set<String> providers = new HashSet<>();
+    for (Object value : items) {
+      JsonObject item = value instanceof JsonObject ? (JsonObject) value : new JsonObject();
+      if (!(item.getValue(TYPE) instanceof JsonArray)) {
+        response
+            .setStatusCode(400)
+            .end(invalidSchemaResponse("Invalid type for item/type not present"));
+        return;
+      }
+      itemTypes.add(getItemType(item.getJsonArray(TYPE)));
+      providers.add(item.getString(PROVIDER));
+    }
+    String itemType = itemTypes.iterator().next();
+    if (itemTypes.size() != 1
+        || !(itemType.equals(ITEM_TYPE_RESOURCE) || itemType.equals(ITEM_TYPE_RESOURCE_GROUP))) {
+      response
+          .setStatusCode(400)
+          .end(invalidSchemaResponse("Items must be all resource groups or all resources"));
+      return;
+    }
+    if (providers.size() != 1 || providers.contains(null)) {
+      response
+          .setStatusCode(400)
+          .end(invalidSchemaResponse("Items must belong to a single provider"));
+      return;
+    }
+
+    RoutingContextHelper.setItemType(routingContext, itemType);
+    JwtAuthenticationInfo jwtAuthenticationInfo =
+        new JwtAuthenticationInfo.Builder()
+            .setToken(routingContext.request().getHeader(HEADER_TOKEN))
+            .setMethod(REQUEST_POST)
+            .setApiEndpoint(routingContext.normalizedPath())
+            .setItemType(itemType)
+            .build();
+    RoutingContextHelper.setJwtAuthInfo(routingContext, jwtAuthenticationInfo);
+    RoutingContextHelper.setValidatedRequest(routingContext, new JsonObject().put(ITEMS, items));
+    routingContext.next();
+  }
+
+  /**
+   * Validates the schema of a single item of a batch.
+   *
+   * @param requestBody the item
+   * @return the item model
+   * @throws IllegalArgumentException if the item does not match the schema of its type
+   */
+  public Item validateSchema(JsonObject requestBody) {
+    return createItemFromType(getItemType(requestBody.getJsonArray(TYPE)), requestBody);
+  }
+
+  private static String getItemType(JsonArray types) {
+    Set<String> type = new HashSet<String>(types.getList());
+    type.retainAll(ITEM_TYPES);
+    return type.toString().replaceAll("\\[", "").replaceAll("\\]", "");
+  }
+
   /**
    * Extracts the item type from the provided JSON request body.
    *
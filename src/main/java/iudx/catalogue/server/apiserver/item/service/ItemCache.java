@@ -0,0 +1,155 @@
+package iudx.catalogue.server.apiserver.item.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Read-through cache of items, keyed by item id and the set of fields fetched. The cache holds at
+ * most the configured number of item ids, least recently used first out, and every entry expires
+ * after the configured time to live.
+ *
+ * <p>Writes invalidate the entries of the item on every node: the invalidation is published on
+ * {@value #INVALIDATION_ADDRESS} of the clustered event bus, which each cache listens to. An item
+ * read while it is being invalidated is not cached, so a read racing a write cannot put the old
+ * item back.
+ *
+ * <p>Hits, misses and evictions are counted in the {@value #GETS_METRIC} and {@value
+ * #EVICTIONS_METRIC} meters, tagged with {@code cache=items}.
+ */
+public class ItemCache {
+  public static final String INVALIDATION_ADDRESS = "iudx.catalogue.item.cache.invalidate";
+  public static final String GETS_METRIC = "cache.gets";
+  public static final String EVICTIONS_METRIC = "cache.evictions";
+  private static final Logger LOGGER = LogManager.getLogger(ItemCache.class);
+  private static final String CACHE_TAG = "cache";
+  private static final String CACHE_NAME = "items";
+  private static final String ALL_FIELDS = "*";
+
+  private final Vertx vertx;
+  private final Cache<String, Map<String, JsonObject>> cache;
+  private final AtomicLong invalidations = new AtomicLong();
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter evictions;
+
+  /**
+   * Creates a cache and subscribes it to the invalidations of the cluster.
+   *
+   * @param vertx the Vert.x instance whose event bus carries the invalidations
+   * @param maxSize the number of item ids kept; 0 disables the cache
+   * @param ttlSeconds how long an item is kept after it was read
+   * @param registry the registry of the cache metrics
+   */
+  public ItemCache(Vertx vertx, long maxSize, long ttlSeconds, MeterRegistry registry) {
+    this.vertx = vertx;
+    this.hits = counter(registry, GETS_METRIC, "hit");
+    this.misses = counter(registry, GETS_METRIC, "miss");
+    this.evictions =
+        Counter.builder(EVICTIONS_METRIC).tag(CACHE_TAG, CACHE_NAME).register(registry);
+    if (maxSize <= 0) {
+      this.cache = null;
+      return;
+    }
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .removalListener(this::onRemoval)
+            .build();
+    vertx
+        .eventBus()
+        .<String>consumer(INVALIDATION_ADDRESS, message -> invalidateLocally(message.body()));
+  }
+
+  private static Counter counter(MeterRegistry registry, String name, String result) {
+    return Counter.builder(name)
+        .tag(CACHE_TAG, CACHE_NAME)
+        .tag("result", result)
+        .register(registry);
+  }
+
+  /* The same key for the same set of fields, whatever their order */
+  private static String fieldsKey(List<String> includeFields) {
+    if (includeFields == null) {
+      return ALL_FIELDS;
+    }
+    return includeFields.stream().sorted().distinct().collect(Collectors.joining(","));
+  }
+
+  /**
+   * Returns the cached item, or loads and caches it.
+   *
+   * @param id the item id
+   * @param includeFields the fields fetched, or null for the whole item
+   * @param loader loads the item; completes with null if the item does not exist
+   * @return the item, or null if it does not exist
+   */
+  public Future<JsonObject> get(
+      String id, List<String> includeFields, Supplier<Future<JsonObject>> loader) {
+    if (cache == null) {
+      return loader.get();
+    }
+    String fields = fieldsKey(includeFields);
+    Map<String, JsonObject> entries = cache.getIfPresent(id);
+    JsonObject cached = entries == null ? null : entries.get(fields);
+    if (cached != null) {
+      hits.increment();
+      return Future.succeededFuture(cached.copy());
+    }
+    misses.increment();
+
+    long invalidationsAtRead = invalidations.get();
+    return loader
+        .get()
+        .onSuccess(
+            item -> {
+              // missing items are not cached, they are about to be created more often than not
+              if (item != null && invalidations.get() == invalidationsAtRead) {
+                try {
+                  cache.get(id, ConcurrentHashMap::new).put(fields, item.copy());
+                } catch (Exception e) {
+                  LOGGER.warn("Item {} not cached: {}", id, e.getMessage());
+                }
+              }
+            });
+  }
+
+  /**
+   * Drops the entries of an item on this node and on every other node of the cluster.
+   *
+   * @param id the item id
+   */
+  public void invalidate(String id) {
+    if (cache == null) {
+      return;
+    }
+    invalidateLocally(id);
+    vertx.eventBus().publish(INVALIDATION_ADDRESS, id);
+  }
+
+  private void invalidateLocally(String id) {
+    invalidations.incrementAndGet();
+    cache.invalidate(id);
+  }
+
+  private void onRemoval(RemovalNotification<String, Map<String, JsonObject>> notification) {
+    if (notification.wasEvicted()) {
+      evictions.increment();
+    }
+  }
+}
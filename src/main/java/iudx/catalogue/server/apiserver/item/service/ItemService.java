@@ -1,12 +1,23 @@
 package iudx.catalogue.server.apiserver.item.service;
 
 import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import iudx.catalogue.server.apiserver.item.model.Item;
+import java.util.List;
 
 public interface ItemService {
   Future<JsonObject> createItem(Item item);
 
+  /**
+   * Creates several items with one bulk write. Items that already exist, or whose summary could
+   * not be created, are reported as failed without failing the others.
+   *
+   * @param items the items to create
+   * @return one result per item, of the form {@code {"id":..,"method":"insert","title":..}}
+   */
+  Future<JsonArray> createItems(List<Item> items);
+
   Future<JsonObject> updateItem(Item item);
 
   Future<JsonObject> getItem(JsonObject requestBody);
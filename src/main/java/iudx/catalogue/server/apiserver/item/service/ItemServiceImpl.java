@@ -9,10 +9,13 @@ import static iudx.catalogue.server.validator.util.Constants.CONTEXT;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import iudx.catalogue.server.apiserver.item.model.Item;
+import iudx.catalogue.server.common.CatalogueVersion;
 import iudx.catalogue.server.common.RespBuilder;
 import iudx.catalogue.server.common.util.DbResponseMessageBuilder;
+import iudx.catalogue.server.database.elastic.model.BulkOperation;
 import iudx.catalogue.server.database.elastic.model.ElasticsearchResponse;
 import iudx.catalogue.server.database.elastic.model.QueryModel;
 import iudx.catalogue.server.database.elastic.service.ElasticsearchService;
@@ -29,6 +32,8 @@ public class ItemServiceImpl implements ItemService {
   private static final Logger LOGGER = LogManager.getLogger(ItemServiceImpl.class);
   protected final ElasticsearchService esService;
   private final JsonObject config;
+  private final ItemCache itemCache;
+  private final CatalogueVersion catalogueVersion;
   private NLPSearchService nlpService;
   private GeocodingService geoService;
   private boolean nlpPluggedIn = false;
@@ -38,21 +43,33 @@ public class ItemServiceImpl implements ItemService {
       ElasticsearchService esService,
       GeocodingService geoService,
       NLPSearchService nlpService,
-      JsonObject config) {
+      JsonObject config,
+      ItemCache itemCache,
+      CatalogueVersion catalogueVersion) {
     this.esService = esService;
     this.config = config;
+    this.itemCache = itemCache;
+    this.catalogueVersion = catalogueVersion;
     this.geoService = geoService;
     this.nlpService = nlpService;
     nlpPluggedIn = true;
     geoPluggedIn = true;
   }
 
-  public ItemServiceImpl(ElasticsearchService esService, JsonObject config) {
+  public ItemServiceImpl(
+      ElasticsearchService esService,
+      JsonObject config,
+      ItemCache itemCache,
+      CatalogueVersion catalogueVersion) {
     this.esService = esService;
     this.config = config;
+    this.itemCache = itemCache;
+    this.catalogueVersion = catalogueVersion;
   }
 
-  private static QueryModel checkQueryModel(String id) {
+  /* Items other than the item itself that refer to it as their resource group, provider,
+  resource server or cos */
+  private static QueryModel associatedItemsQueryModel(String id) {
     Map<String, Object> idParams = Map.of(FIELD, ID_KEYWORD, VALUE, id);
     Map<String, Object> resourceGroupParams = Map.of(FIELD, RESOURCE_GRP + KEYWORD_KEY, VALUE, id);
     Map<String, Object> providerParams = Map.of(FIELD, PROVIDER + KEYWORD_KEY, VALUE, id);
@@ -66,9 +83,9 @@ public class ItemServiceImpl implements ItemService {
     QueryModel cosQuery = new QueryModel(QueryType.TERM, cosParams);
 
     List<QueryModel> shouldQueries =
-        List.of(idQuery, resourceGroupQuery, providerQuery, resourceServerQuery, cosQuery);
+        List.of(resourceGroupQuery, providerQuery, resourceServerQuery, cosQuery);
 
-    return new QueryModel(SHOULD, shouldQueries);
+    return new QueryModel(null, shouldQueries, List.of(idQuery), null);
   }
 
   @Override
@@ -88,13 +105,6 @@ public class ItemServiceImpl implements ItemService {
     }
 
     final String instanceId = doc.getString(INSTANCE);
-    Map<String, Object> termParams = new HashMap<>();
-    termParams.put(FIELD, ID_KEYWORD);
-    termParams.put(VALUE, id);
-    QueryModel checkItemQueryModel = new QueryModel();
-    checkItemQueryModel.setQueries(new QueryModel(QueryType.TERM, termParams));
-    checkItemQueryModel.setLimit(MAX_LIMIT);
-    checkItemQueryModel.setOffset(FILTER_PAGINATION_FROM);
 
     verifyInstance(instanceId)
         .compose(
@@ -105,7 +115,7 @@ public class ItemServiceImpl implements ItemService {
               }
               return Future.succeededFuture(doc);
             })
-        .compose(v -> checkItemExists(checkItemQueryModel))
+        .compose(v -> checkItemExists(id))
         .compose(
             exists -> {
               if (exists) {
@@ -143,59 +153,42 @@ public class ItemServiceImpl implements ItemService {
     String type = doc.getJsonArray(TYPE).getString(0);
     String index = config.getString(DOC_INDEX);
 
-    QueryModel queryModel = new QueryModel();
-    QueryModel idTermQuery = new QueryModel(QueryType.TERM, Map.of(FIELD, ID_KEYWORD, VALUE, id));
-    QueryModel typeMatchQuery =
-        new QueryModel(QueryType.MATCH, Map.of(FIELD, TYPE_KEYWORD, VALUE, type));
-    QueryModel checkItemExistenceQuery = new QueryModel(MUST, List.of(idTermQuery, typeMatchQuery));
-    queryModel.setQueries(checkItemExistenceQuery);
-
-    // Set the source configuration to include specified fields
-    queryModel.setIncludeFields(List.of(ID));
     Promise<JsonObject> promise = Promise.promise();
-    new Timer()
-        .schedule(
-            new TimerTask() {
-              public void run() {
-                esService
-                    .search(index, queryModel)
-                    .onComplete(
-                        checkRes -> {
-                          if (checkRes.failed()) {
-                            LOGGER.error("Fail: Check query fail;" + checkRes.cause());
-                            promise.fail(internalErrorResp());
-                            return;
-                          }
-                          if (checkRes.succeeded()) {
-                            if (checkRes.result().size() != 1) {
-                              LOGGER.error("Fail: Doc doesn't exist, can't update");
-                              promise.fail(
-                                  itemNotFoundResponse(
-                                      id, UPDATE, "Fail: Doc doesn't exist, can't update"));
-                              return;
-                            }
-                            String docId = checkRes.result().get(0).getDocId();
-                            esService
-                                .updateDocument(index, docId, doc)
-                                .onComplete(
-                                    dbHandler -> {
-                                      if (dbHandler.failed()) {
-                                        LOGGER.error(
-                                            "Fail: Item update failed; "
-                                                + dbHandler.cause().getMessage());
-                                        promise.fail(internalErrorResp());
-                                      } else {
-                                        LOGGER.info("Success: Item updated;");
-                                        promise.complete(
-                                            successfulItemOperationResp(
-                                                doc, "Success: Item updated successfully"));
-                                      }
-                                    });
-                          }
-                        });
+    esService
+        .getById(index, id, List.of(ID, TYPE))
+        .onComplete(
+            checkRes -> {
+              if (checkRes.failed()) {
+                LOGGER.error("Fail: Check query fail;" + checkRes.cause());
+                promise.fail(internalErrorResp());
+                return;
+              }
+              JsonObject existing = checkRes.result();
+              if (existing == null
+                  || !existing.getJsonArray(TYPE, new JsonArray()).contains(type)) {
+                LOGGER.error("Fail: Doc doesn't exist, can't update");
+                promise.fail(
+                    itemNotFoundResponse(id, UPDATE, "Fail: Doc doesn't exist, can't update"));
+                return;
               }
-            },
-            STATIC_DELAY_TIME);
+              esService
+                  .updateDocument(index, id, doc)
+                  .onComplete(
+                      dbHandler -> {
+                        itemCache.invalidate(id);
+                        if (dbHandler.failed()) {
+                          LOGGER.error(
+                              "Fail: Item update failed; " + dbHandler.cause().getMessage());
+                          promise.fail(internalErrorResp());
+                        } else {
+                          catalogueVersion.bump();
+                          LOGGER.info("Success: Item updated;");
+                          promise.complete(
+                              successfulItemOperationResp(
+                                  doc, "Success: Item updated successfully"));
+                        }
+                      });
+            });
     return promise.future();
   }
 
@@ -203,68 +196,58 @@ public class ItemServiceImpl implements ItemService {
   public Future<JsonObject> deleteItem(String id) {
     Promise<JsonObject> promise = Promise.promise();
 
-    new Timer()
-        .schedule(
-            new TimerTask() {
-              public void run() {
-                /* the check query checks if any type item is present more than once.
-                If it's present then the item cannot be deleted.  */
-                String index = config.getString(DOC_INDEX);
-
-                QueryModel queryResourceGrp = new QueryModel();
-                queryResourceGrp.setQueries(checkQueryModel(id));
-
-                esService
-                    .search(index, queryResourceGrp)
-                    .onComplete(
-                        checkRes -> {
-                          if (checkRes.failed()) {
-                            LOGGER.error("Fail: Check query fail;" + checkRes.cause().getMessage());
-                            promise.fail(internalErrorResp());
+    /* the check query checks if any other item refers to the item.
+    If one does then the item cannot be deleted.  */
+    String index = config.getString(DOC_INDEX);
+
+    QueryModel queryAssociatedItems = new QueryModel();
+    queryAssociatedItems.setQueries(associatedItemsQueryModel(id));
+
+    Future<Boolean> existsFuture = checkItemExists(id);
+    Future<Integer> associatedFuture = esService.count(index, queryAssociatedItems);
+    Future.all(existsFuture, associatedFuture)
+        .onComplete(
+            checkRes -> {
+              if (checkRes.failed()) {
+                LOGGER.error("Fail: Check query fail;" + checkRes.cause().getMessage());
+                promise.fail(internalErrorResp());
+                return;
+              }
+              LOGGER.debug("Success: Check index for doc");
+              if (!existsFuture.result()) {
+                LOGGER.error("Fail: Doc doesn't exist, can't delete;");
+                promise.fail(itemNotFoundResponse(id, "Fail: Doc doesn't exist, can't delete"));
+                return;
+              } else if (associatedFuture.result() > 0) {
+                LOGGER.error("Fail: Can't delete, doc has associated item;");
+                promise.fail(
+                    operationNotAllowedResponse(
+                        id, "Fail: Can't delete, doc has associated item"));
+                return;
+              }
+              esService
+                  .deleteDocument(index, id)
+                  .onComplete(
+                      dbHandler -> {
+                        itemCache.invalidate(id);
+                        if (dbHandler.succeeded()) {
+                          JsonObject response = dbHandler.result();
+                          LOGGER.info("Success: Item deleted;");
+                          if (TITLE_SUCCESS.equals(response.getString(TITLE))) {
+                            catalogueVersion.bump();
+                            promise.complete(successResp(id, "Success: Item deleted successfully"));
                           } else {
-                            LOGGER.debug("Success: Check index for doc");
-                            if (checkRes.result().size() > 1) {
-                              LOGGER.error("Fail: Can't delete, doc has associated item;");
-                              promise.fail(
-                                  operationNotAllowedResponse(
-                                      id, "Fail: Can't delete, doc has associated item"));
-                              return;
-                            } else if (checkRes.result().isEmpty()) {
-                              LOGGER.error("Fail: Doc doesn't exist, can't delete;");
-                              promise.fail(
-                                  itemNotFoundResponse(
-                                      id, "Fail: Doc doesn't exist, can't delete"));
-                              return;
-                            }
-                            String docId = checkRes.result().get(0).getDocId();
-                            esService
-                                .deleteDocument(index, docId)
-                                .onComplete(
-                                    dbHandler -> {
-                                      if (dbHandler.succeeded()) {
-                                        JsonObject response = dbHandler.result();
-                                        LOGGER.info("Success: Item deleted;");
-                                        if (TITLE_SUCCESS.equals(response.getString(TITLE))) {
-                                          promise.complete(
-                                              successResp(
-                                                  id, "Success: Item deleted successfully"));
-                                        } else {
-                                          promise.fail(
-                                              new NoSuchElementException(
-                                                  "Fail: Doc doesn't exist, "
-                                                      + "can't perform operation"));
-                                        }
-                                      } else {
-                                        Throwable cause = dbHandler.cause();
-                                        LOGGER.error("Fail: Deletion failed;" + cause);
-                                        promise.fail(internalErrorResp());
-                                      }
-                                    });
+                            promise.fail(
+                                new NoSuchElementException(
+                                    "Fail: Doc doesn't exist, can't perform operation"));
                           }
-                        });
-              }
-            },
-            STATIC_DELAY_TIME);
+                        } else {
+                          Throwable cause = dbHandler.cause();
+                          LOGGER.error("Fail: Deletion failed;" + cause);
+                          promise.fail(internalErrorResp());
+                        }
+                      });
+            });
 
     return promise.future();
   }
@@ -272,35 +255,24 @@ public class ItemServiceImpl implements ItemService {
   @Override
   public Future<JsonObject> getItem(JsonObject requestBody) {
 
-    List<String> includeFields = null;
-    if (requestBody.containsKey(INCLUDE_FIELDS)) {
-      includeFields =
-          requestBody.getJsonArray(INCLUDE_FIELDS).stream()
-              .map(Object::toString)
-              .collect(Collectors.toList());
-    }
+    List<String> includeFields =
+        requestBody.containsKey(INCLUDE_FIELDS)
+            ? requestBody.getJsonArray(INCLUDE_FIELDS).stream()
+                .map(Object::toString)
+                .collect(Collectors.toList())
+            : null;
     String id = requestBody.getString(ID);
-    Map<String, Object> termParams = new HashMap<>();
-    termParams.put(FIELD, ID_KEYWORD); // Field to match
-    termParams.put(VALUE, id); // The ID value to search for
-    QueryModel queryModel = new QueryModel();
-    queryModel.setQueries(new QueryModel(QueryType.TERM, termParams));
-    if (includeFields != null) {
-      queryModel.setIncludeFields(includeFields);
-    }
-    queryModel.setLimit(MAX_LIMIT);
-    queryModel.setOffset(FILTER_PAGINATION_FROM);
 
     LOGGER.debug("Info: Retrieving item");
     Promise<JsonObject> promise = Promise.promise();
     String index = config.getString(DOC_INDEX);
-    esService
-        .search(index, queryModel)
+    itemCache
+        .get(id, includeFields, () -> esService.getById(index, id, includeFields))
         .onComplete(
             dbHandler -> {
               if (dbHandler.succeeded()) {
-                List<ElasticsearchResponse> response = dbHandler.result();
-                if (response.isEmpty()) {
+                JsonObject item = dbHandler.result();
+                if (item == null) {
                   LOGGER.error(new NoSuchElementException("Item not found"));
                   promise.fail(
                       new RespBuilder()
@@ -310,10 +282,8 @@ public class ItemServiceImpl implements ItemService {
                           .getResponse());
                 } else {
                   DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
-                  responseMsg.statusSuccess().setTotalHits(response.size());
-                  response.stream()
-                      .map(ElasticsearchResponse::getSource)
-                      .forEach(responseMsg::addResult);
+                  responseMsg.statusSuccess().setTotalHits(1);
+                  responseMsg.addResult(item);
                   responseMsg.setDetail("Success: Item fetched Successfully");
                   LOGGER.info("Success: Retrieved item");
                   promise.complete(responseMsg.getResponse());
@@ -331,6 +301,30 @@ public class ItemServiceImpl implements ItemService {
     return promise.future();
   }
 
+  private Future<Boolean> checkItemExists(String id) {
+    Promise<Boolean> promise = Promise.promise();
+
+    String index = config.getString(DOC_INDEX);
+    esService
+        .getById(index, id, List.of(ID))
+        .onComplete(
+            dbHandler -> {
+              if (dbHandler.succeeded()) {
+                if (dbHandler.result() == null) {
+                  LOGGER.debug("Item doesn't exist");
+                  promise.complete(false);
+                } else {
+                  LOGGER.debug("Item exists");
+                  promise.complete(true);
+                }
+              } else {
+                LOGGER.error(ERROR_DB_REQUEST + dbHandler.cause().getMessage());
+                promise.fail(TYPE_INTERNAL_SERVER_ERROR);
+              }
+            });
+    return promise.future();
+  }
+
   private Future<Boolean> checkItemExists(QueryModel queryModel) {
     Promise<Boolean> promise = Promise.promise();
 
@@ -340,7 +334,7 @@ public class ItemServiceImpl implements ItemService {
         .onComplete(
             dbHandler -> {
               if (dbHandler.succeeded()) {
-                List<ElasticsearchResponse> response = dbHandler.result();
+                List<ElasticsearchResponse> response = dbHandler.result().getHits();
                 if (response.isEmpty()) {
                   LOGGER.debug("Item doesn't exist");
                   promise.complete(false);
@@ -358,88 +352,149 @@ public class ItemServiceImpl implements ItemService {
 
   private Future<JsonObject> addVectorAndGeographicInfoToItem(JsonObject doc) {
     Promise<JsonObject> promise = Promise.promise();
+    summarizeItem(doc)
+        .onComplete(
+            summarized -> {
+              if (summarized.failed()) {
+                promise.fail(summarized.cause().getLocalizedMessage());
+                return;
+              }
+              /* Insert document */
+              esService
+                  .createDocumentWithId(config.getString(DOC_INDEX), doc.getString(ID), doc)
+                  .onComplete(
+                      dbHandler -> {
+                        itemCache.invalidate(doc.getString(ID));
+                        if (dbHandler.failed()) {
+                          LOGGER.error(
+                              "Fail: Item creation failed; " + dbHandler.cause().getMessage());
+                          promise.fail(dbHandler.cause().getLocalizedMessage());
+                        } else {
+                          catalogueVersion.bump();
+                          LOGGER.info("Success: Item created;");
+                          promise.complete(doc);
+                        }
+                      });
+            });
+    return promise.future();
+  }
+
+  /* Adds the summary, and the geocoded summary and word vector if geo and nlp are plugged in */
+  private Future<JsonObject> summarizeItem(JsonObject doc) {
     doc.put(SUMMARY_KEY, Summarizer.summarize(doc));
     String instanceId = doc.getString(INSTANCE);
 
-    /* If geo and nlp services are initialized */
-    if (geoPluggedIn
-        && nlpPluggedIn
-        && !(instanceId == null || instanceId.isBlank() || instanceId.isEmpty())) {
-      geoService
-          .geoSummarize(doc)
-          .onComplete(
-              geoHandler -> {
-                /* Not going to check if success or fail */
-                JsonObject geoResult;
-                try {
-                  geoResult = new JsonObject(geoHandler.result());
-                  LOGGER.debug("GeoHandler result: " + geoResult);
-                } catch (Exception e) {
-                  LOGGER.debug("no geocoding result generated");
-                  geoResult = new JsonObject();
-                }
-                doc.put(GEOSUMMARY_KEY, geoResult);
-                nlpService
-                    .getEmbedding(doc)
-                    .onComplete(
-                        ar -> {
-                          if (ar.succeeded()) {
-                            LOGGER.debug("Info: Document embeddings created");
-                            doc.put(WORD_VECTOR_KEY, ar.result().getJsonArray("result"));
-                            /* Insert document */
-                            new Timer()
-                                .schedule(
-                                    new TimerTask() {
-                                      public void run() {
-                                        esService
-                                            .createDocument(config.getString(DOC_INDEX), doc)
-                                            .onComplete(
-                                                dbHandler -> {
-                                                  if (dbHandler.failed()) {
-                                                    LOGGER.error(
-                                                        "Fail: Item creation failed; "
-                                                            + dbHandler.cause().getMessage());
-                                                    promise.fail(
-                                                        dbHandler.cause().getLocalizedMessage());
-                                                  } else {
-                                                    LOGGER.info("Success: Item created;");
-                                                    promise.complete(doc);
-                                                  }
-                                                });
-                                      }
-                                    },
-                                    STATIC_DELAY_TIME);
-                          } else {
-                            LOGGER.error("Error: Document embeddings not created");
-                          }
-                        });
-              });
-    } else {
-      /* Insert document */
-      new Timer()
-          .schedule(
-              new TimerTask() {
-                public void run() {
-                  esService
-                      .createDocument(config.getString(DOC_INDEX), doc)
-                      .onComplete(
-                          dbHandler -> {
-                            if (dbHandler.failed()) {
-                              LOGGER.error(
-                                  "Fail: Item creation failed; " + dbHandler.cause().getMessage());
-                              promise.fail(dbHandler.cause().getLocalizedMessage());
-                            } else {
-                              LOGGER.info("Success: Item created;");
-                              promise.complete(doc);
-                            }
-                          });
-                }
-              },
-              STATIC_DELAY_TIME);
+    if (!geoPluggedIn || !nlpPluggedIn || instanceId == null || instanceId.isBlank()) {
+      return Future.succeededFuture(doc);
     }
+    Promise<JsonObject> promise = Promise.promise();
+    geoService
+        .geoSummarize(doc)
+        .onComplete(
+            geoHandler -> {
+              /* Not going to check if success or fail */
+              JsonObject geoResult;
+              try {
+                geoResult = new JsonObject(geoHandler.result());
+                LOGGER.debug("GeoHandler result: " + geoResult);
+              } catch (Exception e) {
+                LOGGER.debug("no geocoding result generated");
+                geoResult = new JsonObject();
+              }
+              doc.put(GEOSUMMARY_KEY, geoResult);
+              nlpService
+                  .getEmbedding(doc)
+                  .onComplete(
+                      ar -> {
+                        if (ar.succeeded()) {
+                          LOGGER.debug("Info: Document embeddings created");
+                          doc.put(WORD_VECTOR_KEY, ar.result().getJsonArray("result"));
+                          promise.complete(doc);
+                        } else {
+                          LOGGER.error("Error: Document embeddings not created");
+                          promise.fail(ar.cause());
+                        }
+                      });
+            });
     return promise.future();
   }
 
+  @Override
+  public Future<JsonArray> createItems(List<Item> items) {
+    String index = config.getString(DOC_INDEX);
+    JsonArray results = new JsonArray();
+    Map<String, JsonObject> docs = new LinkedHashMap<>();
+    for (Item item : items) {
+      JsonObject doc = item.toJson();
+      doc.put(CONTEXT, config.getString(CONTEXT));
+      String id = doc.getString(ID);
+      if (docs.putIfAbsent(id, doc) != null) {
+        results.add(insertFailure(id, "Fail: Duplicate id in request"));
+      }
+    }
+    if (docs.isEmpty()) {
+      return Future.succeededFuture(results);
+    }
+
+    // a single lookup for the ids already present, instead of one per item
+    List<String> ids = new ArrayList<>();
+    return esService
+        .multiGet(index, new ArrayList<>(docs.keySet()), List.of(ID))
+        .compose(
+            existing -> {
+              for (ElasticsearchResponse hit : existing.getHits()) {
+                String id = hit.getDocId();
+                if (docs.remove(id) != null) {
+                  results.add(insertFailure(id, "Fail: Doc Exists"));
+                }
+              }
+              List<Future<JsonObject>> summaries =
+                  docs.values().stream()
+                      .map(doc -> summarizeItem(doc).otherwise((JsonObject) null))
+                      .collect(Collectors.toList());
+              return Future.all(summaries);
+            })
+        .compose(
+            summarized -> {
+              List<BulkOperation> operations = new ArrayList<>();
+              for (JsonObject doc : summarized.<JsonObject>list()) {
+                if (doc == null) {
+                  continue;
+                }
+                ids.add(doc.getString(ID));
+                operations.add(BulkOperation.insert(doc.getString(ID), doc));
+              }
+              docs.keySet().stream()
+                  .filter(id -> !ids.contains(id))
+                  .forEach(id -> results.add(insertFailure(id, "Fail: Item summary failed")));
+              return esService.bulk(index, operations);
+            })
+        .map(
+            bulkResults -> {
+              // results of the bulk are in the order of the operations, keyed by item id
+              ids.forEach(itemCache::invalidate);
+              boolean written = false;
+              for (int i = 0; i < bulkResults.size(); i++) {
+                JsonObject result = bulkResults.getJsonObject(i);
+                written |= TYPE_SUCCESS.equals(result.getString(STATUS));
+                results.add(result.put(ID, ids.get(i)));
+              }
+              if (written) {
+                catalogueVersion.bump();
+              }
+              LOGGER.info("Success: Batch of {} items processed", items.size());
+              return results;
+            });
+  }
+
+  private static JsonObject insertFailure(String id, String detail) {
+    return new JsonObject()
+        .put(ID, id)
+        .put(METHOD, INSERT)
+        .put(STATUS, FAILED)
+        .put(DETAIL, detail);
+  }
+
   /* Verify the existence of an instance */
   public Future<Boolean> verifyInstance(String instanceId) {
     Promise<Boolean> promise = Promise.promise();
@@ -51,7 +51,7 @@ public class StacServiceImpl implements StacService {
         .onComplete(clientHandler -> {
           if (clientHandler.succeeded()) {
             LOGGER.debug("Success: Successful DB request");
-            List<ElasticsearchResponse> responseList = clientHandler.result();
+            List<ElasticsearchResponse> responseList = clientHandler.result().getHits();
             DbResponseMessageBuilder result = new DbResponseMessageBuilder();
             result.statusSuccess();
             result.setTotalHits(responseList.size());
@@ -105,7 +105,7 @@ public class StacServiceImpl implements StacService {
     esService.search(index, queryModel)
         .onComplete(searchHandler -> {
           if (searchHandler.succeeded()) {
-            if (searchHandler.result().isEmpty()) {
+            if (searchHandler.result().getHits().isEmpty()) {
               esService.createDocument(index, request)
                   .onComplete(postHandler -> {
                     if (postHandler.succeeded()) {
@@ -259,7 +259,7 @@ public class StacServiceImpl implements StacService {
             promise.fail("Fail: Check Query Fail : " + existHandler.cause().getMessage());
             return;
           }
-          if (existHandler.result().isEmpty()) {
+          if (existHandler.result().getHits().isEmpty()) {
             LOGGER.debug("success: existHandler " + existHandler.result());
             respBuilder =
                 new RespBuilder()
@@ -269,7 +269,7 @@ public class StacServiceImpl implements StacService {
             promise.fail(respBuilder.getResponse());
           } else {
             try {
-              List<ElasticsearchResponse> response = existHandler.result();
+              List<ElasticsearchResponse> response = existHandler.result().getHits();
               DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
               responseMsg.statusSuccess().setTotalHits(response.size());
               response.stream()
@@ -49,6 +49,7 @@ public class Constants {
 
   public static final String MIME_APPLICATION_JSON = "application/json";
   public static final String MIME_TEXT_HTML = "text/html";
+  public static final String MIME_APPLICATION_NDJSON = "application/x-ndjson";
 
   /** Routes. */
   public static final String ROUTE_STATIC_SPEC = "/apis/spec";
@@ -62,6 +63,7 @@ public class Constants {
 
   public static final String ROUTE_RELATIONSHIP = "/relationship";
   public static final String ROUTE_SEARCH = "/search";
+  public static final String ROUTE_SEARCH_EXPORT = "/search/export";
   public static final String ROUTE_NLP_SEARCH = "/nlpsearch";
   public static final String ROUTE_LIST_ITEMS = "/list/:itemType";
 
@@ -77,7 +79,29 @@ public class Constants {
   public static final String USERID = "userid";
 
   public static final String ROUTE_GET_ITEM = "/items";
+  public static final String ROUTE_ITEMS_BATCH = "/items/batch";
   public static final String ROUTE_COUNT = "/count";
+
+  /** Items of a batch request, and the number of them validated and written together. */
+  public static final String ITEMS = "items";
+  public static final int MAX_BATCH_ITEMS = 10000;
+  public static final String BULK_CHUNK_SIZE = "bulkChunkSize";
+  public static final int DEFAULT_BULK_CHUNK_SIZE = 500;
+  public static final String NLP_SEARCH_K = "nlpSearchK";
+  public static final String NLP_SEARCH_NUM_CANDIDATES = "nlpSearchNumCandidates";
+  public static final int DEFAULT_NLP_SEARCH_K = 10;
+  public static final int DEFAULT_NLP_SEARCH_NUM_CANDIDATES = 100;
+  public static final String ITEM_CACHE_MAX_SIZE = "itemCacheMaxSize";
+  public static final String ITEM_CACHE_TTL_SECONDS = "itemCacheTtlSeconds";
+  public static final long DEFAULT_ITEM_CACHE_MAX_SIZE = 10000;
+  public static final long DEFAULT_ITEM_CACHE_TTL_SECONDS = 300;
+  public static final String LISTING_CACHE_MAX_SIZE = "listingCacheMaxSize";
+  public static final String LISTING_CACHE_TTL_SECONDS = "listingCacheTtlSeconds";
+  public static final long DEFAULT_LISTING_CACHE_MAX_SIZE = 1000;
+  public static final long DEFAULT_LISTING_CACHE_TTL_SECONDS = 3600;
+
+  /** Number of items read from the database per page of an export. */
+  public static final int EXPORT_PAGE_SIZE = 1000;
   public static final String ROUTE_REL_SEARCH = "/relsearch";
 
   public static final String ROUTE_GEO_COORDINATES = "/geo";
@@ -106,6 +130,8 @@ public class Constants {
   public static final String ROUTE_MLAYER_GEOQUERY = "/internal/ui/geoquery";
   public static final String ROUTE_MLAYER_DATASET = "/internal/ui/dataset";
   public static final String ROUTE_MLAYER_POPULAR_DATASETS = "/internal/ui/popularDatasets";
+  public static final String ROUTE_MLAYER_POPULAR_DATASETS_REFRESH =
+      "/internal/ui/popularDatasets/refresh";
   public static final String SUMMARY_TOTAL_COUNT_SIZE_API = "/internal/ui/summary";
   public static final String COUNT_SIZE_API = "/internal/ui/realtimedataset";
 
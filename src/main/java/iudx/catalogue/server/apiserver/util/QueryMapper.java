@@ -7,6 +7,7 @@ import io.vertx.core.MultiMap;
 import io.vertx.core.json.DecodeException;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.database.elastic.util.SearchCursor;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
@@ -291,6 +292,23 @@ public class QueryMapper {
       }
     }
 
+    /* Validating cursor param, which replaces offset based paging */
+    if (requestBody.containsKey(CURSOR)) {
+      if (requestBody.containsKey(OFFSET)) {
+        LOGGER.error("Error: The offset param is used with cursor");
+        return errResponse
+            .put(TYPE, TYPE_INVALID_PROPERTY_VALUE)
+            .put(DESC, "The offset param cannot be used with cursor");
+      }
+      if (!SearchCursor.isValid(requestBody.getString(CURSOR))) {
+        LOGGER.error("Error: Invalid cursor");
+        return errResponse
+            .put(TYPE, TYPE_INVALID_PROPERTY_VALUE)
+            .put(DESC, "Invalid cursor; use '" + SearchCursor.START
+                + "' or the nextCursor of the previous page");
+      }
+    }
+
     return new JsonObject().put(STATUS, SUCCESS);
   }
 }
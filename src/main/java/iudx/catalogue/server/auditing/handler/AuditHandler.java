@@ -38,7 +38,6 @@ public class AuditHandler implements Handler<RoutingContext> {
   }
 
   public void handle(RoutingContext routingContext, String api) {
-    JwtData jwtDecodedInfo = RoutingContextHelper.getJwtDecodedInfo(routingContext);
     String id;
     String httpMethod = routingContext.request().method().toString();
 
@@ -47,6 +46,19 @@ public class AuditHandler implements Handler<RoutingContext> {
     } else {
       id = RoutingContextHelper.getValidatedRequest(routingContext).getString(ID);
     }
+    handle(routingContext, api, id);
+  }
+
+  /**
+   * Audits an operation on the given item, for requests that operate on more than one item.
+   *
+   * @param routingContext the routing context of the request
+   * @param api the api endpoint
+   * @param id the id of the item
+   */
+  public void handle(RoutingContext routingContext, String api, String id) {
+    JwtData jwtDecodedInfo = RoutingContextHelper.getJwtDecodedInfo(routingContext);
+    String httpMethod = routingContext.request().method().toString();
     JsonObject auditInfo = new JsonObject();
     // adding user id, user role and iid to response for auditing purpose
     auditInfo
@@ -2,19 +2,22 @@ package iudx.catalogue.server.authenticator;
 
 import static iudx.catalogue.server.authenticator.Constants.AUTH_CERTIFICATE_PATH;
 import static iudx.catalogue.server.authenticator.Constants.CERTS_ENDPOINT;
+import static iudx.catalogue.server.authenticator.Constants.DEFAULT_JWKS_MIN_REFRESH_SECONDS;
+import static iudx.catalogue.server.authenticator.Constants.DEFAULT_JWKS_REFRESH_SECONDS;
+import static iudx.catalogue.server.authenticator.Constants.DEFAULT_TOKEN_CACHE_MAX_SIZE;
+import static iudx.catalogue.server.authenticator.Constants.DEFAULT_TOKEN_CACHE_TTL_SECONDS;
+import static iudx.catalogue.server.authenticator.Constants.JWKS_MIN_REFRESH_SECONDS;
+import static iudx.catalogue.server.authenticator.Constants.JWKS_REFRESH_SECONDS;
 import static iudx.catalogue.server.authenticator.Constants.KEYCLOACK_HOST;
+import static iudx.catalogue.server.authenticator.Constants.TOKEN_CACHE_MAX_SIZE;
+import static iudx.catalogue.server.authenticator.Constants.TOKEN_CACHE_TTL_SECONDS;
 import static iudx.catalogue.server.authenticator.Constants.UAC_DEPLOYMENT;
 import static iudx.catalogue.server.util.Constants.AUTH_SERVICE_ADDRESS;
 import static iudx.catalogue.server.util.Constants.PUBLIC_KEY;
 
 import com.nimbusds.jose.JOSEObjectType;
 import com.nimbusds.jose.JWSAlgorithm;
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
-import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.DefaultJOSEObjectTypeVerifier;
-import com.nimbusds.jose.proc.JWSKeySelector;
-import com.nimbusds.jose.proc.JWSVerificationKeySelector;
 import com.nimbusds.jose.proc.SecurityContext;
 import com.nimbusds.jwt.JWTClaimsSet;
 import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
@@ -34,12 +37,11 @@ import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.serviceproxy.ServiceBinder;
 import iudx.catalogue.server.authenticator.service.AuthenticationService;
+import iudx.catalogue.server.authenticator.service.JwksKeyStore;
 import iudx.catalogue.server.authenticator.service.JwtAuthenticationServiceImpl;
 import iudx.catalogue.server.authenticator.service.KcAuthenticationServiceImpl;
+import iudx.catalogue.server.authenticator.service.TokenCache;
 import iudx.catalogue.server.util.Api;
-import java.io.IOException;
-import java.net.URL;
-import java.text.ParseException;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -148,7 +150,8 @@ public class AuthenticationVerticle extends AbstractVerticle {
 
               dxApiBasePath = config().getString("dxApiBasePath");
               api = Api.getInstance(dxApiBasePath);
-              jwtAuthenticationService = new JwtAuthenticationServiceImpl(jwtAuth, config());
+              jwtAuthenticationService =
+                  new JwtAuthenticationServiceImpl(jwtAuth, config(), createTokenCache());
 
               /* Publish the Authentication service with the Event Bus against an address. */
               consumer = binder.register(AuthenticationService.class, jwtAuthenticationService);
@@ -162,20 +165,23 @@ public class AuthenticationVerticle extends AbstractVerticle {
             });
   }
 
-  private void setKeycloakAuthService() throws IOException, ParseException {
+  private void setKeycloakAuthService() {
     String keyCloakHost = config().getString(KEYCLOACK_HOST);
     String certsEndpoint = config().getString(CERTS_ENDPOINT);
     String audience = config().getString("host");
 
-    URL jwksUrl = new URL(keyCloakHost.concat(certsEndpoint));
-    JWKSet publicKeys = JWKSet.load(jwksUrl);
-    JWKSource<SecurityContext> keySource = new ImmutableJWKSet<>(publicKeys);
-    JWSAlgorithm expectedJwsAlgo = JWSAlgorithm.RS256;
-    JWSKeySelector<SecurityContext> keySelector =
-        new JWSVerificationKeySelector<>(expectedJwsAlgo, keySource);
+    /* the keys are fetched without blocking, tokens arriving meanwhile wait for them */
+    JwksKeyStore keys =
+        new JwksKeyStore(
+            createWebClient(vertx, config()),
+            keyCloakHost.concat(certsEndpoint),
+            JWSAlgorithm.RS256,
+            config().getLong(JWKS_MIN_REFRESH_SECONDS, DEFAULT_JWKS_MIN_REFRESH_SECONDS));
+    keys.start(vertx, config().getLong(JWKS_REFRESH_SECONDS, DEFAULT_JWKS_REFRESH_SECONDS));
     ConfigurableJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
     jwtProcessor.setJWSTypeVerifier(new DefaultJOSEObjectTypeVerifier<>(new JOSEObjectType("jwt")));
-    jwtProcessor.setJWSKeySelector(keySelector);
+    jwtProcessor.setJWSKeySelector(keys);
+    jwtProcessor.setJWSVerifierFactory(keys.verifierFactory());
     JWTClaimsSetVerifier<SecurityContext> claimsSetVerifier =
         new DefaultJWTClaimsVerifier<>(
             new HashSet<>(Arrays.asList(audience)),
@@ -187,12 +193,19 @@ public class AuthenticationVerticle extends AbstractVerticle {
 
     dxApiBasePath = config().getString("dxApiBasePath");
     api = Api.getInstance(dxApiBasePath);
-    kcAuthenticationService = new KcAuthenticationServiceImpl(jwtProcessor, config(), api);
+    kcAuthenticationService =
+        new KcAuthenticationServiceImpl(jwtProcessor, config(), api, createTokenCache(), keys);
 
     consumer = binder.register(AuthenticationService.class, kcAuthenticationService);
     LOGGER.debug("AuthVerticle Deployed");
   }
 
+  private TokenCache createTokenCache() {
+    return new TokenCache(
+        config().getLong(TOKEN_CACHE_MAX_SIZE, DEFAULT_TOKEN_CACHE_MAX_SIZE),
+        config().getLong(TOKEN_CACHE_TTL_SECONDS, DEFAULT_TOKEN_CACHE_TTL_SECONDS));
+  }
+
   @Override
   public void stop() {
     binder.unregister(consumer);
@@ -30,6 +30,14 @@ public class Constants {
   public static final String API_ENDPOINT = "apiEndpoint";
   public static final String METHOD = "method";
   public static final String RATINGS_ENDPOINT = "/consumer/ratings";
+  public static final String TOKEN_CACHE_MAX_SIZE = "tokenCacheMaxSize";
+  public static final long DEFAULT_TOKEN_CACHE_MAX_SIZE = 10000;
+  public static final String TOKEN_CACHE_TTL_SECONDS = "tokenCacheTtlSeconds";
+  public static final long DEFAULT_TOKEN_CACHE_TTL_SECONDS = 300;
+  public static final String JWKS_REFRESH_SECONDS = "jwksRefreshSeconds";
+  public static final long DEFAULT_JWKS_REFRESH_SECONDS = 3600;
+  public static final String JWKS_MIN_REFRESH_SECONDS = "jwksMinRefreshSeconds";
+  public static final long DEFAULT_JWKS_MIN_REFRESH_SECONDS = 30;
 
   public static final String MLAYER_BASE_PATH = "/internal/ui";
   public static final String MLAYER_INSTANCE_ENDPOINT = MLAYER_BASE_PATH + "/instance";
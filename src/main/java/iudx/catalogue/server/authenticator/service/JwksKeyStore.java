@@ -0,0 +1,206 @@
+package iudx.catalogue.server.authenticator.service;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSVerifier;
+import com.nimbusds.jose.crypto.RSASSAVerifier;
+import com.nimbusds.jose.crypto.factories.DefaultJWSVerifierFactory;
+import com.nimbusds.jose.jca.JCAContext;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.proc.JWSKeySelector;
+import com.nimbusds.jose.proc.JWSVerifierFactory;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Base64URL;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.web.client.WebClient;
+import java.security.Key;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The signing keys of Keycloak, by key id. The key set is fetched with the {@link WebClient},
+ * refreshed periodically, and refreshed as well when a token is signed with a key id it does not
+ * have yet, at most once per minimum refresh interval, so keys can be rotated without a restart.
+ * The key set in use is replaced only once a new one has been fetched and parsed.
+ *
+ * <p>The store selects the keys of a {@code JWTProcessor}, and its {@link #verifierFactory()}
+ * hands out the verifier built once per key.
+ *
+ * <p>The store is meant to be used from the context of the verticle that created it only.
+ */
+public class JwksKeyStore implements JWSKeySelector<SecurityContext> {
+  private static final Logger LOGGER = LogManager.getLogger(JwksKeyStore.class);
+
+  private final WebClient webClient;
+  private final String jwksUrl;
+  private final JWSAlgorithm algorithm;
+  private final long minRefreshMillis;
+  private final JWSVerifierFactory verifierFactory = new Verifiers();
+  private Map<String, RSAPublicKey> keys = Collections.emptyMap();
+  private Map<Key, JWSVerifier> verifiers = Collections.emptyMap();
+  private Future<Void> refreshing;
+  private long refreshedAt = 0;
+
+  /**
+   * Creates a key store. Its keys are fetched by {@link #refresh()}.
+   *
+   * @param webClient the client of Keycloak
+   * @param jwksUrl the URL of the key set
+   * @param algorithm the algorithm of the keys
+   * @param minRefreshSeconds the least time between two refreshes for an unknown key id
+   */
+  public JwksKeyStore(
+      WebClient webClient, String jwksUrl, JWSAlgorithm algorithm, long minRefreshSeconds) {
+    this.webClient = webClient;
+    this.jwksUrl = jwksUrl;
+    this.algorithm = algorithm;
+    this.minRefreshMillis = TimeUnit.SECONDS.toMillis(minRefreshSeconds);
+  }
+
+  /**
+   * Fetches the key set now and then every {@code refreshSeconds}.
+   *
+   * @param vertx the Vert.x instance the refresh timer is set on
+   * @param refreshSeconds how often the key set is refreshed
+   * @return the first refresh
+   */
+  public Future<Void> start(Vertx vertx, long refreshSeconds) {
+    vertx.setPeriodic(TimeUnit.SECONDS.toMillis(refreshSeconds), id -> refresh());
+    return refresh();
+  }
+
+  /**
+   * Fetches the key set, once however many ask for it meanwhile.
+   *
+   * @return the refresh; a failed refresh keeps the previous keys
+   */
+  public Future<Void> refresh() {
+    if (refreshing != null) {
+      return refreshing;
+    }
+    refreshedAt = System.currentTimeMillis();
+    Promise<Void> promise = Promise.promise();
+    refreshing = promise.future();
+    webClient
+        .getAbs(jwksUrl)
+        .send()
+        .compose(
+            response -> {
+              if (response.statusCode() != 200) {
+                return Future.failedFuture("JWKS request failed: " + response.statusCode());
+              }
+              try {
+                use(JWKSet.parse(response.bodyAsString()));
+                return Future.<Void>succeededFuture();
+              } catch (Exception e) {
+                return Future.failedFuture("JWKS parse failed: " + e.getMessage());
+              }
+            })
+        .onComplete(
+            ar -> {
+              refreshing = null;
+              if (ar.failed()) {
+                LOGGER.error("Failed to refresh the Keycloak keys: {}", ar.cause().getMessage());
+              }
+              promise.handle(ar);
+            });
+    return promise.future();
+  }
+
+  /**
+   * Makes sure the key a token is signed with is known, refreshing the key set if it is not and
+   * the key set was not refreshed lately.
+   *
+   * @param token the token
+   * @return completes once the key is known or cannot be
+   */
+  public Future<Void> ensureKeyOf(String token) {
+    String keyId;
+    try {
+      keyId = JWSHeader.parse(new Base64URL(token.substring(0, token.indexOf('.')))).getKeyID();
+    } catch (Exception e) {
+      /* the processor fails with the reason */
+      return Future.succeededFuture();
+    }
+    boolean known = keyId == null ? !keys.isEmpty() : keys.containsKey(keyId);
+    if (known
+        || refreshing == null && System.currentTimeMillis() - refreshedAt < minRefreshMillis) {
+      return Future.succeededFuture();
+    }
+    LOGGER.info("Unknown key id {}, refreshing the Keycloak keys", keyId);
+    return refresh().otherwiseEmpty();
+  }
+
+  private void use(JWKSet jwkSet) throws JOSEException {
+    Map<String, RSAPublicKey> fetched = new HashMap<>();
+    Map<Key, JWSVerifier> built = new IdentityHashMap<>();
+    for (JWK jwk : jwkSet.getKeys()) {
+      boolean signing = jwk.getKeyUse() == null || KeyUse.SIGNATURE.equals(jwk.getKeyUse());
+      boolean matching = jwk.getAlgorithm() == null || algorithm.equals(jwk.getAlgorithm());
+      if (jwk instanceof RSAKey && signing && matching) {
+        RSAPublicKey key = ((RSAKey) jwk).toRSAPublicKey();
+        fetched.put(jwk.getKeyID(), key);
+        built.put(key, new RSASSAVerifier(key));
+      }
+    }
+    keys = fetched;
+    verifiers = built;
+    LOGGER.info("Using the Keycloak keys {}", fetched.keySet());
+  }
+
+  @Override
+  public List<? extends Key> selectJWSKeys(JWSHeader header, SecurityContext context) {
+    if (!algorithm.equals(header.getAlgorithm())) {
+      return Collections.emptyList();
+    }
+    Map<String, RSAPublicKey> current = keys;
+    if (header.getKeyID() == null) {
+      return List.copyOf(current.values());
+    }
+    RSAPublicKey key = current.get(header.getKeyID());
+    return key == null ? Collections.emptyList() : List.of(key);
+  }
+
+  /**
+   * Returns the factory of the verifiers of the keys.
+   *
+   * @return hands out the verifier of each key, built when the key was fetched
+   */
+  public JWSVerifierFactory verifierFactory() {
+    return verifierFactory;
+  }
+
+  private final class Verifiers implements JWSVerifierFactory {
+    private final DefaultJWSVerifierFactory fallback = new DefaultJWSVerifierFactory();
+
+    @Override
+    public JWSVerifier createJWSVerifier(JWSHeader header, Key key) throws JOSEException {
+      JWSVerifier verifier = verifiers.get(key);
+      return verifier != null ? verifier : fallback.createJWSVerifier(header, key);
+    }
+
+    @Override
+    public Set<JWSAlgorithm> supportedJWSAlgorithms() {
+      return fallback.supportedJWSAlgorithms();
+    }
+
+    @Override
+    public JCAContext getJCAContext() {
+      return fallback.getJCAContext();
+    }
+  }
+}
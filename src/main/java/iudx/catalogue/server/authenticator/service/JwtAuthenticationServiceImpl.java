@@ -4,6 +4,7 @@ import static iudx.catalogue.server.apiserver.util.Constants.ROUTE_INSTANCE;
 import static iudx.catalogue.server.apiserver.util.Constants.ROUTE_ITEMS;
 import static iudx.catalogue.server.apiserver.util.Constants.ROUTE_MLAYER_DOMAIN;
 import static iudx.catalogue.server.apiserver.util.Constants.ROUTE_MLAYER_INSTANCE;
+import static iudx.catalogue.server.apiserver.util.Constants.ROUTE_MLAYER_POPULAR_DATASETS_REFRESH;
 import static iudx.catalogue.server.apiserver.util.Constants.ROUTE_RATING;
 import static iudx.catalogue.server.apiserver.util.Constants.ROUTE_STACK;
 import static iudx.catalogue.server.authenticator.Constants.RATINGS;
@@ -46,28 +47,43 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
   final String consumerAudience;
   final String issuer;
   final String dxApiBasePath;
+  private final TokenCache tokens;
 
   public JwtAuthenticationServiceImpl(final JWTAuth jwtAuth, final JsonObject config) {
+    this(jwtAuth, config, new TokenCache(0, 0));
+  }
+
+  /**
+   * Constructs a new instance of JwtAuthenticationServiceImpl whose verified tokens are cached.
+   *
+   * @param jwtAuth the JWTAuth verifying the tokens
+   * @param config the config of the verticle
+   * @param tokens the cache of the verified tokens
+   */
+  public JwtAuthenticationServiceImpl(
+      final JWTAuth jwtAuth, final JsonObject config, final TokenCache tokens) {
     this.jwtAuth = jwtAuth;
     this.audience = config.getString("host");
     this.consumerAudience = config.getString("consumerHost");
     this.issuer = config.getString("issuer");
     this.dxApiBasePath = config.getString("dxApiBasePath");
+    this.tokens = tokens;
   }
 
   @Override
   public Future<JwtData> decodeToken(String jwtToken) {
-    Promise<JwtData> promise = Promise.promise();
+    return tokens.decode(jwtToken, () -> verify(jwtToken));
+  }
+
+  private Future<JsonObject> verify(String jwtToken) {
+    Promise<JsonObject> promise = Promise.promise();
 
     TokenCredentials credentials = new TokenCredentials(jwtToken);
 
     jwtAuth
         .authenticate(credentials)
         .onSuccess(
-            user -> {
-              JwtData jwtData = new JwtData(user.principal());
-              promise.complete(jwtData);
-            })
+            user -> promise.complete(user.principal()))
         .onFailure(
             err -> {
               LOGGER.error("failed to decode/validate jwt token : {}", err.getMessage());
@@ -79,7 +95,11 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
   @Override
   public Future<JwtData> tokenIntrospect(
       JwtData decodedJwt, JwtAuthenticationInfo authenticationInfo) {
+    return tokens.introspect(
+        decodedJwt, authenticationInfo, () -> introspect(decodedJwt, authenticationInfo));
+  }
 
+  private Future<JwtData> introspect(JwtData decodedJwt, JwtAuthenticationInfo authenticationInfo) {
     String endPoint = authenticationInfo.getApiEndpoint();
     // TODO: remove rsUrl check
     String resourceServerRegUrl =
@@ -210,6 +230,7 @@ public class JwtAuthenticationServiceImpl implements AuthenticationService {
         || endPoint.equals(dxApiBasePath + ROUTE_INSTANCE)
         || endPoint.equals(dxApiBasePath + ROUTE_MLAYER_INSTANCE)
         || endPoint.equals(dxApiBasePath + ROUTE_MLAYER_DOMAIN)
+        || endPoint.equals(dxApiBasePath + ROUTE_MLAYER_POPULAR_DATASETS_REFRESH)
         || endPoint.equals(dxApiBasePath + ROUTE_STACK)) {
       promise.complete(true);
     } else {
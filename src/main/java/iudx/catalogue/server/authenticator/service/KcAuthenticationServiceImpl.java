@@ -33,6 +33,8 @@ public class KcAuthenticationServiceImpl implements AuthenticationService {
   private final Api api;
   private final String uacAdmin;
   private final String issuer;
+  private final TokenCache tokens;
+  private final JwksKeyStore keys;
 
   /**
    * Constructs a new instance of KcAuthenticationServiceImpl.
@@ -43,21 +45,52 @@ public class KcAuthenticationServiceImpl implements AuthenticationService {
    */
   public KcAuthenticationServiceImpl(
       final JWTProcessor<SecurityContext> jwtProcessor, final JsonObject config, final Api api) {
+    this(jwtProcessor, config, api, new TokenCache(0, 0), null);
+  }
+
+  /**
+   * Constructs a new instance of KcAuthenticationServiceImpl whose verified tokens are cached.
+   *
+   * @param jwtProcessor The JWTProcessor used for JWT token processing and validation.
+   * @param config The JsonObject configuration object containing various settings.
+   * @param api The Api object used for communication with external services.
+   * @param tokens The cache of the verified tokens.
+   * @param keys The key store the JWTProcessor selects its keys from, refreshed when a token is
+   *     signed with an unknown key, or null if the keys of the JWTProcessor are fixed.
+   */
+  public KcAuthenticationServiceImpl(
+      final JWTProcessor<SecurityContext> jwtProcessor,
+      final JsonObject config,
+      final Api api,
+      final TokenCache tokens,
+      final JwksKeyStore keys) {
     this.jwtProcessor = jwtProcessor;
     this.uacAdmin = config.getString(UAC_ADMIN) != null ? config.getString(UAC_ADMIN) : "";
     this.issuer = config.getString("issuer");
     this.api = api;
+    this.tokens = tokens;
+    this.keys = keys;
   }
 
   @Override
   public Future<JwtData> decodeToken(String token) {
-    Promise<JwtData> promise = Promise.promise();
+    return tokens.decode(token, () -> verify(token));
+  }
+
+  private Future<JsonObject> verify(String token) {
+    if (keys == null) {
+      return process(token);
+    }
+    return keys.ensureKeyOf(token).compose(known -> process(token));
+  }
+
+  private Future<JsonObject> process(String token) {
+    Promise<JsonObject> promise = Promise.promise();
     try {
       JWTClaimsSet claimsSet = jwtProcessor.process(token, null);
-      String stringJson = claimsSet.toString();
-      JwtData jwtData = new JwtData(new JsonObject(stringJson));
-      LOGGER.debug(jwtData);
-      promise.complete(jwtData);
+      JsonObject claims = new JsonObject(claimsSet.toString());
+      LOGGER.debug(claims);
+      promise.complete(claims);
     } catch (Exception e) {
       LOGGER.error(e.getMessage());
       promise.fail(e.getMessage());
@@ -69,6 +102,11 @@ public class KcAuthenticationServiceImpl implements AuthenticationService {
   @Override
   public Future<JwtData> tokenIntrospect(
       JwtData decodedKc, JwtAuthenticationInfo authenticationInfo) {
+    return tokens.introspect(
+        decodedKc, authenticationInfo, () -> introspect(decodedKc, authenticationInfo));
+  }
+
+  private Future<JwtData> introspect(JwtData decodedKc, JwtAuthenticationInfo authenticationInfo) {
     Promise<JwtData> promise = Promise.promise();
     String endpoint = authenticationInfo.getApiEndpoint();
     // String id = authenticationInfo.getId();
@@ -116,7 +154,8 @@ public class KcAuthenticationServiceImpl implements AuthenticationService {
     if (endpoint.equals(api.getRouteItems())
         || endpoint.equals(api.getRouteInstance())
         || endpoint.equals(api.getRouteMlayerInstance())
-        || endpoint.equals(api.getRouteMlayerDomains())) {
+        || endpoint.equals(api.getRouteMlayerDomains())
+        || endpoint.equals(api.getRouteMlayerPopularDatasetsRefresh())) {
       promise.complete(true);
     } else {
       LOGGER.error("Unauthorized access to endpoint {}", endpoint);
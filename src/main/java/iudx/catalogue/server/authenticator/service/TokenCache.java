@@ -0,0 +1,143 @@
+package iudx.catalogue.server.authenticator.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.authenticator.model.JwtAuthenticationInfo;
+import iudx.catalogue.server.authenticator.model.JwtData;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the tokens verified, so that a token used for many requests has its signature checked
+ * once. The cache keeps the claims of each verified token, and the outcome of each introspection
+ * of a token for an endpoint, item type, provider and resource server. Tokens are keyed by their
+ * SHA-256 hash, not by the token itself.
+ *
+ * <p>An entry expires when its token does, and at the latest after the configured time to live,
+ * which bounds how long a revoked token or a changed admin keeps being accepted. Tokens that
+ * failed verification are not cached.
+ */
+public class TokenCache {
+  private static final String DECODED = "decoded:";
+  private static final String INTROSPECTED = "introspected:";
+
+  private final Cache<String, Entry> cache;
+  private final long ttlMillis;
+
+  /**
+   * Creates a cache.
+   *
+   * @param maxSize the number of entries kept; 0 disables the cache
+   * @param ttlSeconds the longest an entry is kept, even if its token expires later
+   */
+  public TokenCache(long maxSize, long ttlSeconds) {
+    this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    this.cache =
+        maxSize <= 0 || ttlSeconds <= 0
+            ? null
+            : CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+  }
+
+  private static String hash(String token) {
+    return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+  }
+
+  /**
+   * Returns the claims of a token, verifying it if it was not verified yet.
+   *
+   * @param token the token
+   * @param verifier verifies the token and returns its claims
+   * @return the decoded token
+   */
+  public Future<JwtData> decode(String token, Supplier<Future<JsonObject>> verifier) {
+    if (cache == null || token == null) {
+      return verifier.get().map(JwtData::new);
+    }
+    String key = DECODED + hash(token);
+    Entry cached = cache.getIfPresent(key);
+    if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+      return Future.succeededFuture(new JwtData(cached.claims.copy()));
+    }
+    return verifier
+        .get()
+        .map(
+            claims -> {
+              long expiresAt = expiresAt(claims.getLong("exp", 0L));
+              if (expiresAt > System.currentTimeMillis()) {
+                cache.put(key, new Entry(claims.copy(), null, expiresAt));
+              }
+              return new JwtData(claims);
+            });
+  }
+
+  /**
+   * Returns the outcome of the introspection of a token, introspecting it if it was not yet for
+   * the same request.
+   *
+   * @param decoded the decoded token
+   * @param authenticationInfo the request the token is introspected for
+   * @param introspector introspects the token
+   * @return the outcome of the introspection
+   */
+  public Future<JwtData> introspect(
+      JwtData decoded,
+      JwtAuthenticationInfo authenticationInfo,
+      Supplier<Future<JwtData>> introspector) {
+    if (cache == null || decoded == null || authenticationInfo.getToken() == null) {
+      return introspector.get();
+    }
+    String key =
+        String.join(
+            "|",
+            INTROSPECTED + hash(authenticationInfo.getToken()),
+            Objects.requireNonNullElse(authenticationInfo.getApiEndpoint(), ""),
+            Objects.requireNonNullElse(authenticationInfo.getItemType(), ""),
+            Objects.requireNonNullElse(authenticationInfo.getProviderUserId(), ""),
+            Objects.requireNonNullElse(authenticationInfo.getResourceServerUrl(), ""),
+            Objects.requireNonNullElse(authenticationInfo.getCosAdmin(), ""));
+    Entry cached = cache.getIfPresent(key);
+    if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+      return cached.failure == null
+          ? Future.succeededFuture()
+          : Future.failedFuture(cached.failure);
+    }
+    long expiresAt = expiresAt(decoded.getExp());
+    return introspector
+        .get()
+        .onComplete(
+            ar -> {
+              if (expiresAt <= System.currentTimeMillis()) {
+                return;
+              }
+              String failure = ar.failed() ? ar.cause().getMessage() : null;
+              if (ar.succeeded() || failure != null) {
+                cache.put(key, new Entry(null, failure, expiresAt));
+              }
+            });
+  }
+
+  /* The token expiry, in seconds since the epoch, bounded by the time to live */
+  private long expiresAt(long exp) {
+    return Math.min(TimeUnit.SECONDS.toMillis(exp), System.currentTimeMillis() + ttlMillis);
+  }
+
+  private static final class Entry {
+    private final JsonObject claims;
+    private final String failure;
+    private final long expiresAt;
+
+    private Entry(JsonObject claims, String failure, long expiresAt) {
+      this.claims = claims;
+      this.failure = failure;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
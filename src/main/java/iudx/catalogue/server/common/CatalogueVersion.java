@@ -0,0 +1,114 @@
+package iudx.catalogue.server.common;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.Counter;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Version of the whole catalogue, increased on every write of items, instances and domains. The
+ * version is a counter shared by the cluster; a write increases it once the write is searchable,
+ * and publishes the new version on {@value #ADDRESS} of the clustered event bus so every node
+ * knows it without asking the counter. Each node also reads the counter every {@value
+ * #SYNC_MILLIS} milliseconds, in case it missed a publication.
+ *
+ * <p>Should the version fail to increase, it is unknown on this node until the next write.
+ *
+ * <p>The counter is started from the current time in milliseconds when the cluster has none, so
+ * that versions handed out before a restart of the whole cluster are not handed out again.
+ *
+ * <p>A node has a single version, shared by its verticles through {@link #shared(Vertx)}.
+ */
+public class CatalogueVersion implements Shareable {
+  public static final String ADDRESS = "iudx.catalogue.version";
+  static final long SYNC_MILLIS = 10_000;
+  private static final Logger LOGGER = LogManager.getLogger(CatalogueVersion.class);
+
+  private final Vertx vertx;
+  private final AtomicLong current = new AtomicLong(-1);
+  private volatile long stale = 0;
+  private Future<Counter> counter;
+
+  private CatalogueVersion(Vertx vertx) {
+    this.vertx = vertx;
+  }
+
+  /**
+   * Returns the version of this node, created and following the version of the cluster on first
+   * use.
+   *
+   * @param vertx the Vert.x instance whose shared data holds the counter
+   * @return the version, unknown until the counter is read
+   */
+  public static CatalogueVersion shared(Vertx vertx) {
+    LocalMap<String, CatalogueVersion> versions = vertx.sharedData().getLocalMap(ADDRESS);
+    return versions.computeIfAbsent(ADDRESS, key -> create(vertx));
+  }
+
+  private static CatalogueVersion create(Vertx vertx) {
+    CatalogueVersion version = new CatalogueVersion(vertx);
+    vertx.eventBus().<Long>consumer(ADDRESS, message -> version.advance(message.body()));
+    version.sync();
+    vertx.setPeriodic(SYNC_MILLIS, id -> version.sync());
+    return version;
+  }
+
+  /**
+   * Returns the latest version known to this node.
+   *
+   * @return the version, or -1 while it is not known
+   */
+  public long current() {
+    return current.get();
+  }
+
+  /** Increases the version after a write, on this node and on every other node. */
+  public void bump() {
+    counter()
+        .compose(Counter::incrementAndGet)
+        .onSuccess(
+            version -> {
+              advance(version);
+              vertx.eventBus().publish(ADDRESS, version);
+            })
+        .onFailure(
+            e -> {
+              // a version not increased would tell clients their copy is still current
+              stale = Math.max(stale, current.getAndSet(-1));
+              LOGGER.error("Failed to increase the catalogue version: {}", e.getMessage());
+            });
+  }
+
+  private void sync() {
+    counter()
+        .compose(Counter::get)
+        .onSuccess(this::advance)
+        .onFailure(e -> LOGGER.warn("Failed to read the catalogue version: {}", e.getMessage()));
+  }
+
+  private Future<Counter> counter() {
+    if (counter == null || counter.failed()) {
+      counter =
+          vertx
+              .sharedData()
+              .getCounter(ADDRESS)
+              .compose(
+                  shared ->
+                      shared
+                          .compareAndSet(0, System.currentTimeMillis())
+                          .map(started -> shared));
+    }
+    return counter;
+  }
+
+  /* Versions never go back, and are unknown again after a failed increase until the next one */
+  private void advance(Long version) {
+    if (version != null && version > 0 && version > stale) {
+      current.accumulateAndGet(version, Math::max);
+    }
+  }
+}
@@ -29,6 +29,11 @@ public class RespBuilder {
     return this;
   }
 
+  public RespBuilder withNextCursor(String nextCursor) {
+    response.put(NEXT_CURSOR, nextCursor);
+    return this;
+  }
+
   /**
    * Adds a result to the response with the given id, method, and status.
    * @param id The id of the result to be added
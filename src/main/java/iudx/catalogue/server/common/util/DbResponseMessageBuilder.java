@@ -3,11 +3,13 @@ package iudx.catalogue.server.common.util;
 import static iudx.catalogue.server.geocoding.util.Constants.RESULTS;
 import static iudx.catalogue.server.geocoding.util.Constants.TYPE;
 import static iudx.catalogue.server.util.Constants.DETAIL;
+import static iudx.catalogue.server.util.Constants.NEXT_CURSOR;
 import static iudx.catalogue.server.util.Constants.TITLE;
 import static iudx.catalogue.server.util.Constants.TITLE_SUCCESS;
 import static iudx.catalogue.server.util.Constants.TOTAL_HITS;
 import static iudx.catalogue.server.util.Constants.TYPE_SUCCESS;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
@@ -32,6 +34,16 @@ public class DbResponseMessageBuilder {
     return this;
   }
 
+  /**
+   * Sets the cursor of the next page, if the result has one.
+   */
+  public DbResponseMessageBuilder setNextCursor(String nextCursor) {
+    if (nextCursor != null) {
+      response.put(NEXT_CURSOR, nextCursor);
+    }
+    return this;
+  }
+
   public DbResponseMessageBuilder setDetail(String detail) {
     response.put(DETAIL, detail);
     return this;
@@ -61,5 +73,24 @@ public class DbResponseMessageBuilder {
   public JsonObject getResponse() {
     return response;
   }
+
+  /**
+   * Encodes the response followed by the members of an already encoded JSON object, such as the
+   * page returned by a pass-through search, without decoding it.
+   */
+  public Buffer getResponse(Buffer members) {
+    Buffer head = response.toBuffer();
+    if (members.length() <= 2) {
+      return head;
+    }
+    Buffer merged = Buffer.buffer(head.length() + members.length());
+    if (response.isEmpty()) {
+      return merged.appendBuffer(members);
+    }
+    return merged
+        .appendBuffer(head, 0, head.length() - 1)
+        .appendByte((byte) ',')
+        .appendBuffer(members, 1, members.length() - 1);
+  }
 }
 
@@ -60,6 +60,11 @@ public class ElasticClient {
     return client;
   }
 
+  // low-level client for requests whose response body is used as raw bytes
+  public RestClient getRestClient() {
+    return rsClient;
+  }
+
   public void close() throws IOException {
     rsClient.close();
   }
@@ -1,5 +1,10 @@
 package iudx.catalogue.server.database.elastic;
 
+import static iudx.catalogue.server.database.elastic.util.Constants.DEFAULT_SEARCH_BATCH_MAX_SIZE;
+import static iudx.catalogue.server.database.elastic.util.Constants.DEFAULT_SEARCH_BATCH_WINDOW_MS;
+import static iudx.catalogue.server.database.elastic.util.Constants.MIGRATE_ITEM_IDS;
+import static iudx.catalogue.server.database.elastic.util.Constants.SEARCH_BATCH_MAX_SIZE;
+import static iudx.catalogue.server.database.elastic.util.Constants.SEARCH_BATCH_WINDOW_MS;
 import static iudx.catalogue.server.util.Constants.DATABASE_IP;
 import static iudx.catalogue.server.util.Constants.DATABASE_PASSWD;
 import static iudx.catalogue.server.util.Constants.DATABASE_PORT;
@@ -7,12 +12,16 @@ import static iudx.catalogue.server.util.Constants.DATABASE_UNAME;
 import static iudx.catalogue.server.util.Constants.DOC_INDEX;
 import static iudx.catalogue.server.util.Constants.ELASTIC_SERVICE_ADDRESS;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
+import io.vertx.micrometer.backends.BackendRegistries;
 import io.vertx.serviceproxy.ServiceBinder;
 import iudx.catalogue.server.database.elastic.service.ElasticsearchService;
 import iudx.catalogue.server.database.elastic.service.ElasticsearchServiceImpl;
+import iudx.catalogue.server.database.elastic.service.MultiSearchBatcher;
 
 
 /**
@@ -56,7 +65,28 @@ public class ElasticsearchVerticle extends AbstractVerticle {
 
     client = new ElasticClient(databaseIp, databasePort, docIndex, databaseUser, databasePassword);
 
-    database = new ElasticsearchServiceImpl(client);
+    long searchBatchWindow =
+        config().getLong(SEARCH_BATCH_WINDOW_MS, DEFAULT_SEARCH_BATCH_WINDOW_MS);
+    MultiSearchBatcher batcher = null;
+    if (searchBatchWindow > 0) {
+      // the registry is null when metrics are disabled, as in DeployerDev
+      MeterRegistry registry = BackendRegistries.getDefaultNow();
+      batcher =
+          new MultiSearchBatcher(
+              vertx,
+              client.getClient(),
+              searchBatchWindow,
+              config().getInteger(SEARCH_BATCH_MAX_SIZE, DEFAULT_SEARCH_BATCH_MAX_SIZE),
+              registry != null ? registry : Metrics.globalRegistry);
+    }
+    // unless turned off once every item is under its id, the items are moved once by the node
+    // and those not yet moved are moved when looked up meanwhile
+    ItemIdMigration migration = null;
+    if (config().getBoolean(MIGRATE_ITEM_IDS, true)) {
+      migration = ItemIdMigration.shared(vertx, client, docIndex);
+      migration.migrate();
+    }
+    database = new ElasticsearchServiceImpl(client, batcher, migration);
 
     consumer =
         binder.setAddress(ELASTIC_SERVICE_ADDRESS).register(ElasticsearchService.class, database);
@@ -0,0 +1,239 @@
+package iudx.catalogue.server.database.elastic;
+
+import static iudx.catalogue.server.database.elastic.util.Constants.ID_KEYWORD;
+import static iudx.catalogue.server.database.elastic.util.Constants.MIGRATION_PAGE_SIZE;
+import static iudx.catalogue.server.database.elastic.util.Constants.PIT_KEEP_ALIVE;
+import static iudx.catalogue.server.util.Constants.ID;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * One-shot migration that moves the items of the document index under their item id as {@code
+ * _id}. Items created before the item id was used as {@code _id} have an id generated by
+ * Elasticsearch, so they can only be found by a search.
+ *
+ * <p>The index is read from a point in time, page by page. Every item whose {@code _id} differs
+ * from its {@code id} is written again under the item id with one {@code _bulk} request per page,
+ * and the old documents of the items written are deleted with a second one. Items already stored
+ * under their id are left as they are, so the migration can be run again safely, for example after
+ * it was interrupted. Items are written with {@code op_type=create}: an item already written under
+ * its id, for example updated meanwhile, is newer than its old document, which is only deleted.
+ *
+ * <p>Until the migration has succeeded, an item not found under its id may still be under an old
+ * one; {@link #moveItems(List)} looks such items up by their {@code id} and moves them first.
+ */
+public class ItemIdMigration implements Shareable {
+  private static final Logger LOGGER = LogManager.getLogger(ItemIdMigration.class);
+  private static final String SHARED_NAME = "iudx.catalogue.itemIdMigration";
+  private static final String SHARD_DOC = "_shard_doc";
+  // the item is already under its id, written by a previous run or updated meanwhile
+  private static final int HTTP_CONFLICT = 409;
+
+  private final ElasticsearchAsyncClient client;
+  private final String index;
+  private Future<Integer> migration;
+  private volatile boolean done = false;
+  // whether an item of the running migration could not be moved
+  private volatile boolean skipped = false;
+
+  public ItemIdMigration(ElasticClient client, String index) {
+    this.client = client.getClient();
+    this.index = index;
+  }
+
+  /**
+   * Returns the migration of the document index shared by the verticle instances of the node, so
+   * that it runs once.
+   *
+   * @param vertx the Vert.x instance of the node
+   * @param client the Elasticsearch client the migration is created with, if none is shared yet
+   * @param index the document index
+   * @return the shared migration
+   */
+  public static ItemIdMigration shared(Vertx vertx, ElasticClient client, String index) {
+    LocalMap<String, ItemIdMigration> migrations = vertx.sharedData().getLocalMap(SHARED_NAME);
+    return migrations.computeIfAbsent(index, key -> new ItemIdMigration(client, key));
+  }
+
+  /**
+   * Runs the migration, once however many ask for it; a failed migration is run again by the next
+   * call.
+   *
+   * @return the number of items moved under their item id
+   */
+  public synchronized Future<Integer> migrate() {
+    if (migration != null && !migration.failed()) {
+      return migration;
+    }
+    LOGGER.info("Migrating items of {} to their item id", index);
+    skipped = false;
+    migration = openPointInTime()
+        .compose(pitId -> migratePage(pitId, null, 0)
+            .onComplete(moved -> closePointInTime(pitId)))
+        .onSuccess(moved -> {
+          // items not moved are still looked up by their id until the next start
+          done = !skipped;
+          LOGGER.info("Success: {} items migrated to their item id", moved);
+        })
+        .onFailure(err -> LOGGER.error("Fail: Item id migration failed; {}", err.getMessage()));
+    return migration;
+  }
+
+  /**
+   * Returns whether every item is stored under its item id, so that an item not found under its
+   * id does not exist.
+   *
+   * @return true once the migration has moved every item
+   */
+  public boolean isDone() {
+    return done;
+  }
+
+  /**
+   * Moves the items of the given ids still stored under an old id under their item id.
+   *
+   * @param itemIds the ids of the items not found under their id
+   * @return the number of items moved
+   */
+  public Future<Integer> moveItems(List<String> itemIds) {
+    List<FieldValue> values = itemIds.stream().map(FieldValue::of).collect(Collectors.toList());
+    SearchRequest request = SearchRequest.of(s -> s
+        .index(index)
+        .size(MIGRATION_PAGE_SIZE)
+        .query(q -> q.terms(t -> t.field(ID_KEYWORD).terms(v -> v.value(values)))));
+    return search(request).compose(hits -> moveItemHits(misplaced(hits)));
+  }
+
+  private Future<Integer> migratePage(String pitId, List<FieldValue> searchAfter, int moved) {
+    SearchRequest request = SearchRequest.of(s -> {
+      s.pit(p -> p.id(pitId).keepAlive(t -> t.time(PIT_KEEP_ALIVE)))
+          .size(MIGRATION_PAGE_SIZE)
+          .sort(o -> o.field(f -> f.field(SHARD_DOC).order(SortOrder.Asc)));
+      if (searchAfter != null) {
+        s.searchAfter(searchAfter);
+      }
+      return s;
+    });
+    return search(request).compose(hits ->
+        moveItemHits(misplaced(hits)).compose(count -> {
+          if (hits.size() < MIGRATION_PAGE_SIZE) {
+            return Future.succeededFuture(moved + count);
+          }
+          return migratePage(pitId, hits.get(hits.size() - 1).sort(), moved + count);
+        }));
+  }
+
+  private Future<List<Hit<ObjectNode>>> search(SearchRequest request) {
+    Promise<List<Hit<ObjectNode>>> promise = Promise.promise();
+    client.search(request, ObjectNode.class).whenComplete((response, error) -> {
+      if (error != null) {
+        promise.fail(error);
+      } else {
+        promise.complete(response.hits().hits());
+      }
+    });
+    return promise.future();
+  }
+
+  /* The hits whose _id is not their item id */
+  private static List<Hit<ObjectNode>> misplaced(List<Hit<ObjectNode>> hits) {
+    List<Hit<ObjectNode>> misplaced = new ArrayList<>();
+    for (Hit<ObjectNode> hit : hits) {
+      String itemId = hit.source() == null ? null : hit.source().path(ID).asText(null);
+      if (itemId != null && !itemId.equals(hit.id())) {
+        misplaced.add(hit);
+      }
+    }
+    return misplaced;
+  }
+
+  /* Creates the items under their item id, then deletes the old documents of those moved */
+  private Future<Integer> moveItemHits(List<Hit<ObjectNode>> hits) {
+    if (hits.isEmpty()) {
+      return Future.succeededFuture(0);
+    }
+    List<BulkOperation> writes = hits.stream()
+        .map(hit -> BulkOperation.of(o -> o.create(c -> c
+            .id(hit.source().get(ID).asText())
+            .document(hit.source()))))
+        .collect(Collectors.toList());
+    return executeBulk(writes).compose(written -> {
+      List<BulkOperation> deletes = new ArrayList<>();
+      for (int i = 0; i < written.size(); i++) {
+        BulkResponseItem item = written.get(i);
+        if (item.error() != null && item.status() != HTTP_CONFLICT) {
+          // the old document is kept, so the item is still found by a search
+          skipped = true;
+          LOGGER.warn("Item id migration of {} failed: {}", item.id(), item.error().reason());
+        } else {
+          String oldId = hits.get(i).id();
+          deletes.add(BulkOperation.of(o -> o.delete(d -> d.id(oldId))));
+        }
+      }
+      return executeBulk(deletes).map(deleted -> {
+        deleted.stream()
+            .filter(item -> item.error() != null)
+            .forEach(item -> LOGGER.warn("Delete of migrated document {} failed: {}",
+                item.id(), item.error().reason()));
+        return deletes.size();
+      });
+    });
+  }
+
+  private Future<List<BulkResponseItem>> executeBulk(List<BulkOperation> operations) {
+    if (operations.isEmpty()) {
+      return Future.succeededFuture(List.of());
+    }
+    Promise<List<BulkResponseItem>> promise = Promise.promise();
+    client
+        .bulk(BulkRequest.of(b -> b.index(index).operations(operations)))
+        .whenComplete((response, error) -> {
+          if (error != null) {
+            promise.fail(error);
+          } else {
+            promise.complete(response.items());
+          }
+        });
+    return promise.future();
+  }
+
+  private Future<String> openPointInTime() {
+    Promise<String> promise = Promise.promise();
+    client
+        .openPointInTime(o -> o.index(index).keepAlive(t -> t.time(PIT_KEEP_ALIVE)))
+        .whenComplete((response, error) -> {
+          if (error != null) {
+            promise.fail(error);
+          } else {
+            promise.complete(response.id());
+          }
+        });
+    return promise.future();
+  }
+
+  private void closePointInTime(String pitId) {
+    client.closePointInTime(c -> c.id(pitId)).whenComplete((closed, error) -> {
+      if (error != null) {
+        LOGGER.warn("Close point in time failed: {}", error.getMessage());
+      }
+    });
+  }
+}
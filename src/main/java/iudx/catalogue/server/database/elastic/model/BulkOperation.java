@@ -0,0 +1,83 @@
+package iudx.catalogue.server.database.elastic.model;
+
+import static iudx.catalogue.server.util.Constants.DELETE;
+import static iudx.catalogue.server.util.Constants.INSERT;
+import static iudx.catalogue.server.util.Constants.UPDATE;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * A single write of a bulk request. The method is one of {@code insert}, {@code update} or
+ * {@code delete}, with the same meaning as the single document operations of the Elasticsearch
+ * service: insert creates a new document, update replaces the document with the given id and
+ * delete removes it.
+ */
+@DataObject(generateConverter = true)
+public class BulkOperation {
+  private String method;
+  private String docId;
+  private JsonObject document;
+
+  public BulkOperation() {
+    // Default constructor
+  }
+
+  public BulkOperation(JsonObject json) {
+    BulkOperationConverter.fromJson(json, this);
+  }
+
+  public BulkOperation(String method, String docId, JsonObject document) {
+    this.method = method;
+    this.docId = docId;
+    this.document = document;
+  }
+
+  public static BulkOperation insert(String docId, JsonObject document) {
+    return new BulkOperation(INSERT, docId, document);
+  }
+
+  public static BulkOperation update(String docId, JsonObject document) {
+    return new BulkOperation(UPDATE, docId, document);
+  }
+
+  public static BulkOperation delete(String docId) {
+    return new BulkOperation(DELETE, docId, null);
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    BulkOperationConverter.toJson(this, json);
+    return json;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public void setMethod(String method) {
+    this.method = method;
+  }
+
+  /** The Elasticsearch {@code _id} of the document, null to let Elasticsearch assign one. */
+  public String getDocId() {
+    return docId;
+  }
+
+  public void setDocId(String docId) {
+    this.docId = docId;
+  }
+
+  public JsonObject getDocument() {
+    return document;
+  }
+
+  public void setDocument(JsonObject document) {
+    this.document = document;
+  }
+
+  @Override
+  public String toString() {
+    return "BulkOperation{" + "method='" + method + '\'' + ", docId='" + docId + '\'' + '}';
+  }
+}
@@ -5,7 +5,6 @@ import io.vertx.core.json.JsonObject;
 
 @DataObject(generateConverter = true)
 public class ElasticsearchResponse {
-  private static JsonObject aggregations;
   private String docId;
   private JsonObject source;
 
@@ -22,14 +21,6 @@ public class ElasticsearchResponse {
     this.source = source;
   }
 
-  public static JsonObject getAggregations() {
-    return aggregations;
-  }
-
-  public static void setAggregations(JsonObject aggregations) {
-    ElasticsearchResponse.aggregations = aggregations;
-  }
-
   public JsonObject toJson() {
     JsonObject json = new JsonObject();
     ElasticsearchResponseConverter.toJson(this, json);
@@ -1,6 +1,10 @@
 package iudx.catalogue.server.database.elastic.model;
 
 import static iudx.catalogue.server.database.elastic.util.Constants.GEO_CIRCLE;
+import static iudx.catalogue.server.database.elastic.util.Constants.KNN_FILTER;
+import static iudx.catalogue.server.database.elastic.util.Constants.KNN_K;
+import static iudx.catalogue.server.database.elastic.util.Constants.KNN_NUM_CANDIDATES;
+import static iudx.catalogue.server.database.elastic.util.Constants.QUERY_VECTOR;
 import static iudx.catalogue.server.util.Constants.COORDINATES;
 import static iudx.catalogue.server.util.Constants.FIELD;
 import static iudx.catalogue.server.util.Constants.GEOPROPERTY;
@@ -78,6 +82,8 @@ public class QueryModel {
   private List<String> includeFields;
   private List<String> excludeFields;
   private Map<String, String> sortFields; // Key: Field name, Value: Sort order ("asc" or "desc")
+  // Pagination cursor, see SearchCursor
+  private String cursor;
 
   /**
    * Constructor for initializing QueryModel from a JSON object.
@@ -376,6 +382,14 @@ public class QueryModel {
     this.sortFields = sortFields;
   }
 
+  public String getCursor() {
+    return cursor;
+  }
+
+  public void setCursor(String cursor) {
+    this.cursor = cursor;
+  }
+
   /**
    * Converts this QueryModel into an Elasticsearch Query object.
    *
@@ -522,6 +536,26 @@ public class QueryModel {
                   .lang("painless")
                   .params(params))
           )._toQuery();
+        case KNN:
+          // approximate nearest neighbours on the HNSW graph of the dense vector field
+          List<Float> knnVector =
+              ((JsonArray) queryParameters.get(QUERY_VECTOR)).stream()
+                  .map(value -> ((Number) value).floatValue())
+                  .collect(Collectors.toList());
+          Query knnFilter = queryParameters.get(KNN_FILTER) == null
+              ? null
+              : new QueryModel(JsonObject.mapFrom(queryParameters.get(KNN_FILTER)))
+                  .toElasticsearchQuery();
+          return Query.of(q -> q.knn(k -> {
+            k.field((String) queryParameters.get(FIELD))
+                .queryVector(knnVector)
+                .k(((Number) queryParameters.get(KNN_K)).intValue())
+                .numCandidates(((Number) queryParameters.get(KNN_NUM_CANDIDATES)).intValue());
+            if (knnFilter != null) {
+              k.filter(knnFilter);
+            }
+            return k;
+          }));
         case QUERY_STRING:
           return QueryStringQuery.of(
                   qs -> {
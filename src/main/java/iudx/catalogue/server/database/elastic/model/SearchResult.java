@@ -0,0 +1,97 @@
+package iudx.catalogue.server.database.elastic.model;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result envelope of a single Elasticsearch search. Carries the hits, the total hit count reported
+ * by Elasticsearch and the aggregations of that particular request, so that concurrent searches
+ * never observe each other's aggregation buckets.
+ */
+@DataObject(generateConverter = true)
+public class SearchResult {
+  private List<ElasticsearchResponse> hits = new ArrayList<>();
+  private long totalHits;
+  private JsonObject aggregations;
+  private String nextCursor;
+
+  public SearchResult() {
+    // Default constructor
+  }
+
+  public SearchResult(JsonObject json) {
+    SearchResultConverter.fromJson(json, this);
+  }
+
+  /**
+   * Creates a result with the given hits, using the number of hits as the total.
+   *
+   * @param hits the documents returned by the search
+   */
+  public SearchResult(List<ElasticsearchResponse> hits) {
+    this(hits, hits.size(), null);
+  }
+
+  /**
+   * Creates a result with the given hits, total hit count and aggregations.
+   *
+   * @param hits the documents returned by the search
+   * @param totalHits the value of {@code hits.total} reported by Elasticsearch
+   * @param aggregations the aggregations of this search, or null if none were requested
+   */
+  public SearchResult(List<ElasticsearchResponse> hits, long totalHits, JsonObject aggregations) {
+    this.hits = hits;
+    this.totalHits = totalHits;
+    this.aggregations = aggregations;
+  }
+
+  public JsonObject toJson() {
+    JsonObject json = new JsonObject();
+    SearchResultConverter.toJson(this, json);
+    return json;
+  }
+
+  public List<ElasticsearchResponse> getHits() {
+    return hits;
+  }
+
+  public void setHits(List<ElasticsearchResponse> hits) {
+    this.hits = hits;
+  }
+
+  public long getTotalHits() {
+    return totalHits;
+  }
+
+  public void setTotalHits(long totalHits) {
+    this.totalHits = totalHits;
+  }
+
+  public JsonObject getAggregations() {
+    return aggregations;
+  }
+
+  public void setAggregations(JsonObject aggregations) {
+    this.aggregations = aggregations;
+  }
+
+  /**
+   * Cursor of the page following this one, set only for cursor paginated searches that have more
+   * hits to read.
+   */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  public void setNextCursor(String nextCursor) {
+    this.nextCursor = nextCursor;
+  }
+
+  @Override
+  public String toString() {
+    return "SearchResult{" + "totalHits=" + totalHits + ", hits=" + hits + ", aggregations="
+        + aggregations + ", nextCursor=" + nextCursor + '}';
+  }
+}
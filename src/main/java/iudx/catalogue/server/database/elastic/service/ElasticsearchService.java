@@ -5,9 +5,12 @@ import io.vertx.codegen.annotations.ProxyGen;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
-import iudx.catalogue.server.database.elastic.model.ElasticsearchResponse;
+import iudx.catalogue.server.database.elastic.model.BulkOperation;
 import iudx.catalogue.server.database.elastic.model.QueryModel;
+import iudx.catalogue.server.database.elastic.model.SearchResult;
 import java.util.List;
 
 @VertxGen
@@ -19,10 +22,62 @@ public interface ElasticsearchService {
     return new ElasticsearchServiceVertxEBProxy(vertx, address);
   }
 
-  Future<List<ElasticsearchResponse>> search(String index, QueryModel queryModel);
+  Future<SearchResult> search(String index, QueryModel queryModel);
+
+  /**
+   * Pass-through variant of {@link #search} for results that are returned to the client as they
+   * are. The {@code _source} of each hit is copied from the Elasticsearch response bytes, with
+   * {@code _summary} and {@code _word_vector} removed by source filtering.
+   *
+   * @param index the index to search
+   * @param queryModel the query, source filter, sort and paging of the search
+   * @return a JSON object of the form {@code {"results":[...],"totalHits":n}}
+   */
+  Future<Buffer> searchRaw(String index, QueryModel queryModel);
+
+  /**
+   * Releases the point in time of a cursor paginated search left before its last page; the point
+   * in time of the last page is released by the search itself.
+   *
+   * @param cursor the {@code nextCursor} of the last page read
+   * @return completed once the point in time is released, or at once for a cursor without one
+   */
+  Future<Void> closeCursor(String cursor);
 
   Future<JsonObject> createDocument(String index, JsonObject document);
 
+  /**
+   * Creates a document under the given {@code _id}. Fails with a version conflict if a document
+   * with the same id already exists.
+   *
+   * @param index the index the document is written to
+   * @param id the {@code _id} of the document
+   * @param document the source of the document
+   * @return the item operation response for the document
+   */
+  Future<JsonObject> createDocumentWithId(String index, String id, JsonObject document);
+
+  /**
+   * Fetches a document by its {@code _id}. Unlike a search, a get is realtime: a document can be
+   * read as soon as it is written, without waiting for a refresh.
+   *
+   * @param index the index of the document
+   * @param id the {@code _id} of the document
+   * @param includeFields the source fields to return, or null for the whole source
+   * @return the source of the document, or null if there is no document with the id
+   */
+  Future<JsonObject> getById(String index, String id, List<String> includeFields);
+
+  /**
+   * Fetches several documents by their {@code _id} in a single {@code _mget} request.
+   *
+   * @param index the index of the documents
+   * @param ids the {@code _id}s of the documents
+   * @param includeFields the source fields to return, or null for the whole source
+   * @return the documents that exist, in the order of the ids, with their number as total hits
+   */
+  Future<SearchResult> multiGet(String index, List<String> ids, List<String> includeFields);
+
   Future<JsonObject> updateDocument(String index, String id, JsonObject document);
 
   Future<JsonObject> patchDocument(String index, String id, JsonObject document);
@@ -30,4 +85,15 @@ public interface ElasticsearchService {
   Future<JsonObject> deleteDocument(String index, String id);
 
   Future<Integer> count(String index, QueryModel queryModel);
+
+  /**
+   * Executes several writes in a single {@code _bulk} request. A write that fails does not fail
+   * the others, so the result has to be checked per operation.
+   *
+   * @param index the index the documents are written to
+   * @param operations the writes, in the order they are executed
+   * @return one result per operation, in the same order, of the form {@code {"id":<_id>,
+   *     "method":<method>,"title":<urn:dx:cat:Success|failed>,"detail":<reason of a failure>}}
+   */
+  Future<JsonArray> bulk(String index, List<BulkOperation> operations);
 }
@@ -2,52 +2,193 @@ package iudx.catalogue.server.database.elastic.service;
 
 import static iudx.catalogue.server.common.util.ResponseBuilderUtil.successResp;
 import static iudx.catalogue.server.common.util.ResponseBuilderUtil.successfulItemOperationResp;
-import static iudx.catalogue.server.util.Constants.AGGREGATIONS;
+import static iudx.catalogue.server.database.elastic.util.Constants.FILTER_PATH_CURSOR_PAGE;
+import static iudx.catalogue.server.database.elastic.util.Constants.FILTER_PATH_KEY;
+import static iudx.catalogue.server.database.elastic.util.Constants.FILTER_PATH_TOTAL_AND_SOURCE;
+import static iudx.catalogue.server.database.elastic.util.Constants.ID_KEYWORD;
+import static iudx.catalogue.server.database.elastic.util.Constants.PIT_KEEP_ALIVE;
+import static iudx.catalogue.server.database.elastic.util.Constants.SUMMARY_KEY;
+import static iudx.catalogue.server.database.elastic.util.Constants.WORD_VECTOR_KEY;
+import static iudx.catalogue.server.util.Constants.DELETE;
+import static iudx.catalogue.server.util.Constants.DETAIL;
+import static iudx.catalogue.server.util.Constants.FAILED;
+import static iudx.catalogue.server.util.Constants.ID;
+import static iudx.catalogue.server.util.Constants.INSERT;
+import static iudx.catalogue.server.util.Constants.METHOD;
+import static iudx.catalogue.server.util.Constants.REQUEST_POST;
+import static iudx.catalogue.server.util.Constants.STATUS;
+import static iudx.catalogue.server.util.Constants.TYPE_SUCCESS;
+import static iudx.catalogue.server.util.Constants.UPDATE;
 
 import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.OpType;
+import co.elastic.clients.elasticsearch._types.Refresh;
 import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
 import co.elastic.clients.elasticsearch.core.CountRequest;
 import co.elastic.clients.elasticsearch.core.DeleteRequest;
+import co.elastic.clients.elasticsearch.core.GetRequest;
 import co.elastic.clients.elasticsearch.core.IndexRequest;
+import co.elastic.clients.elasticsearch.core.MgetRequest;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
 import co.elastic.clients.elasticsearch.core.UpdateRequest;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.get.GetResult;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.ResponseBody;
 import co.elastic.clients.elasticsearch.core.search.SourceConfig;
-import co.elastic.clients.json.JsonpMapper;
-import co.elastic.clients.json.JsonpMapperFeatures;
+import co.elastic.clients.json.JsonData;
+import co.elastic.clients.json.JsonpUtils;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import iudx.catalogue.server.database.elastic.ElasticClient;
+import iudx.catalogue.server.database.elastic.ItemIdMigration;
+import iudx.catalogue.server.database.elastic.model.BulkOperation;
 import iudx.catalogue.server.database.elastic.model.ElasticsearchResponse;
 import iudx.catalogue.server.database.elastic.model.QueryModel;
-import jakarta.json.stream.JsonGenerator;
+import iudx.catalogue.server.database.elastic.model.SearchResult;
+import iudx.catalogue.server.database.elastic.util.AggregationDecoder;
+import iudx.catalogue.server.database.elastic.util.RawHitsReader;
+import iudx.catalogue.server.database.elastic.util.SearchCursor;
+import java.io.IOException;
 import java.io.StringReader;
-import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import org.apache.http.util.EntityUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseListener;
+
+/**
+ * Writes are sent with {@code refresh=wait_for}: they complete once the change is visible to
+ * searches, so a search that follows a write sees it without a fixed delay.
+ */
 public class ElasticsearchServiceImpl implements ElasticsearchService {
   private static final Logger LOGGER = LogManager.getLogger(ElasticsearchServiceImpl.class);
+  // size Elasticsearch uses when a search does not set one
+  private static final int DEFAULT_PAGE_SIZE = 10;
 
-  static ElasticClient client;
-  private static ElasticsearchAsyncClient asyncClient;
+  private final ElasticClient client;
+  private final ElasticsearchAsyncClient asyncClient;
+  private final MultiSearchBatcher batcher;
+  private final ItemIdMigration migration;
 
   public ElasticsearchServiceImpl(ElasticClient client) {
-    ElasticsearchServiceImpl.client = client;
-    asyncClient = client.getClient();
+    this(client, null, null);
+  }
+
+  /**
+   * Creates the service with searches coalesced into {@code _msearch} requests.
+   *
+   * @param client the Elasticsearch client
+   * @param batcher the batcher searches without a cursor go through, null to send each alone
+   * @param migration the item id migration of the document index; until it has succeeded, items
+   *     not found under their id are looked up by their {@code id} and moved under it. Null when
+   *     every item is stored under its id
+   */
+  public ElasticsearchServiceImpl(
+      ElasticClient client, MultiSearchBatcher batcher, ItemIdMigration migration) {
+    this.client = client;
+    this.asyncClient = client.getClient();
+    this.batcher = batcher;
+    this.migration = migration;
+  }
+
+  @Override
+  public Future<SearchResult> search(String index, QueryModel queryModel) {
+    return resolveCursor(index, queryModel.getCursor())
+        .compose(cursor -> {
+          SearchRequest request = searchRequestBuilder(index, queryModel, cursor).build();
+          LOGGER.debug("Final SearchRequest: {}", request);
+
+          if (cursor == null && batcher != null) {
+            return batcher.search(request).map(this::convertToElasticSearchResponse);
+          }
+          return executeSearch(request)
+              .map(response -> {
+                SearchResult result = convertToElasticSearchResponse(response);
+                if (cursor != null) {
+                  result.setNextCursor(nextCursor(cursor, request, response));
+                }
+                return result;
+              });
+        });
   }
 
   @Override
-  public Future<List<ElasticsearchResponse>> search(String index, QueryModel queryModel) {
+  public Future<Buffer> searchRaw(String index, QueryModel queryModel) {
+    return resolveCursor(index, queryModel.getCursor())
+        .compose(cursor -> executeRawSearch(index, queryModel, cursor));
+  }
+
+  private Future<Buffer> executeRawSearch(
+      String index, QueryModel queryModel, SearchCursor cursor) {
+    List<String> excludes = new ArrayList<>(List.of(SUMMARY_KEY, WORD_VECTOR_KEY));
+    if (queryModel.getExcludeFields() != null) {
+      excludes.addAll(queryModel.getExcludeFields());
+    }
+    List<String> includes = queryModel.getIncludeFields();
+    SearchRequest request = searchRequestBuilder(index, queryModel, cursor)
+        .source(s -> s.filter(f -> includes == null
+            ? f.excludes(excludes)
+            : f.includes(includes).excludes(excludes)))
+        .build();
+    LOGGER.debug("Final raw SearchRequest: {}", request);
+
+    // a search on a point in time must not name the index
+    Request rawRequest =
+        new Request(REQUEST_POST, cursor == null ? "/" + index + "/_search" : "/_search");
+    rawRequest.addParameter(
+        FILTER_PATH_KEY, cursor == null ? FILTER_PATH_TOTAL_AND_SOURCE : FILTER_PATH_CURSOR_PAGE);
+    rawRequest.setJsonEntity(JsonpUtils.toJsonString(request, asyncClient._jsonpMapper()));
+
+    Promise<Buffer> promise = Promise.promise();
+    client.getRestClient().performRequestAsync(rawRequest, new ResponseListener() {
+      @Override
+      public void onSuccess(Response response) {
+        try {
+          byte[] body = EntityUtils.toByteArray(response.getEntity());
+          if (cursor == null) {
+            promise.complete(RawHitsReader.read(body));
+            return;
+          }
+          RawHitsReader reader = RawHitsReader.readPage(body, cursor, pageSize(request));
+          if (reader.getNextCursor() == null) {
+            closePointInTime(reader.getPitId());
+          }
+          promise.complete(reader.getPage());
+        } catch (IOException e) {
+          LOGGER.error("Failed to read raw search response: {}", e.getMessage());
+          promise.fail(e);
+        }
+      }
+
+      @Override
+      public void onFailure(Exception error) {
+        LOGGER.error("Raw search operation failed due to {}: {}",
+            error.getClass().getSimpleName(), error.getMessage(), error);
+        promise.fail(error);
+      }
+    });
+    return promise.future();
+  }
+
+  private SearchRequest.Builder searchRequestBuilder(
+      String index, QueryModel queryModel, SearchCursor cursor) {
     // Convert QueryModel into Elasticsearch Query and aggregations
     Map<String, Aggregation> elasticsearchAggregations = new HashMap<>();
     if (queryModel.getAggregations() != null && !queryModel.getAggregations().isEmpty()) {
@@ -62,8 +203,15 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
     Query query = queries == null ? null : queries.toElasticsearchQuery();
     String size = queryModel.getLimit();
     String from = queryModel.getOffset();
-    SearchRequest.Builder requestBuilder = new SearchRequest.Builder()
-        .index(index);
+    SearchRequest.Builder requestBuilder = new SearchRequest.Builder();
+    if (cursor == null) {
+      requestBuilder.index(index);
+    } else {
+      requestBuilder.pit(p -> p.id(cursor.getPitId()).keepAlive(t -> t.time(PIT_KEEP_ALIVE)));
+      if (cursor.getSearchAfter() != null) {
+        requestBuilder.searchAfter(cursor.toFieldValues());
+      }
+    }
 
     // Optional parameters, set only if not null
     if (query != null) {
@@ -72,7 +220,7 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
     if (size != null) {
       requestBuilder.size(Integer.valueOf(size));
     }
-    if (from != null) {
+    if (from != null && cursor == null) {
       requestBuilder.from(Integer.valueOf(from));
     }
     if (!elasticsearchAggregations.isEmpty()) {
@@ -83,14 +231,94 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
       requestBuilder.source(sourceConfig);
     }
     List<SortOptions> sortOptions = queryModel.toSortOptions();
+    if (cursor != null) {
+      // search_after needs a total order, the point in time adds _shard_doc as tiebreaker
+      sortOptions = sortOptions == null ? new ArrayList<>() : new ArrayList<>(sortOptions);
+      if (queryModel.getSortFields() == null
+          || !queryModel.getSortFields().containsKey(ID_KEYWORD)) {
+        sortOptions.add(
+            SortOptions.of(s -> s.field(f -> f.field(ID_KEYWORD).order(SortOrder.Asc))));
+      }
+    }
     if (sortOptions != null) {
       requestBuilder.sort(sortOptions);
     }
-    SearchRequest request = requestBuilder.build();
-    LOGGER.debug("Final SearchRequest: {}", request);
+    return requestBuilder;
+  }
+
+  /**
+   * Opens a point in time for a new cursor pagination, or decodes the cursor of a later page.
+   * Completes with null if the search is not cursor paginated.
+   */
+  private Future<SearchCursor> resolveCursor(String index, String cursor) {
+    if (cursor == null) {
+      return Future.succeededFuture();
+    }
+    if (!SearchCursor.START.equals(cursor)) {
+      try {
+        return Future.succeededFuture(SearchCursor.decode(cursor));
+      } catch (IllegalArgumentException e) {
+        return Future.failedFuture(e);
+      }
+    }
+    Promise<SearchCursor> promise = Promise.promise();
+    asyncClient
+        .openPointInTime(o -> o.index(index).keepAlive(t -> t.time(PIT_KEEP_ALIVE)))
+        .whenComplete((response, error) -> {
+          if (error != null) {
+            LOGGER.error("Open point in time failed: {}", error.getMessage());
+            promise.fail(error);
+          } else {
+            promise.complete(new SearchCursor(response.id(), null));
+          }
+        });
+    return promise.future();
+  }
+
+  private String nextCursor(
+      SearchCursor cursor, SearchRequest request, SearchResponse<ObjectNode> response) {
+    List<Hit<ObjectNode>> hits = response.hits().hits();
+    String pitId = response.pitId() != null ? response.pitId() : cursor.getPitId();
+    if (hits.isEmpty() || hits.size() < pageSize(request)) {
+      closePointInTime(pitId);
+      return null;
+    }
+    List<Object> sortValues = hits.get(hits.size() - 1).sort().stream()
+        .map(value -> value.isAny() ? value.anyValue().to(Object.class) : value._get())
+        .collect(Collectors.toList());
+    return new SearchCursor(pitId, new JsonArray(sortValues)).encode();
+  }
+
+  @Override
+  public Future<Void> closeCursor(String cursor) {
+    if (cursor == null || SearchCursor.START.equals(cursor)) {
+      return Future.succeededFuture();
+    }
+    String pitId;
+    try {
+      pitId = SearchCursor.decode(cursor).getPitId();
+    } catch (IllegalArgumentException e) {
+      return Future.failedFuture(e);
+    }
+    return pitId == null ? Future.succeededFuture() : closePointInTime(pitId);
+  }
+
+  /** Releases the point in time of the last page instead of waiting for it to expire. */
+  private Future<Void> closePointInTime(String pitId) {
+    Promise<Void> promise = Promise.promise();
+    asyncClient.closePointInTime(c -> c.id(pitId)).whenComplete((closed, error) -> {
+      if (error != null) {
+        LOGGER.warn("Close point in time failed: {}", error.getMessage());
+        promise.fail(error);
+      } else {
+        promise.complete();
+      }
+    });
+    return promise.future();
+  }
 
-    return executeSearch(request)
-        .map(this::convertToElasticSearchResponse);
+  private static int pageSize(SearchRequest request) {
+    return request.size() != null ? request.size() : DEFAULT_PAGE_SIZE;
   }
 
   @Override
@@ -140,6 +368,7 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
     Promise<JsonObject> promise = Promise.promise();
     IndexRequest<JsonObject> createRequest = IndexRequest.of(i -> i
         .index(index)
+        .refresh(Refresh.WaitFor)
         .withJson(new StringReader(document.toString())));
     LOGGER.debug("Create Request: " + createRequest);
     asyncClient.index(createRequest).whenComplete((response, error) -> {
@@ -155,11 +384,137 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
     return promise.future();
   }
 
+  @Override
+  public Future<JsonObject> createDocumentWithId(String index, String id, JsonObject document) {
+    Promise<JsonObject> promise = Promise.promise();
+    IndexRequest<JsonObject> createRequest = IndexRequest.of(i -> i
+        .index(index)
+        .id(id)
+        .opType(OpType.Create)
+        .refresh(Refresh.WaitFor)
+        .withJson(new StringReader(document.toString())));
+    LOGGER.debug("Create Request: " + createRequest);
+    asyncClient.index(createRequest).whenComplete((response, error) -> {
+      if (error != null) {
+        LOGGER.error("Create operation failed: {}", error.getMessage());
+        promise.fail(error);
+      } else {
+        promise.complete(successfulItemOperationResp(document,
+            "Success: Item created"));
+      }
+    });
+
+    return promise.future();
+  }
+
+  @Override
+  public Future<JsonObject> getById(String index, String id, List<String> includeFields) {
+    return get(index, id, includeFields).compose(source -> {
+      if (source != null || !isMigrating()) {
+        return Future.succeededFuture(source);
+      }
+      return migration.moveItems(List.of(id)).compose(moved ->
+          moved > 0 ? get(index, id, includeFields) : Future.succeededFuture());
+    });
+  }
+
+  /* Whether items may still be stored under an old id */
+  private boolean isMigrating() {
+    return migration != null && !migration.isDone();
+  }
+
+  private Future<JsonObject> get(String index, String id, List<String> includeFields) {
+    GetRequest getRequest = GetRequest.of(g -> {
+      g.index(index).id(id);
+      if (includeFields != null) {
+        g.sourceIncludes(includeFields);
+      }
+      return g;
+    });
+    LOGGER.debug("Get Request: " + getRequest);
+    Promise<JsonObject> promise = Promise.promise();
+
+    asyncClient.get(getRequest, ObjectNode.class).whenComplete((response, error) -> {
+      if (error != null) {
+        LOGGER.error("Get operation failed: {}", error.getMessage());
+        promise.fail(error);
+      } else if (!response.found()) {
+        promise.complete(null);
+      } else {
+        promise.complete(toSource(response.source()));
+      }
+    });
+
+    return promise.future();
+  }
+
+  @Override
+  public Future<SearchResult> multiGet(
+      String index, List<String> ids, List<String> includeFields) {
+    if (ids.isEmpty()) {
+      return Future.succeededFuture(new SearchResult(new ArrayList<>()));
+    }
+    return mget(index, ids, includeFields).compose(result -> {
+      if (result.getHits().size() == ids.size() || !isMigrating()) {
+        return Future.succeededFuture(result);
+      }
+      List<String> found = result.getHits().stream()
+          .map(ElasticsearchResponse::getDocId)
+          .collect(Collectors.toList());
+      List<String> missing = ids.stream()
+          .filter(id -> !found.contains(id))
+          .collect(Collectors.toList());
+      return migration.moveItems(missing).compose(moved ->
+          moved > 0 ? mget(index, ids, includeFields) : Future.succeededFuture(result));
+    });
+  }
+
+  private Future<SearchResult> mget(String index, List<String> ids, List<String> includeFields) {
+    MgetRequest mgetRequest = MgetRequest.of(m -> {
+      m.index(index).ids(ids);
+      if (includeFields != null) {
+        m.sourceIncludes(includeFields);
+      }
+      return m;
+    });
+    LOGGER.debug("Multi Get Request: {} ids", ids.size());
+    Promise<SearchResult> promise = Promise.promise();
+
+    asyncClient.mget(mgetRequest, ObjectNode.class).whenComplete((response, error) -> {
+      if (error != null) {
+        LOGGER.error("Multi get operation failed: {}", error.getMessage());
+        promise.fail(error);
+        return;
+      }
+      List<ElasticsearchResponse> docs = new ArrayList<>();
+      for (MultiGetResponseItem<ObjectNode> item : response.docs()) {
+        if (item.isFailure()) {
+          LOGGER.warn("Multi get of {} failed: {}",
+              item.failure().id(), item.failure().error().reason());
+          promise.fail(item.failure().error().reason());
+          return;
+        }
+        GetResult<ObjectNode> doc = item.result();
+        if (doc.found()) {
+          docs.add(new ElasticsearchResponse(doc.id(), toSource(doc.source())));
+        }
+      }
+      promise.complete(new SearchResult(docs));
+    });
+
+    return promise.future();
+  }
+
+  private static JsonObject toSource(ObjectNode source) {
+    return source != null ? JsonObject.mapFrom(source) : new JsonObject();
+  }
+
   @Override
   public Future<JsonObject> updateDocument(String index, String id, JsonObject document) {
     IndexRequest<JsonObject> updateRequest = IndexRequest.of(i -> i
         .index(index)
         .id(id)
+        .refresh(Refresh.WaitFor)
         .withJson(new StringReader(document.toString()))
     );
     LOGGER.debug("Update Request: " + updateRequest);
@@ -184,6 +539,7 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
     UpdateRequest<JsonObject, JsonObject> patchRequest = UpdateRequest.of(u -> u
         .index(index)
         .id(id)
+        .refresh(Refresh.WaitFor)
         .withJson(new StringReader(document.toString()))
     );
     LOGGER.debug("Patch Request: " + patchRequest);
@@ -207,7 +563,8 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
   public Future<JsonObject> deleteDocument(String index, String id) {
     DeleteRequest deleteRequest = DeleteRequest.of(d -> d
         .index(index)
-        .id(id));
+        .id(id)
+        .refresh(Refresh.WaitFor));
     LOGGER.debug("Delete Request: " + deleteRequest);
     Promise<JsonObject> promise = Promise.promise();
 
@@ -224,8 +581,75 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
   }
 
 
-  private List<ElasticsearchResponse> convertToElasticSearchResponse(
-      SearchResponse<ObjectNode> response) {
+  @Override
+  public Future<JsonArray> bulk(String index, List<BulkOperation> operations) {
+    if (operations.isEmpty()) {
+      return Future.succeededFuture(new JsonArray());
+    }
+    BulkRequest bulkRequest;
+    try {
+      bulkRequest = BulkRequest.of(b -> b
+          .index(index)
+          .refresh(Refresh.WaitFor)
+          .operations(operations.stream()
+              .map(ElasticsearchServiceImpl::toBulkOperation)
+              .collect(Collectors.toList())));
+    } catch (IllegalArgumentException e) {
+      return Future.failedFuture(e);
+    }
+    LOGGER.debug("Bulk Request: {} operations", operations.size());
+    Promise<JsonArray> promise = Promise.promise();
+
+    asyncClient.bulk(bulkRequest).whenComplete((response, error) -> {
+      if (error != null) {
+        LOGGER.error("Bulk operation failed: {}", error.getMessage());
+        promise.fail(error);
+        return;
+      }
+      if (response.errors()) {
+        LOGGER.warn("Bulk operation completed with failed items");
+      }
+      JsonArray results = new JsonArray();
+      List<BulkResponseItem> items = response.items();
+      for (int i = 0; i < items.size(); i++) {
+        BulkResponseItem item = items.get(i);
+        JsonObject result =
+            new JsonObject().put(ID, item.id()).put(METHOD, operations.get(i).getMethod());
+        if (item.error() == null) {
+          result.put(STATUS, TYPE_SUCCESS);
+        } else {
+          result.put(STATUS, FAILED).put(DETAIL, item.error().reason());
+        }
+        results.add(result);
+      }
+      promise.complete(results);
+    });
+
+    return promise.future();
+  }
+
+  private static co.elastic.clients.elasticsearch.core.bulk.BulkOperation toBulkOperation(
+      BulkOperation operation) {
+    switch (operation.getMethod()) {
+      case INSERT:
+        return co.elastic.clients.elasticsearch.core.bulk.BulkOperation.of(o -> o
+            .create(c -> c
+                .id(operation.getDocId())
+                .document(JsonData.fromJson(operation.getDocument().encode()))));
+      case UPDATE:
+        return co.elastic.clients.elasticsearch.core.bulk.BulkOperation.of(o -> o
+            .index(i -> i
+                .id(operation.getDocId())
+                .document(JsonData.fromJson(operation.getDocument().encode()))));
+      case DELETE:
+        return co.elastic.clients.elasticsearch.core.bulk.BulkOperation.of(o -> o
+            .delete(d -> d.id(operation.getDocId())));
+      default:
+        throw new IllegalArgumentException("Invalid bulk method: " + operation.getMethod());
+    }
+  }
+
+  private SearchResult convertToElasticSearchResponse(ResponseBody<ObjectNode> response) {
     long totalHits = response.hits().total() != null ? response.hits().total().value() : 0;
     LOGGER.debug("Total Hits in Elasticsearch Response: " + totalHits);
 
@@ -233,31 +657,14 @@ public class ElasticsearchServiceImpl implements ElasticsearchService {
     List<ElasticsearchResponse> responses = response.hits().hits().stream()
         .map(hit -> {
           String id = hit.id();
-          JsonObject source =
-              hit.source() != null ? JsonObject.mapFrom(hit.source()) : new JsonObject();
-          return new ElasticsearchResponse(id, source);
+          return new ElasticsearchResponse(id, toSource(hit.source()));
         })
         .collect(Collectors.toList());
 
     // Parse aggregations if present
-    if (response.aggregations() != null && !response.aggregations().isEmpty()) {
-      JsonpMapper mapper =
-          asyncClient._jsonpMapper().withAttribute(JsonpMapperFeatures.SERIALIZE_TYPED_KEYS, false);
-      StringWriter writer = new StringWriter();
-      try (JsonGenerator generator = mapper.jsonProvider().createGenerator(writer)) {
-        mapper.serialize(response, generator);
-      } catch (Exception e) {
-        LOGGER.error("Error serializing aggregations: ", e);
-        throw new RuntimeException("Failed to process aggregations", e);
-      }
-      String result = writer.toString();
-
-      // Parse the aggregations object from the serialized result
-      JsonObject aggs = new JsonObject(result).getJsonObject(AGGREGATIONS);
-      ElasticsearchResponse.setAggregations(aggs);
-    }
+    JsonObject aggs = AggregationDecoder.decode(response.aggregations());
 
-    return responses;
+    return new SearchResult(responses, totalHits, aggs);
   }
 
 
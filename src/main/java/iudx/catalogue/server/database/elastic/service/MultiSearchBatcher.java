@@ -0,0 +1,185 @@
+package iudx.catalogue.server.database.elastic.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.core.MsearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.msearch.MultisearchBody;
+import co.elastic.clients.elasticsearch.core.msearch.RequestItem;
+import co.elastic.clients.elasticsearch.core.search.ResponseBody;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Gathers the searches issued within a short window into a single {@code _msearch} request and
+ * hands each caller its own response. Fan-out handlers such as the mlayer ones issue several
+ * searches at once; batching them saves a round trip and a connection per search.
+ *
+ * <p>The first search of a batch starts the window. The batch is sent when the window closes or
+ * when it reaches the maximum size, whichever comes first. A batch of a single search is sent as a
+ * plain search. The size of every batch sent is recorded in the {@value #BATCH_SIZE_METRIC}
+ * distribution summary.
+ */
+public class MultiSearchBatcher {
+  public static final String BATCH_SIZE_METRIC = "elasticsearch.msearch.batch.size";
+  private static final Logger LOGGER = LogManager.getLogger(MultiSearchBatcher.class);
+
+  private final Vertx vertx;
+  private final ElasticsearchAsyncClient client;
+  private final long windowMillis;
+  private final int maxBatchSize;
+  private final DistributionSummary batchSizes;
+  private List<PendingSearch> pending = new ArrayList<>();
+  private long timerId = -1;
+
+  /**
+   * Creates a batcher.
+   *
+   * @param vertx the Vert.x instance the window timer is set on
+   * @param client the client the batches are sent with
+   * @param windowMillis how long the first search of a batch waits for others
+   * @param maxBatchSize the number of searches that sends a batch before the window closes
+   * @param registry the registry of the batch size metric
+   */
+  public MultiSearchBatcher(
+      Vertx vertx,
+      ElasticsearchAsyncClient client,
+      long windowMillis,
+      int maxBatchSize,
+      MeterRegistry registry) {
+    this.vertx = vertx;
+    this.client = client;
+    this.windowMillis = windowMillis;
+    this.maxBatchSize = maxBatchSize;
+    this.batchSizes =
+        DistributionSummary.builder(BATCH_SIZE_METRIC)
+            .description("Number of searches sent in one _msearch request")
+            .register(registry);
+  }
+
+  /**
+   * Queues a search for the next batch.
+   *
+   * @param request a search on an index, without a point in time
+   * @return the response of the search
+   */
+  public Future<ResponseBody<ObjectNode>> search(SearchRequest request) {
+    Promise<ResponseBody<ObjectNode>> promise = Promise.promise();
+    List<PendingSearch> batch = null;
+    synchronized (this) {
+      pending.add(new PendingSearch(request, promise));
+      if (pending.size() >= maxBatchSize) {
+        batch = takeBatch();
+      } else if (timerId == -1) {
+        timerId = vertx.setTimer(windowMillis, id -> flush());
+      }
+    }
+    if (batch != null) {
+      send(batch);
+    }
+    return promise.future();
+  }
+
+  private void flush() {
+    List<PendingSearch> batch;
+    synchronized (this) {
+      timerId = -1;
+      batch = takeBatch();
+    }
+    send(batch);
+  }
+
+  private List<PendingSearch> takeBatch() {
+    if (timerId != -1) {
+      vertx.cancelTimer(timerId);
+      timerId = -1;
+    }
+    List<PendingSearch> batch = pending;
+    pending = new ArrayList<>();
+    return batch;
+  }
+
+  private void send(List<PendingSearch> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    batchSizes.record(batch.size());
+    if (batch.size() == 1) {
+      PendingSearch search = batch.get(0);
+      client.search(search.request, ObjectNode.class).whenComplete((response, error) -> {
+        if (error != null) {
+          search.promise.fail(error);
+        } else {
+          search.promise.complete(response);
+        }
+      });
+      return;
+    }
+    LOGGER.debug("Sending {} searches in one _msearch", batch.size());
+    MsearchRequest request = MsearchRequest.of(m -> m.searches(
+        batch.stream().map(search -> toRequestItem(search.request)).collect(Collectors.toList())));
+    client.msearch(request, ObjectNode.class).whenComplete((response, error) -> {
+      if (error != null) {
+        LOGGER.error("Multi search operation failed: {}", error.getMessage());
+        batch.forEach(search -> search.promise.fail(error));
+        return;
+      }
+      List<MultiSearchResponseItem<ObjectNode>> items = response.responses();
+      for (int i = 0; i < batch.size(); i++) {
+        MultiSearchResponseItem<ObjectNode> item = items.get(i);
+        if (item.isResult()) {
+          batch.get(i).promise.complete(item.result());
+        } else {
+          batch.get(i).promise.fail(new ElasticsearchException("msearch", item.failure()));
+        }
+      }
+    });
+  }
+
+  /* Copies the parts of a search request that ElasticsearchServiceImpl sets */
+  private static RequestItem toRequestItem(SearchRequest request) {
+    return RequestItem.of(r -> r
+        .header(h -> h.index(request.index()))
+        .body(MultisearchBody.of(b -> {
+          if (request.query() != null) {
+            b.query(request.query());
+          }
+          if (request.size() != null) {
+            b.size(request.size());
+          }
+          if (request.from() != null) {
+            b.from(request.from());
+          }
+          if (!request.aggregations().isEmpty()) {
+            b.aggregations(request.aggregations());
+          }
+          if (request.source() != null) {
+            b.source(request.source());
+          }
+          if (!request.sort().isEmpty()) {
+            b.sort(request.sort());
+          }
+          return b;
+        })));
+  }
+
+  private static class PendingSearch {
+    private final SearchRequest request;
+    private final Promise<ResponseBody<ObjectNode>> promise;
+
+    PendingSearch(SearchRequest request, Promise<ResponseBody<ObjectNode>> promise) {
+      this.request = request;
+      this.promise = promise;
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package iudx.catalogue.server.database.elastic.util;
+
+import static iudx.catalogue.server.database.elastic.util.Constants.DOC_COUNT;
+import static iudx.catalogue.server.database.elastic.util.Constants.KEY;
+import static iudx.catalogue.server.util.Constants.BUCKETS;
+import static iudx.catalogue.server.util.Constants.VALUE;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Buckets;
+import co.elastic.clients.elasticsearch._types.aggregations.DoubleTermsBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.HistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.LongTermsBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.MultiBucketBase;
+import co.elastic.clients.elasticsearch._types.aggregations.SingleBucketAggregateBase;
+import co.elastic.clients.elasticsearch._types.aggregations.SingleMetricAggregateBase;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.TermsAggregateBase;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Decodes typed Elasticsearch {@link Aggregate} results into the JSON shape returned by the REST
+ * API (without typed keys). Supports the aggregation types that {@link AggregationFactory} can
+ * create, so aggregations no longer need a round trip through the JSON serializer.
+ */
+public class AggregationDecoder {
+
+  private static final String DOC_COUNT_ERROR_UPPER_BOUND = "doc_count_error_upper_bound";
+  private static final String SUM_OTHER_DOC_COUNT = "sum_other_doc_count";
+  private static final String KEY_AS_STRING = "key_as_string";
+  private static final String VALUE_AS_STRING = "value_as_string";
+
+  private AggregationDecoder() {}
+
+  /**
+   * Decodes the aggregations of a search response.
+   *
+   * @param aggregations aggregations keyed by their name
+   * @return a JsonObject with one entry per aggregation, or null if there are none
+   */
+  public static JsonObject decode(Map<String, Aggregate> aggregations) {
+    if (aggregations == null || aggregations.isEmpty()) {
+      return null;
+    }
+    JsonObject json = new JsonObject();
+    putAggregations(json, aggregations);
+    return json;
+  }
+
+  private static void putAggregations(JsonObject target, Map<String, Aggregate> aggregations) {
+    aggregations.forEach((name, aggregate) -> target.put(name, decodeAggregate(aggregate)));
+  }
+
+  // Recursive method to handle sub-aggregations
+  private static JsonObject decodeAggregate(Aggregate aggregate) {
+    switch (aggregate._kind()) {
+      case Sterms:
+        return decodeTerms(aggregate.sterms(), AggregationDecoder::putStringTermsKey);
+      case Lterms:
+        return decodeTerms(aggregate.lterms(), AggregationDecoder::putLongTermsKey);
+      case Dterms:
+        return decodeTerms(aggregate.dterms(), AggregationDecoder::putDoubleTermsKey);
+      case Umterms:
+        // terms aggregation on a field that is not mapped in the index has no buckets
+        return new JsonObject()
+            .put(DOC_COUNT_ERROR_UPPER_BOUND, aggregate.umterms().docCountErrorUpperBound())
+            .put(SUM_OTHER_DOC_COUNT, aggregate.umterms().sumOtherDocCount())
+            .put(BUCKETS, new JsonArray());
+      case Histogram:
+        return new JsonObject()
+            .put(BUCKETS, decodeBuckets(aggregate.histogram().buckets(),
+                AggregationDecoder::putHistogramKey));
+      case Avg:
+        return decodeSingleMetric(aggregate.avg());
+      case Max:
+        return decodeSingleMetric(aggregate.max());
+      case Min:
+        return decodeSingleMetric(aggregate.min());
+      case Sum:
+        return decodeSingleMetric(aggregate.sum());
+      case ValueCount:
+        return decodeSingleMetric(aggregate.valueCount());
+      case Cardinality:
+        return new JsonObject().put(VALUE, aggregate.cardinality().value());
+      case Filter:
+        return decodeSingleBucket(aggregate.filter());
+      case Global:
+        return decodeSingleBucket(aggregate.global());
+      default:
+        throw new UnsupportedOperationException(
+            "Aggregation type not supported: " + aggregate._kind());
+    }
+  }
+
+  private static <T extends MultiBucketBase> JsonObject decodeTerms(
+      TermsAggregateBase<T> terms, BiConsumer<JsonObject, T> keyWriter) {
+    JsonObject json = new JsonObject();
+    if (terms.docCountErrorUpperBound() != null) {
+      json.put(DOC_COUNT_ERROR_UPPER_BOUND, terms.docCountErrorUpperBound());
+    }
+    if (terms.sumOtherDocCount() != null) {
+      json.put(SUM_OTHER_DOC_COUNT, terms.sumOtherDocCount());
+    }
+    return json.put(BUCKETS, decodeBuckets(terms.buckets(), keyWriter));
+  }
+
+  private static <T extends MultiBucketBase> JsonArray decodeBuckets(
+      Buckets<T> buckets, BiConsumer<JsonObject, T> keyWriter) {
+    List<T> bucketList =
+        buckets.isArray() ? buckets.array() : List.copyOf(buckets.keyed().values());
+    JsonArray json = new JsonArray(new ArrayList<>(bucketList.size()));
+    for (T bucket : bucketList) {
+      JsonObject bucketJson = new JsonObject();
+      keyWriter.accept(bucketJson, bucket);
+      bucketJson.put(DOC_COUNT, bucket.docCount());
+      putAggregations(bucketJson, bucket.aggregations());
+      json.add(bucketJson);
+    }
+    return json;
+  }
+
+  private static JsonObject decodeSingleMetric(SingleMetricAggregateBase metric) {
+    // Elasticsearch reports a null value when no document had the field
+    double value = metric.value();
+    JsonObject json = new JsonObject().put(VALUE, Double.isFinite(value) ? value : null);
+    if (metric.valueAsString() != null) {
+      json.put(VALUE_AS_STRING, metric.valueAsString());
+    }
+    return json;
+  }
+
+  private static JsonObject decodeSingleBucket(SingleBucketAggregateBase bucket) {
+    JsonObject json = new JsonObject().put(DOC_COUNT, bucket.docCount());
+    putAggregations(json, bucket.aggregations());
+    return json;
+  }
+
+  private static void putStringTermsKey(JsonObject json, StringTermsBucket bucket) {
+    json.put(KEY, bucket.key()._get());
+  }
+
+  private static void putLongTermsKey(JsonObject json, LongTermsBucket bucket) {
+    json.put(KEY, bucket.key());
+    if (bucket.keyAsString() != null) {
+      json.put(KEY_AS_STRING, bucket.keyAsString());
+    }
+  }
+
+  private static void putDoubleTermsKey(JsonObject json, DoubleTermsBucket bucket) {
+    json.put(KEY, bucket.key());
+    if (bucket.keyAsString() != null) {
+      json.put(KEY_AS_STRING, bucket.keyAsString());
+    }
+  }
+
+  private static void putHistogramKey(JsonObject json, HistogramBucket bucket) {
+    json.put(KEY, bucket.key());
+    if (bucket.keyAsString() != null) {
+      json.put(KEY_AS_STRING, bucket.keyAsString());
+    }
+  }
+}
@@ -254,7 +254,6 @@ public class Constants {
   public static final String ATTRIBUTE = "attrs";
   public static final String RESULT = "results";
   public static final String SIZE_KEY = "size";
-  public static final int STATIC_DELAY_TIME = 3000;
   public static final String FILTER_PATH = "?filter_path=took,hits.total.value,hits.hits._source";
   public static final String FILTER_PATH_AGGREGATION =
       "?filter_path=hits.total.value,aggregations.results.buckets";
@@ -262,6 +261,21 @@ public class Constants {
       "?filter_path=hits.total.value,hits.hits._id&size=10000";
   public static final String FILTER_PATH_ID_AND_SOURCE =
       "?filter_path=took,hits.total.value,hits.hits._source,hits.hits._id";
+  public static final String FILTER_PATH_KEY = "filter_path";
+  public static final String FILTER_PATH_TOTAL_AND_SOURCE = "hits.total.value,hits.hits._source";
+  public static final String FILTER_PATH_CURSOR_PAGE =
+      "pit_id,hits.total.value,hits.hits._source,hits.hits.sort";
+  public static final String PIT_KEEP_ALIVE = "5m";
+  public static final String MIGRATE_ITEM_IDS = "migrateItemIds";
+  public static final int MIGRATION_PAGE_SIZE = 500;
+  public static final String QUERY_VECTOR = "query_vector";
+  public static final String KNN_K = "k";
+  public static final String KNN_NUM_CANDIDATES = "num_candidates";
+  public static final String KNN_FILTER = "filter";
+  public static final String SEARCH_BATCH_WINDOW_MS = "searchBatchWindowMs";
+  public static final String SEARCH_BATCH_MAX_SIZE = "searchBatchMaxSize";
+  public static final long DEFAULT_SEARCH_BATCH_WINDOW_MS = 2;
+  public static final int DEFAULT_SEARCH_BATCH_MAX_SIZE = 50;
   public static final String TYPE_KEY = "type";
   public static final String ID_KEYWORD = "id.keyword";
   public static final String DOC_COUNT = "doc_count";
@@ -10,6 +10,7 @@ import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import iudx.catalogue.server.common.RespBuilder;
 import iudx.catalogue.server.database.elastic.model.QueryModel;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -255,7 +256,12 @@ public final class QueryDecoder {
       queryModel.setOffset(String.valueOf(offsetFilter));
     }
 
-    /* TODO: Pagination for large result set */
+    /* checking the requests for cursor attribute, used to page beyond the result window */
+    if (request.containsKey(CURSOR)) {
+      queryModel.setCursor(request.getString(CURSOR));
+    }
+
+    /* default page size, bounded by the result window of from/size paging */
     if (request.getBoolean(SEARCH)) {
       Integer limit =
           request.getInteger(LIMIT, FILTER_PAGINATION_SIZE - request.getInteger(OFFSET, 0));
@@ -513,6 +519,11 @@ public final class QueryDecoder {
     Integer limit =
         request.getInteger(LIMIT, FILTER_PAGINATION_SIZE - request.getInteger(OFFSET, 0));
 
+    /* tags are aggregated, every other item type can be paged through by cursor */
+    if (request.containsKey(CURSOR) && !itemType.equalsIgnoreCase(TAGS)) {
+      return listItemCursorQueryModel(type, instanceId, limit, request.getString(CURSOR));
+    }
+
     if (itemType.equalsIgnoreCase(TAGS)) {
       if (instanceId == null || instanceId == "") {
         Map<String, Object> termsAggParams = new HashMap<>();
@@ -565,4 +576,22 @@ public final class QueryDecoder {
     }
     return tempQueryModel;
   }
+
+  private QueryModel listItemCursorQueryModel(
+      String type, String instanceId, Integer limit, String cursor) {
+    List<QueryModel> filters = new ArrayList<>();
+    filters.add(new QueryModel(QueryType.MATCH, Map.of(FIELD, TYPE, VALUE, type)));
+    if (instanceId != null && !instanceId.isEmpty()) {
+      filters.add(new QueryModel(QueryType.TERM,
+          Map.of(FIELD, INSTANCE + KEYWORD_KEY, VALUE, instanceId)));
+    }
+    QueryModel queryModel = new QueryModel();
+    queryModel.setQueries(new QueryModel(BoolOperator.FILTER, filters));
+    if (!ITEM_TYPE_OWNER.equals(type) && !ITEM_TYPE_COS.equals(type)) {
+      queryModel.setIncludeFields(List.of(ID));
+    }
+    queryModel.setLimit(String.valueOf(limit));
+    queryModel.setCursor(cursor);
+    return queryModel;
+  }
 }
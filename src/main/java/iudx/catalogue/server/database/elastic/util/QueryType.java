@@ -13,5 +13,6 @@ public enum QueryType {
   GEO_BOUNDING_BOX,
   TEXT,
   SCRIPT_SCORE,
+  KNN,
   QUERY_STRING
 }
@@ -0,0 +1,240 @@
+package iudx.catalogue.server.database.elastic.util;
+
+import static iudx.catalogue.server.util.Constants.HITS;
+import static iudx.catalogue.server.util.Constants.NEXT_CURSOR;
+import static iudx.catalogue.server.util.Constants.RESULTS;
+import static iudx.catalogue.server.util.Constants.SOURCE;
+import static iudx.catalogue.server.util.Constants.TOTAL;
+import static iudx.catalogue.server.util.Constants.TOTAL_HITS;
+import static iudx.catalogue.server.util.Constants.VALUE;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Copies the {@code _source} of every hit in a raw Elasticsearch search response into a Vert.x
+ * {@link Buffer} without building a document tree. The response is only tokenized to find where
+ * each {@code _source} starts and ends; the bytes in between are appended as they are.
+ *
+ * <p>The resulting buffer holds a single JSON object of the form {@code
+ * {"results":[<_source>,...],"totalHits":<hits.total.value>}}, followed by {@code "nextCursor"}
+ * when a cursor paginated search has more pages. Such a page can be written out as newline
+ * delimited JSON with {@link #writeLines}.
+ */
+public class RawHitsReader {
+
+  private static final JsonFactory JSON_FACTORY = new JsonFactory();
+  private static final String PIT_ID = "pit_id";
+  private static final String SORT = "sort";
+  private static final byte[] RESULTS_START =
+      ("{\"" + RESULTS + "\":[").getBytes(StandardCharsets.UTF_8);
+  private static final byte[] EMPTY_SOURCE = "{}".getBytes(StandardCharsets.UTF_8);
+
+  private final byte[] body;
+  private final Buffer page;
+  private long totalHits;
+  private int hitCount;
+  private String pitId;
+  private JsonArray lastSort;
+  private String nextCursor;
+
+  private RawHitsReader(byte[] body) {
+    this.body = body;
+    this.page = Buffer.buffer(body.length + 32);
+  }
+
+  /**
+   * Reads a search response body.
+   *
+   * @param body the UTF-8 encoded body returned by the {@code _search} endpoint
+   * @return the page of sources and the total hit count
+   * @throws IOException if the body is not a valid search response
+   */
+  public static Buffer read(byte[] body) throws IOException {
+    RawHitsReader reader = new RawHitsReader(body);
+    reader.readResponse();
+    return reader.page.appendString("],\"" + TOTAL_HITS + "\":" + reader.totalHits + "}");
+  }
+
+  /**
+   * Reads a page of a cursor paginated search. The body must include {@code pit_id} and the
+   * {@code sort} values of the hits.
+   *
+   * @param body the UTF-8 encoded body returned by the {@code _search} endpoint
+   * @param cursor the cursor the page was requested with
+   * @param pageSize the number of hits requested; a shorter page is the last one
+   * @return the reader, holding the page and the cursor of the next page if any
+   * @throws IOException if the body is not a valid search response
+   */
+  public static RawHitsReader readPage(byte[] body, SearchCursor cursor, int pageSize)
+      throws IOException {
+    RawHitsReader reader = new RawHitsReader(body);
+    reader.readResponse();
+    reader.page.appendString("],\"" + TOTAL_HITS + "\":" + reader.totalHits);
+    if (reader.pitId == null) {
+      reader.pitId = cursor.getPitId();
+    }
+    if (reader.lastSort != null && reader.hitCount == pageSize) {
+      reader.nextCursor = new SearchCursor(reader.pitId, reader.lastSort).encode();
+      reader.page.appendString(",\"" + NEXT_CURSOR + "\":\"" + reader.nextCursor + "\"");
+    }
+    reader.page.appendString("}");
+    return reader;
+  }
+
+  public Buffer getPage() {
+    return page;
+  }
+
+  /** The point in time the page was read from. */
+  public String getPitId() {
+    return pitId;
+  }
+
+  /** The cursor of the next page, null if this is the last page. */
+  public String getNextCursor() {
+    return nextCursor;
+  }
+
+  /**
+   * Writes the results of a page created by {@link #read} as newline delimited JSON, one source per
+   * line, again without building a document tree.
+   *
+   * @param page the page of sources
+   * @param lines the buffer the lines are appended to
+   * @return the cursor of the next page, or null if this is the last page
+   * @throws IOException if the page is not a valid page of sources
+   */
+  public static String writeLines(Buffer page, Buffer lines) throws IOException {
+    byte[] bytes = page.getBytes();
+    String nextCursor = null;
+    try (JsonParser parser = JSON_FACTORY.createParser(bytes)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new JsonParseException(parser, "Page is not a JSON object");
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        JsonToken token = parser.nextToken();
+        if (RESULTS.equals(name) && token == JsonToken.START_ARRAY) {
+          while (parser.nextToken() == JsonToken.START_OBJECT) {
+            int start = (int) parser.currentTokenLocation().getByteOffset();
+            parser.skipChildren();
+            int end = (int) parser.currentTokenLocation().getByteOffset() + 1;
+            lines.appendBytes(bytes, start, end - start).appendByte((byte) '\n');
+          }
+        } else if (NEXT_CURSOR.equals(name) && token == JsonToken.VALUE_STRING) {
+          nextCursor = parser.getText();
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+    return nextCursor;
+  }
+
+  private void readResponse() throws IOException {
+    page.appendBytes(RESULTS_START);
+    try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+      if (parser.nextToken() != JsonToken.START_OBJECT) {
+        throw new JsonParseException(parser, "Search response is not a JSON object");
+      }
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        JsonToken token = parser.nextToken();
+        if (HITS.equals(name) && token == JsonToken.START_OBJECT) {
+          readHits(parser);
+        } else if (PIT_ID.equals(name) && token == JsonToken.VALUE_STRING) {
+          pitId = parser.getText();
+        } else {
+          parser.skipChildren();
+        }
+      }
+    }
+  }
+
+  private void readHits(JsonParser parser) throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      JsonToken token = parser.nextToken();
+      if (TOTAL.equals(name) && token == JsonToken.START_OBJECT) {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String totalField = parser.currentName();
+          parser.nextToken();
+          if (VALUE.equals(totalField)) {
+            totalHits = parser.getLongValue();
+          } else {
+            parser.skipChildren();
+          }
+        }
+      } else if (TOTAL.equals(name) && token.isNumeric()) {
+        // rest_total_hits_as_int=true
+        totalHits = parser.getLongValue();
+      } else if (HITS.equals(name) && token == JsonToken.START_ARRAY) {
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+          if (hitCount > 0) {
+            page.appendByte((byte) ',');
+          }
+          readHit(parser);
+          hitCount++;
+        }
+      } else {
+        parser.skipChildren();
+      }
+    }
+  }
+
+  private void readHit(JsonParser parser) throws IOException {
+    boolean copied = false;
+    lastSort = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      JsonToken token = parser.nextToken();
+      if (SOURCE.equals(name) && token == JsonToken.START_OBJECT) {
+        int start = (int) parser.currentTokenLocation().getByteOffset();
+        parser.skipChildren();
+        int end = (int) parser.currentTokenLocation().getByteOffset() + 1;
+        page.appendBytes(body, start, end - start);
+        copied = true;
+      } else if (SORT.equals(name) && token == JsonToken.START_ARRAY) {
+        lastSort = readSortValues(parser);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    if (!copied) {
+      // same as the typed search, a hit without a source is returned as an empty object
+      page.appendBytes(EMPTY_SOURCE);
+    }
+  }
+
+  private static JsonArray readSortValues(JsonParser parser) throws IOException {
+    JsonArray values = new JsonArray();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      switch (parser.currentToken()) {
+        case VALUE_STRING:
+          values.add(parser.getText());
+          break;
+        case VALUE_NUMBER_INT:
+          values.add(parser.getLongValue());
+          break;
+        case VALUE_NUMBER_FLOAT:
+          values.add(parser.getDoubleValue());
+          break;
+        case VALUE_TRUE:
+        case VALUE_FALSE:
+          values.add(parser.getBooleanValue());
+          break;
+        default:
+          values.addNull();
+          parser.skipChildren();
+      }
+    }
+    return values;
+  }
+}
@@ -0,0 +1,93 @@
+package iudx.catalogue.server.database.elastic.util;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Opaque token for cursor based pagination. A cursor holds the point in time the pages are read
+ * from and the sort values of the last hit of the previous page, which are passed to Elasticsearch
+ * as {@code search_after}. Paging this way costs the same for every page, however deep.
+ *
+ * <p>Clients start with {@link #START} and pass the {@code nextCursor} of each response to get the
+ * following page. A response without {@code nextCursor} is the last page.
+ */
+public final class SearchCursor {
+
+  /** Cursor value that starts a new pagination. */
+  public static final String START = "*";
+
+  private static final String PIT = "pit";
+  private static final String AFTER = "after";
+
+  private final String pitId;
+  private final JsonArray searchAfter;
+
+  public SearchCursor(String pitId, JsonArray searchAfter) {
+    this.pitId = pitId;
+    this.searchAfter = searchAfter;
+  }
+
+  /**
+   * Decodes a cursor received from a client.
+   *
+   * @param token the cursor as returned in {@code nextCursor}
+   * @return the decoded cursor
+   * @throws IllegalArgumentException if the token was not created by {@link #encode()}
+   */
+  public static SearchCursor decode(String token) {
+    try {
+      JsonObject json = new JsonObject(Buffer.buffer(Base64.getUrlDecoder().decode(token)));
+      JsonArray searchAfter = json.getJsonArray(AFTER);
+      if (searchAfter == null || searchAfter.isEmpty()) {
+        throw new IllegalArgumentException("Cursor has no sort values");
+      }
+      return new SearchCursor(json.getString(PIT), searchAfter);
+    } catch (DecodeException | ClassCastException e) {
+      throw new IllegalArgumentException("Invalid cursor", e);
+    }
+  }
+
+  /**
+   * Checks a cursor received from a client.
+   *
+   * @param token the cursor parameter of the request
+   * @return true if the token is {@link #START} or a cursor returned by a previous page
+   */
+  public static boolean isValid(String token) {
+    if (START.equals(token)) {
+      return true;
+    }
+    try {
+      decode(token);
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  public String encode() {
+    JsonObject json = new JsonObject().put(AFTER, searchAfter);
+    if (pitId != null) {
+      json.put(PIT, pitId);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(json.toBuffer().getBytes());
+  }
+
+  public String getPitId() {
+    return pitId;
+  }
+
+  public JsonArray getSearchAfter() {
+    return searchAfter;
+  }
+
+  public List<FieldValue> toFieldValues() {
+    return searchAfter.stream().map(FieldValue::of).collect(Collectors.toList());
+  }
+}
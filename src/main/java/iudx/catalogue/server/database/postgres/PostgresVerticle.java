@@ -2,27 +2,41 @@ package iudx.catalogue.server.database.postgres;
 
 import static iudx.catalogue.server.util.Constants.PG_SERVICE_ADDRESS;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import io.vertx.micrometer.backends.BackendRegistries;
 import io.vertx.pgclient.PgConnectOptions;
 import io.vertx.pgclient.PgPool;
 import io.vertx.serviceproxy.ServiceBinder;
 import io.vertx.sqlclient.PoolOptions;
+import iudx.catalogue.server.database.postgres.service.MeteredPool;
 import iudx.catalogue.server.database.postgres.service.PostgresService;
 import iudx.catalogue.server.database.postgres.service.PostgresServiceImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 
 public class PostgresVerticle extends AbstractVerticle {
   private static final Logger LOGGER = LogManager.getLogger(PostgresService.class);
+  private static final String PRIMARY_POOL = "primary";
+  private static final String ANALYTICS_POOL = "analytics";
   private MessageConsumer<JsonObject> consumer;
+  private MessageConsumer<JsonObject> cursorConsumer;
   private ServiceBinder binder;
 
   private PgConnectOptions connectOptions;
   private PoolOptions poolOptions;
   private PgPool pool;
+  private PgPool analyticsPool;
+  private MeteredPool meteredPool;
+  private MeteredPool meteredAnalyticsPool;
 
   private String databaseIp;
   private int databasePort;
@@ -30,6 +44,9 @@ public class PostgresVerticle extends AbstractVerticle {
   private String databaseUserName;
   private String databasePassword;
   private int poolSize;
+  private int analyticsPoolSize;
+  private int preparedStatementCacheMaxSize;
+  private long cursorIdleSeconds;
 
   private PostgresService pgService;
 
@@ -42,6 +59,9 @@ public class PostgresVerticle extends AbstractVerticle {
     databaseUserName = config().getString("databaseUserName");
     databasePassword = config().getString("databasePassword");
     poolSize = config().getInteger("poolSize");
+    analyticsPoolSize = config().getInteger("analyticsPoolSize", 5);
+    preparedStatementCacheMaxSize = config().getInteger("preparedStatementCacheMaxSize", 256);
+    cursorIdleSeconds = config().getLong("cursorIdleSeconds", 30L);
 
     this.connectOptions =
         new PgConnectOptions()
@@ -51,20 +71,66 @@ public class PostgresVerticle extends AbstractVerticle {
             .setUser(databaseUserName)
             .setPassword(databasePassword)
             .setReconnectAttempts(2)
-            .setReconnectInterval(1000L);
+            .setReconnectInterval(1000L)
+            .setCachePreparedStatements(true)
+            .setPreparedStatementCacheMaxSize(preparedStatementCacheMaxSize);
 
-    this.poolOptions = new PoolOptions().setMaxSize(poolSize);
+    this.poolOptions = new PoolOptions().setMaxSize(poolSize).setName(PRIMARY_POOL);
     this.pool = PgPool.pool(vertx, connectOptions, poolOptions);
 
-    pgService = new PostgresServiceImpl(this.pool);
+    // analytical queries have a pool of their own, over the replicas if any, else the primary
+    List<PgConnectOptions> replicas =
+        replicaOptions(config().getJsonArray("replicaHosts", new JsonArray()));
+    this.analyticsPool =
+        PgPool.pool(
+            vertx,
+            replicas.isEmpty() ? List.of(connectOptions) : replicas,
+            new PoolOptions().setMaxSize(analyticsPoolSize).setName(ANALYTICS_POOL));
+    LOGGER.info("Analytics pool over {} replicas", replicas.size());
+
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    if (registry == null) {
+      registry = Metrics.globalRegistry;
+    }
+    // the pages of a cursor are read from the instance that opened it
+    String instance = UUID.randomUUID().toString();
+    String cursorAddress = PG_SERVICE_ADDRESS + "." + instance;
+    meteredPool = new MeteredPool(PRIMARY_POOL, instance, pool, poolSize, registry);
+    meteredAnalyticsPool =
+        new MeteredPool(ANALYTICS_POOL, instance, analyticsPool, analyticsPoolSize, registry);
+    pgService =
+        new PostgresServiceImpl(
+            meteredPool,
+            meteredAnalyticsPool,
+            vertx,
+            cursorAddress,
+            cursorIdleSeconds);
 
     binder = new ServiceBinder(vertx);
     consumer = binder.setAddress(PG_SERVICE_ADDRESS).register(PostgresService.class, pgService);
+    cursorConsumer = binder.setAddress(cursorAddress).register(PostgresService.class, pgService);
     LOGGER.info("Postgres verticle started.");
   }
 
+  /* The replicas are given as host or host:port, and connect as the primary does otherwise */
+  private List<PgConnectOptions> replicaOptions(JsonArray replicaHosts) {
+    List<PgConnectOptions> replicas = new ArrayList<>();
+    for (Object replicaHost : replicaHosts) {
+      String[] hostAndPort = replicaHost.toString().split(":");
+      PgConnectOptions replica = new PgConnectOptions(connectOptions).setHost(hostAndPort[0]);
+      if (hostAndPort.length > 1) {
+        replica.setPort(Integer.parseInt(hostAndPort[1]));
+      }
+      replicas.add(replica);
+    }
+    return replicas;
+  }
+
   @Override
   public void stop() {
     binder.unregister(consumer);
+    binder.unregister(cursorConsumer);
+    meteredPool.close();
+    meteredAnalyticsPool.close();
   }
 }
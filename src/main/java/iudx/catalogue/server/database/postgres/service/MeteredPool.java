@@ -0,0 +1,123 @@
+package iudx.catalogue.server.database.postgres.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.Future;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.SqlConnection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * A named pool of connections, which records how long connections are waited for in the
+ * {@value #WAIT_METRIC} timer, and how many are asked for, in use, and the share of the pool in
+ * use in the {@value #PENDING_METRIC}, {@value #IN_USE_METRIC} and {@value #UTILIZATION_METRIC}
+ * gauges; all tagged with {@code pool=<name>} and {@code instance=<instance>}. Each verticle
+ * instance has pools of its own, so the instance tag keeps their meters apart; the meters are
+ * removed from the registry with {@link #close}.
+ *
+ * <p>A connection acquired from the pool must be given back with {@link #release}.
+ */
+public class MeteredPool {
+  public static final String WAIT_METRIC = "postgres.pool.wait";
+  public static final String PENDING_METRIC = "postgres.pool.pending";
+  public static final String IN_USE_METRIC = "postgres.pool.in.use";
+  public static final String UTILIZATION_METRIC = "postgres.pool.utilization";
+  private static final String POOL_TAG = "pool";
+  private static final String INSTANCE_TAG = "instance";
+
+  private final Pool pool;
+  private final MeterRegistry registry;
+  private final List<Meter> meters;
+  private final Timer wait;
+  private final AtomicInteger pending = new AtomicInteger();
+  private final AtomicInteger inUse = new AtomicInteger();
+
+  /**
+   * Creates a metered pool.
+   *
+   * @param name the name the metrics of the pool are tagged with
+   * @param instance the verticle instance the pool belongs to, which the metrics are tagged with
+   * @param pool the pool
+   * @param maxSize the most connections the pool opens
+   * @param registry the registry of the pool metrics
+   */
+  public MeteredPool(
+      String name, String instance, Pool pool, int maxSize, MeterRegistry registry) {
+    this.pool = pool;
+    this.registry = registry;
+    Tags tags = Tags.of(POOL_TAG, name, INSTANCE_TAG, instance);
+    this.wait = Timer.builder(WAIT_METRIC).tags(tags).register(registry);
+    this.meters =
+        List.of(
+            wait,
+            Gauge.builder(PENDING_METRIC, pending, AtomicInteger::get)
+                .tags(tags)
+                .register(registry),
+            Gauge.builder(IN_USE_METRIC, inUse, AtomicInteger::get).tags(tags).register(registry),
+            Gauge.builder(UTILIZATION_METRIC, inUse, used -> (double) used.get() / maxSize)
+                .tags(tags)
+                .register(registry));
+  }
+
+  /** Removes the metrics of the pool from the registry. The pool itself is not closed. */
+  public void close() {
+    meters.forEach(registry::remove);
+  }
+
+  /**
+   * Acquires a connection, once the pool has one free.
+   *
+   * @return the connection, to be given back with {@link #release}
+   */
+  public Future<SqlConnection> acquire() {
+    long start = System.nanoTime();
+    pending.incrementAndGet();
+    return pool.getConnection()
+        .onComplete(acquired -> pending.decrementAndGet())
+        .map(
+            connection -> {
+              wait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+              inUse.incrementAndGet();
+              return connection;
+            });
+  }
+
+  /**
+   * Gives a connection back to the pool.
+   *
+   * @param connection a connection acquired from the pool
+   * @return a future completed once the connection is back in the pool
+   */
+  public Future<Void> release(SqlConnection connection) {
+    inUse.decrementAndGet();
+    return connection.close();
+  }
+
+  /**
+   * Runs a function with a connection of the pool, and gives the connection back once the future
+   * it returns completes.
+   *
+   * @param function the function
+   * @param <T> the type of the result of the function
+   * @return the result of the function
+   */
+  public <T> Future<T> withConnection(Function<SqlConnection, Future<T>> function) {
+    return acquire()
+        .compose(
+            connection -> {
+              Future<T> result;
+              try {
+                result = function.apply(connection);
+              } catch (RuntimeException e) {
+                result = Future.failedFuture(e);
+              }
+              return result.onComplete(done -> release(connection));
+            });
+  }
+}
@@ -5,22 +5,84 @@ import io.vertx.codegen.annotations.ProxyGen;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 
 @VertxGen
 @ProxyGen
 public interface PostgresService {
 
-  Future<JsonObject> executeQuery(final String query);
+  /**
+   * The executeQuery implements a query on the database.
+   *
+   * @param query which is a String
+   * @param intent which is the QueryIntent deciding the pool the query runs on
+   * @return Future which completes with the rows in results
+   */
+  Future<JsonObject> executeQuery(final String query, final QueryIntent intent);
 
   /**
-   * The executeCountQuery implements a count of records operation on the database.
+   * The executeCountQuery implements a count of records operation on the primary.
    *
    * @param query which is a String
    * @return PostgresService which is a service
    */
   Future<JsonObject> executeCountQuery(final String query);
 
+  /**
+   * The executePrepared implements a parameterized query on the database. The statement is
+   * prepared once per connection and reused for every call with the same query.
+   *
+   * @param query which is a String with the parameters as $1, $2, ...
+   * @param params which is a JsonArray of the values of the parameters
+   * @param intent which is the QueryIntent deciding the pool the query runs on
+   * @return Future which completes with the rows in results
+   */
+  Future<JsonObject> executePrepared(
+      final String query, final JsonArray params, final QueryIntent intent);
+
+  /**
+   * The executePreparedBatch implements a parameterized query run once per set of parameters, in
+   * a single round trip to the primary.
+   *
+   * @param query which is a String with the parameters as $1, $2, ...
+   * @param batch which is a JsonArray of JsonArrays, the values of the parameters of each run
+   * @return Future which completes with the rows of all runs in results
+   */
+  Future<JsonObject> executePreparedBatch(final String query, final JsonArray batch);
+
+  /**
+   * The openCursor implements a parameterized query whose rows are read a page at a time, so the
+   * memory used depends on the page size and not on the number of rows. The cursor holds a
+   * connection until its last page is read, it is closed, or it is left unread for the configured
+   * idle time.
+   *
+   * @param query which is a String with the parameters as $1, $2, ...
+   * @param params which is a JsonArray of the values of the parameters
+   * @param fetchSize which is the number of rows of each page
+   * @param intent which is the QueryIntent deciding the pool the cursor reads from
+   * @return Future which completes with the first page in results, and the id of the cursor in
+   *     nextCursor if more rows are left
+   */
+  Future<JsonObject> openCursor(
+      final String query, final JsonArray params, final int fetchSize, final QueryIntent intent);
+
+  /**
+   * The readCursor reads the next page of a cursor opened by {@link #openCursor}.
+   *
+   * @param cursor which is the nextCursor of the previous page
+   * @return Future which completes with the page in results, and nextCursor if more rows are left
+   */
+  Future<JsonObject> readCursor(final String cursor);
+
+  /**
+   * The closeCursor closes a cursor before its last page is read, and releases its connection.
+   *
+   * @param cursor which is the nextCursor of the last page read
+   * @return Future which completes once the cursor is closed
+   */
+  Future<Void> closeCursor(final String cursor);
+
   @GenIgnore
   static PostgresService createProxy(Vertx vertx, String address) {
     return new PostgresServiceVertxEBProxy(vertx, address);
@@ -5,12 +5,23 @@ import static iudx.catalogue.server.util.Constants.*;
 
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
-import io.vertx.pgclient.PgPool;
+import io.vertx.sqlclient.Cursor;
 import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.SqlConnection;
+import io.vertx.sqlclient.SqlResult;
+import io.vertx.sqlclient.Transaction;
+import io.vertx.sqlclient.Tuple;
 import iudx.catalogue.server.common.RespBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collector;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
@@ -19,24 +30,206 @@ import org.apache.logging.log4j.Logger;
 
 public class PostgresServiceImpl implements PostgresService {
   private static final Logger LOGGER = LogManager.getLogger(PostgresServiceImpl.class);
-  private final PgPool client;
+  private static final Collector<Row, ?, List<JsonObject>> ROW_COLLECTOR =
+      Collectors.mapping(Row::toJson, Collectors.toList());
+  private static final String CURSOR_SEPARATOR = "/";
+  private final MeteredPool primary;
+  private final MeteredPool analytics;
+  private final Vertx vertx;
+  private final String cursorAddress;
+  private final long cursorIdleMillis;
+  private final Map<String, OpenCursor> cursors = new HashMap<>();
 
-  public PostgresServiceImpl(final PgPool pgclient) {
-    this.client = pgclient;
+  /**
+   * Creates the service. The service may be bound by several instances at the same address, so
+   * each instance is also bound at an address of its own, which is part of the ids of its cursors;
+   * the pages of a cursor opened by another instance are read from that instance.
+   *
+   * <p>Transactional queries run on the primary pool and analytical ones on the analytics pool,
+   * which may be the same.
+   *
+   * @param primary the pool of connections to the primary
+   * @param analytics the pool of connections analytical queries run on
+   * @param vertx the Vert.x instance the idle timers of the cursors are set on
+   * @param cursorAddress the address this instance alone is bound at
+   * @param cursorIdleSeconds how long a cursor is kept open without a page being read
+   */
+  public PostgresServiceImpl(
+      final MeteredPool primary,
+      final MeteredPool analytics,
+      final Vertx vertx,
+      String cursorAddress,
+      long cursorIdleSeconds) {
+    this.primary = primary;
+    this.analytics = analytics;
+    this.vertx = vertx;
+    this.cursorAddress = cursorAddress;
+    this.cursorIdleMillis = TimeUnit.SECONDS.toMillis(cursorIdleSeconds);
+  }
+
+  private static Tuple tuple(JsonArray params) {
+    return params == null ? Tuple.tuple() : Tuple.from(params.getList());
+  }
+
+  private MeteredPool pool(QueryIntent intent) {
+    return intent == QueryIntent.ANALYTICS ? analytics : primary;
   }
 
   @Override
-  public Future<JsonObject> executeQuery(final String query) {
-    Promise<JsonObject> promise = Promise.promise();
+  public Future<JsonObject> executeQuery(final String query, final QueryIntent intent) {
+    return respond(
+        pool(intent).withConnection(
+            connection ->
+                connection.query(query).collecting(ROW_COLLECTOR).execute().map(SqlResult::value)));
+  }
 
-    Collector<Row, ?, List<JsonObject>> rowCollector =
-        Collectors.mapping(row -> row.toJson(), Collectors.toList());
+  @Override
+  public Future<JsonObject> executePrepared(
+      final String query, final JsonArray params, final QueryIntent intent) {
+    return respond(
+        pool(intent).withConnection(
+            connection ->
+                connection
+                    .preparedQuery(query)
+                    .collecting(ROW_COLLECTOR)
+                    .execute(tuple(params))
+                    .map(SqlResult::value)));
+  }
 
-    client
-        .withConnection(
+  @Override
+  public Future<JsonObject> executePreparedBatch(final String query, final JsonArray batch) {
+    List<Tuple> tuples =
+        batch.stream().map(params -> tuple((JsonArray) params)).collect(Collectors.toList());
+    if (tuples.isEmpty()) {
+      return respond(Future.succeededFuture(List.of()));
+    }
+    return respond(
+        primary.withConnection(
             connection ->
-                connection.query(query).collecting(rowCollector).execute().map(row -> row.value()))
-        .onSuccess(
+                connection
+                    .preparedQuery(query)
+                    .executeBatch(tuples)
+                    .map(
+                        rowSet -> {
+                          List<JsonObject> rows = new ArrayList<>();
+                          for (RowSet<Row> run = rowSet; run != null; run = run.next()) {
+                            run.forEach(row -> rows.add(row.toJson()));
+                          }
+                          return rows;
+                        })));
+  }
+
+  @Override
+  public Future<JsonObject> openCursor(
+      final String query, final JsonArray params, final int fetchSize, final QueryIntent intent) {
+    MeteredPool pool = pool(intent);
+    return pool.acquire()
+        .compose(
+            connection ->
+                connection
+                    .begin()
+                    .compose(
+                        transaction ->
+                            connection
+                                .prepare(query)
+                                .map(
+                                    statement ->
+                                        new OpenCursor(
+                                            pool,
+                                            connection,
+                                            transaction,
+                                            statement.cursor(tuple(params)),
+                                            fetchSize)))
+                    .onFailure(failure -> pool.release(connection)))
+        .recover(failure -> Future.failedFuture(dbError(failure)))
+        .compose(
+            open -> {
+              String id = cursorAddress + CURSOR_SEPARATOR + UUID.randomUUID();
+              cursors.put(id, open);
+              return readPage(id, open);
+            });
+  }
+
+  @Override
+  public Future<JsonObject> readCursor(final String cursor) {
+    OpenCursor open = cursors.get(cursor);
+    String owner = owner(cursor);
+    if (open == null && owner != null) {
+      return PostgresService.createProxy(vertx, owner).readCursor(cursor);
+    }
+    if (open == null) {
+      return Future.failedFuture(
+          new RespBuilder()
+              .withType(TYPE_DB_ERROR)
+              .withTitle(TITLE_DB_ERROR)
+              .withDetail("Cursor closed or expired")
+              .getResponse());
+    }
+    vertx.cancelTimer(open.idleTimer);
+    return readPage(cursor, open);
+  }
+
+  @Override
+  public Future<Void> closeCursor(final String cursor) {
+    OpenCursor open = cursors.remove(cursor);
+    String owner = owner(cursor);
+    if (open == null && owner != null) {
+      return PostgresService.createProxy(vertx, owner).closeCursor(cursor);
+    }
+    if (open == null) {
+      return Future.succeededFuture();
+    }
+    vertx.cancelTimer(open.idleTimer);
+    return open.close();
+  }
+
+  /* The address of the instance that opened a cursor, if it is another one */
+  private String owner(String cursor) {
+    int separator = cursor.lastIndexOf(CURSOR_SEPARATOR);
+    if (separator <= 0) {
+      return null;
+    }
+    String owner = cursor.substring(0, separator);
+    return owner.equals(cursorAddress) ? null : owner;
+  }
+
+  /* Reads a page, and keeps the cursor open until the next read if rows are left */
+  private Future<JsonObject> readPage(String id, OpenCursor open) {
+    return open.cursor
+        .read(open.fetchSize)
+        .map(
+            rows -> {
+              JsonArray results = new JsonArray();
+              rows.forEach(row -> results.add(row.toJson()));
+              RespBuilder respBuilder =
+                  new RespBuilder().withType(TYPE_SUCCESS).withTitle(SUCCESS).withResult(results);
+              if (open.cursor.hasMore()) {
+                open.idleTimer = vertx.setTimer(cursorIdleMillis, timer -> closeCursor(id));
+                respBuilder.withNextCursor(id);
+              } else {
+                closeCursor(id);
+              }
+              return respBuilder.getJsonResponse();
+            })
+        .recover(
+            failure -> {
+              closeCursor(id);
+              return Future.failedFuture(dbError(failure));
+            });
+  }
+
+  private static String dbError(Throwable failure) {
+    LOGGER.debug(failure);
+    return new RespBuilder()
+        .withType(TYPE_DB_ERROR)
+        .withTitle(TITLE_DB_ERROR)
+        .withDetail(failure.getLocalizedMessage())
+        .getResponse();
+  }
+
+  private Future<JsonObject> respond(Future<List<JsonObject>> rows) {
+    Promise<JsonObject> promise = Promise.promise();
+    rows.onSuccess(
             successHandler -> {
               JsonArray result = new JsonArray(successHandler);
               RespBuilder respBuilder =
@@ -44,17 +237,7 @@ public class PostgresServiceImpl implements PostgresService {
 
               promise.complete(respBuilder.getJsonResponse());
             })
-        .onFailure(
-            failureHandler -> {
-              LOGGER.debug(failureHandler);
-              RespBuilder respBuilder =
-                  new RespBuilder()
-                      .withType(TYPE_DB_ERROR)
-                      .withTitle(TITLE_DB_ERROR)
-                      .withDetail(failureHandler.getLocalizedMessage());
-
-              promise.fail(respBuilder.getResponse());
-            });
+        .onFailure(failureHandler -> promise.fail(dbError(failureHandler)));
     return promise.future();
   }
 
@@ -63,7 +246,7 @@ public class PostgresServiceImpl implements PostgresService {
     Promise<JsonObject> promise = Promise.promise();
 
     LOGGER.debug(query);
-    client
+    primary
         .withConnection(
             connection ->
                 connection.query(query).execute().map(rows -> rows.iterator().next().getInteger(0)))
@@ -84,4 +267,34 @@ public class PostgresServiceImpl implements PostgresService {
             });
     return promise.future();
   }
+
+  /* A cursor reads its rows within a transaction, on a connection of its own */
+  private static final class OpenCursor {
+    private final MeteredPool pool;
+    private final SqlConnection connection;
+    private final Transaction transaction;
+    private final Cursor cursor;
+    private final int fetchSize;
+    private long idleTimer = -1;
+
+    private OpenCursor(
+        MeteredPool pool,
+        SqlConnection connection,
+        Transaction transaction,
+        Cursor cursor,
+        int fetchSize) {
+      this.pool = pool;
+      this.connection = connection;
+      this.transaction = transaction;
+      this.cursor = cursor;
+      this.fetchSize = fetchSize;
+    }
+
+    private Future<Void> close() {
+      return cursor
+          .close()
+          .transform(closed -> transaction.rollback())
+          .transform(rolledBack -> pool.release(connection));
+    }
+  }
 }
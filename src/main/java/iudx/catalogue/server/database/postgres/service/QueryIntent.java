@@ -0,0 +1,15 @@
+package iudx.catalogue.server.database.postgres.service;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * What a query is for, which decides the pool it runs on. Transactional queries, the writes and
+ * the quick lookups made while serving a request, run on the primary; analytical queries, which
+ * read much of a table, run on a pool of their own, over the read replicas if any are configured,
+ * so they do not hold up the transactional ones.
+ */
+@VertxGen
+public enum QueryIntent {
+  TRANSACTIONAL,
+  ANALYTICS
+}
@@ -9,6 +9,7 @@ import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 import io.vertx.serviceproxy.ServiceBinder;
+import iudx.catalogue.server.geocoding.service.GeocodingCache;
 import iudx.catalogue.server.geocoding.service.GeocodingService;
 import iudx.catalogue.server.geocoding.service.GeocodingServiceImpl;
 
@@ -47,7 +48,12 @@ public class GeocodingVerticle extends AbstractVerticle {
     binder = new ServiceBinder(vertx);
     peliasUrl = config().getString("peliasUrl");
     peliasPort = config().getInteger("peliasPort");
-    geocoding = new GeocodingServiceImpl(createWebClient(vertx, config()), peliasUrl, peliasPort);
+    geocoding =
+        new GeocodingServiceImpl(
+            createWebClient(vertx, config()),
+            peliasUrl,
+            peliasPort,
+            GeocodingCache.shared(vertx, config()));
 
     consumer =
         binder.setAddress(GEOCODING_SERVICE_ADDRESS)
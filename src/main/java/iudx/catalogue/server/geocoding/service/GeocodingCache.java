@@ -0,0 +1,270 @@
+package iudx.catalogue.server.geocoding.service;
+
+import static iudx.catalogue.server.geocoding.util.Constants.DEFAULT_GEOCODING_CACHE_MAX_SIZE;
+import static iudx.catalogue.server.geocoding.util.Constants.DEFAULT_GEOCODING_CACHE_TTL_SECONDS;
+import static iudx.catalogue.server.geocoding.util.Constants.DEFAULT_GEOCODING_NEGATIVE_TTL_SECONDS;
+import static iudx.catalogue.server.geocoding.util.Constants.GEOCODING_CACHE_FILE;
+import static iudx.catalogue.server.geocoding.util.Constants.GEOCODING_CACHE_MAX_SIZE;
+import static iudx.catalogue.server.geocoding.util.Constants.GEOCODING_CACHE_TTL_SECONDS;
+import static iudx.catalogue.server.geocoding.util.Constants.GEOCODING_NEGATIVE_TTL_SECONDS;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Cache of the answers of Pelias, keyed by the normalized text searched for and by the coordinates
+ * reverse geocoded, rounded to four decimals (about ten metres). The cache holds at most the
+ * configured number of answers, least recently used first out, and every answer expires after the
+ * configured time to live. Failures are cached too, for a shorter time, so that a text Pelias
+ * cannot geocode, or a Pelias that is down, is not asked again on every request.
+ *
+ * <p>When given a file, the cache appends every answer to it and reads them back when it is
+ * created, so a restarted server does not ask Pelias again. The file is compacted on every read.
+ *
+ * <p>The cache is thread safe; the verticle instances of a node share one through {@link
+ * #shared(Vertx, JsonObject)}.
+ */
+public class GeocodingCache implements Shareable {
+  private static final Logger LOGGER = LogManager.getLogger(GeocodingCache.class);
+  private static final String SHARED_NAME = "iudx.catalogue.geocoding.cache";
+  private static final String KEY = "key";
+  private static final String VALUE = "value";
+  private static final String EXPIRES_AT = "expiresAt";
+  private static final int COORDINATE_SCALE = 4;
+
+  private final Cache<String, Entry> cache;
+  private final long ttlMillis;
+  private final long negativeTtlMillis;
+  private final Path file;
+  private final WorkerExecutor writer;
+
+  /**
+   * Creates a cache.
+   *
+   * @param vertx the Vert.x instance the file is written from
+   * @param maxSize the number of answers kept; 0 disables the cache
+   * @param ttlSeconds how long an answer is kept
+   * @param negativeTtlSeconds how long a failure is kept
+   * @param file the file the answers are appended to, or null to keep them in memory
+   */
+  public GeocodingCache(
+      Vertx vertx, long maxSize, long ttlSeconds, long negativeTtlSeconds, String file) {
+    this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+    this.negativeTtlMillis = TimeUnit.SECONDS.toMillis(negativeTtlSeconds);
+    if (maxSize <= 0) {
+      this.cache = null;
+      this.file = null;
+      this.writer = null;
+      return;
+    }
+    this.cache =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+            .build();
+    this.file = file == null ? null : Paths.get(file);
+    /* a single thread keeps the appends in order */
+    this.writer = file == null ? null : vertx.createSharedWorkerExecutor(SHARED_NAME, 1);
+  }
+
+  /**
+   * Returns the cache of this node, creating it and reading its file on first use.
+   *
+   * @param vertx the Vert.x instance of the node
+   * @param config the config of the geocoding verticle
+   * @return the cache shared by the verticle instances of the node
+   */
+  public static GeocodingCache shared(Vertx vertx, JsonObject config) {
+    LocalMap<String, GeocodingCache> caches = vertx.sharedData().getLocalMap(SHARED_NAME);
+    // created once, so that no other cache opens a worker executor it would not close
+    return caches.computeIfAbsent(SHARED_NAME, key -> {
+      GeocodingCache cache =
+          new GeocodingCache(
+              vertx,
+              config.getLong(GEOCODING_CACHE_MAX_SIZE, DEFAULT_GEOCODING_CACHE_MAX_SIZE),
+              config.getLong(GEOCODING_CACHE_TTL_SECONDS, DEFAULT_GEOCODING_CACHE_TTL_SECONDS),
+              config.getLong(
+                  GEOCODING_NEGATIVE_TTL_SECONDS, DEFAULT_GEOCODING_NEGATIVE_TTL_SECONDS),
+              config.getString(GEOCODING_CACHE_FILE));
+      cache
+          .load()
+          .onSuccess(loaded -> LOGGER.info("Loaded {} geocoding results", loaded))
+          .onFailure(err -> LOGGER.warn("Failed to load geocoding results: {}", err.getMessage()));
+      return cache;
+    });
+  }
+
+  /**
+   * Returns the key of a text searched for.
+   *
+   * @param text the text
+   * @return the text, trimmed, lower-cased and with its whitespace collapsed
+   */
+  public static String searchKey(String text) {
+    return "search:" + text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+  }
+
+  /**
+   * Returns the key of a point reverse geocoded.
+   *
+   * @param lat the latitude of the point
+   * @param lon the longitude of the point
+   * @return the coordinates rounded to four decimals
+   */
+  public static String reverseKey(String lat, String lon) {
+    return "reverse:" + round(lat) + "," + round(lon);
+  }
+
+  private static String round(String coordinate) {
+    try {
+      return new BigDecimal(coordinate.trim())
+          .setScale(COORDINATE_SCALE, RoundingMode.HALF_UP)
+          .toPlainString();
+    } catch (NumberFormatException e) {
+      return coordinate;
+    }
+  }
+
+  /**
+   * Returns the cached answer, or asks for it and caches it.
+   *
+   * @param key the key of the question, see {@link #searchKey} and {@link #reverseKey}
+   * @param loader asks Pelias
+   * @return the answer, or the failure cached for the key
+   */
+  public Future<String> get(String key, Supplier<Future<String>> loader) {
+    if (cache == null) {
+      return loader.get();
+    }
+    Entry cached = cache.getIfPresent(key);
+    if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+      return cached.failed
+          ? Future.failedFuture(cached.value)
+          : Future.succeededFuture(cached.value);
+    }
+    return loader
+        .get()
+        .onComplete(
+            ar -> {
+              long now = System.currentTimeMillis();
+              if (ar.succeeded()) {
+                Entry entry = new Entry(ar.result(), false, now + ttlMillis);
+                cache.put(key, entry);
+                append(key, entry);
+              } else {
+                String failure = ar.cause().getMessage();
+                cache.put(
+                    key,
+                    new Entry(
+                        failure == null ? "Geocoding failed" : failure,
+                        true,
+                        now + negativeTtlMillis));
+              }
+            });
+  }
+
+  private void append(String key, Entry entry) {
+    if (file == null || entry.value == null) {
+      return;
+    }
+    String line = toJson(key, entry).encode() + System.lineSeparator();
+    writer
+        .executeBlocking(
+            () ->
+                Files.writeString(
+                    file,
+                    line,
+                    StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND),
+            true)
+        .onFailure(err -> LOGGER.warn("Failed to persist geocoding result: {}", err.getMessage()));
+  }
+
+  /**
+   * Reads the answers appended to the file that have not expired yet, and rewrites the file with
+   * them only.
+   *
+   * @return the number of answers read
+   */
+  Future<Integer> load() {
+    if (file == null) {
+      return Future.succeededFuture(0);
+    }
+    return writer.executeBlocking(this::compact, true);
+  }
+
+  private int compact() throws IOException {
+    if (!Files.exists(file)) {
+      return 0;
+    }
+    long now = System.currentTimeMillis();
+    Map<String, JsonObject> live = new LinkedHashMap<>();
+    for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+      try {
+        JsonObject record = new JsonObject(line);
+        if (record.getLong(EXPIRES_AT) > now) {
+          live.put(record.getString(KEY), record);
+        } else {
+          live.remove(record.getString(KEY));
+        }
+      } catch (Exception e) {
+        LOGGER.debug("Skipping unreadable geocoding result: {}", e.getMessage());
+      }
+    }
+    StringBuilder lines = new StringBuilder();
+    live.forEach(
+        (key, record) -> {
+          cache
+              .asMap()
+              .putIfAbsent(
+                  key, new Entry(record.getString(VALUE), false, record.getLong(EXPIRES_AT)));
+          lines.append(record.encode()).append(System.lineSeparator());
+        });
+    Path compacted = file.resolveSibling(file.getFileName() + ".tmp");
+    Files.writeString(compacted, lines, StandardCharsets.UTF_8);
+    Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING);
+    return live.size();
+  }
+
+  private static JsonObject toJson(String key, Entry entry) {
+    return new JsonObject()
+        .put(KEY, key)
+        .put(VALUE, entry.value)
+        .put(EXPIRES_AT, entry.expiresAt);
+  }
+
+  private static final class Entry {
+    private final String value;
+    private final boolean failed;
+    private final long expiresAt;
+
+    private Entry(String value, boolean failed, long expiresAt) {
+      this.value = value;
+      this.failed = failed;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
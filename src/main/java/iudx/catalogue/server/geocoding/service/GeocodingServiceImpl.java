@@ -48,6 +48,7 @@ public class GeocodingServiceImpl implements GeocodingService {
   public static WebClient webClient;
   private final String peliasUrl;
   private final int peliasPort;
+  private final GeocodingCache cache;
 
   /**
    * Constructs a new instance of GeocodingServiceImpl with the provided WebClient and Pelias URL
@@ -59,13 +60,34 @@ public class GeocodingServiceImpl implements GeocodingService {
    * @param peliasPort the port number of the Pelias geocoding service
    */
   public GeocodingServiceImpl(WebClient webClient, String peliasUrl, int peliasPort) {
+    this(webClient, peliasUrl, peliasPort, null);
+  }
+
+  /**
+   * Constructs a new instance of GeocodingServiceImpl whose answers of Pelias are cached.
+   *
+   * @param webClient the WebClient used to perform HTTP requests
+   * @param peliasUrl the URL of the Pelias geocoding service
+   * @param peliasPort the port number of the Pelias geocoding service
+   * @param cache the cache of the answers of Pelias, or null to always ask Pelias
+   */
+  public GeocodingServiceImpl(
+      WebClient webClient, String peliasUrl, int peliasPort, GeocodingCache cache) {
     GeocodingServiceImpl.webClient = webClient;
     this.peliasUrl = peliasUrl;
     this.peliasPort = peliasPort;
+    this.cache = cache;
   }
 
   @Override
   public Future<String> geocoder(String location) {
+    if (cache == null) {
+      return search(location);
+    }
+    return cache.get(GeocodingCache.searchKey(location), () -> search(location));
+  }
+
+  private Future<String> search(String location) {
     Promise<String> promise = Promise.promise();
     webClient
         .get(peliasPort, peliasUrl, "/v1/search")
@@ -166,6 +188,15 @@ public class GeocodingServiceImpl implements GeocodingService {
 
   @Override
   public Future<JsonObject> reverseGeocoder(String lat, String lon) {
+    if (cache == null) {
+      return reverse(lat, lon);
+    }
+    return cache
+        .get(GeocodingCache.reverseKey(lat, lon), () -> reverse(lat, lon).map(JsonObject::encode))
+        .map(JsonObject::new);
+  }
+
+  private Future<JsonObject> reverse(String lat, String lon) {
     Promise<JsonObject> promise = Promise.promise();
     webClient
         .get(peliasPort, peliasUrl, "/v1/reverse")
@@ -22,4 +22,11 @@ public class Constants {
   public static final String GEOCODED = "_geocoded";
   public static final String REVERSE_GEOCODED = "_reverseGeocoded";
   public static final int SERVICE_TIMEOUT = 3000;
+  public static final String GEOCODING_CACHE_MAX_SIZE = "geocodingCacheMaxSize";
+  public static final long DEFAULT_GEOCODING_CACHE_MAX_SIZE = 10000;
+  public static final String GEOCODING_CACHE_TTL_SECONDS = "geocodingCacheTtlSeconds";
+  public static final long DEFAULT_GEOCODING_CACHE_TTL_SECONDS = 604800;
+  public static final String GEOCODING_NEGATIVE_TTL_SECONDS = "geocodingNegativeTtlSeconds";
+  public static final long DEFAULT_GEOCODING_NEGATIVE_TTL_SECONDS = 60;
+  public static final String GEOCODING_CACHE_FILE = "geocodingCacheFile";
 }
@@ -43,8 +43,8 @@ public class MlayerVerticle extends AbstractVerticle {
     postgresService = PostgresService.createProxy(vertx, PG_SERVICE_ADDRESS);
     binder = new ServiceBinder(vertx);
 
-    mlayer = new MlayerServiceImpl(createWebClient(vertx), elasticsearchService, postgresService,
-        config());
+    mlayer = new MlayerServiceImpl(vertx, createWebClient(vertx), elasticsearchService,
+        postgresService, config());
     consumer = binder.setAddress(MLAYER_SERVICE_ADDRESS).register(MlayerService.class, mlayer);
     LOGGER.info("Mlayer Service Started");
   }
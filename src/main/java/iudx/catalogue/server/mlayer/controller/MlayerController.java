@@ -6,6 +6,7 @@ import static iudx.catalogue.server.util.Constants.*;
 import static iudx.catalogue.server.validator.util.Constants.VALIDATION_FAILURE_MSG;
 
 import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.JsonObject;
@@ -13,11 +14,14 @@ import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import iudx.catalogue.server.apiserver.util.RespBuilder;
 import iudx.catalogue.server.authenticator.handler.AuthenticationHandler;
+import iudx.catalogue.server.authenticator.handler.AuthorizationHandler;
+import iudx.catalogue.server.authenticator.model.DxRole;
 import iudx.catalogue.server.authenticator.model.JwtAuthenticationInfo;
 import iudx.catalogue.server.authenticator.model.JwtAuthenticationInfo.Builder;
 import iudx.catalogue.server.common.RoutingContextHelper;
 import iudx.catalogue.server.exceptions.FailureHandler;
 import iudx.catalogue.server.mlayer.service.MlayerService;
+import iudx.catalogue.server.mlayer.util.model.MlayerDataset;
 import iudx.catalogue.server.validator.service.ValidatorService;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -29,19 +33,22 @@ public class MlayerController {
   private final ValidatorService validatorService;
   private final FailureHandler failureHandler;
   private final AuthenticationHandler authenticationHandler;
+  private final AuthorizationHandler authorizationHandler;
   private final String host;
 
   public MlayerController(String host, Router router,
                           ValidatorService validationService,
                           MlayerService mlayerService,
                           FailureHandler failureHandler,
-                          AuthenticationHandler authenticationHandler) {
+                          AuthenticationHandler authenticationHandler,
+                          AuthorizationHandler authorizationHandler) {
     this.host = host;
     this.router = router;
     this.validatorService = validationService;
     this.mlayerService = mlayerService;
     this.failureHandler = failureHandler;
     this.authenticationHandler = authenticationHandler;
+    this.authorizationHandler = authorizationHandler;
 
     setupRoutes();
   }
@@ -211,6 +218,35 @@ public class MlayerController {
         .failureHandler(failureHandler)
         .handler(this::getMlayerPopularDatasetsHandler);
 
+    /* Refresh the popular datasets of the landing page; the COS item type requires an admin */
+    router
+        .post(ROUTE_MLAYER_POPULAR_DATASETS_REFRESH)
+        .produces(MIME_APPLICATION_JSON)
+        .failureHandler(failureHandler)
+        .handler(
+            routingContext -> {
+              JwtAuthenticationInfo jwtAuthenticationInfo = new Builder()
+                  .setToken(routingContext.request().getHeader(HEADER_TOKEN))
+                  .setMethod(REQUEST_POST)
+                  .setApiEndpoint(routingContext.normalizedPath())
+                  .setId(host)
+                  .setItemType(ITEM_TYPE_COS)
+                  .build();
+              RoutingContextHelper.setJwtAuthInfo(routingContext, jwtAuthenticationInfo);
+              routingContext.next();
+            })
+        .handler(authenticationHandler) // Authentication
+        .handler(authorizationHandler.forRoleBasedAccess(DxRole.COS_ADMIN, DxRole.ADMIN))
+        .handler(
+            routingContext -> {
+              if (routingContext.request().headers().contains(HEADER_TOKEN)) {
+                refreshMlayerPopularDatasetsHandler(routingContext);
+              } else {
+                LOGGER.error("Unauthorized Operation");
+                routingContext.response().setStatusCode(401).end();
+              }
+            });
+
     // Total Count Api and Monthly Count & Size(MLayer)
     router
         .get(SUMMARY_TOTAL_COUNT_SIZE_API)
@@ -655,6 +691,14 @@ public class MlayerController {
     HttpServerResponse response = routingContext.response();
     response.putHeader(HEADER_CONTENT_TYPE, MIME_APPLICATION_JSON);
     JsonObject requestParams = parseRequestParams(routingContext);
+    String cursor = routingContext.request().getParam(CURSOR);
+    if (cursor != null) {
+      if (!MlayerDataset.isValidCursor(cursor)) {
+        handleInvalidParameter(400, "Invalid cursor parameter", routingContext);
+        return;
+      }
+      requestParams.put(CURSOR, cursor);
+    }
     mlayerService.getMlayerAllDatasets(requestParams)
         .onComplete(handler -> {
           if (handler.succeeded()) {
@@ -771,15 +815,15 @@ public class MlayerController {
   }
 
   /**
-   * Get mlayer total count and size.
+   * Refresh mlayer popular Datasets handler.
    *
    * @param routingContext {@link RoutingContext}
    */
-  public void getSummaryCountSizeApi(RoutingContext routingContext) {
-    LOGGER.debug("Info : fetching total counts");
+  public void refreshMlayerPopularDatasetsHandler(RoutingContext routingContext) {
+    LOGGER.debug("Info : refreshing the data for the landing Page");
     HttpServerResponse response = routingContext.response();
     response.putHeader(HEADER_CONTENT_TYPE, MIME_APPLICATION_JSON);
-    mlayerService.getSummaryCountSizeApi()
+    mlayerService.refreshMlayerPopularDatasets()
         .onComplete(handler -> {
           if (handler.succeeded()) {
             response.setStatusCode(200).end(handler.result().toString());
@@ -789,6 +833,88 @@ public class MlayerController {
         });
   }
 
+  /**
+   * Get mlayer total count and size.
+   *
+   * @param routingContext {@link RoutingContext}
+   */
+  public void getSummaryCountSizeApi(RoutingContext routingContext) {
+    LOGGER.debug("Info : fetching total counts");
+    HttpServerResponse response = routingContext.response();
+    response.putHeader(HEADER_CONTENT_TYPE, MIME_APPLICATION_JSON);
+    writeSummaryPage(response, null);
+  }
+
+  /*
+   * The summary is written as the response of a single read, a page of rows at a time; the next
+   * page is read once the connection has taken the previous one.
+   */
+  private void writeSummaryPage(HttpServerResponse response, String cursor) {
+    mlayerService.getSummaryCountSizePage(cursor)
+        .onComplete(handler -> {
+          String nextCursor = handler.succeeded()
+              ? handler.result().getString(NEXT_CURSOR)
+              : null;
+          if (response.closed()) {
+            LOGGER.debug("Info: summary; connection closed by client");
+            if (nextCursor != null) {
+              mlayerService.closeSummaryCursor(nextCursor);
+            }
+            return;
+          }
+          if (handler.failed()) {
+            if (response.headWritten()) {
+              // part of the summary was sent, an incomplete chunked body tells the client
+              response.reset();
+            } else {
+              response.setStatusCode(400).end(handler.cause().getMessage());
+            }
+            return;
+          }
+
+          JsonObject page = handler.result();
+          Buffer chunk = Buffer.buffer();
+          boolean first = !response.headWritten();
+          if (first) {
+            String head =
+                new JsonObject().put(TYPE, page.getString(TYPE)).put(TITLE, page.getString(TITLE))
+                    .encode();
+            chunk.appendString(head.substring(0, head.length() - 1)).appendString(",\"results\":[");
+            response.setStatusCode(200).setChunked(true);
+          }
+          for (Object row : page.getJsonArray(RESULTS)) {
+            if (!first) {
+              chunk.appendString(",");
+            }
+            chunk.appendString(((JsonObject) row).encode());
+            first = false;
+          }
+          if (nextCursor == null) {
+            response.end(chunk.appendString("]}"));
+            return;
+          }
+          response.write(chunk);
+          if (response.writeQueueFull()) {
+            // a client gone while the page drains is not told by the drain handler
+            response.closeHandler(
+                v -> {
+                  LOGGER.debug("Info: summary; connection closed by client");
+                  mlayerService.closeSummaryCursor(nextCursor);
+                });
+            response.exceptionHandler(err -> mlayerService.closeSummaryCursor(nextCursor));
+            response.drainHandler(
+                v -> {
+                  response.drainHandler(null);
+                  response.closeHandler(null);
+                  response.exceptionHandler(null);
+                  writeSummaryPage(response, nextCursor);
+                });
+          } else {
+            writeSummaryPage(response, nextCursor);
+          }
+        });
+  }
+
   /**
    * Get mlayer monthly count and size.
    *
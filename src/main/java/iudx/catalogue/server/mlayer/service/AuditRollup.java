@@ -0,0 +1,150 @@
+package iudx.catalogue.server.mlayer.service;
+
+import static iudx.catalogue.server.database.postgres.service.QueryIntent.TRANSACTIONAL;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.database.postgres.service.PostgresService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Rollup of the auditing table, kept up to date by a periodic job that adds the audit rows written
+ * since its watermark, and moves the watermark, in a single statement; the watermark row is locked
+ * meanwhile, so jobs of several nodes never count a row twice. Rows are rolled up once they are
+ * older than the configured lag, which leaves time for the auditing servers to write late rows.
+ *
+ * <p>The watermarks of every rollup of an auditing table are kept in one table, named after the
+ * auditing table. The tables are created by the first job if missing.
+ */
+abstract class AuditRollup {
+  private static final Logger LOGGER = LogManager.getLogger(AuditRollup.class);
+
+  protected final PostgresService postgresService;
+  protected final String auditTable;
+  protected final String watermarkTable;
+  protected final long lagSeconds;
+  private final String watermarkName;
+  private Future<Void> tables;
+  private Future<Void> updating;
+  private volatile boolean ready = false;
+
+  AuditRollup(
+      PostgresService postgresService, String auditTable, String watermarkName, long lagSeconds) {
+    this.postgresService = postgresService;
+    this.auditTable = auditTable;
+    this.watermarkTable = auditTable + "_rollup_watermark";
+    this.watermarkName = watermarkName;
+    this.lagSeconds = lagSeconds;
+  }
+
+  /** Returns the statements creating the tables of the rollup, if missing. */
+  abstract List<String> createStatements();
+
+  /**
+   * Returns the statement rolling up the audit rows between the rows of {@link #boundsQuery()},
+   * and moving the watermark named $1 to their upper bound.
+   */
+  abstract String updateQuery();
+
+  /** Returns the parameters of {@link #updateQuery()}, the watermark name being the first. */
+  JsonArray updateParams() {
+    return new JsonArray().add(watermarkName);
+  }
+
+  /* The watermark, locked, and now less the lag; as the bounds CTE of an update query */
+  String boundsQuery() {
+    return "bounds AS ("
+        + "SELECT watermark AS since,"
+        + " now() at time zone 'UTC' - interval '" + lagSeconds + " seconds' AS upto"
+        + " FROM " + watermarkTable + " WHERE name = $1 FOR UPDATE)";
+  }
+
+  /* Moves the watermark to the upper bound; as the last statement of an update query */
+  String moveWatermarkQuery() {
+    return "UPDATE " + watermarkTable + " w SET watermark = bounds.upto"
+        + " FROM bounds WHERE w.name = $1 AND bounds.upto > bounds.since";
+  }
+
+  /**
+   * Creates the rollup tables if missing, and rolls up now and then every {@code
+   * intervalSeconds}.
+   *
+   * @param vertx the Vert.x instance the job timer is set on
+   * @param intervalSeconds how often the job runs
+   * @return the first job
+   */
+  public Future<Void> start(Vertx vertx, long intervalSeconds) {
+    vertx.setPeriodic(TimeUnit.SECONDS.toMillis(intervalSeconds), id -> update());
+    return update();
+  }
+
+  /* The tables are created once, and again by the next job if their creation failed */
+  private Future<Void> ensureTables() {
+    if (tables == null || tables.failed()) {
+      tables = createTables();
+    }
+    return tables;
+  }
+
+  private Future<Void> createTables() {
+    List<String> statements = new ArrayList<>(createStatements());
+    statements.add(
+        "CREATE TABLE IF NOT EXISTS " + watermarkTable
+            + " (name varchar PRIMARY KEY, watermark timestamp NOT NULL)");
+    statements.add(
+        "INSERT INTO " + watermarkTable + " (name, watermark) VALUES ('" + watermarkName
+            + "', '-infinity') ON CONFLICT (name) DO NOTHING");
+    Future<JsonObject> created = Future.succeededFuture();
+    for (String statement : statements) {
+      created =
+          created.compose(previous -> postgresService.executeQuery(statement, TRANSACTIONAL));
+    }
+    return created.mapEmpty();
+  }
+
+  /**
+   * Rolls up the audit rows written since the previous job, once however many ask for it
+   * meanwhile.
+   *
+   * @return the job; a failed job is retried from the same watermark by the next one
+   */
+  public Future<Void> update() {
+    if (updating != null) {
+      return updating;
+    }
+    Promise<Void> promise = Promise.promise();
+    updating = promise.future();
+    ensureTables()
+        .compose(
+            created ->
+                postgresService.executePrepared(updateQuery(), updateParams(), TRANSACTIONAL))
+        .onComplete(
+            ar -> {
+              updating = null;
+              if (ar.succeeded()) {
+                ready = true;
+                LOGGER.debug("Rollup {} of {} updated", watermarkName, auditTable);
+              } else {
+                LOGGER.error("Rollup {} failed: {}", watermarkName, ar.cause().getMessage());
+              }
+              promise.handle(ar.mapEmpty());
+            });
+    return promise.future();
+  }
+
+  /**
+   * Returns whether a job has succeeded, so that the rollup can be read.
+   *
+   * @return true once a job has succeeded
+   */
+  public boolean isReady() {
+    return ready;
+  }
+}
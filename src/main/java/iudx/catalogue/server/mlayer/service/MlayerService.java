@@ -41,7 +41,31 @@ public interface MlayerService {
 
   Future<JsonObject> getMlayerPopularDatasets(String instance);
 
+  /**
+   * Recomputes the popular datasets served to the landing page by every server.
+   *
+   * @return a success response once the refresh is requested
+   */
+  Future<JsonObject> refreshMlayerPopularDatasets();
+
   Future<JsonObject> getSummaryCountSizeApi();
 
+  /**
+   * Reads the summary of the catalogue a page at a time, so that it is written out without being
+   * held whole in memory.
+   *
+   * @param cursor the nextCursor of the previous page, or null for the first page
+   * @return the rows of the page in results, and nextCursor if more rows are left
+   */
+  Future<JsonObject> getSummaryCountSizePage(String cursor);
+
+  /**
+   * Closes the cursor of the summary before its last page is read.
+   *
+   * @param cursor the nextCursor of the last page read
+   * @return a future completed once the cursor is closed
+   */
+  Future<Void> closeSummaryCursor(String cursor);
+
   Future<JsonObject> getRealTimeDataSetApi();
 }
@@ -1,9 +1,24 @@
 package iudx.catalogue.server.mlayer.service;
 
+import static iudx.catalogue.server.database.postgres.service.QueryIntent.ANALYTICS;
+import static iudx.catalogue.server.mlayer.util.Constants.DATA_MODEL_CACHE_DIR;
+import static iudx.catalogue.server.mlayer.util.Constants.DATA_MODEL_REVALIDATE_SECONDS;
+import static iudx.catalogue.server.mlayer.util.Constants.DEFAULT_DATA_MODEL_REVALIDATE_SECONDS;
+import static iudx.catalogue.server.mlayer.util.Constants.DEFAULT_POPULARITY_ROLLUP_LAG_SECONDS;
+import static iudx.catalogue.server.mlayer.util.Constants.DEFAULT_POPULARITY_ROLLUP_SECONDS;
+import static iudx.catalogue.server.mlayer.util.Constants.DEFAULT_POPULAR_DATASETS_REFRESH_SECONDS;
+import static iudx.catalogue.server.mlayer.util.Constants.DEFAULT_REALTIME_COUNTERS_LAG_SECONDS;
+import static iudx.catalogue.server.mlayer.util.Constants.DEFAULT_REALTIME_COUNTERS_SECONDS;
 import static iudx.catalogue.server.mlayer.util.Constants.DOMAIN_ID;
 import static iudx.catalogue.server.mlayer.util.Constants.GET_HIGH_COUNT_DATASET;
 import static iudx.catalogue.server.mlayer.util.Constants.INSTANCE_ID;
 import static iudx.catalogue.server.mlayer.util.Constants.MLAYER_ID;
+import static iudx.catalogue.server.mlayer.util.Constants.POPULARITY_ROLLUP_LAG_SECONDS;
+import static iudx.catalogue.server.mlayer.util.Constants.POPULARITY_ROLLUP_SECONDS;
+import static iudx.catalogue.server.mlayer.util.Constants.POPULAR_DATASETS_REFRESH_SECONDS;
+import static iudx.catalogue.server.mlayer.util.Constants.REALTIME_COUNTERS_LAG_SECONDS;
+import static iudx.catalogue.server.mlayer.util.Constants.REALTIME_COUNTERS_SECONDS;
+import static iudx.catalogue.server.mlayer.util.Constants.SUMMARY_PAGE_SIZE;
 import static iudx.catalogue.server.util.Constants.FIELD;
 import static iudx.catalogue.server.util.Constants.ID;
 import static iudx.catalogue.server.util.Constants.INSTANCE;
@@ -16,15 +31,19 @@ import static iudx.catalogue.server.util.Constants.NAME;
 import static iudx.catalogue.server.util.Constants.PROVIDERS;
 import static iudx.catalogue.server.util.Constants.TAGS;
 import static iudx.catalogue.server.util.Constants.TITLE_INVALID_QUERY_PARAM_VALUE;
+import static iudx.catalogue.server.util.Constants.TITLE_SUCCESS;
 import static iudx.catalogue.server.util.Constants.TYPE_INVALID_PROPERTY_VALUE;
+import static iudx.catalogue.server.util.Constants.TYPE_SUCCESS;
 import static iudx.catalogue.server.util.Constants.VALUE;
 
 import com.google.common.hash.Hashing;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.WebClient;
+import iudx.catalogue.server.common.CatalogueVersion;
 import iudx.catalogue.server.common.RespBuilder;
 import iudx.catalogue.server.database.elastic.model.QueryModel;
 import iudx.catalogue.server.database.elastic.service.ElasticsearchService;
@@ -37,6 +56,8 @@ import iudx.catalogue.server.mlayer.util.model.MlayerGeoQuery;
 import iudx.catalogue.server.mlayer.util.model.MlayerInstance;
 import iudx.catalogue.server.mlayer.util.model.MlayerPopularDatasets;
 import iudx.catalogue.server.mlayer.util.model.MlayerProvider;
+import iudx.catalogue.server.mlayer.vocabulary.DataModel;
+import iudx.catalogue.server.mlayer.vocabulary.DataModelCache;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
@@ -49,7 +70,6 @@ public class MlayerServiceImpl implements MlayerService {
   ElasticsearchService esService;
   PostgresService postgresService;
   QueryBuilder queryBuilder = new QueryBuilder();
-  private final WebClient webClient;
   private final String mlayerInstanceIndex;
   private final String mlayerDomainIndex;
   private final String docIndex;
@@ -57,11 +77,30 @@ public class MlayerServiceImpl implements MlayerService {
   private final String catSummaryTable;
   private JsonObject configJson;
   private final JsonArray excludedIdsJson;
-
-  public MlayerServiceImpl(WebClient webClient, ElasticsearchService esService,
+  private final Vertx vertx;
+  private final DataModelCache dataModels;
+  private final PopularDatasetsCache popularDatasetsCache;
+  private final CatalogueVersion catalogueVersion;
+  private final PopularityRollup popularityRollup;
+  private final RealtimeCounters realtimeCounters;
+
+  /**
+   * Creates the service. The popular datasets are served from snapshots refreshed in the
+   * background, and the data models are persisted to the data model cache directory if one is
+   * configured. Writes of instances and domains increase the catalogue version, the popular
+   * datasets are counted from a rollup of the auditing table, and the accesses of the day from
+   * per-minute counters. All of these need a Vert.x instance.
+   *
+   * @param vertx the Vert.x instance of the verticle, or null
+   * @param webClient the client of the vocabulary server
+   * @param esService the Elasticsearch service
+   * @param postgresService the Postgres service
+   * @param config the config of the verticle
+   */
+  public MlayerServiceImpl(Vertx vertx, WebClient webClient, ElasticsearchService esService,
                            PostgresService postgresService,
                            JsonObject config) {
-    this.webClient = webClient;
+    this.vertx = vertx;
     this.esService = esService;
     this.postgresService = postgresService;
     this.configJson = config;
@@ -71,6 +110,54 @@ public class MlayerServiceImpl implements MlayerService {
     mlayerInstanceIndex = configJson.getString("mlayerInstanceIndex");
     mlayerDomainIndex = configJson.getString("mlayerDomainIndex");
     docIndex = configJson.getString("docIndex");
+    long revalidateSeconds =
+        config.getLong(DATA_MODEL_REVALIDATE_SECONDS, DEFAULT_DATA_MODEL_REVALIDATE_SECONDS);
+    if (vertx == null) {
+      dataModels = new DataModelCache(webClient, revalidateSeconds);
+      popularDatasetsCache = null;
+      catalogueVersion = null;
+      popularityRollup = null;
+      realtimeCounters = null;
+      return;
+    }
+    dataModels = new DataModelCache(webClient, vertx.fileSystem(),
+        config.getString(DATA_MODEL_CACHE_DIR), revalidateSeconds);
+    popularDatasetsCache = new PopularDatasetsCache(vertx,
+        config.getLong(POPULAR_DATASETS_REFRESH_SECONDS, DEFAULT_POPULAR_DATASETS_REFRESH_SECONDS),
+        this::loadMlayerPopularDatasets);
+    catalogueVersion = CatalogueVersion.shared(vertx);
+    long rollupSeconds =
+        config.getLong(POPULARITY_ROLLUP_SECONDS, DEFAULT_POPULARITY_ROLLUP_SECONDS);
+    popularityRollup = rollupSeconds <= 0 ? null : new PopularityRollup(postgresService,
+        databaseTable,
+        config.getLong(POPULARITY_ROLLUP_LAG_SECONDS, DEFAULT_POPULARITY_ROLLUP_LAG_SECONDS));
+    if (popularityRollup != null) {
+      popularityRollup.start(vertx, rollupSeconds);
+    }
+    long countersSeconds =
+        config.getLong(REALTIME_COUNTERS_SECONDS, DEFAULT_REALTIME_COUNTERS_SECONDS);
+    realtimeCounters = countersSeconds <= 0 ? null : new RealtimeCounters(postgresService,
+        databaseTable, excludedIdsJson,
+        config.getLong(REALTIME_COUNTERS_LAG_SECONDS, DEFAULT_REALTIME_COUNTERS_LAG_SECONDS));
+    if (realtimeCounters != null) {
+      realtimeCounters.start(vertx, countersSeconds);
+    }
+    // fetch the data models of the datasets ahead of the first request
+    dataModels.load()
+        .onComplete(loaded -> new DataModel(dataModels, esService, docIndex).getDataModelInfo());
+  }
+
+  public MlayerServiceImpl(WebClient webClient, ElasticsearchService esService,
+                           PostgresService postgresService,
+                           JsonObject config) {
+    this(null, webClient, esService, postgresService, config);
+  }
+
+  /* The instances and domains are part of the catalogue version the read APIs are tagged with */
+  private void catalogueChanged() {
+    if (catalogueVersion != null) {
+      catalogueVersion.bump();
+    }
   }
 
   @Override
@@ -89,6 +176,7 @@ public class MlayerServiceImpl implements MlayerService {
         .onComplete(createMlayerInstanceHandler -> {
           if (createMlayerInstanceHandler.succeeded()) {
             LOGGER.info("Success: Mlayer Instance Recorded");
+            catalogueChanged();
             promise.complete(createMlayerInstanceHandler.result());
           } else {
             LOGGER.error("Fail: Mlayer Instance creation failed");
@@ -125,6 +213,7 @@ public class MlayerServiceImpl implements MlayerService {
         .onComplete(deleteMlayerInstanceHandler -> {
           if (deleteMlayerInstanceHandler.succeeded()) {
             LOGGER.info("Success: Mlayer Instance Deleted");
+            catalogueChanged();
             promise.complete(deleteMlayerInstanceHandler.result());
           } else {
             LOGGER.error("Fail: Mlayer Instance deletion failed");
@@ -146,6 +235,7 @@ public class MlayerServiceImpl implements MlayerService {
         .onComplete(updateMlayerHandler -> {
           if (updateMlayerHandler.succeeded()) {
             LOGGER.info("Success: mlayer instance Updated");
+            catalogueChanged();
             promise.complete(updateMlayerHandler.result());
           } else {
             LOGGER.error("Fail: Mlayer Instance updation failed");
@@ -172,6 +262,7 @@ public class MlayerServiceImpl implements MlayerService {
         .onComplete(createMlayerDomainHandler -> {
           if (createMlayerDomainHandler.succeeded()) {
             LOGGER.info("Success: Mlayer Domain Recorded");
+            catalogueChanged();
             promise.complete(createMlayerDomainHandler.result());
           } else {
             LOGGER.error("Fail: Mlayer Domain creation failed");
@@ -208,6 +299,7 @@ public class MlayerServiceImpl implements MlayerService {
         .onComplete(deleteMlayerDomainHandler -> {
           if (deleteMlayerDomainHandler.succeeded()) {
             LOGGER.info("Success: Mlayer Doamin Deleted");
+            catalogueChanged();
             promise.complete(deleteMlayerDomainHandler.result());
           } else {
             LOGGER.error("Fail: Mlayer Domain deletion failed");
@@ -230,6 +322,7 @@ public class MlayerServiceImpl implements MlayerService {
         .onComplete(updateMlayerHandler -> {
           if (updateMlayerHandler.succeeded()) {
             LOGGER.info("Success: mlayer domain updated");
+            catalogueChanged();
             promise.complete(updateMlayerHandler.result());
           } else {
             LOGGER.error("Fail: Mlayer Domain updation Failed");
@@ -293,7 +386,7 @@ public class MlayerServiceImpl implements MlayerService {
     queryModel.setLimit(MAX_LIMIT);
 
     LOGGER.debug("database get mlayer all datasets called");
-    MlayerDataset mlayerDataset = new MlayerDataset(webClient, esService, docIndex,
+    MlayerDataset mlayerDataset = new MlayerDataset(dataModels, esService, docIndex,
         mlayerInstanceIndex);
     Promise<JsonObject> promise = Promise.promise();
     mlayerDataset.getMlayerAllDatasets(requestParam, queryModel)
@@ -313,7 +406,7 @@ public class MlayerServiceImpl implements MlayerService {
   public Future<JsonObject> getMlayerDataset(JsonObject requestData) {
     Promise<JsonObject> promise = Promise.promise();
     if (requestData.containsKey(ID) && !requestData.getString(ID).isBlank()) {
-      MlayerDataset mlayerDataset = new MlayerDataset(webClient, esService, docIndex,
+      MlayerDataset mlayerDataset = new MlayerDataset(dataModels, esService, docIndex,
           mlayerInstanceIndex);
       mlayerDataset.getMlayerDataset(requestData)
           .onComplete(getMlayerDatasetHandler -> {
@@ -386,7 +479,7 @@ public class MlayerServiceImpl implements MlayerService {
       ));
       mainQueryModel.setLimit(MAX_LIMIT);
       LOGGER.debug("database get mlayer all datasets called");
-      MlayerDataset mlayerDataset = new MlayerDataset(webClient, esService, docIndex,
+      MlayerDataset mlayerDataset = new MlayerDataset(dataModels, esService, docIndex,
           mlayerInstanceIndex);
       mlayerDataset.getMlayerAllDatasets(requestData, mainQueryModel)
           .onComplete(getAllDatasetsHandler -> {
@@ -413,10 +506,32 @@ public class MlayerServiceImpl implements MlayerService {
 
   @Override
   public Future<JsonObject> getMlayerPopularDatasets(String instance) {
+    if (popularDatasetsCache == null) {
+      return loadMlayerPopularDatasets(instance);
+    }
+    return popularDatasetsCache.get(instance);
+  }
+
+  @Override
+  public Future<JsonObject> refreshMlayerPopularDatasets() {
+    if (popularDatasetsCache != null) {
+      // every server keeps its own snapshots
+      vertx.eventBus().publish(PopularDatasetsCache.REFRESH_ADDRESS, null);
+    }
+    return Future.succeededFuture(new RespBuilder()
+        .withType(TYPE_SUCCESS)
+        .withTitle(TITLE_SUCCESS)
+        .withDetail("Popular datasets refresh requested")
+        .getJsonResponse());
+  }
+
+  private Future<JsonObject> loadMlayerPopularDatasets(String instance) {
     Promise<JsonObject> promise = Promise.promise();
-    String query = GET_HIGH_COUNT_DATASET.replace("$1", databaseTable);
+    String query = popularityRollup == null
+        ? GET_HIGH_COUNT_DATASET.replace("$1", databaseTable)
+        : popularityRollup.topResourceGroupsQuery();
     LOGGER.debug("postgres query " + query);
-    postgresService.executeQuery(query).onComplete(dbHandler -> {
+    postgresService.executePrepared(query, new JsonArray(), ANALYTICS).onComplete(dbHandler -> {
       if (dbHandler.succeeded()) {
         JsonArray popularDataset = dbHandler.result().getJsonArray("results");
         LOGGER.debug("popular datasets are {}", popularDataset);
@@ -431,7 +546,7 @@ public class MlayerServiceImpl implements MlayerService {
         }
 
         MlayerPopularDatasets mlayerPopularDatasets =
-            new MlayerPopularDatasets(webClient, esService, docIndex, mlayerInstanceIndex,
+            new MlayerPopularDatasets(dataModels, esService, docIndex, mlayerInstanceIndex,
                 mlayerDomainIndex);
         mlayerPopularDatasets.getMlayerPopularDatasets(instance, popularRgs)
             .onComplete(getPopularDatasetsHandler -> {
@@ -460,24 +575,44 @@ public class MlayerServiceImpl implements MlayerService {
     String query = queryBuilder.buildSummaryCountSizeQuery(catSummaryTable);
 
     LOGGER.debug(" Query: {} ", query);
-    postgresService.executeQuery(query).onComplete(allQueryHandler -> {
-      if (allQueryHandler.succeeded()) {
-        promise.complete(allQueryHandler.result());
-      } else {
-        promise.fail(allQueryHandler.cause());
-      }
-    });
+    postgresService.executePrepared(query, new JsonArray(), ANALYTICS)
+        .onComplete(allQueryHandler -> {
+          if (allQueryHandler.succeeded()) {
+            promise.complete(allQueryHandler.result());
+          } else {
+            promise.fail(allQueryHandler.cause());
+          }
+        });
     return promise.future();
   }
 
+  @Override
+  public Future<JsonObject> getSummaryCountSizePage(String cursor) {
+    if (cursor != null) {
+      return postgresService.readCursor(cursor);
+    }
+    String query = queryBuilder.buildSummaryCountSizeQuery(catSummaryTable);
+    LOGGER.debug(" Query: {} ", query);
+    return postgresService.openCursor(query, new JsonArray(), SUMMARY_PAGE_SIZE, ANALYTICS);
+  }
+
+  @Override
+  public Future<Void> closeSummaryCursor(String cursor) {
+    return postgresService.closeCursor(cursor);
+  }
+
   @Override
   public Future<JsonObject> getRealTimeDataSetApi() {
     Promise<JsonObject> promise = Promise.promise();
     LOGGER.info(" into get real time dataset api");
-    String query = queryBuilder.buildCountAndSizeQuery(databaseTable, excludedIdsJson);
+    boolean counted = realtimeCounters != null && realtimeCounters.isReady();
+    String query = counted
+        ? realtimeCounters.countAndSizeQuery()
+        : queryBuilder.buildCountAndSizeQuery(databaseTable, excludedIdsJson);
     LOGGER.debug("Query =  {}", query);
 
-    postgresService.executeQuery(query).onComplete(dbHandler -> {
+    JsonArray params = counted ? realtimeCounters.countAndSizeParams() : excludedIdsJson;
+    postgresService.executePrepared(query, params, ANALYTICS).onComplete(dbHandler -> {
       if (dbHandler.succeeded()) {
         JsonObject results = dbHandler.result();
         promise.complete(results);
@@ -0,0 +1,124 @@
+package iudx.catalogue.server.mlayer.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Snapshots of the popular datasets of the landing page, one per instance asked for. The landing
+ * page is always served from the snapshot once there is one; a periodic timer refreshes every
+ * snapshot in the background, and a failed refresh keeps serving the previous snapshot. Only the
+ * first request of an instance waits for Postgres and Elasticsearch.
+ *
+ * <p>The instance is a request parameter, so snapshots are kept for at most {@value
+ * #MAX_INSTANCES} instances, least recently read first out, and a snapshot not read for {@value
+ * #IDLE_SECONDS} seconds is dropped. Refreshes do not count as reads.
+ *
+ * <p>A refresh of every snapshot of the cluster can be forced by publishing on {@value
+ * #REFRESH_ADDRESS}.
+ *
+ * <p>The cache is meant to be used from the context of the verticle that created it only.
+ */
+public class PopularDatasetsCache {
+  public static final String REFRESH_ADDRESS = "iudx.catalogue.mlayer.popular.datasets.refresh";
+  static final int MAX_INSTANCES = 100;
+  static final long IDLE_SECONDS = 3600;
+  private static final Logger LOGGER = LogManager.getLogger(PopularDatasetsCache.class);
+
+  private final Function<String, Future<JsonObject>> loader;
+  /* Refreshes update the holder in place so that they do not keep an unread snapshot alive */
+  private final Cache<String, Snapshot> snapshots;
+  private final Map<String, Future<JsonObject>> loading = new HashMap<>();
+
+  /**
+   * Creates the cache and starts its refresh timer.
+   *
+   * @param vertx the Vert.x instance the timer is set on
+   * @param refreshSeconds how often the snapshots are refreshed
+   * @param loader computes the popular datasets of an instance
+   */
+  public PopularDatasetsCache(
+      Vertx vertx, long refreshSeconds, Function<String, Future<JsonObject>> loader) {
+    this.loader = loader;
+    this.snapshots =
+        CacheBuilder.newBuilder()
+            .concurrencyLevel(1)
+            .maximumSize(MAX_INSTANCES)
+            .expireAfterAccess(IDLE_SECONDS, TimeUnit.SECONDS)
+            .build();
+    vertx.setPeriodic(TimeUnit.SECONDS.toMillis(refreshSeconds), id -> refreshAll());
+    vertx.eventBus().consumer(REFRESH_ADDRESS, message -> refreshAll());
+  }
+
+  /**
+   * Returns the snapshot of an instance, computing it if there is none yet.
+   *
+   * @param instance the instance, or an empty string for all of them
+   * @return the popular datasets of the instance
+   */
+  public Future<JsonObject> get(String instance) {
+    Snapshot snapshot = snapshots.getIfPresent(instance);
+    if (snapshot != null) {
+      return Future.succeededFuture(snapshot.datasets.copy());
+    }
+    return load(instance, null).map(JsonObject::copy);
+  }
+
+  /** Recomputes every snapshot. The previous snapshot is served until its refresh completes. */
+  public void refreshAll() {
+    snapshots.cleanUp();
+    LOGGER.debug("Refreshing the popular datasets of {} instances", snapshots.size());
+    // iterating the map view does not count as a read
+    new ArrayList<>(snapshots.asMap().entrySet())
+        .forEach(
+            entry ->
+                load(entry.getKey(), entry.getValue())
+                    .onFailure(
+                        err ->
+                            LOGGER.warn(
+                                "Refresh of the popular datasets of '{}' failed: {}",
+                                entry.getKey(),
+                                err.getMessage())));
+  }
+
+  /* Computes the snapshot of an instance once, however many ask for it meanwhile */
+  private Future<JsonObject> load(String instance, Snapshot snapshot) {
+    Future<JsonObject> inFlight = loading.get(instance);
+    if (inFlight != null) {
+      return inFlight;
+    }
+    Promise<JsonObject> promise = Promise.promise();
+    loading.put(instance, promise.future());
+    loader
+        .apply(instance)
+        .onComplete(
+            loaded -> {
+              loading.remove(instance);
+              if (loaded.succeeded() && snapshot != null) {
+                snapshot.datasets = loaded.result();
+              } else if (loaded.succeeded()) {
+                snapshots.put(instance, new Snapshot(loaded.result()));
+              }
+              promise.handle(loaded);
+            });
+    return promise.future();
+  }
+
+  private static final class Snapshot {
+    private JsonObject datasets;
+
+    private Snapshot(JsonObject datasets) {
+      this.datasets = datasets;
+    }
+  }
+}
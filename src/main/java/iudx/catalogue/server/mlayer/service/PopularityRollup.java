@@ -0,0 +1,78 @@
+package iudx.catalogue.server.mlayer.service;
+
+import static iudx.catalogue.server.mlayer.util.Constants.GET_HIGH_COUNT_DATASET;
+import static iudx.catalogue.server.mlayer.util.Constants.GET_HIGH_COUNT_DATASET_ROLLUP;
+
+import iudx.catalogue.server.database.postgres.service.PostgresService;
+import java.util.List;
+
+/**
+ * Rollup of the accesses of the auditing table per resource group, so that the popular datasets
+ * are read from a table with a row per resource group rather than counted over the whole auditing
+ * history. The rollup keeps the accesses of each resource group per hour, and their total. The
+ * first job rolls up the whole history.
+ *
+ * <p>Until a job has succeeded, {@link #topResourceGroupsQuery()} counts over the auditing table.
+ */
+public class PopularityRollup extends AuditRollup {
+  static final String WATERMARK_NAME = "resource_group_hourly";
+
+  private final String hourlyTable;
+  private final String totalsTable;
+
+  /**
+   * Creates the rollup of an auditing table.
+   *
+   * @param postgresService the Postgres service
+   * @param auditTable the auditing table
+   * @param lagSeconds how old an audit row is before it is rolled up
+   */
+  public PopularityRollup(PostgresService postgresService, String auditTable, long lagSeconds) {
+    super(postgresService, auditTable, WATERMARK_NAME, lagSeconds);
+    this.hourlyTable = auditTable + "_rg_hourly";
+    this.totalsTable = auditTable + "_rg_totals";
+  }
+
+  @Override
+  List<String> createStatements() {
+    return List.of(
+        "CREATE TABLE IF NOT EXISTS " + hourlyTable
+            + " (resource_group varchar NOT NULL, hour timestamp NOT NULL,"
+            + " hits bigint NOT NULL, PRIMARY KEY (resource_group, hour))",
+        "CREATE TABLE IF NOT EXISTS " + totalsTable
+            + " (resource_group varchar PRIMARY KEY, hits bigint NOT NULL)",
+        "CREATE INDEX IF NOT EXISTS " + totalsTable.replace('.', '_') + "_hits_idx ON "
+            + totalsTable + " (hits DESC)");
+  }
+
+  /* Counts the audit rows between the watermark and now less the lag, and moves the watermark */
+  @Override
+  String updateQuery() {
+    return "WITH " + boundsQuery() + ","
+        + " delta AS ("
+        + "SELECT a.resource_group, date_trunc('hour', a.time) AS hour, count(a.id) AS hits"
+        + " FROM " + auditTable + " a, bounds"
+        + " WHERE a.resource_group IS NOT NULL"
+        + " AND a.time > bounds.since AND a.time <= bounds.upto GROUP BY 1, 2),"
+        + " hourly AS ("
+        + "INSERT INTO " + hourlyTable + " AS h (resource_group, hour, hits)"
+        + " SELECT resource_group, hour, hits FROM delta"
+        + " ON CONFLICT (resource_group, hour) DO UPDATE SET hits = h.hits + EXCLUDED.hits),"
+        + " totals AS ("
+        + "INSERT INTO " + totalsTable + " AS t (resource_group, hits)"
+        + " SELECT resource_group, sum(hits) FROM delta GROUP BY resource_group"
+        + " ON CONFLICT (resource_group) DO UPDATE SET hits = t.hits + EXCLUDED.hits) "
+        + moveWatermarkQuery();
+  }
+
+  /**
+   * Returns the query of the most accessed resource groups.
+   *
+   * @return the query, whose rows have the resource_group and its totalhits
+   */
+  public String topResourceGroupsQuery() {
+    return isReady()
+        ? GET_HIGH_COUNT_DATASET_ROLLUP.replace("$1", totalsTable)
+        : GET_HIGH_COUNT_DATASET.replace("$1", auditTable);
+  }
+}
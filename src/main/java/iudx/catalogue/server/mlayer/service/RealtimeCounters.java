@@ -0,0 +1,115 @@
+package iudx.catalogue.server.mlayer.service;
+
+import io.vertx.core.json.JsonArray;
+import iudx.catalogue.server.database.postgres.service.PostgresService;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Counters of the accesses of the auditing table and of the bytes served, per minute, so that the
+ * accesses of the day are summed over at most a bucket per minute rather than counted over every
+ * audit row since midnight. Only the audit rows written since the watermark are counted from the
+ * auditing table, which are no older than the lag and the job interval.
+ *
+ * <p>The accesses of the excluded users are not counted; the buckets keep the exclusions they were
+ * counted with, so a change of the excluded users applies to the buckets of the following days.
+ * Each job counts the rows of the day of its watermark at most, and drops the buckets of the days
+ * before the previous one.
+ */
+public class RealtimeCounters extends AuditRollup {
+  static final String WATERMARK_NAME = "realtime_minute";
+
+  private final String minuteTable;
+  private final JsonArray excludedIds;
+
+  /**
+   * Creates the counters of an auditing table.
+   *
+   * @param postgresService the Postgres service
+   * @param auditTable the auditing table
+   * @param excludedIds the user ids whose accesses are not counted
+   * @param lagSeconds how old an audit row is before it is counted in a bucket
+   */
+  public RealtimeCounters(
+      PostgresService postgresService, String auditTable, JsonArray excludedIds, long lagSeconds) {
+    super(postgresService, auditTable, WATERMARK_NAME, lagSeconds);
+    this.minuteTable = auditTable + "_minute_counts";
+    this.excludedIds = excludedIds == null ? new JsonArray() : excludedIds;
+  }
+
+  @Override
+  List<String> createStatements() {
+    return List.of(
+        "CREATE TABLE IF NOT EXISTS " + minuteTable
+            + " (minute timestamp PRIMARY KEY, counts bigint NOT NULL, size numeric NOT NULL)");
+  }
+
+  @Override
+  JsonArray updateParams() {
+    return super.updateParams().addAll(excludedIds);
+  }
+
+  /* The excluded users, as the parameters after the watermark name */
+  private String excludedUsers() {
+    if (excludedIds.isEmpty()) {
+      return "";
+    }
+    return " AND a.userid NOT IN ("
+        + IntStream.rangeClosed(2, excludedIds.size() + 1)
+            .mapToObj(i -> "$" + i)
+            .collect(Collectors.joining(","))
+        + ")";
+  }
+
+  /* Counts the audit rows between the watermark and now less the lag, and moves the watermark */
+  @Override
+  String updateQuery() {
+    return "WITH " + boundsQuery() + ","
+        + " delta AS ("
+        + "SELECT date_trunc('minute', a.time) AS minute, count(a.api) AS counts,"
+        + " COALESCE(SUM(a.size), 0) AS size"
+        + " FROM " + auditTable + " a, bounds"
+        + " WHERE a.time > bounds.since AND a.time >= date_trunc('day', bounds.upto)"
+        + " AND a.time <= bounds.upto" + excludedUsers() + " GROUP BY 1),"
+        + " minutes AS ("
+        + "INSERT INTO " + minuteTable + " AS m (minute, counts, size)"
+        + " SELECT minute, counts, size FROM delta"
+        + " ON CONFLICT (minute) DO UPDATE"
+        + " SET counts = m.counts + EXCLUDED.counts, size = m.size + EXCLUDED.size),"
+        + " pruned AS ("
+        + "DELETE FROM " + minuteTable + " m USING bounds"
+        + " WHERE m.minute < date_trunc('day', bounds.upto) - interval '1 day') "
+        + moveWatermarkQuery();
+  }
+
+  /**
+   * Returns the query of the count and size of the accesses since midnight UTC, which sums the
+   * buckets of the day and counts the audit rows since the watermark.
+   *
+   * @return the query, whose row has the counts and size; its parameters are {@link
+   *     #countAndSizeParams()}
+   */
+  public String countAndSizeQuery() {
+    return "WITH day AS (SELECT date_trunc('day', now() at time zone 'UTC') AS start),"
+        + " buckets AS ("
+        + "SELECT COALESCE(SUM(m.counts), 0) AS counts, COALESCE(SUM(m.size), 0) AS size"
+        + " FROM " + minuteTable + " m, day WHERE m.minute >= day.start),"
+        + " tail AS ("
+        + "SELECT count(a.api) AS counts, COALESCE(SUM(a.size), 0) AS size"
+        + " FROM " + auditTable + " a, day, " + watermarkTable + " w"
+        + " WHERE w.name = $1 AND a.time >= day.start AND a.time > w.watermark"
+        + " AND a.time <= now() at time zone 'UTC'" + excludedUsers() + ")"
+        + " SELECT (buckets.counts + tail.counts)::bigint AS counts,"
+        + " buckets.size + tail.size AS size FROM buckets, tail";
+  }
+
+  /**
+   * Returns the parameters of {@link #countAndSizeQuery()}.
+   *
+   * @return the watermark name, and the excluded user ids
+   */
+  public JsonArray countAndSizeParams() {
+    return updateParams();
+  }
+}
@@ -10,10 +10,29 @@ public class Constants {
           "SELECT resource_group, COUNT(id) AS totalhits FROM $1 "
             + "WHERE resource_group IS NOT NULL GROUP BY "
             + "resource_group ORDER BY totalhits DESC LIMIT 6";
+  public static final String GET_HIGH_COUNT_DATASET_ROLLUP =
+      "SELECT resource_group, hits AS totalhits FROM $1 ORDER BY hits DESC LIMIT 6";
 
-  public static final String TIME_QUERY = "where time between '$1' AND '$2'";
+  /* since midnight UTC, the time column holding UTC */
+  public static final String TIME_QUERY =
+      "where time between date_trunc('day', now() at time zone 'UTC') "
+          + "AND now() at time zone 'UTC'";
   public static final String COUNT_SIZE_QUERY =
       "select count(api) as counts , COALESCE(SUM(size), 0) as size from $a ";
 
-  public static final String EXCLUDED_IDS_QUERY = " and userid NOT IN ($3)";
+  public static final String EXCLUDED_IDS_QUERY = " and userid NOT IN ($ids)";
+  public static final String POPULAR_DATASETS_REFRESH_SECONDS = "popularDatasetsRefreshSeconds";
+  public static final long DEFAULT_POPULAR_DATASETS_REFRESH_SECONDS = 900;
+  public static final String POPULARITY_ROLLUP_SECONDS = "popularityRollupSeconds";
+  public static final String POPULARITY_ROLLUP_LAG_SECONDS = "popularityRollupLagSeconds";
+  public static final long DEFAULT_POPULARITY_ROLLUP_SECONDS = 300;
+  public static final long DEFAULT_POPULARITY_ROLLUP_LAG_SECONDS = 300;
+  public static final String REALTIME_COUNTERS_SECONDS = "realtimeCountersSeconds";
+  public static final String REALTIME_COUNTERS_LAG_SECONDS = "realtimeCountersLagSeconds";
+  public static final long DEFAULT_REALTIME_COUNTERS_SECONDS = 60;
+  public static final long DEFAULT_REALTIME_COUNTERS_LAG_SECONDS = 60;
+  public static final int SUMMARY_PAGE_SIZE = 500;
+  public static final String DATA_MODEL_CACHE_DIR = "dataModelCacheDir";
+  public static final String DATA_MODEL_REVALIDATE_SECONDS = "dataModelRevalidateSeconds";
+  public static final long DEFAULT_DATA_MODEL_REVALIDATE_SECONDS = 86400;
 }
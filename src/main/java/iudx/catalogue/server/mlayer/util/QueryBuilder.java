@@ -3,14 +3,10 @@ package iudx.catalogue.server.mlayer.util;
 import static iudx.catalogue.server.mlayer.util.Constants.*;
 
 import io.vertx.core.json.JsonArray;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class QueryBuilder {
-  private static final Logger LOGGER = LogManager.getLogger(QueryBuilder.class);
   String query;
 
   public String buildSummaryCountSizeQuery(String catSummaryTable) {
@@ -19,45 +15,23 @@ public class QueryBuilder {
     return query;
   }
 
+  /**
+   * Builds the count and size of today's accesses as a parameterized query, the excluded user ids
+   * being its parameters, so the statement is the same for every call.
+   *
+   * @param databaseTable the auditing table
+   * @param exlcudedIdsJson the user ids whose accesses are not counted
+   * @return the query, with a parameter per excluded id
+   */
   public String buildCountAndSizeQuery(String databaseTable, JsonArray exlcudedIdsJson) {
-    String current = ZonedDateTime.now().toString();
-    LOGGER.debug("zone IST =" + ZonedDateTime.now());
-    ZonedDateTime zonedDateTimeUtc = ZonedDateTime.parse(current);
-    zonedDateTimeUtc = zonedDateTimeUtc.withZoneSameInstant(ZoneId.of("UTC"));
-    LOGGER.debug("zonedDateTimeUTC UTC = " + zonedDateTimeUtc);
-    LocalDateTime utcTime = zonedDateTimeUtc.toLocalDateTime();
-    LOGGER.debug("UTCtime =" + utcTime);
-
-    String timeFrom12Am = utcTime.withHour(0).withMinute(0).withSecond(0).withNano(0).toString();
-    LOGGER.debug("timeFrom12Am =" + timeFrom12Am);
-
-    StringBuilder ids = new StringBuilder();
-
-    for (int i = 0; i < exlcudedIdsJson.size(); i++) {
-      ids.append("'").append(exlcudedIdsJson.getString(i)).append("'");
-      if (i != exlcudedIdsJson.size() - 1) {
-        ids.append(",");
-      }
-    }
-
+    String countAndSize = COUNT_SIZE_QUERY.concat(TIME_QUERY).replace("$a", databaseTable);
     if (exlcudedIdsJson.isEmpty()) {
-      query =
-          COUNT_SIZE_QUERY
-              .concat(TIME_QUERY)
-              .replace("$a", databaseTable)
-              .replace("$1", timeFrom12Am)
-              .replace("$2", utcTime.toString());
-    } else {
-      query =
-          COUNT_SIZE_QUERY
-              .concat(TIME_QUERY)
-              .concat(EXCLUDED_IDS_QUERY)
-              .replace("$a", databaseTable)
-              .replace("$1", timeFrom12Am)
-              .replace("$2", utcTime.toString())
-              .replace("$3", ids.toString());
+      return countAndSize;
     }
-
-    return query;
+    String ids =
+        IntStream.rangeClosed(1, exlcudedIdsJson.size())
+            .mapToObj(i -> "$" + i)
+            .collect(Collectors.joining(","));
+    return countAndSize.concat(EXCLUDED_IDS_QUERY.replace("$ids", ids));
   }
 }
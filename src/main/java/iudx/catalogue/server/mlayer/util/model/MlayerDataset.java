@@ -1,6 +1,5 @@
 package iudx.catalogue.server.mlayer.util.model;
 
-import static iudx.catalogue.server.database.elastic.model.ElasticsearchResponse.getAggregations;
 import static iudx.catalogue.server.database.elastic.util.Constants.*;
 import static iudx.catalogue.server.util.Constants.*;
 import static iudx.catalogue.server.validator.util.Constants.CONTEXT;
@@ -10,7 +9,6 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
-import io.vertx.ext.web.client.WebClient;
 import iudx.catalogue.server.common.RespBuilder;
 import iudx.catalogue.server.common.util.DbResponseMessageBuilder;
 import iudx.catalogue.server.database.elastic.model.ElasticsearchResponse;
@@ -18,12 +16,17 @@ import iudx.catalogue.server.database.elastic.model.QueryModel;
 import iudx.catalogue.server.database.elastic.service.ElasticsearchService;
 import iudx.catalogue.server.database.elastic.util.AggregationType;
 import iudx.catalogue.server.database.elastic.util.QueryType;
+import iudx.catalogue.server.database.elastic.util.SearchCursor;
 import iudx.catalogue.server.database.util.Util;
 import iudx.catalogue.server.geocoding.util.Constants;
 import iudx.catalogue.server.mlayer.vocabulary.DataModel;
+import iudx.catalogue.server.mlayer.vocabulary.DataModelCache;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -35,14 +38,14 @@ public class MlayerDataset {
           .withTitle(TITLE_INTERNAL_SERVER_ERROR)
           .withDetail(DETAIL_INTERNAL_SERVER_ERROR)
           .getResponse();
-  WebClient webClient;
+  DataModelCache dataModels;
   ElasticsearchService esService;
   String docIndex;
   String mlayerInstanceIndex;
 
-  public MlayerDataset(WebClient webClient, ElasticsearchService esService, String docIndex,
+  public MlayerDataset(DataModelCache dataModels, ElasticsearchService esService, String docIndex,
                        String mlayerInstanceIndex) {
-    this.webClient = webClient;
+    this.dataModels = dataModels;
     this.esService = esService;
     this.docIndex = docIndex;
     this.mlayerInstanceIndex = mlayerInstanceIndex;
@@ -62,7 +65,7 @@ public class MlayerDataset {
     esService.search(docIndex, queryModel)
         .onComplete(handlerRes -> {
           if (handlerRes.succeeded()) {
-            if (handlerRes.result().isEmpty()) {
+            if (handlerRes.result().getHits().isEmpty()) {
               LOGGER.debug("The dataset is not available.");
               promise.fail(
                   new RespBuilder()
@@ -73,10 +76,10 @@ public class MlayerDataset {
               return;
             }
             String providerId =
-                handlerRes.result().get(0).getSource().getString("provider");
+                handlerRes.result().getHits().get(0).getSource().getString("provider");
             String cosId = "";
-            if (handlerRes.result().get(0).getSource().containsKey("cos")) {
-              cosId = handlerRes.result().get(0).getSource().getString("cos");
+            if (handlerRes.result().getHits().get(0).getSource().containsKey("cos")) {
+              cosId = handlerRes.result().getHits().get(0).getSource().getString("cos");
             }
 
             /*
@@ -96,8 +99,8 @@ public class MlayerDataset {
                     JsonArray resources = new JsonArray();
                     JsonObject datasetDetail = new JsonObject();
                     JsonObject dataset = new JsonObject();
-                    for (int i = 0; i < resultHandler.result().size(); i++) {
-                      JsonObject record = resultHandler.result().get(i).getSource();
+                    for (int i = 0; i < resultHandler.result().getHits().size(); i++) {
+                      JsonObject record = resultHandler.result().getHits().get(i).getSource();
                       JsonObject provider = new JsonObject();
                       String itemType = Util.getItemType(record);
                       if (itemType.equals(VALIDATION_FAILURE_MSG)) {
@@ -212,7 +215,8 @@ public class MlayerDataset {
                           .onComplete(iconResultHandler -> {
                             if (iconResultHandler.succeeded()) {
                               LOGGER.debug("Success: Successful DB Request");
-                              List<ElasticsearchResponse> responseList = iconResultHandler.result();
+                              List<ElasticsearchResponse> responseList =
+                                  iconResultHandler.result().getHits();
                               DbResponseMessageBuilder responseMessage =
                                   new DbResponseMessageBuilder();
                               responseMessage.statusSuccess();
@@ -325,7 +329,7 @@ public class MlayerDataset {
         .onComplete(
             ar -> {
               if (ar.succeeded()) {
-                DataModel domainInfoFetcher = new DataModel(webClient, esService, docIndex);
+                DataModel domainInfoFetcher = new DataModel(dataModels, esService, docIndex);
                 domainInfoFetcher
                     .getDataModelInfo()
                     .onComplete(
@@ -376,6 +380,11 @@ public class MlayerDataset {
                               record.remove(TYPE);
                               resourceGroupArray.add(record);
                             }
+                            if (requestParam.containsKey(CURSOR)) {
+                              promise.complete(pageByCursor(resourceGroupArray, requestParam,
+                                  resourceGroupList.getInteger("resourceGroupCount")));
+                              return;
+                            }
                             JsonArray pagedResourceGroups = new JsonArray();
                             int endIndex =
                                 requestParam.getInteger(LIMIT) + requestParam.getInteger(OFFSET);
@@ -420,6 +429,58 @@ public class MlayerDataset {
     return promise.future();
   }
 
+  /**
+   * Checks a cursor received from a client for the datasets, which holds the id of the last
+   * dataset of the previous page only.
+   *
+   * @param token the cursor parameter of the request
+   * @return true if the token is {@link SearchCursor#START} or a cursor of a previous page
+   */
+  public static boolean isValidCursor(String token) {
+    if (SearchCursor.START.equals(token)) {
+      return true;
+    }
+    try {
+      SearchCursor cursor = SearchCursor.decode(token);
+      return cursor.getPitId() == null
+          && cursor.getSearchAfter().size() == 1
+          && cursor.getSearchAfter().getValue(0) instanceof String;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Pages the resource groups in order of id, starting after the id held by the cursor. Unlike
+   * offsets, a walk over all datasets this way neither skips nor repeats a dataset when datasets
+   * are added or removed between two pages.
+   */
+  private JsonObject pageByCursor(JsonArray resourceGroups, JsonObject requestParam, int total) {
+    String cursor = requestParam.getString(CURSOR);
+    String after = SearchCursor.START.equals(cursor)
+        ? null
+        : SearchCursor.decode(cursor).getSearchAfter().getString(0);
+    int limit = requestParam.getInteger(LIMIT);
+    List<JsonObject> remaining = resourceGroups.stream()
+        .map(JsonObject.class::cast)
+        .filter(resourceGroup -> after == null || resourceGroup.getString(ID).compareTo(after) > 0)
+        .sorted(Comparator.comparing(resourceGroup -> resourceGroup.getString(ID)))
+        .collect(Collectors.toList());
+    JsonArray page =
+        new JsonArray(new ArrayList<>(remaining.subList(0, Math.min(limit, remaining.size()))));
+    RespBuilder respBuilder =
+        new RespBuilder()
+            .withType(TYPE_SUCCESS)
+            .withTitle(SUCCESS)
+            .withTotalHits(total)
+            .withResult(page);
+    if (limit > 0 && remaining.size() > limit) {
+      String lastId = page.getJsonObject(limit - 1).getString(ID);
+      respBuilder.withNextCursor(new SearchCursor(null, new JsonArray().add(lastId)).encode());
+    }
+    return respBuilder.getJsonResponse();
+  }
+
   private QueryModel getResourceApQueryModel() {
     QueryModel aggs = new QueryModel(
         AggregationType.TERMS,
@@ -460,7 +521,7 @@ public class MlayerDataset {
           if (resultHandler.succeeded()) {
             try {
               LOGGER.debug("getRGs started");
-              int size = resultHandler.result().size();
+              int size = resultHandler.result().getHits().size();
               if (size == 0) {
                 LOGGER.debug("getRGs is zero");
                 datasetResult.fail(NO_CONTENT_AVAILABLE);
@@ -471,7 +532,7 @@ public class MlayerDataset {
               JsonObject cosUrl = new JsonObject();
               LOGGER.debug("getRGs for each provider type result started");
               for (int i = 0; i < size; i++) {
-                JsonObject record = resultHandler.result().get(i).getSource();
+                JsonObject record = resultHandler.result().getHits().get(i).getSource();
                 String itemType = Util.getItemType(record);
                 if (itemType.equals(VALIDATION_FAILURE_MSG)) {
                   datasetResult.fail(VALIDATION_FAILURE_MSG);
@@ -497,7 +558,7 @@ public class MlayerDataset {
               LOGGER.debug("getRGs for each resource group result started");
               LOGGER.debug(providerDescription);
               for (int i = 0; i < size; i++) {
-                JsonObject record = resultHandler.result().get(i).getSource();
+                JsonObject record = resultHandler.result().getHits().get(i).getSource();
                 String itemType = Util.getItemType(record);
                 if (itemType.equals(ITEM_TYPE_RESOURCE_GROUP)) {
                   resourceGroupHits++;
@@ -547,12 +608,12 @@ public class MlayerDataset {
           if (instanceRes.succeeded()) {
             try {
               LOGGER.debug("getInstance started");
-              int instanceSize = instanceRes.result().size();
+              int instanceSize = instanceRes.result().getHits().size();
               JsonObject instanceIcon = new JsonObject();
               LOGGER.debug("getInstance for each instance started");
               for (int i = 0; i < instanceSize; i++) {
                 JsonObject instanceObject =
-                    instanceRes.result().get(i).getSource();
+                    instanceRes.result().getHits().get(i).getSource();
                 instanceIcon.put(
                     instanceObject.getString("name").toLowerCase(),
                     instanceObject.getString("icon"));
@@ -580,7 +641,8 @@ public class MlayerDataset {
           if (resourceCountRes.succeeded()) {
             try {
               JsonArray resultsArray =
-                  getAggregations().getJsonObject(RESULTS).getJsonArray(BUCKETS);
+                  resourceCountRes.result().getAggregations().getJsonObject(RESULTS)
+                      .getJsonArray(BUCKETS);
 
               if (resultsArray.isEmpty()) {
                 LOGGER.debug("No Resources With AccessPolicy Found");
@@ -78,8 +78,8 @@ public class MlayerDomain {
                     .getResponse());
 
           } else {
-            if (!res.result().isEmpty()) {
-              JsonObject json = res.result().get(0).getSource();
+            if (!res.result().getHits().isEmpty()) {
+              JsonObject json = res.result().getHits().get(0).getSource();
               String domainIdExists = json.getString(DOMAIN_ID);
               promise.fail(
                   respBuilder
@@ -137,7 +137,7 @@ public class MlayerDomain {
           if (resultHandler.succeeded()) {
             LOGGER.debug("Success: Successful DB Request");
 
-            List<ElasticsearchResponse> responseList = resultHandler.result();
+            List<ElasticsearchResponse> responseList = resultHandler.result().getHits();
             DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
             responseMsg.statusSuccess();
             responseMsg.setTotalHits(responseList.size());
@@ -175,7 +175,7 @@ public class MlayerDomain {
             promise.fail(internalErrorResp);
           } else {
             LOGGER.debug(checkRes.result());
-            if (checkRes.result().size() != 1) {
+            if (checkRes.result().getHits().size() != 1) {
               LOGGER.error("Fail: Domain does not exist, can't update");
               promise.fail(
                       respBuilder
@@ -187,12 +187,12 @@ public class MlayerDomain {
               return;
             }
 
-            JsonObject source = checkRes.result().get(0).getSource();
+            JsonObject source = checkRes.result().getHits().get(0).getSource();
 
             String parameterIdName = source.getString("name").toLowerCase();
             String requestBodyName = request.getString("name").toLowerCase();
             if (parameterIdName.equals(requestBodyName)) {
-              String docId = checkRes.result().get(0).getDocId();
+              String docId = checkRes.result().getHits().get(0).getDocId();
               esService.updateDocument(mlayerDomainIndex, docId, request)
                   .onComplete(putRes -> {
                     if (putRes.succeeded()) {
@@ -238,7 +238,7 @@ public class MlayerDomain {
             LOGGER.error("Fail: Check query fail;" + checkRes.cause());
             promise.fail(internalErrorResp);
           } else {
-            if (checkRes.result().size() != 1) {
+            if (checkRes.result().getHits().size() != 1) {
               LOGGER.error("Fail: Domain doesn't exist, can't delete");
               promise.fail(
                       respBuilder
@@ -250,7 +250,7 @@ public class MlayerDomain {
               return;
             }
 
-            String docId = checkRes.result().get(0).getDocId();
+            String docId = checkRes.result().getHits().get(0).getDocId();
 
             esService.deleteDocument(mlayerDomainIndex, docId)
                 .onComplete(putRes -> {
@@ -61,7 +61,7 @@ public class MlayerGeoQuery {
     esService.search(docIndex, queryModel)
         .onComplete(resultHandler -> {
           if (resultHandler.succeeded()) {
-            List<ElasticsearchResponse> response = resultHandler.result();
+            List<ElasticsearchResponse> response = resultHandler.result().getHits();
             DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
             responseMsg.statusSuccess().setTotalHits(response.size());
             response.stream()
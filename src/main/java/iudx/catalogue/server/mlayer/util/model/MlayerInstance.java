@@ -78,7 +78,7 @@ public class MlayerInstance {
         .onComplete(resultHandler -> {
           if (resultHandler.succeeded()) {
             LOGGER.debug("Success: Successful DB Request");
-            List<ElasticsearchResponse> responseList = resultHandler.result();
+            List<ElasticsearchResponse> responseList = resultHandler.result().getHits();
             DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
             responseMsg.statusSuccess();
             responseMsg.setTotalHits(responseList.size());
@@ -115,7 +115,7 @@ public class MlayerInstance {
             LOGGER.error("Fail: Check query fail;" + checkRes.cause());
             promise.fail(internalErrorResp);
           } else {
-            if (checkRes.result().size() != 1) {
+            if (checkRes.result().getHits().size() != 1) {
               LOGGER.error("Fail: Instance doesn't exist, can't delete");
               promise.fail(
                       respBuilder
@@ -125,7 +125,7 @@ public class MlayerInstance {
                           .getResponse());
               return;
             }
-            String docId = checkRes.result().get(0).getDocId();
+            String docId = checkRes.result().getHits().get(0).getDocId();
 
             esService.deleteDocument(mlayerInstanceIndex, docId)
                 .onComplete(delRes -> {
@@ -168,8 +168,8 @@ public class MlayerInstance {
                         .getResponse());
 
           } else {
-            if (!res.result().isEmpty()) {
-              JsonObject json = res.result().get(0).getSource();
+            if (!res.result().getHits().isEmpty()) {
+              JsonObject json = res.result().getHits().get(0).getSource();
               String instanceIdExists = json.getString(INSTANCE_ID);
 
               promise.fail(
@@ -224,7 +224,7 @@ public class MlayerInstance {
             promise.fail(internalErrorResp);
           } else {
             // LOGGER.debug(checkRes.result());
-            if (checkRes.result().size() != 1) {
+            if (checkRes.result().getHits().size() != 1) {
               LOGGER.error("Fail: Instance doesn't exist, can't update");
               promise.fail(
                       respBuilder
@@ -234,12 +234,12 @@ public class MlayerInstance {
                           .getResponse());
               return;
             }
-            JsonObject source = checkRes.result().get(0).getSource();
+            JsonObject source = checkRes.result().getHits().get(0).getSource();
 
             String parameterIdName = source.getString("name").toLowerCase();
             String requestBodyName = request.getString("name").toLowerCase();
             if (parameterIdName.equals(requestBodyName)) {
-              String docId = checkRes.result().get(0).getDocId();
+              String docId = checkRes.result().getHits().get(0).getDocId();
               esService.updateDocument(mlayerInstanceIndex, docId, request)
                   .onComplete(putRes -> {
                     if (putRes.succeeded()) {
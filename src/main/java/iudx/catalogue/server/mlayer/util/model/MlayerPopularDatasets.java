@@ -1,6 +1,5 @@
 package iudx.catalogue.server.mlayer.util.model;
 
-import static iudx.catalogue.server.database.elastic.model.ElasticsearchResponse.getAggregations;
 import static iudx.catalogue.server.database.elastic.util.Constants.*;
 import static iudx.catalogue.server.util.Constants.*;
 import static iudx.catalogue.server.util.Constants.KEYWORD_KEY;
@@ -10,7 +9,6 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
-import io.vertx.ext.web.client.WebClient;
 import iudx.catalogue.server.common.RespBuilder;
 import iudx.catalogue.server.common.util.DbResponseMessageBuilder;
 import iudx.catalogue.server.database.elastic.model.ElasticsearchResponse;
@@ -19,6 +17,7 @@ import iudx.catalogue.server.database.elastic.service.ElasticsearchService;
 import iudx.catalogue.server.database.elastic.util.AggregationType;
 import iudx.catalogue.server.database.elastic.util.QueryType;
 import iudx.catalogue.server.database.util.Util;
+import iudx.catalogue.server.mlayer.vocabulary.DataModelCache;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -39,19 +38,19 @@ public class MlayerPopularDatasets {
           .withTitle(TITLE_INTERNAL_SERVER_ERROR)
           .withDetail(DETAIL_INTERNAL_SERVER_ERROR)
           .getResponse();
-  private final WebClient webClient;
+  private final DataModelCache dataModels;
   ElasticsearchService esService;
   String docIndex;
   String mlayerInstanceIndex;
   String mlayerDomainIndex;
 
   public MlayerPopularDatasets(
-      WebClient webClient,
+      DataModelCache dataModels,
       ElasticsearchService esService,
       String docIndex,
       String mlayerInstanceIndex,
       String mlayerDomainIndex) {
-    this.webClient = webClient;
+    this.dataModels = dataModels;
     this.esService = esService;
     this.docIndex = docIndex;
     this.mlayerInstanceIndex = mlayerInstanceIndex;
@@ -161,11 +160,11 @@ public class MlayerPopularDatasets {
         .onComplete(
             resultHandler -> {
               if (resultHandler.succeeded()) {
-                int totalInstance = resultHandler.result().size();
+                int totalInstance = resultHandler.result().getHits().size();
                 Map<String, String> instanceIconPath = new HashMap<>();
                 JsonArray instanceList = new JsonArray();
-                for (int i = 0; i < resultHandler.result().size(); i++) {
-                  JsonObject instance = resultHandler.result().get(i).getSource();
+                for (int i = 0; i < resultHandler.result().getHits().size(); i++) {
+                  JsonObject instance = resultHandler.result().getHits().get(i).getSource();
                   instanceIconPath.put(
                       instance.getString("name").toLowerCase(), instance.getString("icon"));
                   if (i < 4) {
@@ -201,7 +200,7 @@ public class MlayerPopularDatasets {
             getDomainHandler -> {
               if (getDomainHandler.succeeded()) {
                 JsonArray domainList = new JsonArray();
-                getDomainHandler.result().stream()
+                getDomainHandler.result().getHits().stream()
                     .map(ElasticsearchResponse::getSource)
                     .peek(
                         source -> {
@@ -259,20 +258,21 @@ public class MlayerPopularDatasets {
             getCatRecords -> {
               if (getCatRecords.succeeded()) {
                 DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
-                if (getCatRecords.result().isEmpty()) {
+                if (getCatRecords.result().getHits().isEmpty()) {
                   datasetResult.handle(Future.failedFuture(NO_CONTENT_AVAILABLE));
                 }
 
                 JsonObject result = new JsonObject();
                 JsonArray resourceGroupAndProvider = new JsonArray();
 
-                if (getAggregations() != null) {
+                JsonObject aggregations = getCatRecords.result().getAggregations();
+                if (aggregations != null) {
                   int providerCount =
-                      getAggregations().getJsonObject("provider_count").getInteger(VALUE);
+                      aggregations.getJsonObject("provider_count").getInteger(VALUE);
                   result.put("providerCount", providerCount);
                 }
 
-                List<ElasticsearchResponse> responseList = getCatRecords.result();
+                List<ElasticsearchResponse> responseList = getCatRecords.result().getHits();
                 responseMsg.statusSuccess();
                 responseList.stream()
                     .map(ElasticsearchResponse::getSource)
@@ -295,7 +295,7 @@ public class MlayerPopularDatasets {
 
                 Promise<JsonObject> resourceCount = Promise.promise();
                 MlayerDataset mlayerDataset =
-                    new MlayerDataset(webClient, esService, docIndex, mlayerInstanceIndex);
+                    new MlayerDataset(dataModels, esService, docIndex, mlayerInstanceIndex);
                 // function to get the resource group items count
                 QueryModel resourceApQueryModel = getResourceApQueryModel();
                 mlayerDataset.gettingResourceAccessPolicyCount(resourceApQueryModel, resourceCount);
@@ -500,11 +500,11 @@ public class MlayerPopularDatasets {
         .onComplete(
             latestRgHandler -> {
               if (latestRgHandler.succeeded()) {
-                if (latestRgHandler.result().isEmpty()) {
+                if (latestRgHandler.result().getHits().isEmpty()) {
                   LOGGER.debug("RGs not present");
                   datasetResult.handle(Future.failedFuture(NO_CONTENT_AVAILABLE));
                 }
-                JsonObject aggregations = getAggregations();
+                JsonObject aggregations = latestRgHandler.result().getAggregations();
                 JsonObject aggregationResult = new JsonObject();
                 aggregationResult =
                     new JsonObject()
@@ -523,7 +523,7 @@ public class MlayerPopularDatasets {
                                 .getJsonObject(PROVIDER_COUNT)
                                 .getJsonObject("Providers")
                                 .getInteger(DOC_COUNT));
-                List<ElasticsearchResponse> responseList = latestRgHandler.result();
+                List<ElasticsearchResponse> responseList = latestRgHandler.result().getHits();
                 DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
                 responseMsg.statusSuccess();
                 responseList.stream()
@@ -564,7 +564,7 @@ public class MlayerPopularDatasets {
                         providerAndPopularRgHandler -> {
                           if (providerAndPopularRgHandler.succeeded()) {
                             List<ElasticsearchResponse> respList =
-                                providerAndPopularRgHandler.result();
+                                providerAndPopularRgHandler.result().getHits();
                             DbResponseMessageBuilder respMsg = new DbResponseMessageBuilder();
                             respMsg.statusSuccess();
                             respList.stream()
@@ -667,7 +667,7 @@ public class MlayerPopularDatasets {
                             Promise<JsonObject> resourceCount = Promise.promise();
                             MlayerDataset mlayerDataset =
                                 new MlayerDataset(
-                                    webClient, esService, docIndex, mlayerInstanceIndex);
+                                    dataModels, esService, docIndex, mlayerInstanceIndex);
                             mlayerDataset.gettingResourceAccessPolicyCount(
                                 getCategorizedResourceAP, resourceCount);
 
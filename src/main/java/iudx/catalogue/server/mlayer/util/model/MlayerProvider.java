@@ -1,6 +1,5 @@
 package iudx.catalogue.server.mlayer.util.model;
 
-import static iudx.catalogue.server.database.elastic.model.ElasticsearchResponse.getAggregations;
 import static iudx.catalogue.server.database.elastic.util.Constants.DESCRIPTION_ATTR;
 import static iudx.catalogue.server.database.elastic.util.Constants.KEYWORD_KEY;
 import static iudx.catalogue.server.database.elastic.util.Constants.SUMMARY_KEY;
@@ -103,18 +102,19 @@ public class MlayerProvider {
           .onComplete(resultHandler -> {
             if (resultHandler.succeeded()) {
               LOGGER.debug("Success: Successful DB Request");
-              if (resultHandler.result().isEmpty()) {
+              if (resultHandler.result().getHits().isEmpty()) {
                 promise.fail(NO_CONTENT_AVAILABLE);
               }
               JsonObject result = new JsonObject();
-              if (getAggregations() != null) {
+              JsonObject aggregations = resultHandler.result().getAggregations();
+              if (aggregations != null) {
                 int providerCount =
-                    getAggregations().getJsonObject("provider_count")
+                    aggregations.getJsonObject("provider_count")
                         .getInteger(VALUE);
                 result.put("providerCount", providerCount);
               }
               JsonArray resourceGroupAndProvider = new JsonArray();
-              List<ElasticsearchResponse> responseList = resultHandler.result();
+              List<ElasticsearchResponse> responseList = resultHandler.result().getHits();
               DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
               responseMsg.statusSuccess();
               responseMsg.setTotalHits(responseList.size());
@@ -217,7 +217,7 @@ public class MlayerProvider {
           .onComplete(resultHandler -> {
             if (resultHandler.succeeded()) {
               LOGGER.debug("Success: Successful DB Request");
-              List<ElasticsearchResponse> responseList = resultHandler.result();
+              List<ElasticsearchResponse> responseList = resultHandler.result().getHits();
               DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
               responseMsg.statusSuccess();
               responseMsg.setTotalHits(responseList.size());
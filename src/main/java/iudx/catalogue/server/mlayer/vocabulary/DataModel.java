@@ -11,11 +11,8 @@ import static iudx.catalogue.server.util.Constants.VALUE;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
-import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
-import io.vertx.ext.web.client.HttpResponse;
-import io.vertx.ext.web.client.WebClient;
 import iudx.catalogue.server.common.util.DbResponseMessageBuilder;
 import iudx.catalogue.server.database.elastic.model.ElasticsearchResponse;
 import iudx.catalogue.server.database.elastic.model.QueryModel;
@@ -26,27 +23,25 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 public class DataModel {
   private static final Logger LOGGER = LogManager.getLogger(DataModel.class);
-  private static final int MAX_CONCURRENT_REQUESTS = 10; // limit to 10 concurrent requests
   private final ElasticsearchService esService;
-  private final WebClient webClient;
+  private final DataModelCache dataModels;
   private final String docIndex;
-  private final Semaphore semaphore = new Semaphore(MAX_CONCURRENT_REQUESTS);
 
   /**
    * Constructor for DataModel.
    *
+   * @param dataModels The cache the data models are fetched through
    * @param esService The ElasticsearchService instance
    * @param docIndex The index name where data are stored/retrieved in elastic.
    */
-  public DataModel(WebClient webClient, ElasticsearchService esService, String docIndex) {
-    this.webClient = webClient;
+  public DataModel(DataModelCache dataModels, ElasticsearchService esService, String docIndex) {
+    this.dataModels = dataModels;
     this.esService = esService;
     this.docIndex = docIndex;
   }
@@ -103,7 +98,7 @@ public class DataModel {
         .onComplete(searchHandler -> {
           if (searchHandler.succeeded()) {
             LOGGER.debug("Successful Elastic request");
-            List<ElasticsearchResponse> responseList = searchHandler.result();
+            List<ElasticsearchResponse> responseList = searchHandler.result().getHits();
             DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
             responseMsg.statusSuccess();
             responseList.stream()
@@ -168,49 +163,27 @@ public class DataModel {
     }
     for (String classId : uniqueClassIds) {
       String dmUrl = contextUrl + classId + ".jsonld";
-      acquireSemaphoreAndFetchDataModel(
-          classId, dmUrl, idToClassIdMap, idToSubClassMap, pendingRequests, promise);
+      dataModels
+          .get(dmUrl)
+          .onComplete(
+              dmAr ->
+                  handleDataModelResponse(
+                      dmAr,
+                      classId,
+                      idToClassIdMap,
+                      idToSubClassMap,
+                      pendingRequests,
+                      promise,
+                      dmUrl));
     }
 
     return promise.future();
   }
 
-  private void acquireSemaphoreAndFetchDataModel(
-      String classId,
-      String dmUrl,
-      Map<String, String> idToClassIdMap,
-      JsonObject idToSubClassMap,
-      AtomicInteger pendingRequests,
-      Promise<JsonObject> promise) {
-    try {
-      semaphore.acquire();
-      webClient
-          .getAbs(dmUrl)
-          .send(
-              dmAr -> {
-                handleDataModelResponse(
-                    dmAr,
-                    classId,
-                    idToClassIdMap,
-                    idToSubClassMap,
-                    pendingRequests,
-                    promise,
-                    dmUrl);
-                semaphore.release();
-              });
-    } catch (InterruptedException e) {
-      LOGGER.debug("Semaphore acquisition interrupted for URL: {}", dmUrl, e);
-      semaphore.release();
-      if (pendingRequests.decrementAndGet() == 0) {
-        promise.complete(idToSubClassMap);
-      }
-    }
-  }
-
   /**
    * Handles the response from fetching data model information.
    *
-   * @param dmAr The async result of the HTTP response.
+   * @param dmAr The async result of fetching the data model.
    * @param classId The class id of the data model.
    * @param idToClassIdMap The map of id to classId.
    * @param idToSubClassMap The JsonObject mapping id to subclass.
@@ -219,7 +192,7 @@ public class DataModel {
    * @param dmUrl The URL of the data model.
    */
   void handleDataModelResponse(
-      AsyncResult<HttpResponse<Buffer>> dmAr,
+      AsyncResult<JsonObject> dmAr,
       String classId,
       Map<String, String> idToClassIdMap,
       JsonObject idToSubClassMap,
@@ -227,55 +200,35 @@ public class DataModel {
       Promise<JsonObject> promise,
       String dmUrl) {
     if (dmAr.succeeded()) {
-      HttpResponse<Buffer> dmResponse = dmAr.result();
-      Buffer dmBody = dmResponse.body();
-
-      if (dmBody == null) {
-        LOGGER.debug("No response body received for URL: {}", dmUrl);
-      } else if (!dmResponse.headers().get("content-type").contains("application/json")) {
-        LOGGER.debug("Invalid content-type received for URL: {}", dmUrl);
-      } else {
-        JsonObject dmJson;
-        try {
-          dmJson = dmBody.toJsonObject();
-        } catch (Exception e) {
-          LOGGER.debug("Failed to parse JSON response from URL: {}", dmUrl, e);
-          dmJson = null;
-        }
-
-        if (dmJson != null) {
-          JsonArray graph = dmJson.getJsonArray("@graph");
-
-          if (graph != null) {
-            for (Object obj : graph) {
-              if (obj instanceof JsonObject) {
-                JsonObject graphItem = (JsonObject) obj;
-                if (("iudx:" + classId).equals(graphItem.getString("@id"))) {
-                  JsonObject subClassOfObj = graphItem.getJsonObject("rdfs:subClassOf");
-                  if (subClassOfObj != null) {
-                    String subClassIdStr = subClassOfObj.getString("@id");
-                    if (subClassIdStr != null && subClassIdStr.contains(":")) {
-                      String subClassId = subClassIdStr.split(":")[1];
-                      for (Map.Entry<String, String> entry : idToClassIdMap.entrySet()) {
-                        if (entry.getValue().equals(classId)) {
-                          idToSubClassMap.put(entry.getKey(), subClassId);
-                        }
-                      }
-                    } else {
-                      LOGGER.debug(
-                          "Invalid @id in rdfs:subClassOf for class ID: {}", classId);
+      JsonArray graph = dmAr.result().getJsonArray("@graph");
+
+      if (graph != null) {
+        for (Object obj : graph) {
+          if (obj instanceof JsonObject) {
+            JsonObject graphItem = (JsonObject) obj;
+            if (("iudx:" + classId).equals(graphItem.getString("@id"))) {
+              JsonObject subClassOfObj = graphItem.getJsonObject("rdfs:subClassOf");
+              if (subClassOfObj != null) {
+                String subClassIdStr = subClassOfObj.getString("@id");
+                if (subClassIdStr != null && subClassIdStr.contains(":")) {
+                  String subClassId = subClassIdStr.split(":")[1];
+                  for (Map.Entry<String, String> entry : idToClassIdMap.entrySet()) {
+                    if (entry.getValue().equals(classId)) {
+                      idToSubClassMap.put(entry.getKey(), subClassId);
                     }
-                  } else {
-                    LOGGER.debug("Missing rdfs:subClassOf for class ID: {}", classId);
                   }
-                  break;
+                } else {
+                  LOGGER.debug("Invalid @id in rdfs:subClassOf for class ID: {}", classId);
                 }
+              } else {
+                LOGGER.debug("Missing rdfs:subClassOf for class ID: {}", classId);
               }
+              break;
             }
-          } else {
-            LOGGER.debug("Invalid graph array in response for URL: {}", dmUrl);
           }
         }
+      } else {
+        LOGGER.debug("Invalid graph array in response for URL: {}", dmUrl);
       }
     } else {
       LOGGER.debug("Failed to fetch data model for URL: {}", dmUrl, dmAr.cause());
@@ -0,0 +1,242 @@
+package iudx.catalogue.server.mlayer.vocabulary;
+
+import com.google.common.hash.Hashing;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.file.FileSystem;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Cache of the JSON-LD data models of the vocabulary server, keyed by URL. A data model is fetched
+ * once; afterwards it is served from the cache, and revalidated in the background with a
+ * conditional request ({@code If-None-Match} / {@code If-Modified-Since}) once it is older than the
+ * revalidation interval. A data model that cannot be revalidated keeps being served.
+ *
+ * <p>When given a directory, the cache writes every data model to it and {@link #load()} reads them
+ * back, so a restarted server does not fetch them again.
+ *
+ * <p>The cache is meant to be used from the context of the verticle that created it only.
+ */
+public class DataModelCache {
+  static final int MAX_CONCURRENT_FETCHES = 10;
+  private static final Logger LOGGER = LogManager.getLogger(DataModelCache.class);
+  private static final String URL = "url";
+  private static final String MODEL = "model";
+  private static final String ETAG = "etag";
+  private static final String LAST_MODIFIED = "lastModified";
+  private static final String VALIDATED_AT = "validatedAt";
+
+  private final WebClient webClient;
+  private final FileSystem fileSystem;
+  private final String directory;
+  private final long revalidateMillis;
+  private final Map<String, JsonObject> entries = new HashMap<>();
+  private final Map<String, Future<JsonObject>> fetching = new HashMap<>();
+  private final Deque<Runnable> waiting = new ArrayDeque<>();
+  private int activeFetches = 0;
+
+  /**
+   * Creates a cache kept in memory only.
+   *
+   * @param webClient the client of the vocabulary server
+   * @param revalidateSeconds the age after which a data model is revalidated
+   */
+  public DataModelCache(WebClient webClient, long revalidateSeconds) {
+    this(webClient, null, null, revalidateSeconds);
+  }
+
+  /**
+   * Creates a cache that persists the data models to a directory.
+   *
+   * @param webClient the client of the vocabulary server
+   * @param fileSystem the file system of the directory
+   * @param directory the directory the data models are written to, or null to keep them in memory
+   * @param revalidateSeconds the age after which a data model is revalidated
+   */
+  public DataModelCache(
+      WebClient webClient, FileSystem fileSystem, String directory, long revalidateSeconds) {
+    this.webClient = webClient;
+    this.fileSystem = fileSystem;
+    this.directory = directory;
+    this.revalidateMillis = TimeUnit.SECONDS.toMillis(revalidateSeconds);
+  }
+
+  /**
+   * Reads the data models persisted to the directory.
+   *
+   * @return the number of data models read
+   */
+  public Future<Integer> load() {
+    if (directory == null) {
+      return Future.succeededFuture(0);
+    }
+    return fileSystem
+        .mkdirs(directory)
+        .compose(v -> fileSystem.readDir(directory, ".*\\.json"))
+        .compose(
+            files -> {
+              List<Future<Buffer>> reads =
+                  files.stream().map(fileSystem::readFile).collect(Collectors.toList());
+              return Future.join(reads).transform(done -> Future.succeededFuture(reads));
+            })
+        .map(
+            reads -> {
+              int loaded = 0;
+              for (Future<Buffer> read : reads) {
+                try {
+                  JsonObject entry = read.result().toJsonObject();
+                  entries.putIfAbsent(entry.getString(URL), entry);
+                  loaded++;
+                } catch (Exception e) {
+                  LOGGER.warn("Skipping unreadable data model file: {}", e.getMessage());
+                }
+              }
+              LOGGER.info("Loaded {} data models from {}", loaded, directory);
+              return loaded;
+            });
+  }
+
+  /**
+   * Returns a data model, fetching it if it is not cached yet.
+   *
+   * @param url the URL of the JSON-LD data model
+   * @return the data model
+   */
+  public Future<JsonObject> get(String url) {
+    JsonObject entry = entries.get(url);
+    if (entry == null) {
+      return fetch(url, null);
+    }
+    if (System.currentTimeMillis() - entry.getLong(VALIDATED_AT, 0L) >= revalidateMillis) {
+      fetch(url, entry);
+    }
+    return Future.succeededFuture(entry.getJsonObject(MODEL));
+  }
+
+  /* Fetches a data model once however many ask for it, conditionally if it is cached */
+  private Future<JsonObject> fetch(String url, JsonObject cached) {
+    Future<JsonObject> inFlight = fetching.get(url);
+    if (inFlight != null) {
+      return inFlight;
+    }
+    Promise<JsonObject> promise = Promise.promise();
+    fetching.put(url, promise.future());
+    whenPermitted(
+        () -> {
+          HttpRequest<Buffer> request = webClient.getAbs(url);
+          if (cached != null && cached.getString(ETAG) != null) {
+            request.putHeader(HttpHeaders.IF_NONE_MATCH.toString(), cached.getString(ETAG));
+          }
+          if (cached != null && cached.getString(LAST_MODIFIED) != null) {
+            request.putHeader(
+                HttpHeaders.IF_MODIFIED_SINCE.toString(), cached.getString(LAST_MODIFIED));
+          }
+          request
+              .send()
+              .onComplete(
+                  ar -> {
+                    releasePermit();
+                    fetching.remove(url);
+                    if (ar.failed()) {
+                      LOGGER.debug("Failed to fetch data model for URL: {}", url, ar.cause());
+                      complete(promise, cached, "Failed to fetch data model");
+                    } else {
+                      handleResponse(url, cached, ar.result(), promise);
+                    }
+                  });
+        });
+    return promise.future();
+  }
+
+  private void handleResponse(
+      String url, JsonObject cached, HttpResponse<Buffer> response, Promise<JsonObject> promise) {
+    if (response.statusCode() == 304 && cached != null) {
+      cached.put(VALIDATED_AT, System.currentTimeMillis());
+      persist(cached);
+      promise.complete(cached.getJsonObject(MODEL));
+      return;
+    }
+    String contentType = response.getHeader(HttpHeaders.CONTENT_TYPE.toString());
+    if (response.statusCode() != 200 || response.body() == null) {
+      LOGGER.debug("No data model received for URL: {}", url);
+      complete(promise, cached, "No data model received");
+      return;
+    } else if (contentType == null || !contentType.contains("application/json")) {
+      LOGGER.debug("Invalid content-type received for URL: {}", url);
+      complete(promise, cached, "Invalid content-type received");
+      return;
+    }
+    JsonObject model;
+    try {
+      model = response.body().toJsonObject();
+    } catch (Exception e) {
+      LOGGER.debug("Failed to parse JSON response from URL: {}", url, e);
+      complete(promise, cached, "Failed to parse data model");
+      return;
+    }
+    JsonObject entry =
+        new JsonObject()
+            .put(URL, url)
+            .put(MODEL, model)
+            .put(ETAG, response.getHeader(HttpHeaders.ETAG.toString()))
+            .put(LAST_MODIFIED, response.getHeader(HttpHeaders.LAST_MODIFIED.toString()))
+            .put(VALIDATED_AT, System.currentTimeMillis());
+    entries.put(url, entry);
+    persist(entry);
+    promise.complete(model);
+  }
+
+  /* A data model that could not be revalidated is still served */
+  private static void complete(Promise<JsonObject> promise, JsonObject cached, String failure) {
+    if (cached != null) {
+      promise.complete(cached.getJsonObject(MODEL));
+    } else {
+      promise.fail(failure);
+    }
+  }
+
+  private void persist(JsonObject entry) {
+    if (directory == null) {
+      return;
+    }
+    String fileName =
+        Hashing.sha256().hashString(entry.getString(URL), StandardCharsets.UTF_8) + ".json";
+    fileSystem
+        .writeFile(directory + "/" + fileName, entry.toBuffer())
+        .onFailure(err -> LOGGER.warn("Failed to persist data model: {}", err.getMessage()));
+  }
+
+  /* Runs the fetch once fewer than MAX_CONCURRENT_FETCHES are in progress */
+  private void whenPermitted(Runnable fetch) {
+    if (activeFetches < MAX_CONCURRENT_FETCHES) {
+      activeFetches++;
+      fetch.run();
+    } else {
+      waiting.add(fetch);
+    }
+  }
+
+  private void releasePermit() {
+    Runnable next = waiting.poll();
+    if (next != null) {
+      next.run();
+    } else {
+      activeFetches--;
+    }
+  }
+}
@@ -2,13 +2,17 @@ package iudx.catalogue.server.nlpsearch;
 
 import static iudx.catalogue.server.util.Constants.*;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.Vertx;
 import io.vertx.core.eventbus.MessageConsumer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.micrometer.backends.BackendRegistries;
 import io.vertx.serviceproxy.ServiceBinder;
+import iudx.catalogue.server.nlpsearch.service.EmbeddingCache;
 import iudx.catalogue.server.nlpsearch.service.NLPSearchService;
 import iudx.catalogue.server.nlpsearch.service.NLPSearchServiceImpl;
 
@@ -48,8 +52,14 @@ public class NLPSearchVerticle extends AbstractVerticle {
     binder = new ServiceBinder(vertx);
     nlpServiceUrl = config().getString("nlpServiceUrl");
     nlpServicePort = config().getInteger("nlpServicePort");
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    EmbeddingCache embeddings =
+        new EmbeddingCache(
+            config().getLong(EMBEDDING_CACHE_MAX_SIZE, DEFAULT_EMBEDDING_CACHE_MAX_SIZE),
+            config().getLong(EMBEDDING_CACHE_TTL_SECONDS, DEFAULT_EMBEDDING_CACHE_TTL_SECONDS),
+            registry != null ? registry : Metrics.globalRegistry);
     nlpSearch = new NLPSearchServiceImpl(createWebClient(vertx, config()),
-                                          nlpServiceUrl, nlpServicePort);
+                                          nlpServiceUrl, nlpServicePort, embeddings);
     consumer =
         binder.setAddress(NLP_SERVICE_ADDRESS)
       .register(NLPSearchService.class, nlpSearch);
@@ -0,0 +1,147 @@
+package iudx.catalogue.server.nlpsearch.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the answers of the NLP service to search queries: the embedding of the query and the
+ * location extracted from it, keyed by the normalized query. The embedding is kept as a {@code
+ * float[]} rather than as a {@link JsonArray} of boxed numbers. The cache holds at most the
+ * configured number of queries, least recently used first out, and every query expires after the
+ * configured time to live.
+ *
+ * <p>A query asked for again while the NLP service is embedding it waits for the same answer
+ * instead of asking the NLP service again.
+ *
+ * <p>Hits and misses are counted in the {@value #GETS_METRIC} meter, tagged with {@code
+ * cache=embeddings}.
+ */
+public class EmbeddingCache {
+  public static final String GETS_METRIC = "cache.gets";
+  static final String RESULT = "result";
+  static final String LOCATION = "location";
+  private static final String CACHE_TAG = "cache";
+  private static final String CACHE_NAME = "embeddings";
+
+  private final Cache<String, Embedding> cache;
+  private final Map<String, Future<JsonObject>> inFlight = new ConcurrentHashMap<>();
+  private final Counter hits;
+  private final Counter misses;
+
+  /**
+   * Creates a cache.
+   *
+   * @param maxSize the number of queries kept; 0 disables the cache
+   * @param ttlSeconds how long the answer to a query is kept
+   * @param registry the registry of the cache metrics
+   */
+  public EmbeddingCache(long maxSize, long ttlSeconds, MeterRegistry registry) {
+    this.hits = counter(registry, "hit");
+    this.misses = counter(registry, "miss");
+    this.cache =
+        maxSize <= 0
+            ? null
+            : CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+                .build();
+  }
+
+  private static Counter counter(MeterRegistry registry, String result) {
+    return Counter.builder(GETS_METRIC)
+        .tag(CACHE_TAG, CACHE_NAME)
+        .tag("result", result)
+        .register(registry);
+  }
+
+  /* The same key for queries differing in case or whitespace only */
+  static String key(String query) {
+    return query.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+  }
+
+  /**
+   * Returns the cached answer to a query, or asks for it and caches it.
+   *
+   * @param query the search query
+   * @param loader asks the NLP service
+   * @return the answer, with the embedding in {@value #RESULT} and the location in {@value
+   *     #LOCATION}
+   */
+  public Future<JsonObject> get(String query, Supplier<Future<JsonObject>> loader) {
+    if (cache == null) {
+      return loader.get();
+    }
+    String key = key(query);
+    Embedding cached = cache.getIfPresent(key);
+    if (cached != null) {
+      hits.increment();
+      return Future.succeededFuture(cached.toJson());
+    }
+    Promise<JsonObject> promise = Promise.promise();
+    Future<JsonObject> pending = inFlight.putIfAbsent(key, promise.future());
+    if (pending != null) {
+      hits.increment();
+      return pending.map(JsonObject::copy);
+    }
+    misses.increment();
+
+    loader
+        .get()
+        .onComplete(
+            ar -> {
+              Embedding embedding = ar.succeeded() ? Embedding.of(ar.result()) : null;
+              if (embedding != null) {
+                cache.put(key, embedding);
+              }
+              inFlight.remove(key);
+              promise.handle(ar);
+            });
+    return promise.future().map(JsonObject::copy);
+  }
+
+  private static final class Embedding {
+    private final float[] vector;
+    private final String location;
+
+    private Embedding(float[] vector, String location) {
+      this.vector = vector;
+      this.location = location;
+    }
+
+    /* An answer without an embedding is not cached */
+    private static Embedding of(JsonObject answer) {
+      JsonArray result = answer == null ? null : answer.getJsonArray(RESULT);
+      if (result == null) {
+        return null;
+      }
+      try {
+        float[] vector = new float[result.size()];
+        for (int i = 0; i < vector.length; i++) {
+          vector[i] = result.getNumber(i).floatValue();
+        }
+        return new Embedding(vector, answer.getString(LOCATION));
+      } catch (ClassCastException | NullPointerException e) {
+        return null;
+      }
+    }
+
+    private JsonObject toJson() {
+      JsonArray result = new JsonArray();
+      for (float value : vector) {
+        result.add(value);
+      }
+      return new JsonObject().put(RESULT, result).put(LOCATION, location);
+    }
+  }
+}
@@ -26,6 +26,7 @@ public class NLPSearchServiceImpl implements NLPSearchService {
   static WebClient webClient;
   private final String nlpServiceUrl;
   private final int nlpServicePort;
+  private final EmbeddingCache embeddings;
 
   /**
    * Constructs a new instance of NLPSearchServiceImpl with the given parameters.
@@ -35,13 +36,34 @@ public class NLPSearchServiceImpl implements NLPSearchService {
    * @param nlpServicePort the port number of the NLP service
    */
   public NLPSearchServiceImpl(WebClient client, String nlpServiceUrl, int nlpServicePort) {
+    this(client, nlpServiceUrl, nlpServicePort, null);
+  }
+
+  /**
+   * Constructs a new instance of NLPSearchServiceImpl whose query embeddings are cached.
+   *
+   * @param client the WebClient used to make HTTP requests to the NLP service
+   * @param nlpServiceUrl the URL of the NLP service
+   * @param nlpServicePort the port number of the NLP service
+   * @param embeddings the cache of the query embeddings, or null to always ask the NLP service
+   */
+  public NLPSearchServiceImpl(
+      WebClient client, String nlpServiceUrl, int nlpServicePort, EmbeddingCache embeddings) {
     webClient = client;
     this.nlpServiceUrl = nlpServiceUrl;
     this.nlpServicePort = nlpServicePort;
+    this.embeddings = embeddings;
   }
 
   @Override
   public Future<JsonObject> search(String query) {
+    if (embeddings == null) {
+      return embed(query);
+    }
+    return embeddings.get(query, () -> embed(query));
+  }
+
+  private Future<JsonObject> embed(String query) {
     Promise<JsonObject> promise = Promise.promise();
     webClient
         .get(nlpServicePort, nlpServiceUrl, "/search")
@@ -2,7 +2,6 @@ package iudx.catalogue.server.rating.service;
 
 import static iudx.catalogue.server.auditing.util.Constants.ID;
 import static iudx.catalogue.server.common.util.ResponseBuilderUtil.*;
-import static iudx.catalogue.server.database.elastic.model.ElasticsearchResponse.getAggregations;
 import static iudx.catalogue.server.database.elastic.util.AggregationType.AVG;
 import static iudx.catalogue.server.database.elastic.util.Constants.DOC_COUNT;
 import static iudx.catalogue.server.database.elastic.util.Constants.ID_KEYWORD;
@@ -23,6 +22,7 @@ import static iudx.catalogue.server.util.Constants.FILTER_PAGINATION_FROM;
 import static iudx.catalogue.server.util.Constants.KEYWORD_KEY;
 import static iudx.catalogue.server.util.Constants.MAX_LIMIT;
 import static iudx.catalogue.server.util.Constants.TITLE_REQUIREMENTS_NOT_MET;
+import static iudx.catalogue.server.util.Constants.TOTAL_HITS;
 import static iudx.catalogue.server.util.Constants.TOTAL_RATINGS;
 import static iudx.catalogue.server.util.Constants.TYPE_ACCESS_DENIED;
 import static iudx.catalogue.server.util.Constants.UPDATE;
@@ -41,6 +41,7 @@ import iudx.catalogue.server.database.elastic.service.ElasticsearchService;
 import iudx.catalogue.server.database.elastic.util.AggregationType;
 import iudx.catalogue.server.database.elastic.util.BoolOperator;
 import iudx.catalogue.server.database.postgres.service.PostgresService;
+import iudx.catalogue.server.database.postgres.service.QueryIntent;
 import iudx.catalogue.server.databroker.model.QueryObject;
 import iudx.catalogue.server.databroker.service.RabbitMQService;
 import iudx.catalogue.server.util.Constants;
@@ -54,7 +55,7 @@ import org.apache.logging.log4j.Logger;
 
 public class RatingServiceImpl implements RatingService {
   private static final Logger LOGGER = LogManager.getLogger(RatingServiceImpl.class);
-  private final String rsauditingtable;
+  private final String auditInfoQuery;
   private final int minReadNumber;
   private final String ratingIndex;
   private final String docIndex;
@@ -84,7 +85,7 @@ public class RatingServiceImpl implements RatingService {
       RabbitMQService rmqService,
       PostgresService postgresService) {
     this.ratingExchangeName = exchangeName;
-    this.rsauditingtable = rsauditingtable;
+    this.auditInfoQuery = AUDIT_INFO_QUERY.replace("$a", rsauditingtable);
     this.minReadNumber = minReadNumber;
     this.ratingIndex = ratingIndex;
     this.esService = elasticsearchService;
@@ -119,10 +120,7 @@ public class RatingServiceImpl implements RatingService {
 
     String sub = ratingDoc.getString(USER_ID);
     String id = ratingDoc.getString(ID);
-    StringBuilder query =
-        new StringBuilder(
-            AUDIT_INFO_QUERY.replace("$1", rsauditingtable).replace("$2", sub).replace("$3", id));
-    Future<JsonObject> getRsAuditingInfo = getAuditingInfo(query);
+    Future<JsonObject> getRsAuditingInfo = getAuditingInfo(sub, id);
 
     getRsAuditingInfo
         .onSuccess(
@@ -146,7 +144,7 @@ public class RatingServiceImpl implements RatingService {
                             LOGGER.error("Fail: Insertion of rating failed: " + checkRes.cause());
                             promise.fail(failureResp(ratingId));
                           } else {
-                            if (!checkRes.result().isEmpty()) {
+                            if (!checkRes.result().getHits().isEmpty()) {
                               promise.fail(
                                   itemAlreadyExistsResponse(ratingId, " Fail: Doc Already Exists"));
                               return;
@@ -220,10 +218,14 @@ public class RatingServiceImpl implements RatingService {
                           if (getRes.succeeded()) {
                             LOGGER.debug("Success: Successful DB request");
                             DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
-                            responseMsg.statusSuccess().setTotalHits(getRes.result().size());
+                            responseMsg
+                                .statusSuccess()
+                                .setTotalHits(getRes.result().getHits().size());
                             try {
                               JsonArray globalAggregations =
-                                  getAggregations()
+                                  getRes
+                                      .result()
+                                      .getAggregations()
                                       .getJsonObject(Constants.RESULTS)
                                       .getJsonArray(BUCKETS);
                               // Process the global aggregations using streams
@@ -285,7 +287,7 @@ public class RatingServiceImpl implements RatingService {
             getRes -> {
               if (getRes.succeeded()) {
                 LOGGER.debug("Success: Successful DB request");
-                List<ElasticsearchResponse> responseList = getRes.result();
+                List<ElasticsearchResponse> responseList = getRes.result().getHits();
                 DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
                 responseMsg.statusSuccess();
                 if (!request.containsKey(RATING_ID)) {
@@ -350,7 +352,7 @@ public class RatingServiceImpl implements RatingService {
             res -> {
               if (res.succeeded()) {
                 List<String> idCollector =
-                    res.result().stream()
+                    res.result().getHits().stream()
                         .map(ElasticsearchResponse::getSource)
                         .map(d -> d.getString(ID))
                         .collect(Collectors.toList());
@@ -384,14 +386,14 @@ public class RatingServiceImpl implements RatingService {
                 LOGGER.error("Fail: Check query fail;" + checkRes.cause());
                 promise.fail(internalErrorResp());
               } else {
-                if (checkRes.result().size() != 1) {
+                if (checkRes.result().getHits().size() != 1) {
                   LOGGER.error("Fail: Doc doesn't exist, can't update");
                   promise.fail(
                       itemNotFoundResponse(
                           ratingId, UPDATE, "Fail: Doc doesn't exist, can't update"));
                   return;
                 }
-                String docId = checkRes.result().get(0).getDocId();
+                String docId = checkRes.result().getHits().get(0).getDocId();
                 esService
                     .updateDocument(ratingIndex, docId, ratingDoc)
                     .onComplete(
@@ -430,14 +432,14 @@ public class RatingServiceImpl implements RatingService {
                 LOGGER.error("Fail: Check query fail;" + checkRes.cause());
                 promise.fail(internalErrorResp());
               } else {
-                if (checkRes.result().size() != 1) {
+                if (checkRes.result().getHits().size() != 1) {
                   LOGGER.error("Fail: Doc doesn't exist, can't delete");
                   promise.fail(
                       itemNotFoundResponse(
                           ratingId, DELETE, "Fail: Doc doesn't exist, can't delete"));
                   return;
                 }
-                String docId = checkRes.result().get(0).getDocId();
+                String docId = checkRes.result().getHits().get(0).getDocId();
                 esService
                     .deleteDocument(ratingIndex, docId)
                     .onComplete(
@@ -454,14 +456,24 @@ public class RatingServiceImpl implements RatingService {
     return promise.future();
   }
 
-  public Future<JsonObject> getAuditingInfo(StringBuilder query) {
+  /**
+   * Counts the accesses of a user to a resource in the auditing table of the resource server.
+   *
+   * @param sub the user id
+   * @param id the resource id
+   * @return the count in totalHits
+   */
+  public Future<JsonObject> getAuditingInfo(String sub, String id) {
     Promise<JsonObject> promise = Promise.promise();
     postgresService
-        .executeCountQuery(query.toString())
+        .executePrepared(
+            auditInfoQuery, new JsonArray().add(sub).add(id), QueryIntent.TRANSACTIONAL)
         .onComplete(
             pgHandler -> {
               if (pgHandler.succeeded()) {
-                promise.complete(pgHandler.result());
+                JsonArray results = pgHandler.result().getJsonArray(RESULTS, new JsonArray());
+                long count = results.isEmpty() ? 0 : results.getJsonObject(0).getLong("count", 0L);
+                promise.complete(new JsonObject().put(TOTAL_HITS, count));
               } else {
                 promise.fail(pgHandler.cause());
               }
@@ -11,5 +11,5 @@ public class Constants {
   public static final String TYPE = "type";
   public static final String STATUS = "status";
   public static final String AUDIT_INFO_QUERY =
-      "SELECT count(*) from $1 where userId='$2' and resourceid='$3'";
+      "SELECT count(*) AS count from $a where userId = $1 and resourceid = $2";
 }
@@ -101,12 +101,12 @@ public class RelationshipServiceImpl implements RelationshipService {
     Promise<JsonObject> promise = Promise.promise();
     esService.search(docIndex, queryModel).onComplete(queryHandler -> {
       if (queryHandler.succeeded()) {
-        if (queryHandler.result().isEmpty()) {
+        if (queryHandler.result().getHits().isEmpty()) {
           promise.fail(
               itemNotFoundResponse("Item id given is not present"));
           return;
         }
-        JsonObject relType = queryHandler.result().get(0).getSource();
+        JsonObject relType = queryHandler.result().getHits().get(0).getSource();
 
         Set<String> type = new HashSet<String>(relType.getJsonArray(TYPE).getList());
         type.retainAll(ITEM_TYPES);
@@ -152,7 +152,7 @@ public class RelationshipServiceImpl implements RelationshipService {
         .onComplete(searchRes -> {
           if (searchRes.succeeded()) {
             LOGGER.debug("Success: Successful DB request");
-            List<ElasticsearchResponse> response = searchRes.result();
+            List<ElasticsearchResponse> response = searchRes.result().getHits();
             DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
             responseMsg.statusSuccess().setTotalHits(response.size());
             response.stream()
@@ -199,7 +199,7 @@ public class RelationshipServiceImpl implements RelationshipService {
                 return;
               }
               JsonArray serverResult = new JsonArray();
-              serverSearch.result().stream()
+              serverSearch.result().getHits().stream()
                   .map(ElasticsearchResponse::getSource)
                   .peek(source -> {
                     source.remove(SUMMARY_KEY);
@@ -236,8 +236,8 @@ public class RelationshipServiceImpl implements RelationshipService {
     esService.search(docIndex, queryModel)
         .onComplete(
             serverSearch -> {
-              if (serverSearch.succeeded() && !serverSearch.result().isEmpty()) {
-                JsonObject serverResult = serverSearch.result().get(0).getSource();
+              if (serverSearch.succeeded() && !serverSearch.result().getHits().isEmpty()) {
+                JsonObject serverResult = serverSearch.result().getHits().get(0).getSource();
                 serverResult.remove(SUMMARY_KEY);
                 serverResult.remove(WORD_VECTOR_KEY);
                 request.mergeIn(serverResult);
@@ -315,7 +315,7 @@ public class RelationshipServiceImpl implements RelationshipService {
               searchRes -> {
                 if (searchRes.succeeded()) {
 
-                  List<ElasticsearchResponse> response = searchRes.result();
+                  List<ElasticsearchResponse> response = searchRes.result().getHits();
                   DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
                   responseMsg.statusSuccess().setTotalHits(response.size());
                   response.stream()
@@ -367,7 +367,8 @@ public class RelationshipServiceImpl implements RelationshipService {
                             if (relSearchRes.succeeded()) {
 
                               LOGGER.debug("Success: Successful DB request");
-                              List<ElasticsearchResponse> responseList = relSearchRes.result();
+                              List<ElasticsearchResponse> responseList =
+                                  relSearchRes.result().getHits();
                               DbResponseMessageBuilder responseMessage =
                                   new DbResponseMessageBuilder();
                               responseMessage.statusSuccess().setTotalHits(responseList.size());
@@ -30,6 +30,7 @@ public class Api {
   private StringBuilder routeMlayerGeoquery;
   private StringBuilder routeMlayerDataset;
   private StringBuilder routeMlayerPopularDatasets;
+  private StringBuilder routeMlayerPopularDatasetsRefresh;
   private StringBuilder routeRating;
   private StringBuilder summaryCountSizeApi;
   private StringBuilder realDatasetApi;
@@ -81,6 +82,8 @@ public class Api {
     routeMlayerDataset = new StringBuilder(dxApiBasePath).append(ROUTE_MLAYER_DATASET);
     routeMlayerPopularDatasets =
         new StringBuilder(dxApiBasePath).append(ROUTE_MLAYER_POPULAR_DATASETS);
+    routeMlayerPopularDatasetsRefresh =
+        new StringBuilder(dxApiBasePath).append(ROUTE_MLAYER_POPULAR_DATASETS_REFRESH);
     routeRating = new StringBuilder(ROUTE_RATING);
     summaryCountSizeApi = new StringBuilder(dxApiBasePath).append(SUMMARY_TOTAL_COUNT_SIZE_API);
     realDatasetApi = new StringBuilder(dxApiBasePath).append(COUNT_SIZE_API);
@@ -167,6 +170,10 @@ public class Api {
     return routeMlayerPopularDatasets.toString();
   }
 
+  public String getRouteMlayerPopularDatasetsRefresh() {
+    return routeMlayerPopularDatasetsRefresh.toString();
+  }
+
   public String getRouteRating() {
     return routeRating.toString();
   }
@@ -17,6 +17,10 @@ public class Constants {
   public static final String VALIDATION_SERVICE_ADDRESS = "iudx.catalogue.validator.service";
   public static final String GEOCODING_SERVICE_ADDRESS = "iudx.catalogue.geocoding.service";
   public static final String NLP_SERVICE_ADDRESS = "iudx.catalogue.nlpsearch.service";
+  public static final String EMBEDDING_CACHE_MAX_SIZE = "embeddingCacheMaxSize";
+  public static final long DEFAULT_EMBEDDING_CACHE_MAX_SIZE = 10000;
+  public static final String EMBEDDING_CACHE_TTL_SECONDS = "embeddingCacheTtlSeconds";
+  public static final long DEFAULT_EMBEDDING_CACHE_TTL_SECONDS = 3600;
   public static final String AUDITING_SERVICE_ADDRESS = "iudx.catalogue.auditing.service";
   public static final String RATING_SERVICE_ADDRESS = "iudx.catalogue.rating.service";
   public static final String MLAYER_SERVICE_ADDRESS = "iudx.catalogue.mlayer.service";
@@ -119,6 +123,8 @@ public class Constants {
   public static final String Q_VALUE = "q";
   public static final String LIMIT = "limit";
   public static final String OFFSET = "offset";
+  public static final String CURSOR = "cursor";
+  public static final String NEXT_CURSOR = "nextCursor";
 
   /** SearchTypes. */
   public static final String SEARCH_TYPE = "searchType";
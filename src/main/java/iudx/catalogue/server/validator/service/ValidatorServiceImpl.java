@@ -339,7 +339,7 @@ public class ValidatorServiceImpl implements ValidatorService {
                 LOGGER.debug("Fail: DB Error");
                 promise.fail(VALIDATION_FAILURE_MSG);
               }
-              List<ElasticsearchResponse> responseList = res.result();
+              List<ElasticsearchResponse> responseList = res.result().getHits();
               DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
               responseMsg.statusSuccess();
               responseMsg.setTotalHits(responseList.size());
@@ -410,7 +410,7 @@ public class ValidatorServiceImpl implements ValidatorService {
                 promise.fail(VALIDATION_FAILURE_MSG);
                 return;
               }
-              List<ElasticsearchResponse> responseList = res.result();
+              List<ElasticsearchResponse> responseList = res.result().getHits();
               DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
               responseMsg.statusSuccess();
               responseMsg.setTotalHits(responseList.size());
@@ -479,7 +479,7 @@ public class ValidatorServiceImpl implements ValidatorService {
                 promise.fail(VALIDATION_FAILURE_MSG);
                 return;
               }
-              List<ElasticsearchResponse> responseList = res.result();
+              List<ElasticsearchResponse> responseList = res.result().getHits();
               DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
               responseMsg.statusSuccess();
               responseMsg.setTotalHits(responseList.size());
@@ -554,7 +554,7 @@ public class ValidatorServiceImpl implements ValidatorService {
                 promise.fail(VALIDATION_FAILURE_MSG);
                 return;
               }
-              List<ElasticsearchResponse> responseList = res.result();
+              List<ElasticsearchResponse> responseList = res.result().getHits();
               DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
               responseMsg.statusSuccess();
               responseMsg.setTotalHits(responseList.size());
@@ -629,7 +629,7 @@ public class ValidatorServiceImpl implements ValidatorService {
                 promise.fail(VALIDATION_FAILURE_MSG);
                 return;
               }
-              List<ElasticsearchResponse> responseList = res.result();
+              List<ElasticsearchResponse> responseList = res.result().getHits();
               DbResponseMessageBuilder responseMsg = new DbResponseMessageBuilder();
               responseMsg.statusSuccess();
               responseMsg.setTotalHits(responseList.size());
@@ -685,7 +685,7 @@ public class ValidatorServiceImpl implements ValidatorService {
                 promise.fail(VALIDATION_FAILURE_MSG);
                 return;
               }
-              if (method.equalsIgnoreCase(REQUEST_POST) && !res.result().isEmpty()) {
+              if (method.equalsIgnoreCase(REQUEST_POST) && !res.result().getHits().isEmpty()) {
                 LOGGER.debug("Owner item already exists");
                 promise.fail("Fail: Owner item already exists");
               } else {
@@ -0,0 +1,180 @@
+package iudx.catalogue.server.apiserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import iudx.catalogue.server.common.CatalogueVersion;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+class EtagHandlerTest {
+  private final AtomicInteger served = new AtomicInteger();
+  private CatalogueVersion version;
+  private WebClient client;
+  private int port;
+
+  private static Future<Long> await(Vertx vertx, CatalogueVersion version, LongPredicate ready) {
+    Promise<Long> promise = Promise.promise();
+    vertx.setPeriodic(
+        10,
+        id -> {
+          if (ready.test(version.current())) {
+            vertx.cancelTimer(id);
+            promise.complete(version.current());
+          }
+        });
+    return promise.future();
+  }
+
+  @BeforeEach
+  void setUp(Vertx vertx, VertxTestContext testContext) {
+    version = CatalogueVersion.shared(vertx);
+    Router router = Router.router(vertx);
+    router.get("/item").handler(new EtagHandler(version));
+    router
+        .get("/item")
+        .handler(
+            routingContext -> {
+              served.incrementAndGet();
+              int status = routingContext.queryParams().contains("id") ? 200 : 404;
+              routingContext.response().setStatusCode(status).end("{}");
+            });
+    client = WebClient.create(vertx);
+    vertx
+        .createHttpServer()
+        .requestHandler(router)
+        .listen(0)
+        .onComplete(
+            testContext.succeeding(
+                server -> {
+                  port = server.actualPort();
+                  testContext.completeNow();
+                }));
+  }
+
+  private Future<HttpResponse<Buffer>> get(String uri, String ifNoneMatch) {
+    return get(uri, ifNoneMatch, null);
+  }
+
+  private Future<HttpResponse<Buffer>> get(String uri, String ifNoneMatch, String instance) {
+    var request = client.get(port, "localhost", uri);
+    if (ifNoneMatch != null) {
+      request.putHeader("If-None-Match", ifNoneMatch);
+    }
+    if (instance != null) {
+      request.putHeader("instance", instance);
+    }
+    return request.send();
+  }
+
+  @Test
+  @DisplayName("A response is not sent again while the catalogue version is unchanged")
+  void testNotModified(Vertx vertx, VertxTestContext testContext) {
+    await(vertx, version, current -> current > 0)
+        .compose(current -> get("/item?id=a", null))
+        .compose(
+            first -> {
+              assertEquals(200, first.statusCode());
+              assertEquals("no-cache", first.getHeader("Cache-Control"));
+              assertTrue(first.getHeader("ETag").startsWith("W/\""));
+              return get("/item?id=a", first.getHeader("ETag"));
+            })
+        .onComplete(
+            testContext.succeeding(
+                second -> {
+                  assertEquals(304, second.statusCode());
+                  assertEquals(1, served.get());
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  @DisplayName("A write makes the previous ETags stale")
+  void testWriteChangesEtag(Vertx vertx, VertxTestContext testContext) {
+    await(vertx, version, current -> current > 0)
+        .compose(current -> get("/item?id=a", null))
+        .compose(
+            first -> {
+              long before = version.current();
+              version.bump();
+              return await(vertx, version, current -> current > before)
+                  .compose(current -> get("/item?id=a", first.getHeader("ETag")))
+                  .map(
+                      second -> {
+                        assertEquals(200, second.statusCode());
+                        assertFalse(first.getHeader("ETag").equals(second.getHeader("ETag")));
+                        return second;
+                      });
+            })
+        .onComplete(
+            testContext.succeeding(
+                second -> {
+                  assertEquals(2, served.get());
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  @DisplayName("The same request for two instances is tagged differently")
+  void testInstanceChangesEtag(Vertx vertx, VertxTestContext testContext) {
+    await(vertx, version, current -> current > 0)
+        .compose(current -> get("/item?id=a", null, "pune"))
+        .compose(
+            pune -> {
+              assertEquals("instance", pune.getHeader("Vary"));
+              return get("/item?id=a", pune.getHeader("ETag"), "surat")
+                  .map(
+                      surat -> {
+                        assertEquals(200, surat.statusCode());
+                        assertFalse(pune.getHeader("ETag").equals(surat.getHeader("ETag")));
+                        return surat;
+                      });
+            })
+        .onComplete(
+            testContext.succeeding(
+                surat -> {
+                  assertEquals(2, served.get());
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  @DisplayName("Errors are not tagged")
+  void testErrorsAreNotTagged(Vertx vertx, VertxTestContext testContext) {
+    await(vertx, version, current -> current > 0)
+        .compose(current -> get("/item", null))
+        .onComplete(
+            testContext.succeeding(
+                response -> {
+                  assertEquals(404, response.statusCode());
+                  assertNull(response.getHeader("ETag"));
+                  testContext.completeNow();
+                }));
+  }
+
+  @Test
+  @DisplayName("If-None-Match is compared weakly, against each tag listed")
+  void testMatches() {
+    assertTrue(EtagHandler.matches("\"1\", W/\"42\"", "W/\"42\""));
+    assertTrue(EtagHandler.matches("\"42\"", "W/\"42\""));
+    assertFalse(EtagHandler.matches("*", "W/\"42\""));
+    assertFalse(EtagHandler.matches("W/\"41\"", "W/\"42\""));
+    assertEquals("W/\"42-cHVuZQ\"", EtagHandler.etag(42, "pune"));
+  }
+}
@@ -0,0 +1,70 @@
+package iudx.catalogue.server.apiserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.common.CatalogueVersion;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ListingCacheTest {
+  private final AtomicInteger listed = new AtomicInteger();
+  private CatalogueVersion version;
+
+  private Future<JsonObject> list(String tag) {
+    listed.incrementAndGet();
+    return Future.succeededFuture(new JsonObject().put("results", new JsonArray().add(tag)));
+  }
+
+  @BeforeEach
+  void setUp() {
+    version = mock(CatalogueVersion.class);
+  }
+
+  @Test
+  @DisplayName("A listing is read once while the catalogue is not written")
+  void testListingIsReadOnce() {
+    when(version.current()).thenReturn(7L);
+    ListingCache cache = new ListingCache(version, 10, 3600, new SimpleMeterRegistry());
+
+    cache.get("tags||null|null", () -> list("flood")).result().put("results", new JsonArray());
+    JsonObject cached = cache.get("tags||null|null", () -> list("flood")).result();
+    cache.get("tags|pune|null|null", () -> list("water"));
+
+    assertEquals("flood", cached.getJsonArray("results").getString(0));
+    assertEquals(2, listed.get());
+  }
+
+  @Test
+  @DisplayName("A write of the catalogue makes the listing read again")
+  void testWriteInvalidatesListing() {
+    when(version.current()).thenReturn(7L, 7L, 8L);
+    ListingCache cache = new ListingCache(version, 10, 3600, new SimpleMeterRegistry());
+
+    cache.get("tags||null|null", () -> list("flood"));
+    cache.get("tags||null|null", () -> list("flood"));
+    JsonObject relisted = cache.get("tags||null|null", () -> list("water")).result();
+
+    assertEquals("water", relisted.getJsonArray("results").getString(0));
+    assertEquals(2, listed.get());
+  }
+
+  @Test
+  @DisplayName("Nothing is cached while the catalogue version is not known")
+  void testUnknownVersion() {
+    when(version.current()).thenReturn(-1L);
+    ListingCache cache = new ListingCache(version, 10, 3600, new SimpleMeterRegistry());
+
+    cache.get("tags||null|null", () -> list("flood"));
+    cache.get("tags||null|null", () -> list("flood"));
+
+    assertEquals(2, listed.get());
+  }
+}
@@ -0,0 +1,84 @@
+package iudx.catalogue.server.apiserver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.Router;
+import iudx.catalogue.server.database.elastic.model.ElasticsearchResponse;
+import iudx.catalogue.server.database.elastic.model.QueryModel;
+import iudx.catalogue.server.database.elastic.model.SearchResult;
+import iudx.catalogue.server.database.elastic.service.ElasticsearchService;
+import iudx.catalogue.server.exceptions.FailureHandler;
+import iudx.catalogue.server.geocoding.service.GeocodingService;
+import iudx.catalogue.server.nlpsearch.service.NLPSearchService;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class SearchControllerTest {
+  private static final JsonArray EMBEDDINGS = new JsonArray().add(new JsonArray().add(0.5));
+  private static final JsonObject PLACES =
+      new JsonObject()
+          .put("results", new JsonArray().add(new JsonObject().put("locality", "Kothrud")));
+
+  private ElasticsearchService esService;
+  private SearchController controller;
+
+  @BeforeEach
+  void setUp() {
+    esService = mock(ElasticsearchService.class);
+    controller =
+        new SearchController(
+            mock(Router.class, RETURNS_DEEP_STUBS),
+            esService,
+            mock(GeocodingService.class),
+            mock(NLPSearchService.class),
+            mock(FailureHandler.class),
+            "/dx/cat/v1",
+            "cat",
+            10,
+            100);
+  }
+
+  private QueryModel searchedPage(int offset, int limit, long totalHits) {
+    ElasticsearchResponse hit = new ElasticsearchResponse("a", new JsonObject().put("id", "a"));
+    when(esService.search(eq("cat"), any()))
+        .thenReturn(Future.succeededFuture(new SearchResult(List.of(hit), totalHits, null)));
+    ArgumentCaptor<QueryModel> query = ArgumentCaptor.forClass(QueryModel.class);
+
+    JsonObject response =
+        controller.nlpSearchLocationQuery(EMBEDDINGS, PLACES, offset, limit).result();
+
+    verify(esService).search(eq("cat"), query.capture());
+    assertEquals(totalHits, response.getLong("totalHits"));
+    return query.getValue();
+  }
+
+  @Test
+  @DisplayName("A location search pages over the nearest items of every candidate place")
+  void testLocationSearchIsPaged() {
+    QueryModel query = searchedPage(4, 3, 10);
+
+    assertEquals("4", query.getOffset());
+    assertEquals("3", query.getLimit());
+  }
+
+  @Test
+  @DisplayName("A page of a location search does not reach past the nlpSearchK nearest items")
+  void testLocationSearchPageIsBoundedByK() {
+    QueryModel query = searchedPage(8, 5, 10);
+
+    assertEquals("8", query.getOffset());
+    assertEquals("2", query.getLimit());
+  }
+}
@@ -8,6 +8,7 @@ import static iudx.catalogue.server.util.Constants.ITEM_TYPE_INSTANCE;
 import static iudx.catalogue.server.util.Constants.TITLE_ITEM_NOT_FOUND;
 import static iudx.catalogue.server.util.Constants.TYPE;
 import static iudx.catalogue.server.util.Constants.TYPE_ITEM_NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
 import io.vertx.core.Future;
@@ -32,6 +33,7 @@ import java.util.NoSuchElementException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +46,7 @@ public class CrudControllerTest {
   private RoutingContext routingContext;
   private HttpServerResponse response;
   private HttpServerRequest request;
+  private ValidatorService validatorService;
 
   @BeforeEach
   void setUp() {
@@ -65,12 +68,12 @@ public class CrudControllerTest {
     when(route.handler(any())).thenReturn(route);
 
     crudService = mock(CrudService.class);
-    ValidatorService validatorService = mock(ValidatorService.class);
+    validatorService = mock(ValidatorService.class);
     AuthenticationHandler authenticationHandler = mock(AuthenticationHandler.class);
     AuthorizationHandler authorizationHandler = mock(AuthorizationHandler.class);
     AuditHandler auditHandler = mock(AuditHandler.class);
     FailureHandler failureHandler = mock(FailureHandler.class);
-    crudController = new CrudController(router, false, "host", crudService, validatorService,
+    crudController = new CrudController(router, false, "host", 2, crudService, validatorService,
         authenticationHandler, authorizationHandler, auditHandler, failureHandler);
   }
 
@@ -144,6 +147,55 @@ public class CrudControllerTest {
     verify(response).end("Creation Failed");
   }
 
+  @Test
+  void testCreateItemsBatchInChunks() {
+    JsonArray items = new JsonArray()
+        .add(resource("a1b2c3d4-0000-0000-0000-000000000001"))
+        .add(resource("a1b2c3d4-0000-0000-0000-000000000002").put("name", "bad name!"))
+        .add(resource("a1b2c3d4-0000-0000-0000-000000000003"));
+    JsonArray created = new JsonArray().add(new JsonObject()
+        .put("id", "a1b2c3d4-0000-0000-0000-000000000001").put("title", "urn:dx:cat:Success"));
+
+    when(routingContext.response()).thenReturn(response);
+    when(response.setStatusCode(anyInt())).thenReturn(response);
+    when(RoutingContextHelper.getValidatedRequest(routingContext))
+        .thenReturn(new JsonObject().put("items", items));
+    when(validatorService.validateItem(any(JsonObject.class)))
+        .thenReturn(Future.succeededFuture(items.getJsonObject(0)))
+        .thenReturn(Future.failedFuture("Fail: Resource item already exists"));
+    when(crudService.createItems(anyList()))
+        .thenReturn(Future.succeededFuture(created))
+        .thenReturn(Future.succeededFuture(new JsonArray()));
+    when(routingContext.normalizedPath()).thenReturn("/items/batch");
+
+    crudController.createItemsBatchHandler(routingContext);
+
+    // chunks of 2: the second item fails the schema and the third the link validation
+    verify(validatorService, times(2)).validateItem(any(JsonObject.class));
+    verify(crudService, times(2)).createItems(anyList());
+    verify(response).setStatusCode(207);
+    ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+    verify(response).end(body.capture());
+    JsonArray results = new JsonObject(body.getValue()).getJsonArray("results");
+    assertEquals(3, results.size());
+    assertEquals(1, results.stream().map(JsonObject.class::cast)
+        .filter(result -> "urn:dx:cat:Success".equals(result.getString("title"))).count());
+  }
+
+  private static JsonObject resource(String id) {
+    return new JsonObject()
+        .put("id", id)
+        .put("type", new JsonArray().add("iudx:Resource"))
+        .put("name", "sensor")
+        .put("description", "a sensor")
+        .put("tags", new JsonArray().add("aqm"))
+        .put("provider", "b1b2c3d4-0000-0000-0000-000000000000")
+        .put("resourceGroup", "c1b2c3d4-0000-0000-0000-000000000000")
+        .put("resourceServer", "d1b2c3d4-0000-0000-0000-000000000000")
+        .put("apdURL", "apd.example.com")
+        .put("accessPolicy", "OPEN");
+  }
+
   @Test
   void testGetItemSuccess() {
     String itemId = "item1";
@@ -0,0 +1,105 @@
+package iudx.catalogue.server.apiserver.item.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+class ItemCacheTest {
+
+  private static Future<JsonObject> load(AtomicInteger loads) {
+    loads.incrementAndGet();
+    return Future.succeededFuture(new JsonObject().put("id", "item").put("name", "a"));
+  }
+
+  @Test
+  @DisplayName("An item is read once per set of fields")
+  void testItemIsCachedPerFieldSet(Vertx vertx) {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ItemCache cache = new ItemCache(vertx, 10, 60, registry);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get("item", List.of("id", "name"), () -> load(loads));
+    cache.get("item", List.of("name", "id"), () -> load(loads)).result().put("name", "changed");
+    JsonObject cached = cache.get("item", List.of("id", "name"), () -> load(loads)).result();
+    cache.get("item", null, () -> load(loads));
+
+    assertEquals(2, loads.get());
+    assertEquals("a", cached.getString("name"));
+    assertEquals(2.0, registry.get(ItemCache.GETS_METRIC).tag("result", "hit").counter().count());
+    assertEquals(2.0, registry.get(ItemCache.GETS_METRIC).tag("result", "miss").counter().count());
+  }
+
+  @Test
+  @DisplayName("Missing items are not cached")
+  void testMissingItemIsNotCached(Vertx vertx) {
+    ItemCache cache = new ItemCache(vertx, 10, 60, new SimpleMeterRegistry());
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get("item", null, () -> {
+      loads.incrementAndGet();
+      return Future.succeededFuture();
+    });
+    assertEquals("a", cache.get("item", null, () -> load(loads)).result().getString("name"));
+
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  @DisplayName("An invalidation reaches the caches of the other nodes")
+  void testInvalidationIsPublished(Vertx vertx, VertxTestContext testContext) {
+    ItemCache writer = new ItemCache(vertx, 10, 60, new SimpleMeterRegistry());
+    ItemCache reader = new ItemCache(vertx, 10, 60, new SimpleMeterRegistry());
+    AtomicInteger loads = new AtomicInteger();
+    reader.get("item", null, () -> load(loads));
+
+    writer.invalidate("item");
+
+    vertx.setTimer(100, id -> testContext.verify(() -> {
+      reader.get("item", null, () -> load(loads));
+      assertEquals(2, loads.get());
+      testContext.completeNow();
+    }));
+  }
+
+  @Test
+  @DisplayName("An item read while it is invalidated is not cached")
+  void testReadRacingWriteIsNotCached(Vertx vertx) {
+    ItemCache cache = new ItemCache(vertx, 10, 60, new SimpleMeterRegistry());
+    AtomicInteger loads = new AtomicInteger();
+    Promise<JsonObject> staleRead = Promise.promise();
+
+    cache.get("item", null, staleRead::future);
+    cache.invalidate("item");
+    staleRead.complete(new JsonObject().put("id", "item"));
+    cache.get("item", null, () -> load(loads));
+
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  @DisplayName("Least recently used items are evicted")
+  void testEviction(Vertx vertx) {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ItemCache cache = new ItemCache(vertx, 1, 60, registry);
+    AtomicInteger loads = new AtomicInteger();
+
+    cache.get("first", null, () -> load(loads));
+    cache.get("second", null, () -> load(loads));
+    cache.get("first", null, () -> load(loads));
+
+    assertEquals(3, loads.get());
+    assertEquals(2.0, registry.get(ItemCache.EVICTIONS_METRIC).counter().count());
+  }
+}
@@ -0,0 +1,146 @@
+package iudx.catalogue.server.apiserver.item.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import iudx.catalogue.server.apiserver.ListingCache;
+import iudx.catalogue.server.apiserver.item.model.Item;
+import iudx.catalogue.server.common.CatalogueVersion;
+import iudx.catalogue.server.database.elastic.model.SearchResult;
+import iudx.catalogue.server.database.elastic.service.ElasticsearchService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+class ItemServiceImplTest {
+  private ElasticsearchService esService;
+  private CatalogueVersion catalogueVersion;
+  private ItemServiceImpl itemService;
+
+  private static Item item(String id) {
+    Item item = mock(Item.class);
+    when(item.toJson())
+        .thenReturn(
+            new JsonObject()
+                .put("id", id)
+                .put("type", new JsonArray().add("iudx:Resource"))
+                .put("name", id));
+    return item;
+  }
+
+  private static JsonObject bulkResult(String id, String status) {
+    return new JsonObject().put("id", id).put("method", "insert").put("title", status);
+  }
+
+  private static Future<Long> await(Vertx vertx, CatalogueVersion version, LongPredicate ready) {
+    Promise<Long> promise = Promise.promise();
+    vertx.setPeriodic(
+        10,
+        id -> {
+          if (ready.test(version.current())) {
+            vertx.cancelTimer(id);
+            promise.complete(version.current());
+          }
+        });
+    return promise.future();
+  }
+
+  @BeforeEach
+  void setUp() {
+    esService = mock(ElasticsearchService.class);
+    catalogueVersion = mock(CatalogueVersion.class);
+    when(esService.multiGet(eq("cat"), anyList(), any()))
+        .thenReturn(Future.succeededFuture(new SearchResult(new ArrayList<>())));
+    itemService =
+        new ItemServiceImpl(
+            esService,
+            new JsonObject().put("docIndex", "cat"),
+            mock(ItemCache.class),
+            catalogueVersion);
+  }
+
+  @Test
+  @DisplayName("A batch create with an item written changes the catalogue version")
+  void testBatchCreateBumpsVersion() {
+    when(esService.bulk(eq("cat"), anyList()))
+        .thenReturn(
+            Future.succeededFuture(
+                new JsonArray()
+                    .add(bulkResult("a", "urn:dx:cat:Success"))
+                    .add(bulkResult("b", "failed"))));
+
+    JsonArray results = itemService.createItems(List.of(item("a"), item("b"))).result();
+
+    assertEquals(2, results.size());
+    verify(catalogueVersion).bump();
+  }
+
+  @Test
+  @DisplayName("A batch create with no item written leaves the catalogue version")
+  void testFailedBatchCreateKeepsVersion() {
+    when(esService.bulk(eq("cat"), anyList()))
+        .thenReturn(Future.succeededFuture(new JsonArray().add(bulkResult("a", "failed"))));
+
+    itemService.createItems(List.of(item("a"))).result();
+
+    verify(catalogueVersion, never()).bump();
+  }
+
+  @Test
+  @DisplayName("A listing read before a batch create is read again after it")
+  void testBatchCreateInvalidatesListings(Vertx vertx, VertxTestContext testContext) {
+    CatalogueVersion version = CatalogueVersion.shared(vertx);
+    ListingCache listings = new ListingCache(version, 10, 3600, new SimpleMeterRegistry());
+    ItemServiceImpl service =
+        new ItemServiceImpl(
+            esService, new JsonObject().put("docIndex", "cat"), mock(ItemCache.class), version);
+    when(esService.bulk(eq("cat"), anyList()))
+        .thenReturn(
+            Future.succeededFuture(new JsonArray().add(bulkResult("a", "urn:dx:cat:Success"))));
+    AtomicInteger listed = new AtomicInteger();
+    Supplier<Future<JsonObject>> tags =
+        () ->
+            Future.succeededFuture(
+                new JsonObject()
+                    .put("results", new JsonArray().add("tag" + listed.incrementAndGet())));
+
+    await(vertx, version, current -> current > 0)
+        .compose(known -> listings.get("tags||null|null", tags))
+        .compose(
+            stale -> {
+              long before = version.current();
+              return service
+                  .createItems(List.of(item("a")))
+                  .compose(created -> await(vertx, version, current -> current > before));
+            })
+        .compose(bumped -> listings.get("tags||null|null", tags))
+        .onComplete(
+            testContext.succeeding(
+                listing -> {
+                  assertEquals(2, listed.get());
+                  assertEquals("tag2", listing.getJsonArray("results").getString(0));
+                  testContext.completeNow();
+                }));
+  }
+}
@@ -18,6 +18,7 @@ import iudx.catalogue.server.apiserver.stack.service.StacServiceImpl;
 import iudx.catalogue.server.apiserver.stack.util.StackConstants;
 import iudx.catalogue.server.common.RespBuilder;
 import iudx.catalogue.server.database.elastic.model.ElasticsearchResponse;
+import iudx.catalogue.server.database.elastic.model.SearchResult;
 import iudx.catalogue.server.database.elastic.service.ElasticsearchService;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -70,7 +71,7 @@ class StackServiceImplTest {
     sampleResultList.add(sampleResult);
     // Stubbing the searchAsync method with thenAnswer
     when(mockElasticsearchService.search(anyString(), any()))
-        .thenReturn(Future.succeededFuture(sampleResultList));
+        .thenReturn(Future.succeededFuture(new SearchResult(sampleResultList)));
 
     StacServiceImpl stackService = new StacServiceImpl(mockElasticsearchService, "Index");
     stackService.respBuilder = mockRespBuilder;
@@ -89,7 +90,7 @@ class StackServiceImplTest {
     List<ElasticsearchResponse> emptyResult = new ArrayList<>();
 
     when(mockElasticsearchService.search(anyString(), any()))
-        .thenReturn(Future.succeededFuture(emptyResult));
+        .thenReturn(Future.succeededFuture(new SearchResult(emptyResult)));
 
     StacServiceImpl stackService = new StacServiceImpl(mockElasticsearchService, "index");
     stackService.respBuilder = mockRespBuilder;
@@ -124,7 +125,7 @@ class StackServiceImplTest {
     List<ElasticsearchResponse> emptyResult = new ArrayList<>();
 
     when(mockElasticsearchService.search(anyString(), any()))
-        .thenReturn(Future.succeededFuture(emptyResult));
+        .thenReturn(Future.succeededFuture(new SearchResult(emptyResult)));
 
     when(mockElasticsearchService.createDocument(anyString(), any()))
         .thenReturn(Future.succeededFuture(new JsonObject().put("id", "generatedId")));
@@ -157,7 +158,7 @@ class StackServiceImplTest {
     List<ElasticsearchResponse> emptyResult = new ArrayList<>();
 
     when(mockElasticsearchService.search(anyString(), any()))
-        .thenReturn(Future.succeededFuture(emptyResult));
+        .thenReturn(Future.succeededFuture(new SearchResult(emptyResult)));
 
     when(mockElasticsearchService.createDocument(anyString(), any()))
         .thenReturn(Future.failedFuture("Db Error"));
@@ -192,7 +193,7 @@ class StackServiceImplTest {
     nonEmptyResult.add(existingDoc);
 
     when(mockElasticsearchService.search(anyString(), any()))
-        .thenReturn(Future.succeededFuture(nonEmptyResult));
+        .thenReturn(Future.succeededFuture(new SearchResult(nonEmptyResult)));
 
     StacServiceImpl stackService = new StacServiceImpl(mockElasticsearchService, "Index");
 
@@ -268,7 +269,7 @@ class StackServiceImplTest {
 
     // Stubbing the search method to return the existing document
     when(mockElasticsearchService.search(anyString(), any()))
-        .thenReturn(Future.succeededFuture(List.of(existResult)));
+        .thenReturn(Future.succeededFuture(new SearchResult(List.of(existResult))));
 
     // Stubbing the updateDocument method to return a successful update response
     when(mockElasticsearchService.patchDocument(anyString(), anyString(), any()))
@@ -306,7 +307,7 @@ class StackServiceImplTest {
 
     // Stubbing the search method to return an existing document
     when(mockElasticsearchService.search(anyString(), any()))
-        .thenReturn(Future.succeededFuture(List.of(existResult)));
+        .thenReturn(Future.succeededFuture(new SearchResult(List.of(existResult))));
 
     // Testing the update method
     Future<JsonObject> updateFuture = stackSevice.update(stack);
@@ -335,7 +336,7 @@ class StackServiceImplTest {
 
     // Stubbing the search method to return an empty result (Item Not Found)
     when(mockElasticsearchService.search(anyString(), any()))
-        .thenReturn(Future.succeededFuture(Collections.emptyList()));
+        .thenReturn(Future.succeededFuture(new SearchResult(Collections.emptyList())));
 
     // Testing the update method
     Future<JsonObject> updateFuture = stackSevice.update(stack);
@@ -363,7 +364,7 @@ class StackServiceImplTest {
 
     // Stubbing the search method to return an existing document
     when(mockElasticsearchService.search(anyString(), any()))
-        .thenReturn(Future.succeededFuture(List.of(existingDocument)));
+        .thenReturn(Future.succeededFuture(new SearchResult(List.of(existingDocument))));
 
     // Stubbing the deleteDocumentAsync method to return success
     when(mockElasticsearchService.deleteDocument(anyString(), anyString()))
@@ -394,7 +395,7 @@ class StackServiceImplTest {
 
     // Stubbing the search method to return an empty result (no matching document found)
     when(mockElasticsearchService.search(anyString(), any()))
-        .thenReturn(Future.succeededFuture(Collections.emptyList()));
+        .thenReturn(Future.succeededFuture(new SearchResult(Collections.emptyList())));
 
     stackSevice = new StacServiceImpl(mockElasticsearchService, "index");
 
@@ -427,7 +428,7 @@ class StackServiceImplTest {
 
     // Stubbing the search method to return a valid existing result
     when(mockElasticsearchService.search(anyString(), any()))
-        .thenReturn(Future.succeededFuture(List.of(existResult)));
+        .thenReturn(Future.succeededFuture(new SearchResult(List.of(existResult))));
 
     // Stubbing the docDelAsync method to simulate a database error
     when(mockElasticsearchService.deleteDocument(anyString(), any()))
@@ -493,7 +494,7 @@ class StackServiceImplTest {
 
     // Stubbing the search method to return a valid existing result
     when(mockElasticsearchService.search(anyString(), any()))
-        .thenReturn(Future.succeededFuture(List.of(existResult)));
+        .thenReturn(Future.succeededFuture(new SearchResult(List.of(existResult))));
     when(mockElasticsearchService.deleteDocument(anyString(), anyString()))
         .thenReturn(Future.failedFuture("Failed to delete"));
 
@@ -0,0 +1,109 @@
+package iudx.catalogue.server.authenticator.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import io.vertx.core.Future;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class JwksKeyStoreTest {
+  private final AtomicReference<JWKSet> published = new AtomicReference<>();
+  private final AtomicInteger fetches = new AtomicInteger();
+  private WebClient webClient;
+  private JwksKeyStore keys;
+  private DefaultJWTProcessor<SecurityContext> processor;
+
+  private static String sign(RSAKey key, String subject) throws Exception {
+    SignedJWT jwt =
+        new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(),
+            new JWTClaimsSet.Builder().subject(subject).build());
+    jwt.sign(new RSASSASigner(key));
+    return jwt.serialize();
+  }
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    webClient = mock(WebClient.class);
+    HttpRequest<Buffer> request = mock(HttpRequest.class);
+    when(webClient.getAbs(anyString())).thenReturn(request);
+    when(request.send())
+        .thenAnswer(
+            invocation -> {
+              fetches.incrementAndGet();
+              HttpResponse<Buffer> response = mock(HttpResponse.class);
+              when(response.statusCode()).thenReturn(200);
+              when(response.bodyAsString()).thenReturn(published.get().toString());
+              return Future.succeededFuture(response);
+            });
+  }
+
+  private void createStore(long minRefreshSeconds) {
+    keys =
+        new JwksKeyStore(
+            webClient, "https://keycloak/certs", JWSAlgorithm.RS256, minRefreshSeconds);
+    processor = new DefaultJWTProcessor<>();
+    processor.setJWSKeySelector(keys);
+    processor.setJWSVerifierFactory(keys.verifierFactory());
+  }
+
+  @Test
+  @DisplayName("A token signed with a rotated key is verified after one refresh")
+  void testRotatedKeyIsFetched() throws Exception {
+    RSAKey first = new RSAKeyGenerator(2048).keyID("first").generate();
+    RSAKey second = new RSAKeyGenerator(2048).keyID("second").generate();
+    createStore(0);
+    published.set(new JWKSet(first.toPublicJWK()));
+    keys.refresh();
+    String firstToken = sign(first, "first");
+    keys.ensureKeyOf(firstToken);
+    assertEquals("first", processor.process(firstToken, null).getSubject());
+
+    published.set(new JWKSet(second.toPublicJWK()));
+    String secondToken = sign(second, "second");
+    keys.ensureKeyOf(secondToken);
+
+    assertEquals("second", processor.process(secondToken, null).getSubject());
+    assertEquals(2, fetches.get());
+  }
+
+  @Test
+  @DisplayName("Unknown keys do not refresh the key set more than once per interval")
+  void testRefreshIsRateLimited() throws Exception {
+    RSAKey known = new RSAKeyGenerator(2048).keyID("known").generate();
+    RSAKey unknown = new RSAKeyGenerator(2048).keyID("unknown").generate();
+    createStore(3600);
+    published.set(new JWKSet(known.toPublicJWK()));
+    keys.refresh();
+    String token = sign(unknown, "unknown");
+
+    keys.ensureKeyOf(token);
+    keys.ensureKeyOf(token);
+
+    assertEquals(1, fetches.get());
+    assertThrows(BadJOSEException.class, () -> processor.process(token, null));
+  }
+}
@@ -0,0 +1,99 @@
+package iudx.catalogue.server.authenticator.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.authenticator.model.JwtAuthenticationInfo;
+import iudx.catalogue.server.authenticator.model.JwtData;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class TokenCacheTest {
+  private static final long IN_AN_HOUR = System.currentTimeMillis() / 1000 + 3600;
+
+  private static Future<JsonObject> verify(AtomicInteger verified, long exp) {
+    verified.incrementAndGet();
+    return Future.succeededFuture(
+        new JsonObject().put("sub", "provider").put("exp", exp).put("client_id", "client"));
+  }
+
+  private static JwtAuthenticationInfo request(String endpoint) {
+    return new JwtAuthenticationInfo.Builder()
+        .setToken("token")
+        .setApiEndpoint(endpoint)
+        .setItemType("iudx:Resource")
+        .build();
+  }
+
+  @Test
+  @DisplayName("A token is verified once until it expires")
+  void testTokenIsVerifiedOnce() {
+    TokenCache cache = new TokenCache(10, 300);
+    AtomicInteger verified = new AtomicInteger();
+
+    cache.decode("token", () -> verify(verified, IN_AN_HOUR)).result().setSub("changed");
+    JwtData cached = cache.decode("token", () -> verify(verified, IN_AN_HOUR)).result();
+
+    assertEquals(1, verified.get());
+    assertEquals("provider", cached.getSub());
+    assertEquals("client", cached.getClientId());
+  }
+
+  @Test
+  @DisplayName("Expired tokens and failed verifications are not cached")
+  void testExpiredTokenIsNotCached() {
+    TokenCache cache = new TokenCache(10, 300);
+    AtomicInteger verified = new AtomicInteger();
+
+    cache.decode("expired", () -> verify(verified, IN_AN_HOUR - 7200));
+    cache.decode("expired", () -> verify(verified, IN_AN_HOUR - 7200));
+    cache.decode("invalid", () -> {
+      verified.incrementAndGet();
+      return Future.failedFuture("failed to decode/validate jwt token");
+    });
+    Future<JwtData> retried = cache.decode("invalid", () -> verify(verified, IN_AN_HOUR));
+
+    assertTrue(retried.succeeded());
+    assertEquals(4, verified.get());
+  }
+
+  @Test
+  @DisplayName("Introspection outcomes are cached per request")
+  void testIntrospectionIsCachedPerRequest() {
+    TokenCache cache = new TokenCache(10, 300);
+    JwtData decoded = new JwtData(new JsonObject().put("exp", IN_AN_HOUR));
+    AtomicInteger introspected = new AtomicInteger();
+
+    cache.introspect(decoded, request("/item"), () -> {
+      introspected.incrementAndGet();
+      return Future.failedFuture("Incorrect audience value in jwt");
+    });
+    Future<JwtData> failed = cache.introspect(decoded, request("/item"), () -> {
+      introspected.incrementAndGet();
+      return Future.succeededFuture();
+    });
+    Future<JwtData> otherEndpoint = cache.introspect(decoded, request("/instance"), () -> {
+      introspected.incrementAndGet();
+      return Future.succeededFuture();
+    });
+
+    assertEquals("Incorrect audience value in jwt", failed.cause().getMessage());
+    assertTrue(otherEndpoint.succeeded());
+    assertEquals(2, introspected.get());
+  }
+
+  @Test
+  @DisplayName("A disabled cache verifies every time")
+  void testDisabledCache() {
+    TokenCache cache = new TokenCache(0, 300);
+    AtomicInteger verified = new AtomicInteger();
+
+    cache.decode("token", () -> verify(verified, IN_AN_HOUR));
+    cache.decode("token", () -> verify(verified, IN_AN_HOUR));
+
+    assertEquals(2, verified.get());
+  }
+}
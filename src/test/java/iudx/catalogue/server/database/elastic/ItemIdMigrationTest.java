@@ -0,0 +1,96 @@
+package iudx.catalogue.server.database.elastic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.ClosePointInTimeResponse;
+import co.elastic.clients.elasticsearch.core.OpenPointInTimeResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.core.Future;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class ItemIdMigrationTest {
+
+  private static Hit<ObjectNode> hit(String docId, String itemId) {
+    ObjectNode source = new ObjectMapper().createObjectNode().put("id", itemId);
+    return Hit.of(h -> h.index("cat").id(docId).source(source));
+  }
+
+  @Test
+  @DisplayName("Only the old documents of items created or already under their id are deleted")
+  void testMigrateMovesItemsUnderTheirId() {
+    ElasticClient elasticClient = mock(ElasticClient.class);
+    ElasticsearchAsyncClient client = mock(ElasticsearchAsyncClient.class);
+    when(elasticClient.getClient()).thenReturn(client);
+    when(client.openPointInTime(any(Function.class)))
+        .thenReturn(CompletableFuture.completedFuture(
+            OpenPointInTimeResponse.of(p -> p.id("pit").shards(s -> s
+                .total(1).successful(1).failed(0)))));
+    when(client.closePointInTime(any(Function.class)))
+        .thenReturn(CompletableFuture.completedFuture(
+            ClosePointInTimeResponse.of(c -> c.succeeded(true).numFreed(1))));
+    when(client.search(any(SearchRequest.class), eq(ObjectNode.class)))
+        .thenReturn(CompletableFuture.completedFuture(SearchResponse.of(r -> r
+            .took(1)
+            .timedOut(false)
+            .shards(s -> s.total(1).successful(1).failed(0))
+            .hits(h -> h.hits(
+                List.of(hit("a", "a"), hit("x", "b"), hit("y", "c"), hit("z", "d")))))));
+    ArgumentCaptor<BulkRequest> requests = ArgumentCaptor.forClass(BulkRequest.class);
+    when(client.bulk(requests.capture()))
+        .thenReturn(CompletableFuture.completedFuture(BulkResponse.of(r -> r
+            .took(1)
+            .errors(true)
+            .items(
+                BulkResponseItem.of(i -> i
+                    .operationType(OperationType.Create).index("cat").id("b").status(201)),
+                BulkResponseItem.of(i -> i
+                    .operationType(OperationType.Create).index("cat").id("c").status(429)
+                    .error(e -> e.type("es_rejected_execution_exception").reason("busy"))),
+                BulkResponseItem.of(i -> i
+                    .operationType(OperationType.Create).index("cat").id("d").status(409)
+                    .error(e -> e.type("version_conflict_engine_exception").reason("exists")))))))
+        .thenReturn(CompletableFuture.completedFuture(BulkResponse.of(r -> r
+            .took(1)
+            .errors(false)
+            .items(
+                BulkResponseItem.of(i -> i
+                    .operationType(OperationType.Delete).index("cat").id("x").status(200)),
+                BulkResponseItem.of(i -> i
+                    .operationType(OperationType.Delete).index("cat").id("z").status(200))))));
+    ItemIdMigration migration = new ItemIdMigration(elasticClient, "cat");
+
+    Future<Integer> moved = migration.migrate();
+
+    assertEquals(2, moved.result());
+    // the item whose write was rejected is still under its old id
+    assertFalse(migration.isDone());
+    BulkRequest writes = requests.getAllValues().get(0);
+    assertEquals(3, writes.operations().size());
+    assertTrue(writes.operations().get(0).isCreate());
+    assertEquals("b", writes.operations().get(0).create().id());
+    BulkRequest deletes = requests.getAllValues().get(1);
+    assertEquals(2, deletes.operations().size());
+    assertEquals("x", deletes.operations().get(0).delete().id());
+    assertEquals("z", deletes.operations().get(1).delete().id());
+  }
+}
@@ -0,0 +1,44 @@
+package iudx.catalogue.server.database.elastic.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import co.elastic.clients.elasticsearch._types.KnnQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import io.vertx.core.json.JsonArray;
+import iudx.catalogue.server.database.elastic.util.QueryType;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class QueryModelTest {
+
+  @Test
+  @DisplayName("A kNN query keeps its vector, k, candidates and filter across the event bus")
+  void testKnnQuery() {
+    QueryModel filter = new QueryModel(QueryType.BOOL);
+    filter.addShouldQuery(
+        new QueryModel(QueryType.MATCH, Map.of("field", "_geosummary.locality", "value", "x")));
+    Map<String, Object> params = new HashMap<>();
+    params.put("field", "_word_vector");
+    params.put("query_vector", new JsonArray().add(0.5).add(-1).add(0.25));
+    params.put("k", 5);
+    params.put("num_candidates", 50);
+    params.put("filter", filter.toJson());
+
+    // service proxies send the model as JSON
+    Query query = new QueryModel(new QueryModel(QueryType.KNN, params).toJson())
+        .toElasticsearchQuery();
+
+    assertTrue(query.isKnn());
+    KnnQuery knn = query.knn();
+    assertEquals("_word_vector", knn.field());
+    assertEquals(List.of(0.5f, -1f, 0.25f), knn.queryVector());
+    assertEquals(5, knn.k());
+    assertEquals(50, knn.numCandidates());
+    assertEquals(1, knn.filter().size());
+    assertTrue(knn.filter().get(0).isBool());
+  }
+}
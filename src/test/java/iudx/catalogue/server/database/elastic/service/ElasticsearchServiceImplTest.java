@@ -3,23 +3,53 @@ package iudx.catalogue.server.database.elastic.service;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import co.elastic.clients.elasticsearch._types.Refresh;
 import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.ClosePointInTimeResponse;
+import co.elastic.clients.elasticsearch.core.GetRequest;
+import co.elastic.clients.elasticsearch.core.GetResponse;
+import co.elastic.clients.elasticsearch.core.MgetRequest;
+import co.elastic.clients.elasticsearch.core.MgetResponse;
 import co.elastic.clients.elasticsearch.core.IndexRequest;
+import co.elastic.clients.elasticsearch.core.bulk.BulkResponseItem;
+import co.elastic.clients.elasticsearch.core.bulk.OperationType;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.Future;
 import co.elastic.clients.elasticsearch.core.DeleteRequest;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.search.SourceConfig;
 import iudx.catalogue.server.database.elastic.ElasticClient;
-import iudx.catalogue.server.database.elastic.model.ElasticsearchResponse;
+import iudx.catalogue.server.database.elastic.ItemIdMigration;
+import iudx.catalogue.server.database.elastic.model.BulkOperation;
 import iudx.catalogue.server.database.elastic.model.QueryModel;
+import iudx.catalogue.server.database.elastic.model.SearchResult;
+import iudx.catalogue.server.database.elastic.util.QueryType;
+import iudx.catalogue.server.database.elastic.util.SearchCursor;
+import iudx.catalogue.server.database.elastic.model.SearchResult;
 import java.util.List;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseListener;
+import org.elasticsearch.client.RestClient;
 import org.mockito.*;
 import org.junit.jupiter.api.*;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 public class ElasticsearchServiceImplTest {
 
@@ -46,11 +76,77 @@ public class ElasticsearchServiceImplTest {
     when(mockAsyncClient.search(any(SearchRequest.class), eq(ObjectNode.class)))
         .thenReturn(CompletableFuture.completedFuture(mock(SearchResponse.class)));
 
-    Future<List<ElasticsearchResponse>> result = elasticsearchService.search("test-index", queryModel);
+    Future<SearchResult> result = elasticsearchService.search("test-index", queryModel);
     assertNotNull(result);
     verify(mockAsyncClient).search(any(SearchRequest.class), eq(ObjectNode.class));
   }
 
+  @Test
+  void testSearchKeepsAggregationsPerRequest() {
+    when(mockAsyncClient._jsonpMapper()).thenReturn(new JacksonJsonpMapper());
+    when(mockAsyncClient.search(any(SearchRequest.class), eq(ObjectNode.class)))
+        .thenReturn(CompletableFuture.completedFuture(searchResponse("first", 42)))
+        .thenReturn(CompletableFuture.completedFuture(searchResponse("second", 7)));
+    QueryModel queryModel = new QueryModel();
+    queryModel.setQueries(new QueryModel(QueryType.MATCH_ALL));
+
+    Future<SearchResult> first = elasticsearchService.search("test-index", queryModel);
+    Future<SearchResult> second = elasticsearchService.search("test-index", queryModel);
+
+    assertEquals(42, first.result().getTotalHits());
+    assertEquals(1, first.result().getHits().size());
+    assertEquals("first", first.result().getHits().get(0).getDocId());
+    assertEquals("first", first.result().getAggregations()
+        .getJsonObject("results").getJsonArray("buckets").getJsonObject(0).getString("key"));
+    assertEquals(7, second.result().getTotalHits());
+    assertEquals("second", second.result().getAggregations()
+        .getJsonObject("results").getJsonArray("buckets").getJsonObject(0).getString("key"));
+  }
+
+  private static SearchResponse<ObjectNode> searchResponse(String key, long total) {
+    ObjectNode source = new ObjectMapper().createObjectNode().put("id", key);
+    return SearchResponse.of(r -> r
+        .took(1)
+        .timedOut(false)
+        .shards(sh -> sh.total(1).successful(1).failed(0))
+        .hits(h -> h
+            .total(t -> t.value(total).relation(TotalHitsRelation.Eq))
+            .hits(hit -> hit.index("test-index").id(key).source(source)))
+        .aggregations("results", a -> a
+            .sterms(st -> st.buckets(b -> b.array(
+                List.of(StringTermsBucket.of(tb -> tb.key(key).docCount(1))))))));
+  }
+
+  @Test
+  void testSearchRawCopiesFilteredSources() throws Exception {
+    RestClient restClient = mock(RestClient.class);
+    Response response = mock(Response.class);
+    when(mockElasticClient.getRestClient()).thenReturn(restClient);
+    when(mockAsyncClient._jsonpMapper()).thenReturn(new JacksonJsonpMapper());
+    when(response.getEntity()).thenReturn(new StringEntity(
+        "{\"hits\":{\"total\":{\"value\":5},\"hits\":[{\"_source\":{\"id\":\"a\"}}]}}",
+        ContentType.APPLICATION_JSON));
+    ArgumentCaptor<Request> request = ArgumentCaptor.forClass(Request.class);
+    doAnswer(invocation -> {
+      invocation.<ResponseListener>getArgument(1).onSuccess(response);
+      return null;
+    }).when(restClient).performRequestAsync(request.capture(), any(ResponseListener.class));
+    QueryModel queryModel = new QueryModel();
+    queryModel.setQueries(new QueryModel(QueryType.MATCH_ALL));
+    queryModel.setIncludeFields(List.of("id"));
+
+    Future<Buffer> result = elasticsearchService.searchRaw("test-index", queryModel);
+
+    assertEquals(new JsonObject("{\"results\":[{\"id\":\"a\"}],\"totalHits\":5}"),
+        result.result().toJsonObject());
+    assertEquals("/test-index/_search", request.getValue().getEndpoint());
+    JsonObject source = new JsonObject(EntityUtils.toString(request.getValue().getEntity()))
+        .getJsonObject("_source");
+    assertEquals(new JsonArray().add("id"), source.getJsonArray("includes"));
+    assertEquals(new JsonArray().add("_summary").add("_word_vector"),
+        source.getJsonArray("excludes"));
+  }
+
   @Test
   void testCreateDocument() {
     JsonObject document = new JsonObject().put("id", "test-id").put("key", "value");
@@ -83,4 +179,120 @@ public class ElasticsearchServiceImplTest {
     assertNotNull(result);
     verify(mockAsyncClient).delete(any(DeleteRequest.class));
   }
+
+  @Test
+  void testBulkReportsEachOperation() {
+    when(mockAsyncClient._jsonpMapper()).thenReturn(new JacksonJsonpMapper());
+    ArgumentCaptor<BulkRequest> request = ArgumentCaptor.forClass(BulkRequest.class);
+    when(mockAsyncClient.bulk(request.capture()))
+        .thenReturn(CompletableFuture.completedFuture(BulkResponse.of(r -> r
+            .took(1)
+            .errors(true)
+            .items(
+                BulkResponseItem.of(i -> i
+                    .operationType(OperationType.Create).index("test-index").id("a").status(201)),
+                BulkResponseItem.of(i -> i
+                    .operationType(OperationType.Delete).index("test-index").id("b").status(404)
+                    .error(e -> e.type("not_found").reason("doc b not found")))))));
+
+    Future<JsonArray> result = elasticsearchService.bulk("test-index", List.of(
+        BulkOperation.insert("a", new JsonObject().put("id", "a")), BulkOperation.delete("b")));
+
+    assertEquals(2, request.getValue().operations().size());
+    assertEquals(Refresh.WaitFor, request.getValue().refresh());
+    assertTrue(request.getValue().operations().get(0).isCreate());
+    assertEquals("a", request.getValue().operations().get(0).create().id());
+    assertTrue(request.getValue().operations().get(1).isDelete());
+    JsonArray results = result.result();
+    assertEquals("urn:dx:cat:Success", results.getJsonObject(0).getString("title"));
+    assertEquals("insert", results.getJsonObject(0).getString("method"));
+    assertEquals("failed", results.getJsonObject(1).getString("title"));
+    assertEquals("doc b not found", results.getJsonObject(1).getString("detail"));
+  }
+
+  @Test
+  void testBulkWithoutOperations() {
+    Future<JsonArray> result = elasticsearchService.bulk("test-index", List.of());
+
+    assertTrue(result.result().isEmpty());
+    verify(mockAsyncClient, never()).bulk(any(BulkRequest.class));
+  }
+
+  @Test
+  void testGetByIdReturnsSource() {
+    ObjectNode source = new ObjectMapper().createObjectNode().put("id", "a");
+    ArgumentCaptor<GetRequest> request = ArgumentCaptor.forClass(GetRequest.class);
+    when(mockAsyncClient.get(request.capture(), eq(ObjectNode.class)))
+        .thenReturn(CompletableFuture.completedFuture(GetResponse.of(g -> g
+            .index("test-index").id("a").found(true).source(source))))
+        .thenReturn(CompletableFuture.completedFuture(GetResponse.of(g -> g
+            .index("test-index").id("b").found(false))));
+
+    Future<JsonObject> found = elasticsearchService.getById("test-index", "a", List.of("id"));
+    Future<JsonObject> missing = elasticsearchService.getById("test-index", "b", null);
+
+    assertEquals(new JsonObject().put("id", "a"), found.result());
+    assertEquals(List.of("id"), request.getAllValues().get(0).sourceIncludes());
+    assertTrue(missing.succeeded());
+    assertNull(missing.result());
+  }
+
+  @Test
+  void testMultiGetKeepsFoundDocuments() {
+    ObjectNode source = new ObjectMapper().createObjectNode().put("id", "a");
+    ArgumentCaptor<MgetRequest> request = ArgumentCaptor.forClass(MgetRequest.class);
+    when(mockAsyncClient.mget(request.capture(), eq(ObjectNode.class)))
+        .thenReturn(CompletableFuture.completedFuture(MgetResponse.of(m -> m.docs(
+            MultiGetResponseItem.of(d -> d.result(r -> r
+                .index("test-index").id("a").found(true).source(source))),
+            MultiGetResponseItem.of(d -> d.result(r -> r
+                .index("test-index").id("b").found(false)))))));
+
+    Future<SearchResult> result =
+        elasticsearchService.multiGet("test-index", List.of("a", "b"), null);
+
+    assertEquals(List.of("a", "b"), request.getValue().ids());
+    assertEquals(1, result.result().getTotalHits());
+    assertEquals("a", result.result().getHits().get(0).getDocId());
+    assertEquals("a", result.result().getHits().get(0).getSource().getString("id"));
+  }
+
+  @Test
+  void testGetByIdMovesItemsNotYetMigrated() {
+    ItemIdMigration migration = mock(ItemIdMigration.class);
+    when(migration.moveItems(List.of("b"))).thenReturn(Future.succeededFuture(1));
+    ObjectNode source = new ObjectMapper().createObjectNode().put("id", "b");
+    when(mockAsyncClient.get(any(GetRequest.class), eq(ObjectNode.class)))
+        .thenReturn(CompletableFuture.completedFuture(GetResponse.of(g -> g
+            .index("test-index").id("b").found(false))))
+        .thenReturn(CompletableFuture.completedFuture(GetResponse.of(g -> g
+            .index("test-index").id("b").found(true).source(source))));
+    ElasticsearchServiceImpl migrating =
+        new ElasticsearchServiceImpl(mockElasticClient, null, migration);
+
+    Future<JsonObject> found = migrating.getById("test-index", "b", null);
+
+    assertEquals(new JsonObject().put("id", "b"), found.result());
+    verify(migration).moveItems(List.of("b"));
+    when(migration.isDone()).thenReturn(true);
+    when(mockAsyncClient.get(any(GetRequest.class), eq(ObjectNode.class)))
+        .thenReturn(CompletableFuture.completedFuture(GetResponse.of(g -> g
+            .index("test-index").id("c").found(false))));
+    assertNull(migrating.getById("test-index", "c", null).result());
+    verify(migration, never()).moveItems(List.of("c"));
+  }
+
+  @Test
+  void testCloseCursorReleasesItsPointInTime() {
+    when(mockAsyncClient.closePointInTime(any(Function.class)))
+        .thenReturn(CompletableFuture.completedFuture(
+            ClosePointInTimeResponse.of(c -> c.succeeded(true).numFreed(1))));
+    String cursor = new SearchCursor("pit", new JsonArray().add("a")).encode();
+
+    assertTrue(elasticsearchService.closeCursor(cursor).succeeded());
+    assertTrue(elasticsearchService.closeCursor(SearchCursor.START).succeeded());
+    assertTrue(elasticsearchService.closeCursor(
+        new SearchCursor(null, new JsonArray().add("a")).encode()).succeeded());
+    verify(mockAsyncClient, times(1)).closePointInTime(any(Function.class));
+  }
 }
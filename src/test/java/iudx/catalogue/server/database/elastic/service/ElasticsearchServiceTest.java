@@ -8,6 +8,7 @@ import io.vertx.core.Vertx;
 import io.vertx.core.json.JsonObject;
 import iudx.catalogue.server.database.elastic.model.ElasticsearchResponse;
 import iudx.catalogue.server.database.elastic.model.QueryModel;
+import iudx.catalogue.server.database.elastic.model.SearchResult;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -35,12 +36,12 @@ class ElasticsearchServiceTest {
     );
 
     when(elasticsearchService.search(index, queryModel))
-        .thenReturn(Future.succeededFuture(expectedResponse));
+        .thenReturn(Future.succeededFuture(new SearchResult(expectedResponse)));
 
-    Future<List<ElasticsearchResponse>> resultFuture = elasticsearchService.search(index, queryModel);
+    Future<SearchResult> resultFuture = elasticsearchService.search(index, queryModel);
 
     assertTrue(resultFuture.succeeded());
-    assertEquals(expectedResponse, resultFuture.result());
+    assertEquals(expectedResponse, resultFuture.result().getHits());
 
     verify(elasticsearchService, times(1)).search(index, queryModel);
   }
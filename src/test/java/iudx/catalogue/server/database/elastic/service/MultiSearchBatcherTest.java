@@ -0,0 +1,110 @@
+package iudx.catalogue.server.database.elastic.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch.core.MsearchRequest;
+import co.elastic.clients.elasticsearch.core.MsearchResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchItem;
+import co.elastic.clients.elasticsearch.core.msearch.MultiSearchResponseItem;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+
+@ExtendWith(VertxExtension.class)
+class MultiSearchBatcherTest {
+
+  private static MultiSearchResponseItem<ObjectNode> result(long total) {
+    return MultiSearchResponseItem.of(i -> i.result(MultiSearchItem.of(r -> r
+        .took(1)
+        .timedOut(false)
+        .shards(s -> s.total(1).successful(1).failed(0))
+        .hits(h -> h.total(t -> t.value(total).relation(TotalHitsRelation.Eq)).hits(List.of())))));
+  }
+
+  @Test
+  @DisplayName("Searches within the window are sent as one _msearch")
+  void testSearchesAreCoalesced(Vertx vertx, VertxTestContext testContext) {
+    ElasticsearchAsyncClient client = mock(ElasticsearchAsyncClient.class);
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    ArgumentCaptor<MsearchRequest> request = ArgumentCaptor.forClass(MsearchRequest.class);
+    when(client.msearch(request.capture(), eq(ObjectNode.class)))
+        .thenReturn(CompletableFuture.completedFuture(MsearchResponse.of(m -> m
+            .took(1)
+            .responses(result(3), MultiSearchResponseItem.of(i -> i.failure(f -> f
+                .status(400).error(e -> e.type("parsing_exception").reason("bad query"))))))));
+    MultiSearchBatcher batcher = new MultiSearchBatcher(vertx, client, 20, 10, registry);
+
+    Future<?> first = batcher.search(SearchRequest.of(s -> s.index("first").size(5)));
+    Future<?> second = batcher.search(SearchRequest.of(s -> s.index("second")));
+
+    Future.join(first, second).onComplete(done -> testContext.verify(() -> {
+      assertEquals(2, request.getValue().searches().size());
+      assertEquals("first", request.getValue().searches().get(0).header().index().get(0));
+      assertEquals(5, request.getValue().searches().get(0).body().size());
+      assertTrue(first.succeeded());
+      assertTrue(second.failed());
+      assertEquals(1, registry.get(MultiSearchBatcher.BATCH_SIZE_METRIC).summary().count());
+      assertEquals(2.0, registry.get(MultiSearchBatcher.BATCH_SIZE_METRIC).summary().max());
+      verify(client, never()).search(any(SearchRequest.class), eq(ObjectNode.class));
+      testContext.completeNow();
+    }));
+  }
+
+  @Test
+  @DisplayName("A search alone in its window is sent as a plain search")
+  void testSingleSearchIsNotBatched(Vertx vertx, VertxTestContext testContext) {
+    ElasticsearchAsyncClient client = mock(ElasticsearchAsyncClient.class);
+    when(client.search(any(SearchRequest.class), eq(ObjectNode.class)))
+        .thenReturn(CompletableFuture.completedFuture(SearchResponse.of(r -> r
+            .took(1)
+            .timedOut(false)
+            .shards(s -> s.total(1).successful(1).failed(0))
+            .hits(h -> h.hits(List.of())))));
+    MultiSearchBatcher batcher =
+        new MultiSearchBatcher(vertx, client, 5, 10, new SimpleMeterRegistry());
+
+    batcher
+        .search(SearchRequest.of(s -> s.index("only")))
+        .onComplete(testContext.succeeding(response -> testContext.verify(() -> {
+          verify(client, never()).msearch(any(MsearchRequest.class), eq(ObjectNode.class));
+          testContext.completeNow();
+        })));
+  }
+
+  @Test
+  @DisplayName("A full batch is sent without waiting for the window")
+  void testFullBatchIsSentAtOnce(Vertx vertx, VertxTestContext testContext) {
+    ElasticsearchAsyncClient client = mock(ElasticsearchAsyncClient.class);
+    when(client.msearch(any(MsearchRequest.class), eq(ObjectNode.class)))
+        .thenReturn(CompletableFuture.completedFuture(MsearchResponse.of(m -> m
+            .took(1)
+            .responses(result(1), result(2)))));
+    MultiSearchBatcher batcher =
+        new MultiSearchBatcher(vertx, client, 60_000, 2, new SimpleMeterRegistry());
+
+    Future<?> first = batcher.search(SearchRequest.of(s -> s.index("a")));
+    Future<?> second = batcher.search(SearchRequest.of(s -> s.index("b")));
+
+    Future.all(first, second).onComplete(testContext.succeedingThenComplete());
+  }
+}
@@ -0,0 +1,118 @@
+package iudx.catalogue.server.database.elastic.util;
+
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.elasticsearch.core.search.TotalHitsRelation;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.JsonpMapperFeatures;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.core.json.JsonObject;
+import jakarta.json.stream.JsonGenerator;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Compares decoding search aggregations by serializing the whole {@link SearchResponse} (the
+ * previous approach) with decoding the typed aggregates through {@link AggregationDecoder}.
+ *
+ * <p>Not part of the test suite; after {@code mvn test-compile} run {@link #main} (or
+ * {@code org.openjdk.jmh.Main AggregationDecoderBenchmark -prof gc}) with the test classpath. The
+ * {@code gc.alloc.rate.norm} column reports the bytes allocated per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationDecoderBenchmark {
+
+  @Param({"0", "1000", "10000"})
+  int hits;
+
+  @Param({"500"})
+  int buckets;
+
+  private SearchResponse<ObjectNode> response;
+  private JsonpMapper mapper;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(
+            new OptionsBuilder()
+                .include(AggregationDecoderBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+        .run();
+  }
+
+  @Setup
+  public void setup() {
+    mapper =
+        new JacksonJsonpMapper().withAttribute(JsonpMapperFeatures.SERIALIZE_TYPED_KEYS, false);
+    response = buildResponse(hits, buckets);
+  }
+
+  @Benchmark
+  public JsonObject serializeResponse() {
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = mapper.jsonProvider().createGenerator(writer)) {
+      mapper.serialize(response, generator);
+    }
+    return new JsonObject(writer.toString()).getJsonObject("aggregations");
+  }
+
+  @Benchmark
+  public JsonObject decodeAggregates() {
+    return AggregationDecoder.decode(response.aggregations());
+  }
+
+  static SearchResponse<ObjectNode> buildResponse(int hitCount, int bucketCount) {
+    ObjectMapper objectMapper = new ObjectMapper();
+    List<Hit<ObjectNode>> hitList = new ArrayList<>(hitCount);
+    for (int i = 0; i < hitCount; i++) {
+      ObjectNode source = objectMapper.createObjectNode();
+      source.put("id", "item-" + i);
+      source.put("description", "Air quality monitoring resource number " + i);
+      source.putArray("tags").add("aqm").add("environment").add("pollution");
+      source.putArray("type").add("iudx:Resource");
+      String id = "doc-" + i;
+      hitList.add(Hit.of(h -> h.index("cat").id(id).source(source)));
+    }
+    List<StringTermsBucket> termBuckets = new ArrayList<>(bucketCount);
+    for (int i = 0; i < bucketCount; i++) {
+      String key = "tag-" + i;
+      long count = bucketCount - i;
+      termBuckets.add(StringTermsBucket.of(b -> b.key(key).docCount(count)));
+    }
+    return SearchResponse.of(r -> r
+        .took(1)
+        .timedOut(false)
+        .shards(s -> s.total(1).successful(1).failed(0))
+        .hits(h -> h
+            .total(t -> t.value(hitCount).relation(TotalHitsRelation.Eq))
+            .hits(hitList))
+        .aggregations("results", a -> a
+            .sterms(t -> t.sumOtherDocCount(0L).buckets(b -> b.array(termBuckets))))
+        .aggregations("provider_count", a -> a.cardinality(c -> c.value(42))));
+  }
+}
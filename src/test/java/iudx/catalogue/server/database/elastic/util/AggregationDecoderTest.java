@@ -0,0 +1,86 @@
+package iudx.catalogue.server.database.elastic.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.JsonpMapperFeatures;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.core.json.JsonObject;
+import jakarta.json.stream.JsonGenerator;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AggregationDecoderTest {
+
+  private static JsonObject serialized(SearchResponse<ObjectNode> response) {
+    JsonpMapper mapper =
+        new JacksonJsonpMapper().withAttribute(JsonpMapperFeatures.SERIALIZE_TYPED_KEYS, false);
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = mapper.jsonProvider().createGenerator(writer)) {
+      mapper.serialize(response, generator);
+    }
+    return new JsonObject(writer.toString()).getJsonObject("aggregations");
+  }
+
+  @Test
+  @DisplayName("Decoded aggregations match the Elasticsearch JSON representation")
+  void testDecodeMatchesSerializedResponse() {
+    Aggregate ratingTerms =
+        Aggregate.of(a -> a.sterms(t -> t
+            .docCountErrorUpperBound(0L)
+            .sumOtherDocCount(0L)
+            .buckets(b -> b.array(List.of(
+                StringTermsBucket.of(sb -> sb
+                    .key("item-1")
+                    .docCount(2)
+                    .aggregations("average_rating", avg -> avg.avg(v -> v.value(4.5)))),
+                StringTermsBucket.of(sb -> sb
+                    .key("item-2")
+                    .docCount(1)
+                    .aggregations("average_rating", avg -> avg.avg(v -> v.value(3)))))))));
+    Aggregate global =
+        Aggregate.of(a -> a.global(g -> g
+            .docCount(10)
+            .aggregations("resourceGroupCount", f -> f.filter(fb -> fb.docCount(4)))
+            .aggregations("resourceCount", f -> f.valueCount(vc -> vc.value(6)))));
+    SearchResponse<ObjectNode> response =
+        SearchResponse.of(r -> r
+            .took(1)
+            .timedOut(false)
+            .shards(s -> s.total(1).successful(1).failed(0))
+            .hits(h -> h.hits(List.of()))
+            .aggregations("results", ratingTerms)
+            .aggregations("global", global)
+            .aggregations("provider_count", a -> a.cardinality(c -> c.value(7)))
+            .aggregations("empty_avg", a -> a.avg(v -> v.value(Double.NaN))));
+
+    JsonObject decoded = AggregationDecoder.decode(response.aggregations());
+
+    assertEquals(serialized(response), decoded);
+    assertEquals(
+        4.5,
+        decoded
+            .getJsonObject("results")
+            .getJsonArray("buckets")
+            .getJsonObject(0)
+            .getJsonObject("average_rating")
+            .getDouble("value"));
+    assertEquals(7, decoded.getJsonObject("provider_count").getInteger("value"));
+    assertNull(decoded.getJsonObject("empty_avg").getValue("value"));
+  }
+
+  @Test
+  @DisplayName("No aggregations decode to null")
+  void testDecodeEmpty() {
+    assertNull(AggregationDecoder.decode(Map.of()));
+    assertNull(AggregationDecoder.decode(null));
+  }
+}
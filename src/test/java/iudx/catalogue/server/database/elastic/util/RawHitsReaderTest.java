@@ -0,0 +1,105 @@
+package iudx.catalogue.server.database.elastic.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RawHitsReaderTest {
+
+  private static Buffer read(String body) throws IOException {
+    return RawHitsReader.read(body.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  @DisplayName("Sources are copied byte for byte with the total hit count")
+  void testReadSources() throws IOException {
+    String first = "{\"id\":\"a\",\"label\":\"Café \\\"Pune\\\"\",\"location\":"
+        + "{\"coordinates\":[73.85,18.52]},\"tags\":[\"aqm\",\"env\"],\"score\":1.0E2}";
+    String second = "{\"id\":\"b\",\"nested\":{\"_source\":{\"hits\":[]}}}";
+    String body = "{\"took\":3,\"hits\":{\"total\":{\"value\":42,\"relation\":\"eq\"},"
+        + "\"max_score\":1.0,\"hits\":[{\"_index\":\"cat\",\"_id\":\"1\",\"_source\":" + first
+        + "},{\"_id\":\"2\",\"_score\":null,\"_source\":" + second + "},{\"_id\":\"3\"}]}}";
+
+    Buffer page = read(body);
+
+    assertEquals("{\"results\":[" + first + "," + second + ",{}],\"totalHits\":42}",
+        page.toString(StandardCharsets.UTF_8));
+    JsonObject json = page.toJsonObject();
+    assertEquals(42, json.getInteger("totalHits"));
+    assertEquals("Café \"Pune\"",
+        json.getJsonArray("results").getJsonObject(0).getString("label"));
+  }
+
+  @Test
+  @DisplayName("A filtered response without hits gives an empty page")
+  void testReadNoHits() throws IOException {
+    JsonObject json = read("{\"hits\":{\"total\":{\"value\":0}}}").toJsonObject();
+
+    assertEquals(new JsonObject().put("results", new JsonArray()).put("totalHits", 0), json);
+  }
+
+  @Test
+  @DisplayName("A full cursor page carries the cursor of the next page")
+  void testReadCursorPage() throws IOException {
+    String body = "{\"pit_id\":\"pit-2\",\"hits\":{\"total\":{\"value\":5},\"hits\":["
+        + "{\"_source\":{\"id\":\"a\"},\"sort\":[\"a\"]},"
+        + "{\"_source\":{\"id\":\"b\"},\"sort\":[\"b\"]}]}}";
+    SearchCursor cursor = new SearchCursor("pit-1", new JsonArray().add("0"));
+
+    RawHitsReader reader = RawHitsReader.readPage(body.getBytes(StandardCharsets.UTF_8), cursor, 2);
+    JsonObject json = reader.getPage().toJsonObject();
+
+    assertEquals(json.getString("nextCursor"), reader.getNextCursor());
+    assertEquals(2, json.getJsonArray("results").size());
+    SearchCursor next = SearchCursor.decode(json.getString("nextCursor"));
+    assertEquals("pit-2", next.getPitId());
+    assertEquals(new JsonArray().add("b"), next.getSearchAfter());
+  }
+
+  @Test
+  @DisplayName("A short cursor page is the last one")
+  void testReadLastCursorPage() throws IOException {
+    String body = "{\"hits\":{\"total\":{\"value\":1},\"hits\":["
+        + "{\"_source\":{\"id\":\"a\"},\"sort\":[\"a\"]}]}}";
+    SearchCursor cursor = new SearchCursor("pit-1", new JsonArray().add("0"));
+
+    RawHitsReader reader = RawHitsReader.readPage(body.getBytes(StandardCharsets.UTF_8), cursor, 2);
+
+    assertFalse(reader.getPage().toJsonObject().containsKey("nextCursor"));
+    assertNull(reader.getNextCursor());
+    assertEquals("pit-1", reader.getPitId());
+  }
+
+  @Test
+  @DisplayName("A page is written as one source per line with its next cursor")
+  void testWriteLines() throws IOException {
+    String body = "{\"pit_id\":\"pit-1\",\"hits\":{\"total\":{\"value\":3},\"hits\":["
+        + "{\"_source\":{\"id\":\"a\",\"tags\":[\"x\"]},\"sort\":[\"a\"]},"
+        + "{\"_source\":{\"id\":\"b\"},\"sort\":[\"b\"]}]}}";
+    RawHitsReader reader = RawHitsReader.readPage(body.getBytes(StandardCharsets.UTF_8),
+        new SearchCursor("pit-1", new JsonArray().add("0")), 2);
+    Buffer lines = Buffer.buffer();
+
+    String nextCursor = RawHitsReader.writeLines(reader.getPage(), lines);
+
+    assertEquals("{\"id\":\"a\",\"tags\":[\"x\"]}\n{\"id\":\"b\"}\n",
+        lines.toString(StandardCharsets.UTF_8));
+    assertEquals(reader.getNextCursor(), nextCursor);
+    assertNull(RawHitsReader.writeLines(read("{\"hits\":{\"hits\":[]}}"), Buffer.buffer()));
+  }
+
+  @Test
+  @DisplayName("A body that is not a JSON object is rejected")
+  void testReadInvalid() {
+    assertThrows(IOException.class, () -> read("[]"));
+  }
+}
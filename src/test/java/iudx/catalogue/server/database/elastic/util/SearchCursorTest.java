@@ -0,0 +1,50 @@
+package iudx.catalogue.server.database.elastic.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.json.JsonArray;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SearchCursorTest {
+
+  @Test
+  @DisplayName("An encoded cursor decodes to the same point in time and sort values")
+  void testEncodeDecode() {
+    JsonArray after = new JsonArray().add("iudx:Resource").add(1717171717000L);
+    String token = new SearchCursor("pit-1", after).encode();
+
+    SearchCursor cursor = SearchCursor.decode(token);
+
+    assertEquals("pit-1", cursor.getPitId());
+    assertEquals(after, cursor.getSearchAfter());
+    assertEquals(2, cursor.toFieldValues().size());
+    assertTrue(SearchCursor.isValid(token));
+  }
+
+  @Test
+  @DisplayName("A cursor without a point in time keeps only the sort values")
+  void testEncodeWithoutPit() {
+    String token = new SearchCursor(null, new JsonArray().add("id-1")).encode();
+
+    assertNull(SearchCursor.decode(token).getPitId());
+  }
+
+  @Test
+  @DisplayName("Tokens that were not issued by the server are rejected")
+  void testInvalidTokens() {
+    String noSort = Base64.getUrlEncoder()
+        .encodeToString("{\"pit\":\"p\"}".getBytes(StandardCharsets.UTF_8));
+
+    assertTrue(SearchCursor.isValid(SearchCursor.START));
+    assertFalse(SearchCursor.isValid("not a cursor"));
+    assertFalse(SearchCursor.isValid(noSort));
+    assertThrows(IllegalArgumentException.class, () -> SearchCursor.decode(noSort));
+  }
+}
@@ -0,0 +1,88 @@
+package iudx.catalogue.server.database.postgres.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.sqlclient.Pool;
+import io.vertx.sqlclient.SqlConnection;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class MeteredPoolTest {
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private Pool pool;
+  private SqlConnection connection;
+  private MeteredPool meteredPool;
+
+  private double gauge(String name) {
+    return registry.get(name).tags("pool", "analytics", "instance", "a").gauge().value();
+  }
+
+  @BeforeEach
+  void setUp() {
+    pool = mock(Pool.class);
+    connection = mock(SqlConnection.class);
+    when(pool.getConnection()).thenReturn(Future.succeededFuture(connection));
+    when(connection.close()).thenReturn(Future.succeededFuture());
+    meteredPool = new MeteredPool("analytics", "a", pool, 4, registry);
+  }
+
+  @Test
+  @DisplayName("A connection is counted in use until the function using it completes")
+  void testUtilization() {
+    Promise<String> running = Promise.promise();
+
+    Future<String> result = meteredPool.withConnection(used -> running.future());
+
+    assertEquals(1.0, gauge(MeteredPool.IN_USE_METRIC));
+    assertEquals(0.25, gauge(MeteredPool.UTILIZATION_METRIC));
+    running.complete("done");
+    assertEquals("done", result.result());
+    assertEquals(0.0, gauge(MeteredPool.IN_USE_METRIC));
+    assertEquals(0.0, gauge(MeteredPool.PENDING_METRIC));
+    assertEquals(1, registry.get(MeteredPool.WAIT_METRIC).tag("pool", "analytics").timer().count());
+    verify(connection, times(1)).close();
+  }
+
+  @Test
+  @DisplayName("A connection is given back when the function using it throws")
+  void testReleaseOnThrow() {
+    Future<String> result =
+        meteredPool.withConnection(
+            used -> {
+              throw new IllegalStateException("bad query");
+            });
+
+    assertTrue(result.failed());
+    assertEquals(0.0, gauge(MeteredPool.IN_USE_METRIC));
+    verify(connection, times(1)).close();
+  }
+
+  @Test
+  @DisplayName("The pools of two verticle instances are metered apart")
+  void testInstancesAreMeteredApart() {
+    MeteredPool other = new MeteredPool("analytics", "b", pool, 4, registry);
+
+    other.withConnection(used -> Promise.<String>promise().future());
+
+    assertEquals(0.0, gauge(MeteredPool.IN_USE_METRIC));
+    assertEquals(
+        1.0,
+        registry
+            .get(MeteredPool.IN_USE_METRIC)
+            .tags("pool", "analytics", "instance", "b")
+            .gauge()
+            .value());
+    other.close();
+    assertTrue(
+        registry.find(MeteredPool.IN_USE_METRIC).tag("instance", "b").gauges().isEmpty());
+  }
+}
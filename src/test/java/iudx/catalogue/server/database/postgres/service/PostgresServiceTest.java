@@ -1,6 +1,8 @@
 package iudx.catalogue.server.database.postgres.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -17,6 +19,7 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 import static iudx.catalogue.server.mlayer.util.Constants.GET_HIGH_COUNT_DATASET;
+import static iudx.catalogue.server.rating.util.Constants.AUDIT_INFO_QUERY;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -58,7 +61,10 @@ public class PostgresServiceTest {
 
     PgPool pool = PgPool.pool(vertxObj, connectOptions, poolOptions);
 
-    pgService = new PostgresServiceImpl(pool);
+    MeteredPool meteredPool =
+        new MeteredPool("primary", "test", pool, 10, new SimpleMeterRegistry());
+    pgService = new PostgresServiceImpl(
+        meteredPool, meteredPool, vertxObj, "iudx.catalogue.postgres.test", 30);
     testContext.completeNow();
   }
 
@@ -70,7 +76,7 @@ public class PostgresServiceTest {
 
     String expected =
         "{\"type\":\"urn:dx:cat:Success\",\"title\":\"Success\",\"results\":[{\"resource_group\":\"dummy-rg-id\",\"totalhits\":1}]}";
-    pgService.executeQuery(stringBuilder.toString()).onComplete(handler -> {
+    pgService.executeQuery(stringBuilder.toString(), QueryIntent.ANALYTICS).onComplete(handler -> {
           if (handler.succeeded()) {
             LOGGER.debug(handler.result().toString());
             assertEquals(expected, handler.result().toString());
@@ -95,7 +101,7 @@ public class PostgresServiceTest {
 
     String expected =
         "{\"type\":\"urn:dx:cat:DatabaseError\",\"title\":\"database error\",\"detail\":\"ERROR: relation \\\"nosuchtable\\\" does not exist (42P01)\"}";
-    pgService.executeQuery(stringBuilder.toString()).onComplete(handler -> {
+    pgService.executeQuery(stringBuilder.toString(), QueryIntent.ANALYTICS).onComplete(handler -> {
           if (handler.failed()) {
             assertEquals(expected, handler.cause().getMessage());
             testContext.completeNow();
@@ -140,4 +146,72 @@ public class PostgresServiceTest {
           }
         });
   }
+
+  @Test
+  @Order(5)
+  @DisplayName("Test execute prepared query - success")
+  public void testExecutePrepared(VertxTestContext testContext) {
+    String query = AUDIT_INFO_QUERY.replace("$a", table);
+    JsonArray params = new JsonArray().add("15c7506f-c800-48d6-adeb-0542b03947c6").add(
+        "iisc.ac.in/89a36273d77dac4cf38114fca1bbe64392547f86/rs.iudx.io/"
+            + "surat-itms-realtime-information/surat-itms-live-eta");
+
+    pgService.executePrepared(query, params, QueryIntent.TRANSACTIONAL).onComplete(handler -> {
+          if (handler.succeeded()) {
+            JsonArray results = handler.result().getJsonArray("results");
+            assertEquals(1L, results.getJsonObject(0).getLong("count"));
+            testContext.completeNow();
+          } else {
+            testContext.failNow(handler.cause());
+          }
+        });
+  }
+
+  @Test
+  @Order(6)
+  @DisplayName("Test execute prepared query in batch - success")
+  public void testExecutePreparedBatch(VertxTestContext testContext) {
+    String query = "select count(*) as count from " + table + " where resource_group = $1";
+    JsonArray batch = new JsonArray()
+        .add(new JsonArray().add("dummy-rg-id"))
+        .add(new JsonArray().add("no-such-rg"));
+
+    pgService.executePreparedBatch(query, batch).onComplete(handler -> {
+          if (handler.succeeded()) {
+            JsonArray results = handler.result().getJsonArray("results");
+            assertEquals(2, results.size());
+            assertEquals(1L, results.getJsonObject(0).getLong("count"));
+            assertEquals(0L, results.getJsonObject(1).getLong("count"));
+            testContext.completeNow();
+          } else {
+            testContext.failNow(handler.cause());
+          }
+        });
+  }
+
+  @Test
+  @Order(7)
+  @DisplayName("Test read a cursor a page at a time - success")
+  public void testCursor(VertxTestContext testContext) {
+    String query = "select n from generate_series(1, $1::int) as n";
+
+    pgService.openCursor(query, new JsonArray().add(5), 2, QueryIntent.ANALYTICS)
+        .compose(first -> {
+          assertEquals(2, first.getJsonArray("results").size());
+          return pgService.readCursor(first.getString("nextCursor"));
+        })
+        .compose(second -> {
+          assertEquals(3, second.getJsonArray("results").getJsonObject(0).getInteger("n"));
+          return pgService.readCursor(second.getString("nextCursor"));
+        })
+        .onComplete(handler -> {
+          if (handler.succeeded()) {
+            assertEquals(1, handler.result().getJsonArray("results").size());
+            assertTrue(!handler.result().containsKey("nextCursor"));
+            testContext.completeNow();
+          } else {
+            testContext.failNow(handler.cause());
+          }
+        });
+  }
 }
@@ -0,0 +1,89 @@
+package iudx.catalogue.server.geocoding.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(VertxExtension.class)
+class GeocodingCacheTest {
+
+  private static Future<String> answer(AtomicInteger asked) {
+    asked.incrementAndGet();
+    return Future.succeededFuture("{\"results\":[]}");
+  }
+
+  @Test
+  @DisplayName("Texts are keyed normalized and points rounded")
+  void testKeys() {
+    assertEquals(GeocodingCache.searchKey("Pune"), GeocodingCache.searchKey("  pune "));
+    assertEquals(GeocodingCache.searchKey("new  delhi"), GeocodingCache.searchKey("New Delhi"));
+    assertEquals(
+        GeocodingCache.reverseKey("13.013945", "77.570423"),
+        GeocodingCache.reverseKey("13.01392", "77.57042"));
+  }
+
+  @Test
+  @DisplayName("Pelias is asked once per text")
+  void testAnswerIsCached(Vertx vertx) {
+    GeocodingCache cache = new GeocodingCache(vertx, 10, 60, 60, null);
+    AtomicInteger asked = new AtomicInteger();
+
+    cache.get(GeocodingCache.searchKey("Pune"), () -> answer(asked));
+    Future<String> cached = cache.get(GeocodingCache.searchKey("pune"), () -> answer(asked));
+
+    assertEquals(1, asked.get());
+    assertEquals("{\"results\":[]}", cached.result());
+  }
+
+  @Test
+  @DisplayName("Failures are cached for the negative time to live")
+  void testFailureIsCached(Vertx vertx) {
+    GeocodingCache cache = new GeocodingCache(vertx, 10, 60, 60, null);
+    GeocodingCache uncachedFailures = new GeocodingCache(vertx, 10, 60, 0, null);
+    AtomicInteger asked = new AtomicInteger();
+
+    for (GeocodingCache each : new GeocodingCache[] {cache, uncachedFailures}) {
+      each.get("search:nowhere", () -> {
+        asked.incrementAndGet();
+        return Future.failedFuture("Failed to find coordinates");
+      });
+    }
+    Future<String> failed = cache.get("search:nowhere", () -> answer(asked));
+    Future<String> retried = uncachedFailures.get("search:nowhere", () -> answer(asked));
+
+    assertTrue(failed.failed());
+    assertEquals("Failed to find coordinates", failed.cause().getMessage());
+    assertTrue(retried.succeeded());
+    assertEquals(3, asked.get());
+  }
+
+  @Test
+  @DisplayName("Answers appended to the file are served after a restart")
+  void testAnswersArePersisted(Vertx vertx, VertxTestContext testContext, @TempDir Path dir) {
+    String file = dir.resolve("geocoding.jsonl").toString();
+    GeocodingCache cache = new GeocodingCache(vertx, 10, 60, 60, file);
+    AtomicInteger asked = new AtomicInteger();
+    cache.get("search:pune", () -> answer(asked));
+    cache.get("search:delhi", () -> answer(asked));
+
+    vertx.setTimer(200, id -> {
+      GeocodingCache restarted = new GeocodingCache(vertx, 10, 60, 60, file);
+      restarted.load().onComplete(testContext.succeeding(loaded -> testContext.verify(() -> {
+        restarted.get("search:pune", () -> answer(asked));
+        assertEquals(2, loaded);
+        assertEquals(2, asked.get());
+        testContext.completeNow();
+      })));
+    });
+  }
+}
@@ -7,6 +7,7 @@ import static iudx.catalogue.server.database.elastic.util.Constants.SUMMARY_KEY;
 import static iudx.catalogue.server.database.elastic.util.Constants.WORD_VECTOR_KEY;
 import static iudx.catalogue.server.mlayer.util.Constants.DOMAIN_ID;
 import static iudx.catalogue.server.mlayer.util.Constants.INSTANCE_ID;
+import static iudx.catalogue.server.mlayer.util.Constants.SUMMARY_PAGE_SIZE;
 import static iudx.catalogue.server.util.Constants.BUCKETS;
 import static iudx.catalogue.server.util.Constants.ICON_BASE64;
 import static iudx.catalogue.server.util.Constants.ID;
@@ -35,9 +36,13 @@ import io.vertx.ext.web.client.WebClient;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
 import iudx.catalogue.server.database.elastic.model.ElasticsearchResponse;
+import iudx.catalogue.server.database.elastic.model.SearchResult;
 import iudx.catalogue.server.database.elastic.service.ElasticsearchService;
+import iudx.catalogue.server.database.elastic.util.SearchCursor;
 import iudx.catalogue.server.database.postgres.service.PostgresService;
+import iudx.catalogue.server.database.postgres.service.QueryIntent;
 import iudx.catalogue.server.mlayer.service.MlayerServiceImpl;
+import iudx.catalogue.server.mlayer.util.model.MlayerDataset;
 import java.util.List;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -80,7 +85,7 @@ public class MlayerServiceTest {
     mlayerService = new MlayerServiceImpl(webClient, esService, postgresService, jsonObject);
 
     json = requestJson();
-    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(List.of()));
+    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(new SearchResult(List.of())));
     when(esService.createDocument(any(), any()))
         .thenReturn(
             Future.succeededFuture(successfulItemOperationResp(json, "Success: Item created")));
@@ -103,7 +108,7 @@ public class MlayerServiceTest {
   void failureMlayerInstanceCreationTest(VertxTestContext testContext) {
     mlayerService = new MlayerServiceImpl(webClient, esService, postgresService, jsonObject);
     JsonObject request = requestJson();
-    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(List.of()));
+    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(new SearchResult(List.of())));
     when(esService.createDocument(any(), any())).thenReturn(Future.failedFuture("Failed;"));
 
     mlayerService
@@ -133,7 +138,7 @@ public class MlayerServiceTest {
             new ElasticsearchResponse("doc2", new JsonObject().put("name", "Instance2")));
 
     // Stubbing the search method to return a successful response
-    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(searchResults));
+    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(new SearchResult(searchResults)));
 
     mlayerService
         .getMlayerInstance(requestParams)
@@ -180,9 +185,9 @@ public class MlayerServiceTest {
 
     when(esService.search(any(), any()))
         .thenReturn(
-            Future.succeededFuture(
+            Future.succeededFuture(new SearchResult(
                 List.of(
-                    new ElasticsearchResponse("docId", new JsonObject().put("id", "dummy-uuid")))));
+                    new ElasticsearchResponse("docId", new JsonObject().put("id", "dummy-uuid"))))));
     when(esService.deleteDocument(any(), any()))
         .thenReturn(Future.succeededFuture(new JsonObject().put("status", "deleted")));
 
@@ -207,9 +212,9 @@ public class MlayerServiceTest {
     mlayerService = new MlayerServiceImpl(webClient, esService, postgresService, jsonObject);
     when(esService.search(any(), any()))
         .thenReturn(
-            Future.succeededFuture(
+            Future.succeededFuture(new SearchResult(
                 List.of(
-                    new ElasticsearchResponse("docId", new JsonObject().put("id", "dummy-uuid")))));
+                    new ElasticsearchResponse("docId", new JsonObject().put("id", "dummy-uuid"))))));
     when(esService.deleteDocument(any(), any())).thenReturn(Future.failedFuture("Deletion failed"));
 
     mlayerService
@@ -238,11 +243,11 @@ public class MlayerServiceTest {
         .thenReturn(Future.succeededFuture(new JsonObject().put("updated", true)));
     when(esService.search(any(), any()))
         .thenReturn(
-            Future.succeededFuture(
+            Future.succeededFuture(new SearchResult(
                 List.of(
                     new ElasticsearchResponse(
                         "docId",
-                        new JsonObject().put("id", "dummy-uuid").put("name", "instance name")))));
+                        new JsonObject().put("id", "dummy-uuid").put("name", "instance name"))))));
 
     mlayerService
         .updateMlayerInstance(request)
@@ -269,11 +274,11 @@ public class MlayerServiceTest {
         .thenReturn(Future.failedFuture("Update failed"));
     when(esService.search(any(), any()))
         .thenReturn(
-            Future.succeededFuture(
+            Future.succeededFuture(new SearchResult(
                 List.of(
                     new ElasticsearchResponse(
                         "docId",
-                        new JsonObject().put("id", "dummy-uuid").put("name", "instance name")))));
+                        new JsonObject().put("id", "dummy-uuid").put("name", "instance name"))))));
 
     mlayerService
         .updateMlayerInstance(request)
@@ -299,7 +304,7 @@ public class MlayerServiceTest {
 
     when(esService.createDocument(any(), any()))
         .thenReturn(Future.succeededFuture(new JsonObject().put("result", "created")));
-    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(List.of()));
+    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(new SearchResult(List.of())));
 
     mlayerService
         .createMlayerDomain(request)
@@ -324,7 +329,7 @@ public class MlayerServiceTest {
 
     when(esService.createDocument(any(), any()))
         .thenReturn(Future.failedFuture(new RuntimeException("Elasticsearch creation failed")));
-    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(List.of()));
+    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(new SearchResult(List.of())));
 
     mlayerService
         .createMlayerDomain(request)
@@ -351,11 +356,11 @@ public class MlayerServiceTest {
         .thenReturn(Future.succeededFuture(new JsonObject().put("status", "updated")));
     when(esService.search(any(), any()))
         .thenReturn(
-            Future.succeededFuture(
+            Future.succeededFuture(new SearchResult(
                 List.of(
                     new ElasticsearchResponse(
                         "docId",
-                        new JsonObject().put(DOMAIN_ID, "domainId").put("name", "dummy")))));
+                        new JsonObject().put(DOMAIN_ID, "domainId").put("name", "dummy"))))));
 
     mlayerService
         .updateMlayerDomain(request)
@@ -383,13 +388,13 @@ public class MlayerServiceTest {
         .thenReturn(Future.failedFuture("Update failed"));
     when(esService.search(any(), any()))
         .thenReturn(
-            Future.succeededFuture(
+            Future.succeededFuture(new SearchResult(
                 List.of(
                     new ElasticsearchResponse(
                         "docId",
                         new JsonObject()
                             .put("name", "instance " + "name")
-                            .put(DOMAIN_ID, "domainId")))));
+                            .put(DOMAIN_ID, "domainId"))))));
 
     mlayerService
         .updateMlayerDomain(request)
@@ -417,8 +422,8 @@ public class MlayerServiceTest {
         .thenReturn(Future.succeededFuture(new JsonObject().put("result", "deleted")));
     when(esService.search(any(), any()))
         .thenReturn(
-            Future.succeededFuture(
-                List.of(new ElasticsearchResponse("docId", new JsonObject().put(ID, documentId)))));
+            Future.succeededFuture(new SearchResult(
+                List.of(new ElasticsearchResponse("docId", new JsonObject().put(ID, documentId))))));
 
     mlayerService
         .deleteMlayerDomain(documentId)
@@ -444,8 +449,8 @@ public class MlayerServiceTest {
 
     when(esService.search(any(), any()))
         .thenReturn(
-            Future.succeededFuture(
-                List.of(new ElasticsearchResponse("docId", new JsonObject().put(ID, documentId)))));
+            Future.succeededFuture(new SearchResult(
+                List.of(new ElasticsearchResponse("docId", new JsonObject().put(ID, documentId))))));
     when(esService.deleteDocument(any(), any())).thenReturn(Future.failedFuture("Deletion failed"));
 
     mlayerService
@@ -475,7 +480,7 @@ public class MlayerServiceTest {
             new ElasticsearchResponse("id1", new JsonObject().put("name", "Domain1")),
             new ElasticsearchResponse("id2", new JsonObject().put("name", "Domain2")));
 
-    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(mockResponse));
+    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(new SearchResult(mockResponse)));
 
     mlayerService
         .getMlayerDomain(requestParams)
@@ -527,9 +532,9 @@ public class MlayerServiceTest {
 
     when(esService.search(any(), any()))
         .thenReturn(
-            Future.succeededFuture(
+            Future.succeededFuture(new SearchResult(
                 List.of(
-                    new ElasticsearchResponse("docId", new JsonObject().put("id", "dummy-uuid")))));
+                    new ElasticsearchResponse("docId", new JsonObject().put("id", "dummy-uuid"))))));
 
     mlayerService
         .getMlayerProviders(requestParams)
@@ -583,7 +588,7 @@ public class MlayerServiceTest {
     ElasticsearchResponse mockResponse =
         new ElasticsearchResponse("docId", new JsonObject().put("status", "success"));
 
-    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(List.of(mockResponse)));
+    when(esService.search(any(), any())).thenReturn(Future.succeededFuture(new SearchResult(List.of(mockResponse))));
 
     mlayerService
         .getMlayerGeoQuery(request)
@@ -699,29 +704,30 @@ public class MlayerServiceTest {
                         "dataset2",
                         new JsonObject().put("PII", 0).put("SECURE", 1).put("OPEN", 4)));
 
+    JsonObject aggs = new JsonObject().put(RESULTS, new JsonObject().put(BUCKETS, buckets));
     // Stub esService.search() calls
     when(esService.search(any(), any()))
         .thenReturn(
-            Future.succeededFuture(
+            Future.succeededFuture(withAggregations(
+                aggs,
                 List.of(
                     new ElasticsearchResponse("ds1", dataset1),
                     new ElasticsearchResponse("ds2", dataset2),
-                    new ElasticsearchResponse("ds3", dataset3)))) // For `gettingAllDatasets()`
+                    new ElasticsearchResponse("ds3", dataset3))))) // For `gettingAllDatasets()`
         .thenReturn(
-            Future.succeededFuture(
+            Future.succeededFuture(withAggregations(
+                aggs,
                 List.of(
                     new ElasticsearchResponse(
-                        "docId2", instanceResponse)))) // For `allMlayerInstance()`
+                        "docId2", instanceResponse))))) // For `allMlayerInstance()`
         .thenReturn(
-            Future.succeededFuture(
+            Future.succeededFuture(withAggregations(
+                aggs,
                 List.of(
                     new ElasticsearchResponse(
                         "docId3",
-                        resourcePolicyResponse)))) // For `gettingResourceAccessPolicyCount()`
-        .thenReturn(Future.succeededFuture(mockResponse));
-
-    JsonObject aggs = new JsonObject().put(RESULTS, new JsonObject().put(BUCKETS, buckets));
-    ElasticsearchResponse.setAggregations(aggs);
+                        resourcePolicyResponse))))) // For `gettingResourceAccessPolicyCount()`
+        .thenReturn(Future.succeededFuture(withAggregations(aggs, mockResponse)));
 
     mlayerService
         .getMlayerAllDatasets(request)
@@ -801,8 +807,8 @@ public class MlayerServiceTest {
 
     // Stubbing Elasticsearch calls
     when(esService.search(any(), any()))
-        .thenReturn(Future.succeededFuture(initialResponse)) // First query response
-        .thenReturn(Future.succeededFuture(datasetResponse)); // Second query response
+        .thenReturn(Future.succeededFuture(new SearchResult(initialResponse))) // First query response
+        .thenReturn(Future.succeededFuture(new SearchResult(datasetResponse))); // Second query response
 
     mlayerService
         .getMlayerDataset(request)
@@ -946,29 +952,30 @@ public class MlayerServiceTest {
                         "dataset2",
                         new JsonObject().put("PII", 0).put("SECURE", 1).put("OPEN", 4)));
 
+    JsonObject aggs = new JsonObject().put(RESULTS, new JsonObject().put(BUCKETS, buckets));
     // Stub esService.search() calls
     when(esService.search(any(), any()))
         .thenReturn(
-            Future.succeededFuture(
+            Future.succeededFuture(withAggregations(
+                aggs,
                 List.of(
                     new ElasticsearchResponse("ds1", dataset1),
                     new ElasticsearchResponse("ds2", dataset2),
-                    new ElasticsearchResponse("ds3", dataset3)))) // For `gettingAllDatasets()`
+                    new ElasticsearchResponse("ds3", dataset3))))) // For `gettingAllDatasets()`
         .thenReturn(
-            Future.succeededFuture(
+            Future.succeededFuture(withAggregations(
+                aggs,
                 List.of(
                     new ElasticsearchResponse(
-                        "docId2", instanceResponse)))) // For `allMlayerInstance()`
+                        "docId2", instanceResponse))))) // For `allMlayerInstance()`
         .thenReturn(
-            Future.succeededFuture(
+            Future.succeededFuture(withAggregations(
+                aggs,
                 List.of(
                     new ElasticsearchResponse(
                         "docId3",
-                        resourcePolicyResponse)))) // For `gettingResourceAccessPolicyCount()`
-        .thenReturn(Future.succeededFuture(mockResponse));
-
-    JsonObject aggs = new JsonObject().put(RESULTS, new JsonObject().put(BUCKETS, buckets));
-    ElasticsearchResponse.setAggregations(aggs);
+                        resourcePolicyResponse))))) // For `gettingResourceAccessPolicyCount()`
+        .thenReturn(Future.succeededFuture(withAggregations(aggs, mockResponse)));
 
     mlayerService
         .getMlayerDataset(request)
@@ -1108,19 +1115,20 @@ public class MlayerServiceTest {
                                     .add(
                                         0, new JsonObject().put(KEY, "key").put("doc_count", 1)))));
 
+    JsonObject aggs =
+        new JsonObject()
+            .put("provider_count", new JsonObject().put(VALUE, 1))
+            .put(RESULTS, new JsonObject().put(BUCKETS, buckets));
     // Mock Elasticsearch service response
     when(esService.search(any(), any()))
-        .thenReturn(Future.succeededFuture(List.of(new ElasticsearchResponse("dummy-docId", instanceResult))))
-        .thenReturn(Future.succeededFuture(datasetResult))
-        .thenReturn(Future.succeededFuture(List.of(new ElasticsearchResponse("dummy-docId3",
-            domainResult1), new ElasticsearchResponse("docId", domainResult2))));
+        .thenReturn(Future.succeededFuture(withAggregations(aggs, List.of(new ElasticsearchResponse("dummy-docId", instanceResult)))))
+        .thenReturn(Future.succeededFuture(withAggregations(aggs, datasetResult)))
+        .thenReturn(Future.succeededFuture(withAggregations(aggs, List.of(new ElasticsearchResponse("dummy-docId3",
+            domainResult1), new ElasticsearchResponse("docId", domainResult2)))));
 
     // Mock Postgres service response
-    when(postgresService.executeQuery(any())).thenReturn(Future.succeededFuture(json));
-    ElasticsearchResponse.setAggregations(
-        new JsonObject()
-            .put("provider_count", new JsonObject().put(VALUE, 1))
-            .put(RESULTS, new JsonObject().put(BUCKETS, buckets)));
+    when(postgresService.executePrepared(any(), any(), any()))
+        .thenReturn(Future.succeededFuture(json));
 
     // Call the method
     mlayerService
@@ -1129,7 +1137,7 @@ public class MlayerServiceTest {
             handler -> {
               if (handler.succeeded()) {
                 verify(esService, times(10)).search(any(), any());
-                verify(postgresService, times(1)).executeQuery(any());
+                verify(postgresService, times(1)).executePrepared(any(), any(), any());
                 testContext.completeNow();
               } else {
                 LOGGER.debug("Fail");
@@ -1145,7 +1153,8 @@ public class MlayerServiceTest {
     String instance = "dummy";
 
     // Simulate Postgres failure
-    when(postgresService.executeQuery(any())).thenReturn(Future.failedFuture("Database error"));
+    when(postgresService.executePrepared(any(), any(), any()))
+        .thenReturn(Future.failedFuture("Database error"));
 
     // Call the method
     mlayerService
@@ -1153,7 +1162,7 @@ public class MlayerServiceTest {
         .onComplete(
             handler -> {
               if (handler.failed()) {
-                verify(postgresService, times(1)).executeQuery(any());
+                verify(postgresService, times(1)).executePrepared(any(), any(), any());
                 testContext.completeNow();
               } else {
                 LOGGER.debug("Fail");
@@ -1173,7 +1182,8 @@ public class MlayerServiceTest {
     JsonObject jsonObject = new JsonObject();
     jsonObject.put("counts", 122343243);
     jsonArray.add(jsonObject);
-    when(postgresService.executeQuery(any())).thenReturn(Future.succeededFuture(json));
+    when(postgresService.executePrepared(any(), any(), any()))
+        .thenReturn(Future.succeededFuture(json));
 
     mlayerService
         .getSummaryCountSizeApi()
@@ -1188,18 +1198,45 @@ public class MlayerServiceTest {
             });
   }
 
+  @Test
+  @DisplayName("Success: Get Summary Count pages")
+  void successGetSummaryCountSizePages(VertxTestContext testContext) {
+    mlayerService = new MlayerServiceImpl(webClient, esService, postgresService, jsonObject);
+    JsonObject first = new JsonObject().put("results", new JsonArray()).put("nextCursor", "c1");
+    JsonObject last = new JsonObject().put("results", new JsonArray());
+    when(postgresService.openCursor(any(), any(), anyInt(), any()))
+        .thenReturn(Future.succeededFuture(first));
+    when(postgresService.readCursor("c1")).thenReturn(Future.succeededFuture(last));
+
+    mlayerService
+        .getSummaryCountSizePage(null)
+        .compose(page -> mlayerService.getSummaryCountSizePage(page.getString("nextCursor")))
+        .onComplete(
+            handler -> {
+              if (handler.succeeded()) {
+                assertEquals(last, handler.result());
+                verify(postgresService).openCursor("select * from " + catSummaryTable,
+                    new JsonArray(), SUMMARY_PAGE_SIZE, QueryIntent.ANALYTICS);
+                testContext.completeNow();
+              } else {
+                testContext.failNow(handler.cause());
+              }
+            });
+  }
+
   @Test
   @DisplayName("Fail: Get Summary Count Api")
   void failGetTotalCountApi(VertxTestContext testContext) {
     mlayerService = new MlayerServiceImpl(webClient, esService, postgresService, jsonObject);
-    when(postgresService.executeQuery(any())).thenReturn(Future.failedFuture("Fail;"));
+    when(postgresService.executePrepared(any(), any(), any()))
+        .thenReturn(Future.failedFuture("Fail;"));
 
     mlayerService
         .getSummaryCountSizeApi()
         .onComplete(
             handler -> {
               if (handler.failed()) {
-                verify(postgresService, times(1)).executeQuery(any());
+                verify(postgresService, times(1)).executePrepared(any(), any(), any());
                 testContext.completeNow();
               } else {
                 testContext.failNow(handler.cause());
@@ -1220,7 +1257,8 @@ public class MlayerServiceTest {
     jsonObject.put("counts", 456);
     jsonObject.put("total_size", 122343243);
     jsonArray.add(jsonObject);
-    when(postgresService.executeQuery(any())).thenReturn(Future.succeededFuture(json));
+    when(postgresService.executePrepared(any(), any(), any()))
+        .thenReturn(Future.succeededFuture(json));
 
     mlayerService
         .getRealTimeDataSetApi()
@@ -1239,14 +1277,15 @@ public class MlayerServiceTest {
   @DisplayName("Fail: Get Count Size Api")
   void failGetCountSizeApi(VertxTestContext testContext) {
     mlayerService = new MlayerServiceImpl(webClient, esService, postgresService, jsonObject);
-    when(postgresService.executeQuery(any())).thenReturn(Future.failedFuture("Fail;"));
+    when(postgresService.executePrepared(any(), any(), any()))
+        .thenReturn(Future.failedFuture("Fail;"));
 
     mlayerService
         .getRealTimeDataSetApi()
         .onComplete(
             handler -> {
               if (handler.failed()) {
-                verify(postgresService, times(1)).executeQuery(any());
+                verify(postgresService, times(1)).executePrepared(any(), any(), any());
                 testContext.completeNow();
               } else {
                 testContext.failNow(handler.cause());
@@ -1270,7 +1309,8 @@ public class MlayerServiceTest {
     jsonObject.put("total_size", 122343243);
     jsonArray.add(jsonObject);
 
-    when(postgresService.executeQuery(any())).thenReturn(Future.succeededFuture(json));
+    when(postgresService.executePrepared(any(), any(), any()))
+        .thenReturn(Future.succeededFuture(json));
 
     mlayerService
         .getRealTimeDataSetApi()
@@ -1284,4 +1324,22 @@ public class MlayerServiceTest {
               }
             });
   }
+
+  @Test
+  @DisplayName("A datasets cursor holds the id of the last dataset of a page, and nothing else")
+  void testDatasetsCursorValidation() {
+    assertTrue(MlayerDataset.isValidCursor(SearchCursor.START));
+    assertTrue(
+        MlayerDataset.isValidCursor(new SearchCursor(null, new JsonArray().add("rg")).encode()));
+    assertFalse(
+        MlayerDataset.isValidCursor(new SearchCursor(null, new JsonArray().add(42)).encode()));
+    assertFalse(
+        MlayerDataset.isValidCursor(new SearchCursor("pit", new JsonArray().add("rg")).encode()));
+    assertFalse(MlayerDataset.isValidCursor("not a cursor"));
+  }
+
+  private static SearchResult withAggregations(
+      JsonObject aggregations, List<ElasticsearchResponse> hits) {
+    return new SearchResult(hits, hits.size(), aggregations);
+  }
 }
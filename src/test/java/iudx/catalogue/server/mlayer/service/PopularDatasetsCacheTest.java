@@ -0,0 +1,99 @@
+package iudx.catalogue.server.mlayer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+@ExtendWith(VertxExtension.class)
+class PopularDatasetsCacheTest {
+
+  @Test
+  @DisplayName("The landing page is computed once and then served from the snapshot")
+  void testSnapshotIsServed(Vertx vertx) {
+    List<Promise<JsonObject>> loads = new ArrayList<>();
+    PopularDatasetsCache cache = new PopularDatasetsCache(vertx, 3600, instance -> {
+      Promise<JsonObject> promise = Promise.promise();
+      loads.add(promise);
+      return promise.future();
+    });
+
+    Future<JsonObject> first = cache.get("pune");
+    Future<JsonObject> second = cache.get("pune");
+    loads.get(0).complete(new JsonObject().put("instance", "pune"));
+    Future<JsonObject> third = cache.get("pune");
+
+    assertEquals(1, loads.size());
+    assertEquals("pune", first.result().getString("instance"));
+    assertEquals("pune", second.result().getString("instance"));
+    assertEquals("pune", third.result().getString("instance"));
+  }
+
+  @Test
+  @DisplayName("A failed refresh keeps serving the previous snapshot")
+  void testFailedRefreshServesPreviousSnapshot(Vertx vertx) {
+    List<Future<JsonObject>> results = new ArrayList<>(List.of(
+        Future.succeededFuture(new JsonObject().put("version", 1)),
+        Future.failedFuture("postgres query failed"),
+        Future.succeededFuture(new JsonObject().put("version", 2))));
+    PopularDatasetsCache cache =
+        new PopularDatasetsCache(vertx, 3600, instance -> results.remove(0));
+
+    cache.get("");
+    cache.refreshAll();
+    assertEquals(1, cache.get("").result().getInteger("version"));
+    cache.refreshAll();
+    assertEquals(2, cache.get("").result().getInteger("version"));
+  }
+
+  @Test
+  @DisplayName("Snapshots of unknown instances do not keep a real instance out of the cache")
+  void testUnknownInstancesAreEvicted(Vertx vertx) {
+    List<String> loaded = new ArrayList<>();
+    PopularDatasetsCache cache = new PopularDatasetsCache(vertx, 3600, instance -> {
+      loaded.add(instance);
+      return Future.succeededFuture(new JsonObject());
+    });
+    for (int i = 0; i < PopularDatasetsCache.MAX_INSTANCES; i++) {
+      cache.get("junk" + i);
+    }
+
+    cache.get("pune");
+    cache.get("pune");
+    loaded.clear();
+    cache.refreshAll();
+
+    assertEquals(PopularDatasetsCache.MAX_INSTANCES, loaded.size());
+    assertTrue(loaded.contains("pune"));
+    assertFalse(loaded.contains("junk0"));
+  }
+
+  @Test
+  @DisplayName("A published refresh request refreshes the snapshots")
+  void testRefreshRequest(Vertx vertx, VertxTestContext testContext) {
+    List<String> loaded = new ArrayList<>();
+    PopularDatasetsCache cache = new PopularDatasetsCache(vertx, 3600, instance -> {
+      loaded.add(instance);
+      return Future.succeededFuture(new JsonObject());
+    });
+    cache.get("pune");
+
+    vertx.eventBus().publish(PopularDatasetsCache.REFRESH_ADDRESS, null);
+
+    vertx.setTimer(100, id -> testContext.verify(() -> {
+      assertEquals(List.of("pune", "pune"), loaded);
+      testContext.completeNow();
+    }));
+  }
+}
@@ -0,0 +1,90 @@
+package iudx.catalogue.server.mlayer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.database.postgres.service.PostgresService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PopularityRollupTest {
+  private PostgresService postgresService;
+  private PopularityRollup rollup;
+
+  @BeforeEach
+  void setUp() {
+    postgresService = mock(PostgresService.class);
+    rollup = new PopularityRollup(postgresService, "auditing_table", 300);
+  }
+
+  @Test
+  @DisplayName("The popular datasets are read from the rollup once it has been updated")
+  void testTopQueryUsesRollupOnceUpdated() {
+    when(postgresService.executeQuery(anyString(), any()))
+        .thenReturn(Future.succeededFuture(new JsonObject()));
+    when(postgresService.executePrepared(anyString(), any(), any()))
+        .thenReturn(Future.succeededFuture(new JsonObject()));
+
+    assertTrue(rollup.topResourceGroupsQuery().contains("FROM auditing_table "));
+    rollup.update();
+    rollup.update();
+
+    assertTrue(rollup.topResourceGroupsQuery().contains("FROM auditing_table_rg_totals "));
+    verify(postgresService, times(5)).executeQuery(anyString(), any());
+    verify(postgresService, times(2)).executePrepared(anyString(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Tables not created are created again by the next job")
+  void testFailedCreationIsRetried() {
+    when(postgresService.executeQuery(anyString(), any()))
+        .thenReturn(Future.failedFuture("permission denied"))
+        .thenReturn(Future.succeededFuture(new JsonObject()));
+    when(postgresService.executePrepared(anyString(), any(), any()))
+        .thenReturn(Future.succeededFuture(new JsonObject()));
+
+    assertTrue(rollup.update().failed());
+    assertTrue(rollup.topResourceGroupsQuery().contains("FROM auditing_table "));
+    assertTrue(rollup.update().succeeded());
+
+    verify(postgresService, times(1)).executePrepared(anyString(), any(), any());
+  }
+
+  @Test
+  @DisplayName("A job is not started while another one runs")
+  void testUpdateIsNotConcurrent() {
+    Promise<JsonObject> running = Promise.promise();
+    when(postgresService.executeQuery(anyString(), any()))
+        .thenReturn(Future.succeededFuture(new JsonObject()));
+    when(postgresService.executePrepared(anyString(), any(), any())).thenReturn(running.future());
+
+    Future<Void> first = rollup.update();
+    Future<Void> second = rollup.update();
+    running.complete(new JsonObject());
+
+    assertSame(first, second);
+    assertTrue(rollup.update().succeeded());
+    verify(postgresService, times(2)).executePrepared(anyString(), any(), any());
+  }
+
+  @Test
+  @DisplayName("A job counts the audit rows from its watermark up to the lag")
+  void testUpdateQuery() {
+    String query = rollup.updateQuery();
+
+    assertTrue(query.contains("FROM auditing_table_rollup_watermark WHERE name = $1 FOR UPDATE"));
+    assertTrue(query.contains("interval '300 seconds'"));
+    assertEquals(2, query.split("ON CONFLICT").length - 1);
+  }
+}
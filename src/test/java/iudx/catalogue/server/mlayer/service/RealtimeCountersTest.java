@@ -0,0 +1,76 @@
+package iudx.catalogue.server.mlayer.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import iudx.catalogue.server.database.postgres.service.PostgresService;
+import iudx.catalogue.server.database.postgres.service.QueryIntent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class RealtimeCountersTest {
+  private PostgresService postgresService;
+  private RealtimeCounters counters;
+
+  @BeforeEach
+  void setUp() {
+    postgresService = mock(PostgresService.class);
+    counters =
+        new RealtimeCounters(
+            postgresService, "auditing_table", new JsonArray().add("u1").add("u2"), 60);
+  }
+
+  @Test
+  @DisplayName("A job counts the accesses of the day per minute, but those of the excluded users")
+  void testUpdate() {
+    when(postgresService.executeQuery(anyString(), any()))
+        .thenReturn(Future.succeededFuture(new JsonObject()));
+    when(postgresService.executePrepared(anyString(), eq(counters.countAndSizeParams()), any()))
+        .thenReturn(Future.succeededFuture(new JsonObject()));
+
+    assertFalse(counters.isReady());
+    assertTrue(counters.update().succeeded());
+
+    assertTrue(counters.isReady());
+    verify(postgresService).executePrepared(counters.updateQuery(),
+        new JsonArray().add(RealtimeCounters.WATERMARK_NAME).add("u1").add("u2"),
+        QueryIntent.TRANSACTIONAL);
+    String query = counters.updateQuery();
+    assertTrue(query.contains("date_trunc('minute', a.time)"));
+    assertTrue(query.contains("a.userid NOT IN ($2,$3)"));
+    assertTrue(query.contains("DELETE FROM auditing_table_minute_counts"));
+  }
+
+  @Test
+  @DisplayName("The accesses of the day are its buckets and the rows since the watermark")
+  void testCountAndSizeQuery() {
+    String query = counters.countAndSizeQuery();
+
+    assertTrue(
+        query.contains("FROM auditing_table_minute_counts m, day WHERE m.minute >= day.start"));
+    assertTrue(query.contains("w.name = $1 AND a.time >= day.start AND a.time > w.watermark"));
+    assertTrue(query.contains("a.userid NOT IN ($2,$3)"));
+    assertEquals(3, counters.countAndSizeParams().size());
+  }
+
+  @Test
+  @DisplayName("No user is excluded when none is configured")
+  void testNoExcludedUsers() {
+    RealtimeCounters unfiltered = new RealtimeCounters(postgresService, "auditing_table", null, 60);
+
+    assertFalse(unfiltered.countAndSizeQuery().contains("NOT IN"));
+    assertEquals(
+        new JsonArray().add(RealtimeCounters.WATERMARK_NAME), unfiltered.countAndSizeParams());
+  }
+}
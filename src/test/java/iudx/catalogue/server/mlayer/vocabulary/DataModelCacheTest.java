@@ -0,0 +1,135 @@
+package iudx.catalogue.server.mlayer.vocabulary;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+@ExtendWith(VertxExtension.class)
+class DataModelCacheTest {
+  private static final String URL = "https://voc.iudx.org.in/AirQuality";
+  private static final JsonObject MODEL = new JsonObject().put("@graph", new JsonObject());
+
+  @SuppressWarnings("unchecked")
+  private static HttpResponse<Buffer> response(int statusCode) {
+    HttpResponse<Buffer> response = mock(HttpResponse.class);
+    when(response.statusCode()).thenReturn(statusCode);
+    when(response.getHeader("content-type")).thenReturn("application/json");
+    when(response.getHeader("etag")).thenReturn("\"v1\"");
+    when(response.body()).thenReturn(MODEL.toBuffer());
+    return response;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static WebClient webClient(List<Promise<HttpResponse<Buffer>>> sends) {
+    WebClient webClient = mock(WebClient.class);
+    HttpRequest<Buffer> request = mock(HttpRequest.class);
+    when(webClient.getAbs(anyString())).thenReturn(request);
+    when(request.send())
+        .thenAnswer(
+            invocation -> {
+              Promise<HttpResponse<Buffer>> promise = Promise.promise();
+              sends.add(promise);
+              return promise.future();
+            });
+    return webClient;
+  }
+
+  @Test
+  @DisplayName("A data model is fetched once however many ask for it")
+  void testDataModelIsFetchedOnce() {
+    List<Promise<HttpResponse<Buffer>>> sends = new ArrayList<>();
+    DataModelCache cache = new DataModelCache(webClient(sends), 3600);
+
+    Future<JsonObject> first = cache.get(URL);
+    Future<JsonObject> second = cache.get(URL);
+    sends.get(0).complete(response(200));
+    Future<JsonObject> third = cache.get(URL);
+
+    assertEquals(1, sends.size());
+    assertEquals(MODEL, first.result());
+    assertEquals(MODEL, second.result());
+    assertEquals(MODEL, third.result());
+  }
+
+  @Test
+  @DisplayName("A stale data model is served while it is revalidated")
+  @SuppressWarnings("unchecked")
+  void testStaleDataModelIsRevalidated() {
+    List<Promise<HttpResponse<Buffer>>> sends = new ArrayList<>();
+    WebClient webClient = webClient(sends);
+    DataModelCache cache = new DataModelCache(webClient, 0);
+    cache.get(URL);
+    sends.get(0).complete(response(200));
+
+    Future<JsonObject> stale = cache.get(URL);
+    sends.get(1).complete(response(304));
+
+    assertTrue(stale.succeeded());
+    assertEquals(MODEL, stale.result());
+    HttpRequest<Buffer> request = webClient.getAbs(URL);
+    verify(request, times(1)).putHeader("if-none-match", "\"v1\"");
+  }
+
+  @Test
+  @DisplayName("No more than ten data models are fetched at a time")
+  void testConcurrentFetchesAreLimited() {
+    List<Promise<HttpResponse<Buffer>>> sends = new ArrayList<>();
+    DataModelCache cache = new DataModelCache(webClient(sends), 3600);
+
+    for (int i = 0; i < DataModelCache.MAX_CONCURRENT_FETCHES + 2; i++) {
+      cache.get(URL + i);
+    }
+    assertEquals(DataModelCache.MAX_CONCURRENT_FETCHES, sends.size());
+    sends.get(0).complete(response(200));
+
+    assertEquals(DataModelCache.MAX_CONCURRENT_FETCHES + 1, sends.size());
+  }
+
+  @Test
+  @DisplayName("Persisted data models are served after a restart")
+  void testPersistedDataModelsAreLoaded(
+      Vertx vertx, VertxTestContext testContext, @TempDir Path directory) {
+    List<Promise<HttpResponse<Buffer>>> sends = new ArrayList<>();
+    DataModelCache cache =
+        new DataModelCache(webClient(sends), vertx.fileSystem(), directory.toString(), 3600);
+    cache.get(URL);
+    sends.get(0).complete(response(200));
+
+    vertx.setTimer(200, id -> {
+      DataModelCache restarted =
+          new DataModelCache(webClient(sends), vertx.fileSystem(), directory.toString(), 3600);
+      restarted.load()
+          .compose(loaded -> restarted.get(URL).map(model -> {
+            assertEquals(1, loaded);
+            return model;
+          }))
+          .onComplete(testContext.succeeding(model -> testContext.verify(() -> {
+            assertEquals(MODEL, model);
+            assertEquals(1, sends.size());
+            testContext.completeNow();
+          })));
+    });
+  }
+}
@@ -0,0 +1,85 @@
+package iudx.catalogue.server.nlpsearch.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class EmbeddingCacheTest {
+  private static final JsonObject ANSWER =
+      new JsonObject().put("result", new JsonArray().add(0.5).add(-1.25)).put("location", "pune");
+
+  @Test
+  @DisplayName("A query is embedded once, whatever its case and whitespace")
+  void testEmbeddingIsCached() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    EmbeddingCache cache = new EmbeddingCache(10, 60, registry);
+    AtomicInteger asked = new AtomicInteger();
+
+    cache.get("air quality", () -> {
+      asked.incrementAndGet();
+      return Future.succeededFuture(ANSWER.copy());
+    });
+    JsonObject cached = cache.get("  Air   Quality ", () -> {
+      asked.incrementAndGet();
+      return Future.succeededFuture(ANSWER.copy());
+    }).result();
+
+    assertEquals(1, asked.get());
+    assertEquals(0.5, cached.getJsonArray("result").getDouble(0));
+    assertEquals(-1.25, cached.getJsonArray("result").getDouble(1));
+    assertEquals("pune", cached.getString("location"));
+    assertEquals(1.0, registry.get(EmbeddingCache.GETS_METRIC).tag("result", "hit").counter()
+        .count());
+    assertEquals(1.0, registry.get(EmbeddingCache.GETS_METRIC).tag("result", "miss").counter()
+        .count());
+  }
+
+  @Test
+  @DisplayName("Concurrent misses of a query share one request")
+  void testConcurrentMissesAreCollapsed() {
+    EmbeddingCache cache = new EmbeddingCache(10, 60, new SimpleMeterRegistry());
+    AtomicInteger asked = new AtomicInteger();
+    Promise<JsonObject> answer = Promise.promise();
+
+    Future<JsonObject> first = cache.get("traffic", () -> {
+      asked.incrementAndGet();
+      return answer.future();
+    });
+    Future<JsonObject> second = cache.get("traffic", () -> {
+      asked.incrementAndGet();
+      return answer.future();
+    });
+    answer.complete(ANSWER.copy());
+
+    assertEquals(1, asked.get());
+    assertEquals("pune", first.result().getString("location"));
+    assertEquals("pune", second.result().getString("location"));
+  }
+
+  @Test
+  @DisplayName("Failed requests are not cached")
+  void testFailureIsNotCached() {
+    EmbeddingCache cache = new EmbeddingCache(10, 60, new SimpleMeterRegistry());
+    AtomicInteger asked = new AtomicInteger();
+
+    Future<JsonObject> failed = cache.get("traffic", () -> {
+      asked.incrementAndGet();
+      return Future.failedFuture("timeout");
+    });
+    cache.get("traffic", () -> {
+      asked.incrementAndGet();
+      return Future.succeededFuture(ANSWER.copy());
+    });
+
+    assertTrue(failed.failed());
+    assertEquals(2, asked.get());
+  }
+}
@@ -4,6 +4,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.junit5.VertxExtension;
 import io.vertx.junit5.VertxTestContext;
@@ -29,6 +30,7 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.stubbing.Answer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -104,7 +106,7 @@ public class RatingServiceTest {
     // Mocking getAuditingInfo method
     doAnswer(invocation -> Future.succeededFuture(auditInfo))
         .when(ratingServiceSpy)
-        .getAuditingInfo(any());
+        .getAuditingInfo(any(), any());
 
     // Mocking search method of esService
     doAnswer(invocation -> Future.succeededFuture(searchResults))
@@ -127,7 +129,7 @@ public class RatingServiceTest {
     ratingServiceSpy.createRating(request).onComplete(handler -> {
       if (handler.succeeded()) {
         // Verify interactions
-        verify(ratingServiceSpy, times(2)).getAuditingInfo(any());
+        verify(ratingServiceSpy, times(2)).getAuditingInfo(any(), any());
         verify(esService, times(5)).search(any(), any()); // Ensure search is called once
         verify(esService, times(1)).createDocument(any(), any()); // Ensure document creation is called
         testContext.completeNow();
@@ -148,7 +150,7 @@ public class RatingServiceTest {
 
     doAnswer(Answer -> Future.succeededFuture(auditInfo))
         .when(ratingServiceSpy)
-        .getAuditingInfo(any());
+        .getAuditingInfo(any(), any());
 
     when(asyncResult.succeeded()).thenReturn(false);
 
@@ -167,7 +169,7 @@ public class RatingServiceTest {
     ratingServiceSpy.createRating(request).onComplete(
         handler -> {
           if (handler.succeeded()) {
-            verify(ratingServiceSpy, times(1)).getAuditingInfo(any());
+            verify(ratingServiceSpy, times(1)).getAuditingInfo(any(), any());
             verify(esService, times(1)).createDocument(any(), any());
             LOGGER.debug("Fail");
             testContext.failNow(handler.cause());
@@ -183,12 +185,12 @@ public class RatingServiceTest {
 
     doAnswer(Answer -> Future.failedFuture(new Throwable("empty message")))
         .when(ratingServiceSpy)
-        .getAuditingInfo(any());
+        .getAuditingInfo(any(), any());
 
     ratingServiceSpy.createRating(requestJson()).onComplete(
         handler -> {
           if (handler.succeeded()) {
-            verify(ratingServiceSpy, times(1)).getAuditingInfo(any());
+            verify(ratingServiceSpy, times(1)).getAuditingInfo(any(), any());
             testContext.failNow(handler.cause());
           } else {
             testContext.completeNow();
@@ -428,25 +430,27 @@ public class RatingServiceTest {
   @Test
   @DisplayName("Success: Test get auditing info future")
   public void testGetAuditingInfo(VertxTestContext testContext) {
-    StringBuilder query = new StringBuilder("select * from nosuchtable");
     doAnswer(
-            new Answer<AsyncResult<JsonObject>>() {
+            new Answer<Future<JsonObject>>() {
               @Override
-              public AsyncResult<JsonObject> answer(InvocationOnMock arg0)
-                  throws Throwable {
-                String query = arg0.getArgument(0);
-                return Future.succeededFuture(new JsonObject());
+              public Future<JsonObject> answer(InvocationOnMock arg0) throws Throwable {
+                JsonArray params = arg0.getArgument(1);
+                assertEquals(new JsonArray().add("user").add("resource"), params);
+                return Future.succeededFuture(
+                    new JsonObject()
+                        .put("results", new JsonArray().add(new JsonObject().put("count", 3))));
               }
             })
         .when(postgresService)
-        .executeCountQuery(anyString());
+        .executePrepared(anyString(), any(), any());
 
     ratingService
-        .getAuditingInfo(query)
+        .getAuditingInfo("user", "resource")
         .onComplete(
             handler -> {
               if (handler.succeeded()) {
-                verify(postgresService, times(1)).executeCountQuery(anyString());
+                assertEquals(3, handler.result().getInteger("totalHits"));
+                verify(postgresService, times(1)).executePrepared(anyString(), any(), any());
                 testContext.completeNow();
               } else {
                 testContext.failNow("get auditing info test failed");